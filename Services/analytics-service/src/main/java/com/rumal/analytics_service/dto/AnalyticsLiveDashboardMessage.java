@@ -1,6 +1,7 @@
 package com.rumal.analytics_service.dto;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -8,6 +9,7 @@ public record AnalyticsLiveDashboardMessage(
         UUID orderId,
         Set<UUID> vendorIds,
         String trigger,
-        Instant occurredAt
+        Instant occurredAt,
+        List<AnalyticsRollupDelta> deltas
 ) {
 }
@@ -1,12 +1,21 @@
 package com.rumal.analytics_service.dto;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
-public record AnalyticsLiveRefreshEvent(
+/**
+ * Pushed to live dashboards once per refresh window. {@code dashboard} carries the freshly computed dashboard for the
+ * scope, so clients can render it without fetching; {@code coalescedEvents} is how many order events it covers.
+ * {@code staleMetrics} names the detail views whose cached results were evicted, so clients refetch only those.
+ */
+public record AnalyticsLiveRefreshEvent<T>(
         String scope,
         UUID vendorId,
         String trigger,
-        Instant occurredAt
+        Instant occurredAt,
+        int coalescedEvents,
+        T dashboard,
+        List<String> staleMetrics
 ) {
 }
@@ -0,0 +1,14 @@
+package com.rumal.analytics_service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record AnalyticsRollupDelta(
+        UUID vendorId,
+        LocalDate bucketDate,
+        String fromStatus,
+        String toStatus,
+        BigDecimal orderTotal
+) {
+}
@@ -34,8 +34,16 @@ public class AdminAnalyticsService {
     private final CartAnalyticsClient cartClient;
     private final ExecutorService analyticsExecutor;
 
-    @Cacheable(cacheNames = "dashboardSummary", key = "#periodDays")
+    @Cacheable(cacheNames = "dashboardSummary", key = "#periodDays", sync = true)
     public AdminDashboardAnalytics getDashboardSummary(int periodDays) {
+        return loadDashboardSummary(periodDays);
+    }
+
+    /**
+     * Fans out to every downstream service without touching the cache. Used by the live refresh coalescer, which
+     * stores the result itself once it has it.
+     */
+    public AdminDashboardAnalytics loadDashboardSummary(int periodDays) {
         var ordersFuture = asyncWithFallback(() -> orderClient.getPlatformSummary(periodDays), null);
         var customersFuture = asyncWithFallback(customerClient::getPlatformSummary, null);
         var productsFuture = asyncWithFallback(productClient::getPlatformSummary, null);
@@ -60,7 +68,7 @@ public class AdminAnalyticsService {
         );
     }
 
-    @Cacheable(cacheNames = "revenueSummary", key = "#days")
+    @Cacheable(cacheNames = "revenueSummary", key = "#days", sync = true)
     public AdminRevenueTrendResponse getRevenueTrend(int days) {
         var trendFuture = asyncWithFallback(() -> orderClient.getRevenueTrend(days), List.<DailyRevenueBucket>of());
         var statusFuture = asyncWithFallback(orderClient::getStatusBreakdown, Map.<String, Long>of());
@@ -68,7 +76,7 @@ public class AdminAnalyticsService {
         return new AdminRevenueTrendResponse(trendFuture.join(), statusFuture.join());
     }
 
-    @Cacheable(cacheNames = "topProducts")
+    @Cacheable(cacheNames = "topProducts", sync = true)
     public AdminTopProductsResponse getTopProducts() {
         var byRevenueFuture = asyncWithFallback(() -> orderClient.getTopProducts(20), List.<TopProductEntry>of());
         var byViewsFuture = asyncWithFallback(() -> productClient.getTopViewed(20), List.<ProductViewEntry>of());
@@ -88,7 +96,7 @@ public class AdminAnalyticsService {
         return new AdminCustomerSegmentationResponse(summaryFuture.join(), growthFuture.join());
     }
 
-    @Cacheable(cacheNames = "vendorLeaderboard", key = "#sortBy")
+    @Cacheable(cacheNames = "vendorLeaderboard", key = "#sortBy", sync = true)
     public AdminVendorLeaderboardResponse getVendorLeaderboard(String sortBy) {
         var summaryFuture = asyncWithFallback(vendorClient::getPlatformSummary, null);
         var leaderboardFuture = asyncWithFallback(() -> vendorClient.getLeaderboard(sortBy, 20), List.<VendorLeaderboardEntry>of());
@@ -18,7 +18,7 @@ public class AnalyticsLiveMessageSubscriber implements MessageListener {
     private static final Logger log = LoggerFactory.getLogger(AnalyticsLiveMessageSubscriber.class);
 
     private final ObjectMapper objectMapper;
-    private final AnalyticsLiveStreamService analyticsLiveStreamService;
+    private final AnalyticsRefreshCoalescer analyticsRefreshCoalescer;
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
@@ -29,7 +29,7 @@ public class AnalyticsLiveMessageSubscriber implements MessageListener {
 
         try {
             AnalyticsLiveDashboardMessage payload = objectMapper.readValue(body, AnalyticsLiveDashboardMessage.class);
-            analyticsLiveStreamService.publishRefresh(payload);
+            analyticsRefreshCoalescer.submit(payload);
         } catch (Exception ex) {
             String rawPayload = new String(body, StandardCharsets.UTF_8);
             log.warn("Failed to process analytics live Redis message: {}", rawPayload, ex);
@@ -1,21 +1,19 @@
 package com.rumal.analytics_service.service;
 
-import com.rumal.analytics_service.dto.AnalyticsLiveDashboardMessage;
 import com.rumal.analytics_service.dto.AnalyticsLiveRefreshEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.time.Instant;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -27,23 +25,15 @@ public class AnalyticsLiveStreamService {
     private static final String ADMIN_SCOPE_KEY = "admin:global";
     private static final String EVENT_CONNECTED = "connected";
     private static final String EVENT_PING = "ping";
-    private static final String EVENT_DASHBOARD_REFRESH = "dashboard-refresh";
-    private static final List<String> ADMIN_CACHE_NAMES = List.of(
-            "dashboardSummary",
-            "revenueSummary",
-            "topProducts",
-            "vendorLeaderboard"
-    );
-
-    private final CacheManager cacheManager;
+    private static final String EVENT_DASHBOARD_UPDATE = "dashboard-update";
+    private static final String VENDOR_SCOPE_PREFIX = "vendor:";
+
     private final long emitterTimeoutMs;
     private final Map<String, CopyOnWriteArraySet<SseEmitter>> emittersByScope = new ConcurrentHashMap<>();
 
     public AnalyticsLiveStreamService(
-            CacheManager cacheManager,
             @Value("${analytics.live.emitter-timeout-ms:0}") long emitterTimeoutMs
     ) {
-        this.cacheManager = cacheManager;
         this.emitterTimeoutMs = emitterTimeoutMs;
     }
 
@@ -63,36 +53,30 @@ public class AnalyticsLiveStreamService {
         ));
     }
 
-    public void publishRefresh(AnalyticsLiveDashboardMessage message) {
-        if (message == null) {
-            return;
-        }
-
-        clearAdminCaches();
-        broadcast(ADMIN_SCOPE_KEY, EVENT_DASHBOARD_REFRESH, new AnalyticsLiveRefreshEvent(
-                "admin",
-                null,
-                normalizeTrigger(message.trigger()),
-                message.occurredAt() == null ? Instant.now() : message.occurredAt()
-        ));
+    public boolean hasAdminSubscribers() {
+        return hasSubscribers(ADMIN_SCOPE_KEY);
+    }
 
-        if (message.vendorIds() == null || message.vendorIds().isEmpty()) {
-            clearVendorAnalyticsCache();
-            return;
-        }
+    public boolean hasVendorSubscribers(UUID vendorId) {
+        return vendorId != null && hasSubscribers(vendorScopeKey(vendorId));
+    }
 
-        for (UUID vendorId : message.vendorIds()) {
-            if (vendorId == null) {
-                continue;
+    public Set<UUID> vendorsWithSubscribers() {
+        Set<UUID> vendorIds = new HashSet<>();
+        for (String scopeKey : emittersByScope.keySet()) {
+            if (scopeKey.startsWith(VENDOR_SCOPE_PREFIX)) {
+                vendorIds.add(UUID.fromString(scopeKey.substring(VENDOR_SCOPE_PREFIX.length())));
             }
-            clearVendorAnalyticsCache(vendorId);
-            broadcast(vendorScopeKey(vendorId), EVENT_DASHBOARD_REFRESH, new AnalyticsLiveRefreshEvent(
-                    "vendor",
-                    vendorId,
-                    normalizeTrigger(message.trigger()),
-                    message.occurredAt() == null ? Instant.now() : message.occurredAt()
-            ));
         }
+        return vendorIds;
+    }
+
+    public void publishAdminUpdate(AnalyticsLiveRefreshEvent<?> event) {
+        broadcast(ADMIN_SCOPE_KEY, EVENT_DASHBOARD_UPDATE, event);
+    }
+
+    public void publishVendorUpdate(UUID vendorId, AnalyticsLiveRefreshEvent<?> event) {
+        broadcast(vendorScopeKey(vendorId), EVENT_DASHBOARD_UPDATE, event);
     }
 
     @Scheduled(fixedDelayString = "${analytics.live.heartbeat-interval-ms:25000}")
@@ -159,35 +143,12 @@ public class AnalyticsLiveStreamService {
         }
     }
 
-    private void clearAdminCaches() {
-        for (String cacheName : ADMIN_CACHE_NAMES) {
-            Cache cache = cacheManager.getCache(cacheName);
-            if (cache == null) {
-                continue;
-            }
-            cache.clear();
-        }
-    }
-
-    private void clearVendorAnalyticsCache() {
-        Cache cache = cacheManager.getCache("vendorAnalytics");
-        if (cache != null) {
-            cache.clear();
-        }
-    }
-
-    private void clearVendorAnalyticsCache(UUID vendorId) {
-        Cache cache = cacheManager.getCache("vendorAnalytics");
-        if (cache != null) {
-            cache.evict(vendorId);
-        }
+    private boolean hasSubscribers(String scopeKey) {
+        CopyOnWriteArraySet<SseEmitter> emitters = emittersByScope.get(scopeKey);
+        return emitters != null && !emitters.isEmpty();
     }
 
     private String vendorScopeKey(UUID vendorId) {
-        return "vendor:" + vendorId;
-    }
-
-    private String normalizeTrigger(String trigger) {
-        return (trigger == null || trigger.isBlank()) ? "order_changed" : trigger.trim();
+        return VENDOR_SCOPE_PREFIX + vendorId;
     }
 }
@@ -0,0 +1,240 @@
+package com.rumal.analytics_service.service;
+
+import com.rumal.analytics_service.dto.AdminDashboardAnalytics;
+import com.rumal.analytics_service.dto.AnalyticsLiveDashboardMessage;
+import com.rumal.analytics_service.dto.AnalyticsLiveRefreshEvent;
+import com.rumal.analytics_service.dto.VendorDashboardAnalytics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds the order events arriving on the live Redis channel into one dashboard recompute per refresh window.
+ * A window closes {@code debounce-ms} after the last event, but never later than {@code max-staleness-ms} after the
+ * first, so a steady stream of orders still produces updates. All flushes run on a single thread, so at most one
+ * recompute is in flight and downstream load is bounded by the window rather than by the order rate.
+ * <p>
+ * Only the cache entries order events can change are evicted: the configured revenue periods, the top products and
+ * the order-driven leaderboard orderings. Other keys age out with their TTL. The admin event lists the evicted views as
+ * {@code staleMetrics}, so clients refetch just those.
+ */
+@Service
+public class AnalyticsRefreshCoalescer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRefreshCoalescer.class);
+    private static final String DASHBOARD_SUMMARY_CACHE = "dashboardSummary";
+    private static final String VENDOR_ANALYTICS_CACHE = "vendorAnalytics";
+    private static final String REVENUE_SUMMARY_CACHE = "revenueSummary";
+    private static final String TOP_PRODUCTS_CACHE = "topProducts";
+    private static final String VENDOR_LEADERBOARD_CACHE = "vendorLeaderboard";
+    private static final List<String> ORDER_DRIVEN_LEADERBOARD_SORTS = List.of(
+            "ORDERS_COMPLETED",
+            "REVENUE",
+            "FULFILLMENT_RATE",
+            "DISPUTE_RATE"
+    );
+    private static final List<String> STALE_ADMIN_METRICS = List.of(
+            "revenue-trend",
+            "top-products",
+            "vendor-leaderboard"
+    );
+
+    private final AdminAnalyticsService adminAnalyticsService;
+    private final VendorAnalyticsService vendorAnalyticsService;
+    private final AnalyticsLiveStreamService liveStreamService;
+    private final CacheManager cacheManager;
+    private final long debounceNanos;
+    private final long maxStalenessNanos;
+    private final int dashboardPeriodDays;
+    private final List<Integer> revenuePeriodDays;
+    private final ScheduledExecutorService flushExecutor;
+    private final Object lock = new Object();
+
+    private PendingRefresh pending;
+
+    public AnalyticsRefreshCoalescer(
+            AdminAnalyticsService adminAnalyticsService,
+            VendorAnalyticsService vendorAnalyticsService,
+            AnalyticsLiveStreamService liveStreamService,
+            CacheManager cacheManager,
+            @Value("${analytics.live.refresh.debounce-ms:2000}") long debounceMs,
+            @Value("${analytics.live.refresh.max-staleness-ms:10000}") long maxStalenessMs,
+            @Value("${analytics.live.refresh.dashboard-period-days:30}") int dashboardPeriodDays,
+            @Value("${analytics.live.refresh.revenue-period-days:7,30,90,365}") List<Integer> revenuePeriodDays
+    ) {
+        this.adminAnalyticsService = adminAnalyticsService;
+        this.vendorAnalyticsService = vendorAnalyticsService;
+        this.liveStreamService = liveStreamService;
+        this.cacheManager = cacheManager;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, debounceMs));
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(debounceMs, maxStalenessMs));
+        this.dashboardPeriodDays = dashboardPeriodDays;
+        this.revenuePeriodDays = List.copyOf(revenuePeriodDays);
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics-live-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void submit(AnalyticsLiveDashboardMessage message) {
+        if (message == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (lock) {
+            if (pending == null) {
+                pending = new PendingRefresh(now);
+                scheduleFlush(debounceNanos);
+            }
+            pending.add(message, now);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flushExecutor.shutdownNow();
+    }
+
+    void flushIfDue() {
+        PendingRefresh batch;
+        synchronized (lock) {
+            if (pending == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            long dueAt = Math.min(pending.lastEventAt + debounceNanos, pending.firstEventAt + maxStalenessNanos);
+            if (now - dueAt < 0) {
+                scheduleFlush(dueAt - now);
+                return;
+            }
+            batch = pending;
+            pending = null;
+        }
+
+        try {
+            flush(batch);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to refresh live analytics dashboards for {} coalesced events", batch.events, ex);
+        }
+    }
+
+    private void scheduleFlush(long delayNanos) {
+        flushExecutor.schedule(this::flushIfDue, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void flush(PendingRefresh batch) {
+        refreshAdminDashboard(batch);
+
+        if (batch.allVendors) {
+            clearCache(VENDOR_ANALYTICS_CACHE);
+            for (UUID vendorId : liveStreamService.vendorsWithSubscribers()) {
+                refreshVendorDashboard(vendorId, batch);
+            }
+            return;
+        }
+        for (UUID vendorId : batch.vendorIds) {
+            if (liveStreamService.hasVendorSubscribers(vendorId)) {
+                refreshVendorDashboard(vendorId, batch);
+            } else {
+                evict(VENDOR_ANALYTICS_CACHE, vendorId);
+            }
+        }
+    }
+
+    private void refreshAdminDashboard(PendingRefresh batch) {
+        for (int days : revenuePeriodDays) {
+            evict(REVENUE_SUMMARY_CACHE, days);
+            evict(DASHBOARD_SUMMARY_CACHE, days);
+        }
+        evict(TOP_PRODUCTS_CACHE, SimpleKey.EMPTY);
+        for (String sortBy : ORDER_DRIVEN_LEADERBOARD_SORTS) {
+            evict(VENDOR_LEADERBOARD_CACHE, sortBy);
+        }
+        if (!liveStreamService.hasAdminSubscribers()) {
+            evict(DASHBOARD_SUMMARY_CACHE, dashboardPeriodDays);
+            return;
+        }
+
+        AdminDashboardAnalytics dashboard = adminAnalyticsService.loadDashboardSummary(dashboardPeriodDays);
+        Cache cache = cacheManager.getCache(DASHBOARD_SUMMARY_CACHE);
+        if (cache != null) {
+            cache.put(dashboardPeriodDays, dashboard);
+        }
+        liveStreamService.publishAdminUpdate(new AnalyticsLiveRefreshEvent<>(
+                "admin", null, batch.trigger, batch.occurredAt, batch.events, dashboard, STALE_ADMIN_METRICS));
+    }
+
+    private void refreshVendorDashboard(UUID vendorId, PendingRefresh batch) {
+        VendorDashboardAnalytics dashboard = vendorAnalyticsService.loadVendorDashboard(vendorId);
+        Cache cache = cacheManager.getCache(VENDOR_ANALYTICS_CACHE);
+        if (cache != null) {
+            cache.put(vendorId, dashboard);
+        }
+        liveStreamService.publishVendorUpdate(vendorId, new AnalyticsLiveRefreshEvent<>(
+                "vendor", vendorId, batch.trigger, batch.occurredAt, batch.events, dashboard, List.of()));
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clearCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static final class PendingRefresh {
+        private final long firstEventAt;
+        private final Set<UUID> vendorIds = new LinkedHashSet<>();
+        private long lastEventAt;
+        private int events;
+        private boolean allVendors;
+        private String trigger = "order_changed";
+        private Instant occurredAt = Instant.now();
+
+        private PendingRefresh(long firstEventAt) {
+            this.firstEventAt = firstEventAt;
+            this.lastEventAt = firstEventAt;
+        }
+
+        private void add(AnalyticsLiveDashboardMessage message, long now) {
+            lastEventAt = now;
+            events++;
+            if (message.trigger() != null && !message.trigger().isBlank()) {
+                trigger = message.trigger().trim();
+            }
+            if (message.occurredAt() != null) {
+                occurredAt = message.occurredAt();
+            }
+            if (message.vendorIds() == null || message.vendorIds().isEmpty()) {
+                allVendors = true;
+                return;
+            }
+            for (UUID vendorId : message.vendorIds()) {
+                if (vendorId != null) {
+                    vendorIds.add(vendorId);
+                }
+            }
+        }
+    }
+}
@@ -27,8 +27,12 @@ public class VendorAnalyticsService {
     private final VendorAnalyticsClient vendorClient;
     private final ExecutorService analyticsExecutor;
 
-    @Cacheable(cacheNames = "vendorAnalytics", key = "#vendorId")
+    @Cacheable(cacheNames = "vendorAnalytics", key = "#vendorId", sync = true)
     public VendorDashboardAnalytics getVendorDashboard(UUID vendorId) {
+        return loadVendorDashboard(vendorId);
+    }
+
+    public VendorDashboardAnalytics loadVendorDashboard(UUID vendorId) {
         var ordersFuture = CompletableFuture.supplyAsync(() -> safeCall(() -> orderClient.getVendorSummary(vendorId, 30), null), analyticsExecutor)
                 .orTimeout(10, TimeUnit.SECONDS);
         var revenueTrendFuture = CompletableFuture.supplyAsync(() -> safeCall(() -> orderClient.getVendorRevenueTrend(vendorId, 30), List.<DailyRevenueBucket>of()), analyticsExecutor)
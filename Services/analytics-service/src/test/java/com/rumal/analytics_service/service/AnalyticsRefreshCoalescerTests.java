@@ -0,0 +1,104 @@
+package com.rumal.analytics_service.service;
+
+import com.rumal.analytics_service.dto.AnalyticsLiveDashboardMessage;
+import com.rumal.analytics_service.dto.AnalyticsLiveRefreshEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalyticsRefreshCoalescerTests {
+
+    private final AdminAnalyticsService adminAnalyticsService = mock(AdminAnalyticsService.class);
+    private final VendorAnalyticsService vendorAnalyticsService = mock(VendorAnalyticsService.class);
+    private final AnalyticsLiveStreamService liveStreamService = mock(AnalyticsLiveStreamService.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private AnalyticsRefreshCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new AnalyticsRefreshCoalescer(
+                adminAnalyticsService, vendorAnalyticsService, liveStreamService, cacheManager, 50, 500, 30, List.of(7, 30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.destroy();
+    }
+
+    @Test
+    void burstOfEventsRecomputesAdminDashboardOnce() {
+        when(liveStreamService.hasAdminSubscribers()).thenReturn(true);
+        UUID vendorId = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            coalescer.submit(message(Set.of(vendorId)));
+        }
+
+        ArgumentCaptor<AnalyticsLiveRefreshEvent<?>> event = ArgumentCaptor.forClass(AnalyticsLiveRefreshEvent.class);
+        verify(liveStreamService, timeout(2000)).publishAdminUpdate(event.capture());
+        verify(adminAnalyticsService, after(200).times(1)).loadDashboardSummary(30);
+        assertThat(event.getValue().coalescedEvents()).isEqualTo(20);
+        assertThat(event.getValue().trigger()).isEqualTo("order_created");
+        assertThat(event.getValue().staleMetrics()).containsExactly("revenue-trend", "top-products", "vendor-leaderboard");
+    }
+
+    @Test
+    void evictsOnlyTheEntriesOrderEventsChange() {
+        cacheManager.getCache("revenueSummary").put(30, "stale");
+        cacheManager.getCache("revenueSummary").put(14, "kept");
+        cacheManager.getCache("topProducts").put(SimpleKey.EMPTY, "stale");
+        cacheManager.getCache("vendorLeaderboard").put("REVENUE", "stale");
+        cacheManager.getCache("vendorLeaderboard").put("AVERAGE_RATING", "kept");
+        cacheManager.getCache("dashboardSummary").put(7, "stale");
+
+        coalescer.submit(message(Set.of(UUID.randomUUID())));
+
+        verify(liveStreamService, timeout(2000)).hasAdminSubscribers();
+        verify(liveStreamService, timeout(2000)).hasVendorSubscribers(any());
+        assertThat(cacheManager.getCache("revenueSummary").get(30)).isNull();
+        assertThat(cacheManager.getCache("revenueSummary").get(14)).isNotNull();
+        assertThat(cacheManager.getCache("topProducts").get(SimpleKey.EMPTY)).isNull();
+        assertThat(cacheManager.getCache("vendorLeaderboard").get("REVENUE")).isNull();
+        assertThat(cacheManager.getCache("vendorLeaderboard").get("AVERAGE_RATING")).isNotNull();
+        assertThat(cacheManager.getCache("dashboardSummary").get(7)).isNull();
+    }
+
+    @Test
+    void vendorsWithoutSubscribersAreEvictedInsteadOfRecomputed() {
+        UUID watched = UUID.randomUUID();
+        UUID unwatched = UUID.randomUUID();
+        when(liveStreamService.hasVendorSubscribers(watched)).thenReturn(true);
+        cacheManager.getCache("vendorAnalytics").put(unwatched, "stale");
+
+        coalescer.submit(message(Set.of(watched)));
+        coalescer.submit(message(Set.of(unwatched)));
+
+        verify(liveStreamService, timeout(2000)).publishVendorUpdate(any(), any());
+        verify(vendorAnalyticsService, times(1)).loadVendorDashboard(watched);
+        verify(vendorAnalyticsService, never()).loadVendorDashboard(unwatched);
+        verify(adminAnalyticsService, never()).loadDashboardSummary(30);
+        assertThat(cacheManager.getCache("vendorAnalytics").get(unwatched)).isNull();
+    }
+
+    private static AnalyticsLiveDashboardMessage message(Set<UUID> vendorIds) {
+        return new AnalyticsLiveDashboardMessage(UUID.randomUUID(), vendorIds, "order_created", Instant.now(), List.of());
+    }
+}
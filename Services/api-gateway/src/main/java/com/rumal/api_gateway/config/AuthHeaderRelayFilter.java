@@ -4,19 +4,15 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpCookie;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.crypto.Mac;
@@ -34,6 +30,7 @@ public class AuthHeaderRelayFilter implements GlobalFilter, Ordered {
     private static final String GUEST_CART_ID_COOKIE = "rs_guest_cart_id";
     private static final String GUEST_CART_SIGNATURE_COOKIE = "rs_guest_cart_sig";
     private static final String INTERNAL_AUTH_HEADER = "X-Internal-Auth";
+    private static final String UNSIGNED_PAYLOAD_HASH = "UNSIGNED-PAYLOAD";
     private static final List<String> STRIPPED_HEADERS = List.of(
             "X-User-Sub",
             "X-User-Email",
@@ -130,64 +127,37 @@ public class AuthHeaderRelayFilter implements GlobalFilter, Ordered {
             return chain.filter(exchange);
         }
 
-        return resolveBodyBytes(exchange)
-                .flatMap(bodyBytes -> {
-                    String bodyHash = bodyBytes.length > 0 ? sha256Hex(bodyBytes) : "";
-                    String timestamp = String.valueOf(System.currentTimeMillis());
-                    String method = exchange.getRequest().getMethod().name();
-                    String path = exchange.getRequest().getURI().getRawPath();
+        String bodyHash = resolveBodyHash(exchange);
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String method = exchange.getRequest().getMethod().name();
+        String path = exchange.getRequest().getURI().getRawPath();
 
-                    String payload = timestamp + ":" + method + ":" + path + ":" + bodyHash;
-                    String signature = computeHmac(internalSharedSecret, payload);
+        String payload = timestamp + ":" + method + ":" + path + ":" + bodyHash;
+        String signature = computeHmac(internalSharedSecret, payload);
 
-                    ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                            .headers(headers -> {
-                                headers.set("X-Internal-Timestamp", timestamp);
-                                headers.set("X-Internal-Signature", signature);
-                                headers.set("X-Internal-Path", path);
-                                headers.set("X-Internal-Body-Hash", bodyHash);
-                            })
-                            .build();
-
-                    if (bodyBytes.length > 0) {
-                        ServerHttpRequestDecorator decoratedRequest = new ServerHttpRequestDecorator(mutatedRequest) {
-                            @Override
-                            public Flux<DataBuffer> getBody() {
-                                return Flux.just(exchange.getResponse().bufferFactory().wrap(bodyBytes));
-                            }
-                        };
-                        return chain.filter(exchange.mutate().request(decoratedRequest).build());
-                    }
-
-                    return chain.filter(exchange.mutate().request(mutatedRequest).build());
-                });
+        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set("X-Internal-Timestamp", timestamp);
+                    headers.set("X-Internal-Signature", signature);
+                    headers.set("X-Internal-Path", path);
+                    headers.set("X-Internal-Body-Hash", bodyHash);
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(mutatedRequest).build());
     }
 
-    private Mono<byte[]> resolveBodyBytes(ServerWebExchange exchange) {
+    /**
+     * Uses the hash computed while {@link RequestBodyCaptureFilter} read the body. Streamed uploads are never held in
+     * memory, so they are signed as {@value #UNSIGNED_PAYLOAD_HASH} rather than buffered just to be hashed.
+     */
+    private String resolveBodyHash(ServerWebExchange exchange) {
         HttpMethod method = exchange.getRequest().getMethod();
         if (method == HttpMethod.GET || method == HttpMethod.DELETE
                 || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
-            return Mono.just(new byte[0]);
+            return "";
         }
-        return exchange.getRequest().getBody()
-                .map(dataBuffer -> {
-                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                    dataBuffer.read(bytes);
-                    DataBufferUtils.release(dataBuffer);
-                    return bytes;
-                })
-                .collectList()
-                .map(list -> {
-                    int total = list.stream().mapToInt(b -> b.length).sum();
-                    byte[] combined = new byte[total];
-                    int offset = 0;
-                    for (byte[] chunk : list) {
-                        System.arraycopy(chunk, 0, combined, offset, chunk.length);
-                        offset += chunk.length;
-                    }
-                    return combined;
-                })
-                .defaultIfEmpty(new byte[0]);
+        String bodyHash = RequestBodyCaptureFilter.bodySha256(exchange);
+        return bodyHash == null ? UNSIGNED_PAYLOAD_HASH : bodyHash;
     }
 
     private String computeHmac(String secret, String payload) {
@@ -201,15 +171,6 @@ public class AuthHeaderRelayFilter implements GlobalFilter, Ordered {
         }
     }
 
-    private String sha256Hex(byte[] data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return HexFormat.of().formatHex(digest.digest(data));
-        } catch (Exception e) {
-            return "";
-        }
-    }
-
     @Override
     public int getOrder() {
         return -1;
@@ -18,8 +18,6 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -47,6 +45,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
+import static com.rumal.api_gateway.config.RoutePolicyTable.ANY_METHOD;
+import static com.rumal.api_gateway.config.RoutePolicyTable.POST;
+import static com.rumal.api_gateway.config.RoutePolicyTable.PUT;
+import static com.rumal.api_gateway.config.RoutePolicyTable.WRITE_METHODS;
+
 @Component
 @NullMarked
 public class IdempotencyFilter implements GlobalFilter, Ordered {
@@ -74,6 +77,7 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
     private final Duration pendingTtl;
     private final String keyHeaderName;
     private final String keyPrefix;
+    private final RoutePolicyTable<Boolean> protectedMutations = protectedMutationRoutes();
 
     public IdempotencyFilter(
             ReactiveStringRedisTemplate redisTemplate,
@@ -84,7 +88,7 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
             @Value("${idempotency.response-ttl:24h}") Duration responseTtl,
             @Value("${idempotency.pending-ttl:30s}") Duration pendingTtl,
             @Value("${idempotency.key-header-name:Idempotency-Key}") String keyHeaderName,
-            @Value("${idempotency.key-prefix:gw:idem:v1::}") String keyPrefix
+            @Value("${idempotency.key-prefix:gw:idem:v2::}") String keyPrefix
     ) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
@@ -119,11 +123,17 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
             return writeJsonError(exchange, HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key format", "INVALID_KEY");
         }
 
-        return readRequestBody(exchange)
-                .flatMap(requestBody -> userOrIpKeyResolver.resolve(exchange)
-                        .defaultIfEmpty("ip:unknown")
-                        .map(this::normalizeScopeKey)
-                        .flatMap(scopeKey -> applyIdempotency(exchange, chain, scopeKey, idempotencyKey.trim(), requestBody)));
+        if (RequestBodyCaptureFilter.streamedForSize(exchange)) {
+            return writeJsonError(exchange, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body is too large for an idempotent request", "PAYLOAD_TOO_LARGE");
+        }
+
+        String bodyHash = RequestBodyCaptureFilter.bodySha256(exchange);
+        return userOrIpKeyResolver.resolve(exchange)
+                .defaultIfEmpty("ip:unknown")
+                .map(this::normalizeScopeKey)
+                .flatMap(scopeKey -> applyIdempotency(exchange, chain, scopeKey, idempotencyKey.trim(),
+                        bodyHash == null ? "" : bodyHash));
     }
 
     private Mono<Void> applyIdempotency(
@@ -131,19 +141,19 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
             GatewayFilterChain chain,
             String scopeKey,
             String idempotencyKey,
-            byte[] requestBody
+            String bodyHash
     ) {
         String requestPath = exchange.getRequest().getPath().value();
         String requestQuery = exchange.getRequest().getURI().getRawQuery();
         String method = exchange.getRequest().getMethod().name();
         String requestHash = sha256Hex(method + "|" + requestPath + "|" + (requestQuery == null ? "" : requestQuery) + "|"
-                + Base64.getEncoder().encodeToString(requestBody));
+                + bodyHash);
         String redisKey = buildRedisKey(scopeKey, method, requestPath, idempotencyKey);
 
         return redisTemplate.opsForValue().get(redisKey)
                 .flatMap(existing -> handleExistingEntry(exchange, redisKey, existing, requestHash).thenReturn(Boolean.TRUE))
                 .switchIfEmpty(
-                        Mono.defer(() -> startPendingAndForward(exchange, chain, redisKey, requestHash, requestBody)
+                        Mono.defer(() -> startPendingAndForward(exchange, chain, redisKey, requestHash)
                                 .thenReturn(Boolean.TRUE))
                 )
                 .then();
@@ -181,8 +191,7 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
             ServerWebExchange exchange,
             GatewayFilterChain chain,
             String redisKey,
-            String requestHash,
-            byte[] requestBody
+            String requestHash
     ) {
         String pendingJson = serializeEntry(IdempotencyEntry.pending(requestHash));
         if (pendingJson == null) {
@@ -193,7 +202,7 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
                 .flatMap(acquired -> {
                     boolean lockAcquired = Boolean.TRUE.equals(acquired);
                     if (lockAcquired) {
-                        return forwardAndCapture(exchange, chain, redisKey, requestHash, requestBody);
+                        return forwardAndCapture(exchange, chain, redisKey, requestHash);
                     }
                     return redisTemplate.opsForValue().get(redisKey)
                             .flatMap(existing -> handleExistingEntry(exchange, redisKey, existing, requestHash).thenReturn(Boolean.TRUE))
@@ -209,10 +218,8 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
             ServerWebExchange exchange,
             GatewayFilterChain chain,
             String redisKey,
-            String requestHash,
-            byte[] requestBody
+            String requestHash
     ) {
-        ServerHttpRequest decoratedRequest = buildDecoratedRequest(exchange, requestBody);
         ByteArrayOutputStream responseBodyCapture = new ByteArrayOutputStream();
         AtomicReference<@Nullable HttpStatusCode> responseStatusRef = new AtomicReference<>();
         AtomicReference<HttpHeaders> responseHeadersRef = new AtomicReference<>(new HttpHeaders());
@@ -261,7 +268,6 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
         };
 
         ServerWebExchange decoratedExchange = exchange.mutate()
-                .request(decoratedRequest)
                 .response(decoratedResponse)
                 .build();
         decoratedExchange.getResponse().getHeaders().set(IDEMPOTENCY_STATUS_HEADER, "MISS");
@@ -366,39 +372,6 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
         return exchange.getResponse().writeWith(Mono.just(dataBuffer));
     }
 
-    private Mono<byte[]> readRequestBody(ServerWebExchange exchange) {
-        return DataBufferUtils.join(exchange.getRequest().getBody())
-                .map(dataBuffer -> {
-                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                    dataBuffer.read(bytes);
-                    DataBufferUtils.release(dataBuffer);
-                    return bytes;
-                })
-                .switchIfEmpty(Mono.just(new byte[0]));
-    }
-
-    private ServerHttpRequest buildDecoratedRequest(ServerWebExchange exchange, byte[] body) {
-        return new ServerHttpRequestDecorator(exchange.getRequest()) {
-            @Override
-            public HttpHeaders getHeaders() {
-                HttpHeaders headers = new HttpHeaders();
-                headers.putAll(super.getHeaders());
-                headers.remove(HttpHeaders.CONTENT_LENGTH);
-                headers.setContentLength(body.length);
-                return headers;
-            }
-
-            @Override
-            public Flux<DataBuffer> getBody() {
-                return Flux.defer(() -> {
-                    byte[] cloned = body.clone();
-                    DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(cloned);
-                    return Mono.just(buffer);
-                });
-            }
-        };
-    }
-
     private boolean isMutatingRequest(ServerWebExchange exchange) {
         HttpMethod method = exchange.getRequest().getMethod();
         return method == HttpMethod.POST
@@ -408,26 +381,51 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
     }
 
     private boolean shouldSkipBodyBuffering(ServerWebExchange exchange) {
-        MediaType contentType = exchange.getRequest().getHeaders().getContentType();
-        if (contentType == null) {
-            return false;
-        }
-        return MediaType.MULTIPART_FORM_DATA.isCompatibleWith(contentType)
-                || MediaType.APPLICATION_OCTET_STREAM.isCompatibleWith(contentType)
-                || contentType.getType().equals("image")
-                || contentType.getType().equals("video")
-                || contentType.getType().equals("audio");
+        return RequestBodyCaptureFilter.isStreamedContentType(exchange.getRequest().getHeaders().getContentType());
     }
 
     private boolean isProtectedMutation(ServerWebExchange exchange) {
-        HttpMethod method = exchange.getRequest().getMethod();
-        String path = exchange.getRequest().getPath().value();
-
-        return isProtectedAuthOrAdminMutation(path, method)
-                || isProtectedCustomerMutation(path, method)
-                || isProtectedOrderOrPaymentMutation(path, method)
-                || isProtectedCartOrWishlistMutation(path, method)
-                || isProtectedVendorMutation(path, method);
+        return protectedMutations.resolve(exchange.getRequest().getMethod(), exchange.getRequest().getPath().value());
+    }
+
+    /**
+     * Mutations that always require an {@code Idempotency-Key}, even when
+     * {@code idempotency.require-key-for-mutating-requests} is off.
+     */
+    static RoutePolicyTable<Boolean> protectedMutationRoutes() {
+        return RoutePolicyTable.<Boolean>builder()
+                // auth and admin
+                .prefix(ANY_METHOD, "/admin/", Boolean.TRUE)
+                .exact(POST, "/auth/logout", Boolean.TRUE)
+                .exact(POST, "/auth/session", Boolean.TRUE)
+                .exact(POST, "/auth/resend-verification", Boolean.TRUE)
+                .exact(POST, "/customers/register-identity", Boolean.TRUE)
+                // customer
+                .exact(WRITE_METHODS, "/customers/me/addresses", Boolean.TRUE)
+                .prefix(WRITE_METHODS, "/customers/me/addresses/", Boolean.TRUE)
+                .exact(PUT, "/customers/me", Boolean.TRUE)
+                .exact(POST, "/customers/me/deactivate", Boolean.TRUE)
+                // orders and payments
+                .exact(POST, "/orders/me", Boolean.TRUE)
+                .prefixAndSuffix(POST, "/orders/me/", "/cancel", Boolean.TRUE)
+                .exact(POST, "/payments/me/initiate", Boolean.TRUE)
+                .exact(POST, "/payments/me/refunds", Boolean.TRUE)
+                .prefixAndSuffix(POST, "/payments/vendor/me/refunds/", "/respond", Boolean.TRUE)
+                .prefixAndSuffix(POST, "/admin/payments/refunds/", "/finalize", Boolean.TRUE)
+                // cart and wishlist
+                .exact(POST, "/cart/me/checkout", Boolean.TRUE)
+                .exact(WRITE_METHODS, "/cart/me", Boolean.TRUE)
+                .exact(WRITE_METHODS, "/cart/me/items", Boolean.TRUE)
+                .prefix(WRITE_METHODS, "/cart/me/items/", Boolean.TRUE)
+                .exact(WRITE_METHODS, "/wishlist/me", Boolean.TRUE)
+                .exact(WRITE_METHODS, "/wishlist/me/items", Boolean.TRUE)
+                .prefix(WRITE_METHODS, "/wishlist/me/items/", Boolean.TRUE)
+                // vendor self-service
+                .exact(POST, "/vendors/me/stop-orders", Boolean.TRUE)
+                .exact(POST, "/vendors/me/resume-orders", Boolean.TRUE)
+                .exact(PUT, "/vendors/me", Boolean.TRUE)
+                .exact(PUT, "/vendors/me/payout-config", Boolean.TRUE)
+                .build(Boolean.FALSE);
     }
 
     private String buildRedisKey(String scopeKey, String method, String path, String idempotencyKey) {
@@ -459,81 +457,6 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
         exchange.getResponse().getHeaders().set(IDEMPOTENCY_STATUS_HEADER, "SKIPPED");
     }
 
-    private boolean isProtectedAuthOrAdminMutation(String path, @Nullable HttpMethod method) {
-        return path.startsWith("/admin/")
-                || matchesPost(path, method, "/auth/logout", "/auth/session",
-                "/auth/resend-verification", "/customers/register-identity");
-    }
-
-    private boolean isProtectedCustomerMutation(String path, @Nullable HttpMethod method) {
-        return matchesWritePath(path, method, "/customers/me/addresses", "/customers/me/addresses/")
-                || matchesMethodAndPath(method, HttpMethod.PUT, path, "/customers/me")
-                || matchesMethodAndPath(method, HttpMethod.POST, path, "/customers/me/deactivate");
-    }
-
-    private boolean isProtectedOrderOrPaymentMutation(String path, @Nullable HttpMethod method) {
-        return matchesMethodAndPath(method, HttpMethod.POST, path, "/orders/me")
-                || (isMethod(method, HttpMethod.POST) && path.startsWith("/orders/me/") && path.endsWith("/cancel"))
-                || matchesPost(path, method, "/payments/me/initiate", "/payments/me/refunds")
-                || (isMethod(method, HttpMethod.POST)
-                && path.startsWith("/payments/vendor/me/refunds/") && path.endsWith("/respond"))
-                || (isMethod(method, HttpMethod.POST)
-                && path.startsWith("/admin/payments/refunds/") && path.endsWith("/finalize"));
-    }
-
-    private boolean isProtectedCartOrWishlistMutation(String path, @Nullable HttpMethod method) {
-        return matchesMethodAndPath(method, HttpMethod.POST, path, "/cart/me/checkout")
-                || matchesWritePath(path, method, "/cart/me", "/cart/me/items", "/cart/me/items/")
-                || matchesWritePath(path, method, "/wishlist/me", "/wishlist/me/items", "/wishlist/me/items/");
-    }
-
-    private boolean isProtectedVendorMutation(String path, @Nullable HttpMethod method) {
-        return matchesPost(path, method, "/vendors/me/stop-orders", "/vendors/me/resume-orders")
-                || matchesMethodAndPath(method, HttpMethod.PUT, path, "/vendors/me")
-                || matchesMethodAndPath(method, HttpMethod.PUT, path, "/vendors/me/payout-config");
-    }
-
-    private boolean matchesWritePath(String path, @Nullable HttpMethod method, String exactPath, String pathPrefix) {
-        return isWriteMethod(method) && (exactPath.equals(path) || path.startsWith(pathPrefix));
-    }
-
-    private boolean matchesWritePath(
-            String path,
-            @Nullable HttpMethod method,
-            String exactPath,
-            String secondaryExactPath,
-            String pathPrefix
-    ) {
-        return isWriteMethod(method)
-                && (exactPath.equals(path) || secondaryExactPath.equals(path) || path.startsWith(pathPrefix));
-    }
-
-    private boolean matchesPost(String path, @Nullable HttpMethod method, String... exactPaths) {
-        for (String exactPath : exactPaths) {
-            if (matchesMethodAndPath(method, HttpMethod.POST, path, exactPath)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean matchesMethodAndPath(
-            @Nullable HttpMethod actualMethod,
-            HttpMethod expectedMethod,
-            String actualPath,
-            String expectedPath
-    ) {
-        return actualMethod == expectedMethod && expectedPath.equals(actualPath);
-    }
-
-    private boolean isWriteMethod(@Nullable HttpMethod method) {
-        return method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.DELETE;
-    }
-
-    private boolean isMethod(@Nullable HttpMethod actualMethod, HttpMethod expectedMethod) {
-        return actualMethod == expectedMethod;
-    }
-
     private String sha256Hex(String value) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
@@ -573,7 +496,7 @@ public class IdempotencyFilter implements GlobalFilter, Ordered {
 
     @Override
     public int getOrder() {
-        return Ordered.HIGHEST_PRECEDENCE + 5;
+        return Ordered.HIGHEST_PRECEDENCE + 12;
     }
 
     private record IdempotencyEntry(
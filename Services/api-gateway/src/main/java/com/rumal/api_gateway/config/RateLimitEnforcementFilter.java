@@ -7,7 +7,6 @@ import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
 import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.NullUnmarked;
-import org.jspecify.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
@@ -24,56 +23,25 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import static com.rumal.api_gateway.config.RoutePolicyTable.ANY_METHOD;
+import static com.rumal.api_gateway.config.RoutePolicyTable.GET;
+import static com.rumal.api_gateway.config.RoutePolicyTable.NON_READ_METHODS;
+import static com.rumal.api_gateway.config.RoutePolicyTable.POST;
+import static com.rumal.api_gateway.config.RoutePolicyTable.PUT;
+import static com.rumal.api_gateway.config.RoutePolicyTable.READ_METHODS;
+import static com.rumal.api_gateway.config.RoutePolicyTable.WRITE_METHODS;
+
 @Component
 @NullMarked
 public class RateLimitEnforcementFilter implements GlobalFilter, Ordered {
     private static final Logger log = LoggerFactory.getLogger(RateLimitEnforcementFilter.class);
 
-    private final RedisRateLimiter registerIdentityRateLimiter;
-    private final RedisRateLimiter authLogoutRateLimiter;
-    private final RedisRateLimiter authResendVerificationRateLimiter;
-    private final RedisRateLimiter authSessionRateLimiter;
-    private final RedisRateLimiter customerMeRateLimiter;
-    private final RedisRateLimiter customerAddressesRateLimiter;
-    private final RedisRateLimiter customerAddressesWriteRateLimiter;
-    private final RedisRateLimiter ordersMeRateLimiter;
-    private final RedisRateLimiter ordersMeWriteRateLimiter;
-    private final RedisRateLimiter cartMeRateLimiter;
-    private final RedisRateLimiter cartMeWriteRateLimiter;
-    private final RedisRateLimiter cartMeCheckoutRateLimiter;
-    private final RedisRateLimiter wishlistMeRateLimiter;
-    private final RedisRateLimiter wishlistMeWriteRateLimiter;
-    private final RedisRateLimiter adminOrdersRateLimiter;
-    private final RedisRateLimiter analyticsAdminRateLimiter;
-    private final RedisRateLimiter analyticsVendorRateLimiter;
-    private final RedisRateLimiter reportExportsCreateRateLimiter;
-    private final RedisRateLimiter reportExportsReadRateLimiter;
-    private final RedisRateLimiter productsRateLimiter;
-    private final RedisRateLimiter adminProductsRateLimiter;
-    private final RedisRateLimiter adminProductsWriteRateLimiter;
-    private final RedisRateLimiter publicPromotionsRateLimiter;
-    private final RedisRateLimiter publicCatalogAuxRateLimiter;
-    private final RedisRateLimiter vendorMeRateLimiter;
-    private final RedisRateLimiter vendorMeWriteRateLimiter;
-    private final RedisRateLimiter adminVendorsRateLimiter;
-    private final RedisRateLimiter adminVendorsWriteRateLimiter;
-    private final RedisRateLimiter adminPostersRateLimiter;
-    private final RedisRateLimiter adminPostersWriteRateLimiter;
-    private final RedisRateLimiter adminAccessRateLimiter;
-    private final RedisRateLimiter adminAccessWriteRateLimiter;
-    private final RedisRateLimiter adminMeRateLimiter;
-    private final RedisRateLimiter adminKeycloakSearchRateLimiter;
-    private final RedisRateLimiter paymentMeRateLimiter;
-    private final RedisRateLimiter paymentMeWriteRateLimiter;
-    private final RedisRateLimiter personalizationEventsRateLimiter;
-    private final RedisRateLimiter personalizationReadRateLimiter;
-    private final RedisRateLimiter webhookRateLimiter;
-    private final RedisRateLimiter gatewayDefaultRateLimiter;
-    private final KeyResolver ipKeyResolver;
-    private final KeyResolver userOrIpKeyResolver;
+    private final RoutePolicyTable<Policy> policies;
+    private final RoutePolicyTable<Boolean> failClosedPaths;
     private final ObjectMapper objectMapper;
     private final boolean failOpenOnRateLimiterError;
 
@@ -123,48 +91,60 @@ public class RateLimitEnforcementFilter implements GlobalFilter, Ordered {
             ObjectMapper objectMapper,
             @Value("${rate-limit.fail-open-on-error:true}") boolean failOpenOnRateLimiterError
     ) {
-        this.registerIdentityRateLimiter = registerIdentityRateLimiter;
-        this.authLogoutRateLimiter = authLogoutRateLimiter;
-        this.authResendVerificationRateLimiter = authResendVerificationRateLimiter;
-        this.authSessionRateLimiter = authSessionRateLimiter;
-        this.customerMeRateLimiter = customerMeRateLimiter;
-        this.customerAddressesRateLimiter = customerAddressesRateLimiter;
-        this.customerAddressesWriteRateLimiter = customerAddressesWriteRateLimiter;
-        this.ordersMeRateLimiter = ordersMeRateLimiter;
-        this.ordersMeWriteRateLimiter = ordersMeWriteRateLimiter;
-        this.cartMeRateLimiter = cartMeRateLimiter;
-        this.cartMeWriteRateLimiter = cartMeWriteRateLimiter;
-        this.cartMeCheckoutRateLimiter = cartMeCheckoutRateLimiter;
-        this.wishlistMeRateLimiter = wishlistMeRateLimiter;
-        this.wishlistMeWriteRateLimiter = wishlistMeWriteRateLimiter;
-        this.adminOrdersRateLimiter = adminOrdersRateLimiter;
-        this.analyticsAdminRateLimiter = analyticsAdminRateLimiter;
-        this.analyticsVendorRateLimiter = analyticsVendorRateLimiter;
-        this.reportExportsCreateRateLimiter = reportExportsCreateRateLimiter;
-        this.reportExportsReadRateLimiter = reportExportsReadRateLimiter;
-        this.productsRateLimiter = productsRateLimiter;
-        this.adminProductsRateLimiter = adminProductsRateLimiter;
-        this.adminProductsWriteRateLimiter = adminProductsWriteRateLimiter;
-        this.publicPromotionsRateLimiter = publicPromotionsRateLimiter;
-        this.publicCatalogAuxRateLimiter = publicCatalogAuxRateLimiter;
-        this.vendorMeRateLimiter = vendorMeRateLimiter;
-        this.vendorMeWriteRateLimiter = vendorMeWriteRateLimiter;
-        this.adminVendorsRateLimiter = adminVendorsRateLimiter;
-        this.adminVendorsWriteRateLimiter = adminVendorsWriteRateLimiter;
-        this.adminPostersRateLimiter = adminPostersRateLimiter;
-        this.adminPostersWriteRateLimiter = adminPostersWriteRateLimiter;
-        this.adminAccessRateLimiter = adminAccessRateLimiter;
-        this.adminAccessWriteRateLimiter = adminAccessWriteRateLimiter;
-        this.adminMeRateLimiter = adminMeRateLimiter;
-        this.adminKeycloakSearchRateLimiter = adminKeycloakSearchRateLimiter;
-        this.paymentMeRateLimiter = paymentMeRateLimiter;
-        this.paymentMeWriteRateLimiter = paymentMeWriteRateLimiter;
-        this.personalizationEventsRateLimiter = personalizationEventsRateLimiter;
-        this.personalizationReadRateLimiter = personalizationReadRateLimiter;
-        this.webhookRateLimiter = webhookRateLimiter;
-        this.gatewayDefaultRateLimiter = gatewayDefaultRateLimiter;
-        this.ipKeyResolver = ipKeyResolver;
-        this.userOrIpKeyResolver = userOrIpKeyResolver;
+        Map<String, Policy> policiesById = new HashMap<>();
+        register(policiesById, "register-identity", registerIdentityRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "auth-logout", authLogoutRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "auth-resend-verification", authResendVerificationRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "auth-session", authSessionRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "customer-me", customerMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "customer-addresses-read", customerAddressesRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "customer-addresses-write", customerAddressesWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "orders-me-write", ordersMeWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "orders-me-read", ordersMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "cart-me-checkout", cartMeCheckoutRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "cart-me-write", cartMeWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "cart-me-read", cartMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "wishlist-me-write", wishlistMeWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "wishlist-me-read", wishlistMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "analytics-admin", analyticsAdminRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "analytics-vendor", analyticsVendorRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "report-exports-create", reportExportsCreateRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "report-exports-read", reportExportsReadRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-orders", adminOrdersRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "promotions-me", publicPromotionsRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "promotions-read", publicPromotionsRateLimiter, ipKeyResolver);
+        register(policiesById, "products-read", productsRateLimiter, ipKeyResolver);
+        register(policiesById, "catalog-aux-read", publicCatalogAuxRateLimiter, ipKeyResolver);
+        register(policiesById, "vendor-me-read", vendorMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "vendor-me-write", vendorMeWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-products-read", adminProductsRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-products-write", adminProductsWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-posters-read", adminPostersRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-posters-write", adminPostersWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-vendors-read", adminVendorsRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-vendors-write", adminVendorsWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-me-read", adminMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-keycloak-search", adminKeycloakSearchRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-access-read", adminAccessRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "admin-access-write", adminAccessWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "webhooks", webhookRateLimiter, ipKeyResolver);
+        register(policiesById, "payment-me-read", paymentMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "payment-me-write", paymentMeWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "payment-vendor-me-read", paymentMeRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "payment-vendor-me-write", paymentMeWriteRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "personalization-events", personalizationEventsRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "personalization-read", personalizationReadRateLimiter, userOrIpKeyResolver);
+        register(policiesById, "search-read", productsRateLimiter, ipKeyResolver);
+        register(policiesById, "reviews-read", publicCatalogAuxRateLimiter, ipKeyResolver);
+        register(policiesById, "default", gatewayDefaultRateLimiter, userOrIpKeyResolver);
+        this.policies = policyRoutes().map(id -> {
+            Policy policy = policiesById.get(id);
+            if (policy == null) {
+                throw new IllegalStateException("No rate limiter registered for policy " + id);
+            }
+            return policy;
+        });
+        this.failClosedPaths = failClosedRoutes();
         this.objectMapper = objectMapper;
         this.failOpenOnRateLimiterError = failOpenOnRateLimiterError;
     }
@@ -176,7 +156,7 @@ public class RateLimitEnforcementFilter implements GlobalFilter, Ordered {
         }
         String path = exchange.getRequest().getPath().value();
         HttpMethod method = exchange.getRequest().getMethod();
-        Policy policy = resolvePolicy(path, method);
+        Policy policy = policies.resolve(method, path);
 
         return policy.keyResolver().resolve(exchange)
                 .defaultIfEmpty("ip:unknown")
@@ -269,54 +249,6 @@ public class RateLimitEnforcementFilter implements GlobalFilter, Ordered {
         return exchange.getResponse().writeWith(Mono.just(dataBuffer));
     }
 
-    private Policy resolvePolicy(String path, @Nullable HttpMethod method) {
-        Policy policy = resolveAuthPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveCustomerPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveOrderPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveCartAndWishlistPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveAnalyticsAndReportPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolvePromotionAndCatalogPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveVendorPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveAdminCatalogPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveAdminAccessPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveWebhookPaymentAndPersonalizationPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        policy = resolveSearchAndReviewPolicy(path, method);
-        if (policy != null) {
-            return policy;
-        }
-        return policy("default", gatewayDefaultRateLimiter, userOrIpKeyResolver);
-    }
-
     @Override
     public int getOrder() {
         return Ordered.HIGHEST_PRECEDENCE + 10;
@@ -334,266 +266,115 @@ public class RateLimitEnforcementFilter implements GlobalFilter, Ordered {
     }
 
     private boolean isFailClosedPath(String path) {
-        return path.startsWith("/orders")
-                || path.startsWith("/cart/me/checkout")
-                || path.startsWith("/payments")
-                || path.startsWith("/webhooks")
-                || "/customers/register-identity".equals(path)
-                || path.startsWith("/auth")
-                || path.startsWith("/personalization/events")
-                || path.startsWith("/analytics/")
-                || path.startsWith("/admin/orders/export");
-    }
-
-    private @Nullable Policy resolveAuthPolicy(String path, @Nullable HttpMethod method) {
-        if (matches(method, HttpMethod.POST, "/customers/register-identity", path)) {
-            return policy("register-identity", registerIdentityRateLimiter, userOrIpKeyResolver);
-        }
-        if (matches(method, HttpMethod.POST, "/auth/logout", path)) {
-            return policy("auth-logout", authLogoutRateLimiter, userOrIpKeyResolver);
-        }
-        if (matches(method, HttpMethod.POST, "/auth/resend-verification", path)) {
-            return policy("auth-resend-verification", authResendVerificationRateLimiter, userOrIpKeyResolver);
-        }
-        if (matches(method, HttpMethod.POST, "/auth/session", path)) {
-            return policy("auth-session", authSessionRateLimiter, userOrIpKeyResolver);
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveCustomerPolicy(String path, @Nullable HttpMethod method) {
-        if ("/customers/me".equals(path) && (isReadMethod(method) || method == HttpMethod.PUT)) {
-            return policy("customer-me", customerMeRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesAddressPath(path) && isReadMethod(method)) {
-            return policy("customer-addresses-read", customerAddressesRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesAddressPath(path) && isWriteMethod(method)) {
-            return policy("customer-addresses-write", customerAddressesWriteRateLimiter, userOrIpKeyResolver);
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveOrderPolicy(String path, @Nullable HttpMethod method) {
-        if (matches(method, HttpMethod.POST, "/orders/me", path)
-                || (method == HttpMethod.POST && path.startsWith("/orders/me/") && path.endsWith("/cancel"))) {
-            return policy("orders-me-write", ordersMeWriteRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesPrefix(path, "/orders/me") && method == HttpMethod.GET) {
-            return policy("orders-me-read", ordersMeRateLimiter, userOrIpKeyResolver);
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveCartAndWishlistPolicy(String path, @Nullable HttpMethod method) {
-        if (matches(method, HttpMethod.POST, "/cart/me/checkout", path)) {
-            return policy("cart-me-checkout", cartMeCheckoutRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesCartPath(path) && isWriteMethod(method)) {
-            return policy("cart-me-write", cartMeWriteRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesCartPath(path) && method == HttpMethod.GET) {
-            return policy("cart-me-read", cartMeRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesWishlistPath(path) && isWriteMethod(method)) {
-            return policy("wishlist-me-write", wishlistMeWriteRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesWishlistPath(path) && method == HttpMethod.GET) {
-            return policy("wishlist-me-read", wishlistMeRateLimiter, userOrIpKeyResolver);
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveAnalyticsAndReportPolicy(String path, @Nullable HttpMethod method) {
-        if (path.startsWith("/analytics/admin/")) {
-            return policy("analytics-admin", analyticsAdminRateLimiter, userOrIpKeyResolver);
-        }
-        if (path.startsWith("/analytics/vendor/")) {
-            return policy("analytics-vendor", analyticsVendorRateLimiter, userOrIpKeyResolver);
-        }
-        if (matches(method, HttpMethod.GET, "/admin/orders/export", path)
-                || matches(method, HttpMethod.POST, "/admin/orders/exports", path)) {
-            return policy("report-exports-create", reportExportsCreateRateLimiter, userOrIpKeyResolver);
-        }
-        if (path.startsWith("/admin/orders/exports/") && isReadMethod(method)) {
-            return policy("report-exports-read", reportExportsReadRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesPrefix(path, "/admin/orders") || matchesPrefix(path, "/admin/vendor-orders")) {
-            return policy("admin-orders", adminOrdersRateLimiter, userOrIpKeyResolver);
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolvePromotionAndCatalogPolicy(String path, @Nullable HttpMethod method) {
-        if (matchesPrefix(path, "/promotions/me")) {
-            return policy("promotions-me", publicPromotionsRateLimiter, userOrIpKeyResolver);
-        }
-        if (matchesPrefix(path, "/promotions") && isReadMethod(method)) {
-            return policy("promotions-read", publicPromotionsRateLimiter, ipKeyResolver);
-        }
-        if ((matchesPrefix(path, "/products") || matchesPrefix(path, "/categories")) && isReadMethod(method)) {
-            return policy("products-read", productsRateLimiter, ipKeyResolver);
-        }
-        if ((matchesPrefix(path, "/posters") || matchesPrefix(path, "/vendors")) && isReadMethod(method)) {
-            return policy("catalog-aux-read", publicCatalogAuxRateLimiter, ipKeyResolver);
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveVendorPolicy(String path, @Nullable HttpMethod method) {
-        if (matchesPrefix(path, "/vendors/me")) {
-            return readWritePolicy(
-                    method,
-                    "vendor-me-read",
-                    vendorMeRateLimiter,
-                    "vendor-me-write",
-                    vendorMeWriteRateLimiter
-            );
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveAdminCatalogPolicy(String path, @Nullable HttpMethod method) {
-        if (matchesPrefix(path, "/admin/products") || matchesPrefix(path, "/admin/categories")) {
-            return readWritePolicy(
-                    method,
-                    "admin-products-read",
-                    adminProductsRateLimiter,
-                    "admin-products-write",
-                    adminProductsWriteRateLimiter
-            );
-        }
-        if (matchesPrefix(path, "/admin/posters")) {
-            return readWritePolicy(
-                    method,
-                    "admin-posters-read",
-                    adminPostersRateLimiter,
-                    "admin-posters-write",
-                    adminPostersWriteRateLimiter
-            );
-        }
-        if (matchesPrefix(path, "/admin/vendors")) {
-            return readWritePolicy(
-                    method,
-                    "admin-vendors-read",
-                    adminVendorsRateLimiter,
-                    "admin-vendors-write",
-                    adminVendorsWriteRateLimiter
-            );
-        }
-        if (matchesPrefix(path, "/admin/me")) {
-            return policy("admin-me-read", adminMeRateLimiter, userOrIpKeyResolver);
-        }
-        if (matches(method, HttpMethod.GET, "/admin/keycloak/users/search", path)
-                || matches(method, HttpMethod.HEAD, "/admin/keycloak/users/search", path)) {
-            return policy("admin-keycloak-search", adminKeycloakSearchRateLimiter, userOrIpKeyResolver);
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveAdminAccessPolicy(String path, @Nullable HttpMethod method) {
-        if (matchesPrefix(path, "/admin/platform-staff")
-                || matchesPrefix(path, "/admin/vendor-staff")
-                || matchesPrefix(path, "/admin/access-audit")) {
-            return readWritePolicy(
-                    method,
-                    "admin-access-read",
-                    adminAccessRateLimiter,
-                    "admin-access-write",
-                    adminAccessWriteRateLimiter
-            );
-        }
-        return null;
-    }
-
-    private @Nullable Policy resolveWebhookPaymentAndPersonalizationPolicy(String path, @Nullable HttpMethod method) {
-        if (path.startsWith("/webhooks/")) {
-            return policy("webhooks", webhookRateLimiter, ipKeyResolver);
-        }
-        if (matchesPrefix(path, "/payments/me")) {
-            return readWritePolicy(
-                    method,
-                    "payment-me-read",
-                    paymentMeRateLimiter,
-                    "payment-me-write",
-                    paymentMeWriteRateLimiter
-            );
-        }
-        if (matchesPrefix(path, "/payments/vendor/me")) {
-            return readWritePolicy(
-                    method,
-                    "payment-vendor-me-read",
-                    paymentMeRateLimiter,
-                    "payment-vendor-me-write",
-                    paymentMeWriteRateLimiter
-            );
-        }
-        if (matches(method, HttpMethod.POST, "/personalization/events", path)) {
-            return policy("personalization-events", personalizationEventsRateLimiter, userOrIpKeyResolver);
-        }
-        if ((matchesPrefix(path, "/personalization/me")
-                || matchesPrefix(path, "/personalization/trending")
-                || path.startsWith("/personalization/products/")) && isReadMethod(method)) {
-            return policy("personalization-read", personalizationReadRateLimiter, userOrIpKeyResolver);
-        }
-        if (matches(method, HttpMethod.POST, "/personalization/sessions/merge", path)) {
-            return policy("personalization-read", personalizationReadRateLimiter, userOrIpKeyResolver);
-        }
-        return null;
+        return failClosedPaths.resolve(null, path);
     }
 
-    private @Nullable Policy resolveSearchAndReviewPolicy(String path, @Nullable HttpMethod method) {
-        if (matchesPrefix(path, "/search")) {
-            return policy("search-read", productsRateLimiter, ipKeyResolver);
-        }
-        if (matchesPrefix(path, "/reviews") && isReadMethod(method)) {
-            return policy("reviews-read", publicCatalogAuxRateLimiter, ipKeyResolver);
-        }
-        return null;
+    /**
+     * Route table mapping method + path to a rate-limit policy id. Rules are checked in declaration order and the
+     * first match wins; unmatched requests use {@code default}.
+     */
+    static RoutePolicyTable<String> policyRoutes() {
+        return RoutePolicyTable.<String>builder()
+                // auth
+                .exact(POST, "/customers/register-identity", "register-identity")
+                .exact(POST, "/auth/logout", "auth-logout")
+                .exact(POST, "/auth/resend-verification", "auth-resend-verification")
+                .exact(POST, "/auth/session", "auth-session")
+                // customer
+                .exact(READ_METHODS | PUT, "/customers/me", "customer-me")
+                .segment(READ_METHODS, "/customers/me/addresses", "customer-addresses-read")
+                .segment(WRITE_METHODS, "/customers/me/addresses", "customer-addresses-write")
+                // orders
+                .exact(POST, "/orders/me", "orders-me-write")
+                .prefixAndSuffix(POST, "/orders/me/", "/cancel", "orders-me-write")
+                .segment(GET, "/orders/me", "orders-me-read")
+                // cart and wishlist
+                .exact(POST, "/cart/me/checkout", "cart-me-checkout")
+                .exact(WRITE_METHODS, "/cart/me", "cart-me-write")
+                .segment(WRITE_METHODS, "/cart/me/items", "cart-me-write")
+                .exact(GET, "/cart/me", "cart-me-read")
+                .segment(GET, "/cart/me/items", "cart-me-read")
+                .exact(WRITE_METHODS, "/wishlist/me", "wishlist-me-write")
+                .segment(WRITE_METHODS, "/wishlist/me/items", "wishlist-me-write")
+                .exact(GET, "/wishlist/me", "wishlist-me-read")
+                .segment(GET, "/wishlist/me/items", "wishlist-me-read")
+                // analytics and reports
+                .prefix(ANY_METHOD, "/analytics/admin/", "analytics-admin")
+                .prefix(ANY_METHOD, "/analytics/vendor/", "analytics-vendor")
+                .exact(GET, "/admin/orders/export", "report-exports-create")
+                .exact(POST, "/admin/orders/exports", "report-exports-create")
+                .prefix(READ_METHODS, "/admin/orders/exports/", "report-exports-read")
+                .segment(ANY_METHOD, "/admin/orders", "admin-orders")
+                .segment(ANY_METHOD, "/admin/vendor-orders", "admin-orders")
+                // promotions and public catalog
+                .segment(ANY_METHOD, "/promotions/me", "promotions-me")
+                .segment(READ_METHODS, "/promotions", "promotions-read")
+                .segment(READ_METHODS, "/products", "products-read")
+                .segment(READ_METHODS, "/categories", "products-read")
+                .segment(READ_METHODS, "/posters", "catalog-aux-read")
+                .segment(READ_METHODS, "/vendors", "catalog-aux-read")
+                // vendor self-service
+                .segment(READ_METHODS, "/vendors/me", "vendor-me-read")
+                .segment(NON_READ_METHODS, "/vendors/me", "vendor-me-write")
+                // admin catalog
+                .segment(READ_METHODS, "/admin/products", "admin-products-read")
+                .segment(NON_READ_METHODS, "/admin/products", "admin-products-write")
+                .segment(READ_METHODS, "/admin/categories", "admin-products-read")
+                .segment(NON_READ_METHODS, "/admin/categories", "admin-products-write")
+                .segment(READ_METHODS, "/admin/posters", "admin-posters-read")
+                .segment(NON_READ_METHODS, "/admin/posters", "admin-posters-write")
+                .segment(READ_METHODS, "/admin/vendors", "admin-vendors-read")
+                .segment(NON_READ_METHODS, "/admin/vendors", "admin-vendors-write")
+                .segment(ANY_METHOD, "/admin/me", "admin-me-read")
+                .exact(READ_METHODS, "/admin/keycloak/users/search", "admin-keycloak-search")
+                // admin access
+                .segment(READ_METHODS, "/admin/platform-staff", "admin-access-read")
+                .segment(NON_READ_METHODS, "/admin/platform-staff", "admin-access-write")
+                .segment(READ_METHODS, "/admin/vendor-staff", "admin-access-read")
+                .segment(NON_READ_METHODS, "/admin/vendor-staff", "admin-access-write")
+                .segment(READ_METHODS, "/admin/access-audit", "admin-access-read")
+                .segment(NON_READ_METHODS, "/admin/access-audit", "admin-access-write")
+                // webhooks, payments and personalization
+                .prefix(ANY_METHOD, "/webhooks/", "webhooks")
+                .segment(READ_METHODS, "/payments/me", "payment-me-read")
+                .segment(NON_READ_METHODS, "/payments/me", "payment-me-write")
+                .segment(READ_METHODS, "/payments/vendor/me", "payment-vendor-me-read")
+                .segment(NON_READ_METHODS, "/payments/vendor/me", "payment-vendor-me-write")
+                .exact(POST, "/personalization/events", "personalization-events")
+                .segment(READ_METHODS, "/personalization/me", "personalization-read")
+                .segment(READ_METHODS, "/personalization/trending", "personalization-read")
+                .prefix(READ_METHODS, "/personalization/products/", "personalization-read")
+                .exact(POST, "/personalization/sessions/merge", "personalization-read")
+                // search and reviews
+                .segment(ANY_METHOD, "/search", "search-read")
+                .segment(READ_METHODS, "/reviews", "reviews-read")
+                .build("default");
     }
 
-    private Policy readWritePolicy(
-            @Nullable HttpMethod method,
-            String readPolicyId,
-            RedisRateLimiter readRateLimiter,
-            String writePolicyId,
-            RedisRateLimiter writeRateLimiter
+    /**
+     * H-01: Critical financial, auth, and registration paths that fail CLOSED when the rate limiter is unavailable.
+     */
+    static RoutePolicyTable<Boolean> failClosedRoutes() {
+        return RoutePolicyTable.<Boolean>builder()
+                .prefix(ANY_METHOD, "/orders", Boolean.TRUE)
+                .prefix(ANY_METHOD, "/cart/me/checkout", Boolean.TRUE)
+                .prefix(ANY_METHOD, "/payments", Boolean.TRUE)
+                .prefix(ANY_METHOD, "/webhooks", Boolean.TRUE)
+                .exact(ANY_METHOD, "/customers/register-identity", Boolean.TRUE)
+                .prefix(ANY_METHOD, "/auth", Boolean.TRUE)
+                .prefix(ANY_METHOD, "/personalization/events", Boolean.TRUE)
+                .prefix(ANY_METHOD, "/analytics/", Boolean.TRUE)
+                .prefix(ANY_METHOD, "/admin/orders/export", Boolean.TRUE)
+                .build(Boolean.FALSE);
+    }
+
+    private static void register(
+            Map<String, Policy> policiesById,
+            String id,
+            RedisRateLimiter rateLimiter,
+            KeyResolver keyResolver
     ) {
-        return isReadMethod(method)
-                ? policy(readPolicyId, readRateLimiter, userOrIpKeyResolver)
-                : policy(writePolicyId, writeRateLimiter, userOrIpKeyResolver);
-    }
-
-    private Policy policy(String id, RedisRateLimiter rateLimiter, KeyResolver keyResolver) {
-        return new Policy(id, rateLimiter, keyResolver);
-    }
-
-    private boolean matches(@Nullable HttpMethod actualMethod, HttpMethod expectedMethod, String expectedPath, String actualPath) {
-        return actualMethod == expectedMethod && expectedPath.equals(actualPath);
-    }
-
-    private boolean matchesPrefix(String path, String prefix) {
-        return prefix.equals(path) || path.startsWith(prefix + "/");
-    }
-
-    private boolean matchesAddressPath(String path) {
-        return "/customers/me/addresses".equals(path) || path.startsWith("/customers/me/addresses/");
-    }
-
-    private boolean matchesCartPath(String path) {
-        return "/cart/me".equals(path) || "/cart/me/items".equals(path) || path.startsWith("/cart/me/items/");
-    }
-
-    private boolean matchesWishlistPath(String path) {
-        return "/wishlist/me".equals(path) || "/wishlist/me/items".equals(path) || path.startsWith("/wishlist/me/items/");
-    }
-
-    private boolean isReadMethod(@Nullable HttpMethod method) {
-        return method == HttpMethod.GET || method == HttpMethod.HEAD;
-    }
-
-    private boolean isWriteMethod(@Nullable HttpMethod method) {
-        return method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+        policiesById.put(id, new Policy(id, rateLimiter, keyResolver));
     }
 
     @NullUnmarked
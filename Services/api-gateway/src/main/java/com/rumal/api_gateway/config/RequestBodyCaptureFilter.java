@@ -0,0 +1,143 @@
+package com.rumal.api_gateway.config;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Reads a mutating request body once for every filter that needs it. Bodies are hashed as their buffers arrive and
+ * joined into the gateway's cached request body, which is replayed downstream without copying and released by
+ * Spring Cloud Gateway when the exchange completes. The hash is published as {@link #BODY_SHA256_ATTR} for request
+ * signing and idempotency.
+ * <p>
+ * Multipart, binary and media bodies, and anything declaring more than {@code gateway.body-capture.max-size}, are
+ * never buffered: they stream straight through and are marked with {@link #STREAMED_BODY_ATTR}.
+ * <p>
+ * Runs after rate limiting so throttled requests are rejected before their bodies are read, and before
+ * {@link IdempotencyFilter}, which needs the hash.
+ */
+@NullMarked
+@Component
+public class RequestBodyCaptureFilter implements GlobalFilter, Ordered {
+
+    public static final String BODY_SHA256_ATTR = RequestBodyCaptureFilter.class.getName() + ".bodySha256";
+    public static final String STREAMED_BODY_ATTR = RequestBodyCaptureFilter.class.getName() + ".streamed";
+
+    private final long maxCapturedBytes;
+
+    public RequestBodyCaptureFilter(@Value("${gateway.body-capture.max-size:1MB}") DataSize maxCapturedSize) {
+        this.maxCapturedBytes = maxCapturedSize.toBytes();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!hasRequestBody(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        if (shouldStream(exchange)) {
+            exchange.getAttributes().put(STREAMED_BODY_ATTR, Boolean.TRUE);
+            return chain.filter(exchange);
+        }
+
+        MessageDigest digest = newSha256();
+        ServerWebExchange hashingExchange = exchange.mutate()
+                .request(new ServerHttpRequestDecorator(exchange.getRequest()) {
+                    @Override
+                    public Flux<DataBuffer> getBody() {
+                        return super.getBody().doOnNext(buffer -> update(digest, buffer));
+                    }
+                })
+                .build();
+
+        return ServerWebExchangeUtils.cacheRequestBody(hashingExchange, cachedRequest -> {
+            DataBuffer cachedBody = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+            boolean empty = cachedBody == null || cachedBody.readableByteCount() == 0;
+            exchange.getAttributes().put(BODY_SHA256_ATTR, empty ? "" : HexFormat.of().formatHex(digest.digest()));
+            return chain.filter(hashingExchange.mutate().request(cachedRequest).build());
+        });
+    }
+
+    /**
+     * SHA-256 of the captured body, {@code ""} when the request has none, or {@code null} when the body was streamed
+     * and never hashed.
+     */
+    static @Nullable String bodySha256(ServerWebExchange exchange) {
+        if (Boolean.TRUE.equals(exchange.getAttribute(STREAMED_BODY_ATTR))) {
+            return null;
+        }
+        String hash = exchange.getAttribute(BODY_SHA256_ATTR);
+        return hash == null ? "" : hash;
+    }
+
+    /**
+     * Whether the body was streamed only because it declared more than {@code gateway.body-capture.max-size}, so a
+     * filter that needs its hash has to reject it rather than let it through unhashed.
+     */
+    static boolean streamedForSize(ServerWebExchange exchange) {
+        return Boolean.TRUE.equals(exchange.getAttribute(STREAMED_BODY_ATTR))
+                && !isStreamedContentType(exchange.getRequest().getHeaders().getContentType());
+    }
+
+    static boolean isStreamedContentType(@Nullable MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        return MediaType.MULTIPART_FORM_DATA.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_OCTET_STREAM.isCompatibleWith(contentType)
+                || contentType.getType().equals("image")
+                || contentType.getType().equals("video")
+                || contentType.getType().equals("audio");
+    }
+
+    private boolean shouldStream(ServerWebExchange exchange) {
+        long contentLength = exchange.getRequest().getHeaders().getContentLength();
+        return contentLength > maxCapturedBytes
+                || isStreamedContentType(exchange.getRequest().getHeaders().getContentType());
+    }
+
+    private boolean hasRequestBody(HttpMethod method) {
+        return method == HttpMethod.POST
+                || method == HttpMethod.PUT
+                || method == HttpMethod.PATCH;
+    }
+
+    private static void update(MessageDigest digest, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                digest.update(byteBuffer);
+            }
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 digest algorithm is unavailable", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 11;
+    }
+}
@@ -1,6 +1,7 @@
 package com.rumal.api_gateway.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rumal.api_gateway.service.LocalRevocationCache;
 import com.rumal.api_gateway.service.SessionHandleResolver;
 import com.rumal.api_gateway.service.TokenRevocationService;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,6 +27,7 @@ import java.util.Map;
 public class RevokedTokenFilter implements GlobalFilter, Ordered {
 
     private final TokenRevocationService tokenRevocationService;
+    private final LocalRevocationCache localRevocationCache;
     private final SessionHandleResolver sessionHandleResolver;
     private final TrustedProxyResolver trustedProxyResolver;
     private final ObjectMapper objectMapper;
@@ -33,12 +35,14 @@ public class RevokedTokenFilter implements GlobalFilter, Ordered {
 
     public RevokedTokenFilter(
             TokenRevocationService tokenRevocationService,
+            LocalRevocationCache localRevocationCache,
             SessionHandleResolver sessionHandleResolver,
             TrustedProxyResolver trustedProxyResolver,
             ObjectMapper objectMapper,
             @Value("${auth.revoked-token.fail-open-on-error:false}") boolean failOpenOnRedisError
     ) {
         this.tokenRevocationService = tokenRevocationService;
+        this.localRevocationCache = localRevocationCache;
         this.sessionHandleResolver = sessionHandleResolver;
         this.trustedProxyResolver = trustedProxyResolver;
         this.objectMapper = objectMapper;
@@ -52,7 +56,15 @@ public class RevokedTokenFilter implements GlobalFilter, Ordered {
             return chain.filter(exchange);
         }
 
-        TokenContext tokenContext = buildTokenContext(exchange, rawToken);
+        String tokenHash = localRevocationCache.tokenHash(rawToken);
+        String clientIp = trustedProxyResolver.resolveClientIp(exchange);
+        String userAgent = exchange.getRequest().getHeaders().getFirst(HttpHeaders.USER_AGENT);
+        if (!isLogoutReplay(exchange) && !isSessionSync(exchange)
+                && localRevocationCache.isKnownActive(tokenHash, clientIp, userAgent)) {
+            return chain.filter(exchange);
+        }
+
+        TokenContext tokenContext = buildTokenContext(rawToken, tokenHash, clientIp, userAgent);
 
         return tokenRevocationService.isTokenRevoked(rawToken)
                 .flatMap(revoked -> handleTokenValidation(exchange, chain, tokenContext, Boolean.TRUE.equals(revoked)))
@@ -77,13 +89,14 @@ public class RevokedTokenFilter implements GlobalFilter, Ordered {
         return authHeader.substring(7).trim();
     }
 
-    private TokenContext buildTokenContext(ServerWebExchange exchange, String rawToken) {
+    private TokenContext buildTokenContext(String rawToken, String tokenHash, String clientIp, String userAgent) {
         Map<String, Object> unverifiedClaims = sessionHandleResolver.parseUnverifiedClaims(rawToken);
         return new TokenContext(
+                tokenHash,
                 sessionHandleResolver.extractSubject(unverifiedClaims),
                 sessionHandleResolver.extractSessionHandle(unverifiedClaims),
-                trustedProxyResolver.resolveClientIp(exchange),
-                exchange.getRequest().getHeaders().getFirst(HttpHeaders.USER_AGENT)
+                clientIp,
+                userAgent
         );
     }
 
@@ -135,9 +148,19 @@ public class RevokedTokenFilter implements GlobalFilter, Ordered {
                         tokenContext.clientIp(),
                         tokenContext.userAgent()
                 )
-                .flatMap(result -> result.isAllowed()
-                        ? chain.filter(exchange)
-                        : writeUnauthorized(exchange, messageFor(result)));
+                .flatMap(result -> {
+                    if (!result.isAllowed()) {
+                        return writeUnauthorized(exchange, messageFor(result));
+                    }
+                    localRevocationCache.rememberActive(
+                            tokenContext.tokenHash(),
+                            tokenContext.subject(),
+                            tokenContext.sessionHandle(),
+                            tokenContext.clientIp(),
+                            tokenContext.userAgent()
+                    );
+                    return chain.filter(exchange);
+                });
     }
 
     private Mono<Void> handleRevocationError(ServerWebExchange exchange, GatewayFilterChain chain) {
@@ -198,6 +221,7 @@ public class RevokedTokenFilter implements GlobalFilter, Ordered {
     }
 
     private record TokenContext(
+            String tokenHash,
             String subject,
             String sessionHandle,
             String clientIp,
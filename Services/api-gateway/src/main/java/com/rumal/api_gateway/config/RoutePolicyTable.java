@@ -0,0 +1,238 @@
+package com.rumal.api_gateway.config;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Ordered method + path rules compiled into a character trie.
+ * <p>
+ * Rules are declared in priority order and the first declared rule that matches wins, exactly like a chain of
+ * {@code if} statements. Resolution walks the path once, one character per trie level, checking only the rules
+ * anchored on the nodes it passes through, and allocates nothing.
+ */
+@NullMarked
+final class RoutePolicyTable<T> {
+
+    static final int GET = 1;
+    static final int HEAD = 1 << 1;
+    static final int POST = 1 << 2;
+    static final int PUT = 1 << 3;
+    static final int PATCH = 1 << 4;
+    static final int DELETE = 1 << 5;
+    static final int OPTIONS = 1 << 6;
+    static final int TRACE = 1 << 7;
+    private static final int OTHER = 1 << 8;
+
+    static final int ANY_METHOD = GET | HEAD | POST | PUT | PATCH | DELETE | OPTIONS | TRACE | OTHER;
+    static final int READ_METHODS = GET | HEAD;
+    static final int WRITE_METHODS = POST | PUT | DELETE;
+    static final int NON_READ_METHODS = ANY_METHOD & ~READ_METHODS;
+
+    private final List<Rule<T>> rules;
+    private final T defaultValue;
+    private final Node<T> root;
+
+    private RoutePolicyTable(List<Rule<T>> rules, T defaultValue) {
+        this.rules = List.copyOf(rules);
+        this.defaultValue = defaultValue;
+        this.root = compile(this.rules);
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    T resolve(@Nullable HttpMethod method, String path) {
+        int methodBit = methodBit(method);
+        int length = path.length();
+        int bestOrder = Integer.MAX_VALUE;
+        T best = defaultValue;
+        @Nullable Node<T> node = root;
+        int depth = 0;
+        while (node != null) {
+            Rule<T> match = firstMatch(node.prefixRules, methodBit, path, bestOrder);
+            if (match != null) {
+                bestOrder = match.order;
+                best = match.value;
+            }
+            if (depth == length) {
+                match = firstMatch(node.exactRules, methodBit, path, bestOrder);
+                if (match != null) {
+                    best = match.value;
+                }
+                break;
+            }
+            node = node.child(path.charAt(depth++));
+        }
+        return best;
+    }
+
+    /**
+     * Returns a table with the same rules whose values are converted once, so per-request lookups hand back
+     * pre-built objects.
+     */
+    <R> RoutePolicyTable<R> map(Function<? super T, ? extends R> mapper) {
+        Map<T, R> converted = new IdentityHashMap<>();
+        List<Rule<R>> mapped = new ArrayList<>(rules.size());
+        for (Rule<T> rule : rules) {
+            R value = converted.computeIfAbsent(rule.value, mapper);
+            mapped.add(new Rule<>(rule.order, rule.methods, rule.path, rule.exact, rule.suffix, value));
+        }
+        return new RoutePolicyTable<>(mapped, converted.computeIfAbsent(defaultValue, mapper));
+    }
+
+    List<T> values() {
+        List<T> values = new ArrayList<>(rules.size() + 1);
+        for (Rule<T> rule : rules) {
+            values.add(rule.value);
+        }
+        values.add(defaultValue);
+        return values;
+    }
+
+    static int methods(HttpMethod... methods) {
+        int mask = 0;
+        for (HttpMethod method : methods) {
+            mask |= methodBit(method);
+        }
+        return mask;
+    }
+
+    private static int methodBit(@Nullable HttpMethod method) {
+        if (method == HttpMethod.GET) {
+            return GET;
+        }
+        if (method == HttpMethod.POST) {
+            return POST;
+        }
+        if (method == HttpMethod.PUT) {
+            return PUT;
+        }
+        if (method == HttpMethod.DELETE) {
+            return DELETE;
+        }
+        if (method == HttpMethod.HEAD) {
+            return HEAD;
+        }
+        if (method == HttpMethod.PATCH) {
+            return PATCH;
+        }
+        if (method == HttpMethod.OPTIONS) {
+            return OPTIONS;
+        }
+        if (method == HttpMethod.TRACE) {
+            return TRACE;
+        }
+        return OTHER;
+    }
+
+    private static <T> @Nullable Rule<T> firstMatch(Rule<T>[] candidates, int methodBit, String path, int bestOrder) {
+        for (Rule<T> rule : candidates) {
+            if (rule.order >= bestOrder) {
+                return null;
+            }
+            if ((rule.methods & methodBit) != 0 && (rule.suffix == null || path.endsWith(rule.suffix))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static <T> Node<T> compile(List<Rule<T>> rules) {
+        MutableNode<T> root = new MutableNode<>();
+        for (Rule<T> rule : rules) {
+            MutableNode<T> node = root;
+            for (int i = 0; i < rule.path.length(); i++) {
+                node = node.children.computeIfAbsent(rule.path.charAt(i), ignored -> new MutableNode<>());
+            }
+            (rule.exact ? node.exactRules : node.prefixRules).add(rule);
+        }
+        return root.freeze();
+    }
+
+    private record Rule<T>(int order, int methods, String path, boolean exact, @Nullable String suffix, T value) {
+    }
+
+    private static final class MutableNode<T> {
+        private final Map<Character, MutableNode<T>> children = new TreeMap<>();
+        private final List<Rule<T>> exactRules = new ArrayList<>();
+        private final List<Rule<T>> prefixRules = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        private Node<T> freeze() {
+            char[] keys = new char[children.size()];
+            Node<T>[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode<T>> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze();
+                i++;
+            }
+            Rule<T>[] exact = exactRules.toArray(new Rule[0]);
+            Rule<T>[] prefix = prefixRules.toArray(new Rule[0]);
+            Arrays.sort(exact, Comparator.comparingInt(Rule::order));
+            Arrays.sort(prefix, Comparator.comparingInt(Rule::order));
+            return new Node<>(keys, frozen, exact, prefix);
+        }
+    }
+
+    private record Node<T>(char[] keys, Node<T>[] children, Rule<T>[] exactRules, Rule<T>[] prefixRules) {
+
+        private @Nullable Node<T> child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    static final class Builder<T> {
+
+        private final List<Rule<T>> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /** Matches {@code path} exactly. */
+        Builder<T> exact(int methods, String path, T value) {
+            return add(methods, path, true, null, value);
+        }
+
+        /** Matches any path starting with {@code prefix}, like {@link String#startsWith}. */
+        Builder<T> prefix(int methods, String prefix, T value) {
+            return add(methods, prefix, false, null, value);
+        }
+
+        /** Matches {@code path} itself or anything below it, i.e. {@code path} or {@code path + "/..."}. */
+        Builder<T> segment(int methods, String path, T value) {
+            exact(methods, path, value);
+            return prefix(methods, path + "/", value);
+        }
+
+        /** Matches paths starting with {@code prefix} and ending with {@code suffix}. */
+        Builder<T> prefixAndSuffix(int methods, String prefix, String suffix, T value) {
+            return add(methods, prefix, false, suffix, value);
+        }
+
+        RoutePolicyTable<T> build(T defaultValue) {
+            return new RoutePolicyTable<>(rules, defaultValue);
+        }
+
+        private Builder<T> add(int methods, String path, boolean exact, @Nullable String suffix, T value) {
+            rules.add(new Rule<>(rules.size(), methods, path, exact, suffix, value));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.rumal.api_gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Gateway-local view of token and session revocations.
+ * <p>
+ * Requests whose token was recently validated against Redis are remembered for {@code session-ttl} and let through
+ * without touching Redis again. Revocations are broadcast on a Redis channel; every node evicts the affected entries
+ * and records the revoked token, session and subject hashes in a rotating Bloom filter, so a validation that was
+ * already in flight when the revocation landed cannot put the entry back. Entries are only served while the channel
+ * subscription is live, so a node that may have missed messages always falls back to Redis.
+ */
+@Service
+public class LocalRevocationCache implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalRevocationCache.class);
+
+    private static final String TOKEN_EVENT = "T:";
+    private static final String SESSION_EVENT = "S:";
+    private static final String SUBJECT_EVENT = "U:";
+
+    private static final long TOKEN_SALT = 0x9E3779B97F4A7C15L;
+    private static final long SESSION_SALT = 0xC2B2AE3D27D4EB4FL;
+    private static final long SUBJECT_SALT = 0x165667B19E3779F9L;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final boolean enabled;
+    private final String channel;
+    private final Cache<String, CachedSession> sessions;
+    private final RotatingBloomFilter revoked;
+
+    private volatile boolean listening;
+    private volatile Disposable subscription;
+
+    public LocalRevocationCache(
+            ReactiveStringRedisTemplate redisTemplate,
+            ReactiveRedisConnectionFactory connectionFactory,
+            @Value("${auth.revocation-cache.enabled:true}") boolean enabled,
+            @Value("${auth.revocation-cache.channel:gw:revocation-events:v1}") String channel,
+            @Value("${auth.revocation-cache.session-ttl:10s}") Duration sessionTtl,
+            @Value("${auth.revocation-cache.max-sessions:100000}") long maxSessions,
+            @Value("${auth.revocation-cache.bloom-bits:1048576}") int bloomBits,
+            @Value("${auth.revocation-cache.bloom-rotation:10m}") Duration bloomRotation
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.enabled = enabled;
+        this.channel = StringUtils.hasText(channel) ? channel.trim() : "gw:revocation-events:v1";
+        Duration ttl = sessionTtl == null || sessionTtl.isNegative() || sessionTtl.isZero()
+                ? Duration.ofSeconds(10)
+                : sessionTtl;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(Math.max(1, maxSessions))
+                .build();
+        // A hash must stay in the filter for at least as long as a cached entry validated before the revocation.
+        Duration rotation = bloomRotation == null || bloomRotation.compareTo(ttl) < 0 ? ttl : bloomRotation;
+        this.revoked = new RotatingBloomFilter(Math.max(1024, bloomBits), rotation.toNanos());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!enabled || subscription != null) {
+            return;
+        }
+        ChannelTopic topic = ChannelTopic.of(channel);
+        subscription = Flux.defer(() -> {
+                    ReactiveRedisMessageListenerContainer container = new ReactiveRedisMessageListenerContainer(connectionFactory);
+                    return container.receiveLater(topic)
+                            .doOnNext(ignored -> onSubscribed())
+                            .flatMapMany(Function.identity())
+                            .doFinally(signal -> {
+                                listening = false;
+                                container.destroyLater().subscribe();
+                            });
+                })
+                .map(ReactiveSubscription.Message::getMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Revocation channel {} subscription lost, retrying: {}",
+                                channel, signal.failure().getMessage())))
+                .subscribe(this::apply, error -> log.error("Revocation channel {} subscription stopped", channel, error));
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+        listening = false;
+    }
+
+    public String tokenHash(String rawToken) {
+        return sha256Hex(rawToken.trim());
+    }
+
+    /**
+     * Returns true when the token was validated against Redis within {@code session-ttl}, from the same client, and
+     * nothing it depends on has been revoked since.
+     */
+    public boolean isKnownActive(String tokenHash, String clientIp, String userAgent) {
+        if (!enabled || !listening) {
+            return false;
+        }
+        CachedSession cached = sessions.getIfPresent(tokenHash);
+        if (cached == null) {
+            return false;
+        }
+        if (isRevoked(tokenHash, cached.sessionHash(), cached.subjectHash())) {
+            sessions.invalidate(tokenHash);
+            return false;
+        }
+        return Objects.equals(cached.clientIp(), clientIp) && Objects.equals(cached.userAgent(), userAgent);
+    }
+
+    public void rememberActive(String tokenHash, String subject, String sessionHandle, String clientIp, String userAgent) {
+        if (!enabled || !listening) {
+            return;
+        }
+        String sessionHash = StringUtils.hasText(sessionHandle) ? sha256Hex(sessionHandle.trim()) : null;
+        String subjectHash = StringUtils.hasText(subject) ? sha256Hex(subject.trim()) : null;
+        if (isRevoked(tokenHash, sessionHash, subjectHash)) {
+            return;
+        }
+        sessions.put(tokenHash, new CachedSession(sessionHash, subjectHash, clientIp, userAgent));
+    }
+
+    public Mono<Void> publishTokenRevoked(String rawToken) {
+        return publish(TOKEN_EVENT, rawToken);
+    }
+
+    public Mono<Void> publishSessionRevoked(String sessionHandle) {
+        return publish(SESSION_EVENT, sessionHandle);
+    }
+
+    public Mono<Void> publishSubjectRevoked(String subject) {
+        return publish(SUBJECT_EVENT, subject);
+    }
+
+    void onSubscribed() {
+        // Anything revoked while we were not listening is unknown here, so start from an empty cache.
+        sessions.invalidateAll();
+        listening = true;
+    }
+
+    void apply(String message) {
+        if (message == null || message.length() <= 2) {
+            return;
+        }
+        String prefix = message.substring(0, 2);
+        String hash = message.substring(2);
+        switch (prefix) {
+            case TOKEN_EVENT -> {
+                revoked.put(hash, TOKEN_SALT);
+                sessions.invalidate(hash);
+            }
+            case SESSION_EVENT -> {
+                revoked.put(hash, SESSION_SALT);
+                sessions.asMap().values().removeIf(cached -> hash.equals(cached.sessionHash()));
+            }
+            case SUBJECT_EVENT -> {
+                revoked.put(hash, SUBJECT_SALT);
+                sessions.asMap().values().removeIf(cached -> hash.equals(cached.subjectHash()));
+            }
+            default -> log.debug("Ignoring unknown revocation event {}", message);
+        }
+    }
+
+    private Mono<Void> publish(String prefix, String value) {
+        if (!StringUtils.hasText(value)) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            String message = prefix + sha256Hex(value.trim());
+            apply(message);
+            return redisTemplate.convertAndSend(channel, message)
+                    .onErrorResume(error -> {
+                        log.warn("Failed to broadcast revocation on {}: {}", channel, error.getMessage());
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    private boolean isRevoked(String tokenHash, String sessionHash, String subjectHash) {
+        return revoked.mightContain(tokenHash, TOKEN_SALT)
+                || (sessionHash != null && revoked.mightContain(sessionHash, SESSION_SALT))
+                || (subjectHash != null && revoked.mightContain(subjectHash, SUBJECT_SALT));
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 digest algorithm is unavailable", e);
+        }
+    }
+
+    private record CachedSession(
+            String sessionHash,
+            String subjectHash,
+            String clientIp,
+            String userAgent
+    ) {
+    }
+
+    /**
+     * Two-generation Bloom filter over SHA-256 hex digests. Inserts go to the current generation and lookups check
+     * both; once per rotation period the previous generation is dropped, so every hash is remembered for at least
+     * one full period without the filter filling up.
+     */
+    private static final class RotatingBloomFilter {
+
+        private static final int HASH_FUNCTIONS = 4;
+
+        private final int bits;
+        private final long rotationNanos;
+        private volatile AtomicLongArray current;
+        private volatile AtomicLongArray previous;
+        private volatile long rotateAt;
+
+        private RotatingBloomFilter(int bits, long rotationNanos) {
+            this.bits = bits;
+            this.rotationNanos = rotationNanos;
+            this.current = new AtomicLongArray((bits + 63) >>> 6);
+            this.previous = new AtomicLongArray((bits + 63) >>> 6);
+            this.rotateAt = System.nanoTime() + rotationNanos;
+        }
+
+        void put(String hexHash, long salt) {
+            rotateIfDue();
+            AtomicLongArray words = current;
+            long h1 = hashOf(hexHash, 0) ^ salt;
+            long h2 = hashOf(hexHash, 16) | 1L;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) Long.remainderUnsigned(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int index = bit >>> 6;
+                long word;
+                do {
+                    word = words.get(index);
+                } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+            }
+        }
+
+        boolean mightContain(String hexHash, long salt) {
+            rotateIfDue();
+            long h1 = hashOf(hexHash, 0) ^ salt;
+            long h2 = hashOf(hexHash, 16) | 1L;
+            return contains(current, h1, h2) || contains(previous, h1, h2);
+        }
+
+        private boolean contains(AtomicLongArray words, long h1, long h2) {
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) Long.remainderUnsigned(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rotateIfDue() {
+            if (System.nanoTime() - rotateAt < 0) {
+                return;
+            }
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (now - rotateAt < 0) {
+                    return;
+                }
+                previous = current;
+                current = new AtomicLongArray((bits + 63) >>> 6);
+                rotateAt = now + rotationNanos;
+            }
+        }
+
+        private static long hashOf(String hexHash, int offset) {
+            if (hexHash.length() < offset + 16) {
+                return hexHash.hashCode() * 0x9E3779B97F4A7C15L + offset;
+            }
+            return Long.parseUnsignedLong(hexHash, offset, offset + 16, 16);
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class TokenRevocationService {
 
     private final ReactiveStringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
+    private final LocalRevocationCache localRevocationCache;
     private final String revokedTokenKeyPrefix;
     private final String activeSessionKeyPrefix;
     private final String revokedSessionKeyPrefix;
@@ -42,6 +43,7 @@ public class TokenRevocationService {
     public TokenRevocationService(
             ReactiveStringRedisTemplate redisTemplate,
             ObjectMapper objectMapper,
+            LocalRevocationCache localRevocationCache,
             @Value("${auth.revoked-token.key-prefix:gw:revoked-jwt:v1::}") String revokedTokenKeyPrefix,
             @Value("${auth.active-session.key-prefix:gw:active-session:v1::}") String activeSessionKeyPrefix,
             @Value("${auth.revoked-session.key-prefix:gw:revoked-session:v1::}") String revokedSessionKeyPrefix,
@@ -55,6 +57,7 @@ public class TokenRevocationService {
     ) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.localRevocationCache = localRevocationCache;
         this.revokedTokenKeyPrefix = normalizePrefix(revokedTokenKeyPrefix, "gw:revoked-jwt:v1::");
         this.activeSessionKeyPrefix = normalizePrefix(activeSessionKeyPrefix, "gw:active-session:v1::");
         this.revokedSessionKeyPrefix = normalizePrefix(revokedSessionKeyPrefix, "gw:revoked-session:v1::");
@@ -77,7 +80,7 @@ public class TokenRevocationService {
         }
         return redisTemplate.opsForValue()
                 .set(buildRevokedTokenKey(rawToken), "1", ttl)
-                .then();
+                .then(localRevocationCache.publishTokenRevoked(rawToken));
     }
 
     public Mono<Boolean> isTokenRevoked(String rawToken) {
@@ -201,7 +204,8 @@ public class TokenRevocationService {
                 .then(redisTemplate.delete(buildActiveSessionKey(normalizedHandle)).then())
                 .then(ttl.isZero() || ttl.isNegative()
                         ? Mono.empty()
-                        : redisTemplate.opsForValue().set(buildRevokedSessionKey(normalizedHandle), "1", ttl).then());
+                        : redisTemplate.opsForValue().set(buildRevokedSessionKey(normalizedHandle), "1", ttl).then())
+                .then(localRevocationCache.publishSessionRevoked(normalizedHandle));
     }
 
     public Mono<Void> revokeAllSessionsForSubject(String subject, Instant expiresAt) {
@@ -224,7 +228,8 @@ public class TokenRevocationService {
 
         return revokeKnownHandles
                 .then(markSubjectRevoked)
-                .then(redisTemplate.delete(buildSubjectIndexKey(normalizedSubject)).then());
+                .then(redisTemplate.delete(buildSubjectIndexKey(normalizedSubject)).then())
+                .then(localRevocationCache.publishSubjectRevoked(normalizedSubject));
     }
 
     private Mono<SessionValidationResult> validateSnapshot(
@@ -0,0 +1,89 @@
+package com.rumal.api_gateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class IdempotencyFilterTests {
+
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    private final RequestBodyCaptureFilter captureFilter = new RequestBodyCaptureFilter(DataSize.ofKilobytes(1));
+    private final IdempotencyFilter filter = new IdempotencyFilter(redisTemplate, new ObjectMapper(),
+            exchange -> Mono.just("user:1"), true, false, Duration.ofHours(24), Duration.ofSeconds(30),
+            "Idempotency-Key", "gw:idem:v2::");
+
+    @Test
+    void rejectsOversizedJsonOnProtectedRouteWithoutKey() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/customers/me/addresses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(4096)
+                .body("{}"));
+
+        AtomicBoolean forwarded = run(exchange);
+
+        assertFalse(forwarded.get());
+        assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void rejectsOversizedJsonCarryingKeyAsTooLarge() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/customers/me/addresses")
+                .header("Idempotency-Key", "a1b2c3d4e5f6a7b8")
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(4096)
+                .body("{}"));
+
+        AtomicBoolean forwarded = run(exchange);
+
+        assertFalse(forwarded.get());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void letsStreamedMultipartThroughWithoutKey() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/admin/products/images")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .contentLength(4096)
+                .body("--boundary--"));
+
+        AtomicBoolean forwarded = run(exchange);
+
+        assertTrue(forwarded.get());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void capturesBodyAfterRateLimitingAndBeforeIdempotency() {
+        int rateLimit = mock(RateLimitEnforcementFilter.class, CALLS_REAL_METHODS).getOrder();
+        assertTrue(captureFilter.getOrder() > rateLimit);
+        assertTrue(filter.getOrder() > captureFilter.getOrder());
+    }
+
+    private AtomicBoolean run(MockServerWebExchange exchange) {
+        AtomicBoolean forwarded = new AtomicBoolean();
+        GatewayFilterChain downstream = ex -> {
+            forwarded.set(true);
+            return Mono.empty();
+        };
+        captureFilter.filter(exchange, ex -> filter.filter(ex, downstream)).block();
+        return forwarded;
+    }
+}
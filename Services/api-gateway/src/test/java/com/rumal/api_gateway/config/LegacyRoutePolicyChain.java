@@ -0,0 +1,206 @@
+package com.rumal.api_gateway.config;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * The if-chains {@link RateLimitEnforcementFilter} and {@link IdempotencyFilter} used before their rules moved into
+ * {@link RoutePolicyTable}. Kept as the reference for equivalence tests and as the benchmark baseline.
+ */
+final class LegacyRoutePolicyChain {
+
+    private LegacyRoutePolicyChain() {
+    }
+
+    static String rateLimitPolicy(String path, HttpMethod method) {
+        if (matches(method, HttpMethod.POST, "/customers/register-identity", path)) {
+            return "register-identity";
+        }
+        if (matches(method, HttpMethod.POST, "/auth/logout", path)) {
+            return "auth-logout";
+        }
+        if (matches(method, HttpMethod.POST, "/auth/resend-verification", path)) {
+            return "auth-resend-verification";
+        }
+        if (matches(method, HttpMethod.POST, "/auth/session", path)) {
+            return "auth-session";
+        }
+        if ("/customers/me".equals(path) && (isReadMethod(method) || method == HttpMethod.PUT)) {
+            return "customer-me";
+        }
+        if (matchesPrefix(path, "/customers/me/addresses") && isReadMethod(method)) {
+            return "customer-addresses-read";
+        }
+        if (matchesPrefix(path, "/customers/me/addresses") && isWriteMethod(method)) {
+            return "customer-addresses-write";
+        }
+        if (matches(method, HttpMethod.POST, "/orders/me", path)
+                || (method == HttpMethod.POST && path.startsWith("/orders/me/") && path.endsWith("/cancel"))) {
+            return "orders-me-write";
+        }
+        if (matchesPrefix(path, "/orders/me") && method == HttpMethod.GET) {
+            return "orders-me-read";
+        }
+        if (matches(method, HttpMethod.POST, "/cart/me/checkout", path)) {
+            return "cart-me-checkout";
+        }
+        if (matchesCartPath(path) && isWriteMethod(method)) {
+            return "cart-me-write";
+        }
+        if (matchesCartPath(path) && method == HttpMethod.GET) {
+            return "cart-me-read";
+        }
+        if (matchesWishlistPath(path) && isWriteMethod(method)) {
+            return "wishlist-me-write";
+        }
+        if (matchesWishlistPath(path) && method == HttpMethod.GET) {
+            return "wishlist-me-read";
+        }
+        if (path.startsWith("/analytics/admin/")) {
+            return "analytics-admin";
+        }
+        if (path.startsWith("/analytics/vendor/")) {
+            return "analytics-vendor";
+        }
+        if (matches(method, HttpMethod.GET, "/admin/orders/export", path)
+                || matches(method, HttpMethod.POST, "/admin/orders/exports", path)) {
+            return "report-exports-create";
+        }
+        if (path.startsWith("/admin/orders/exports/") && isReadMethod(method)) {
+            return "report-exports-read";
+        }
+        if (matchesPrefix(path, "/admin/orders") || matchesPrefix(path, "/admin/vendor-orders")) {
+            return "admin-orders";
+        }
+        if (matchesPrefix(path, "/promotions/me")) {
+            return "promotions-me";
+        }
+        if (matchesPrefix(path, "/promotions") && isReadMethod(method)) {
+            return "promotions-read";
+        }
+        if ((matchesPrefix(path, "/products") || matchesPrefix(path, "/categories")) && isReadMethod(method)) {
+            return "products-read";
+        }
+        if ((matchesPrefix(path, "/posters") || matchesPrefix(path, "/vendors")) && isReadMethod(method)) {
+            return "catalog-aux-read";
+        }
+        if (matchesPrefix(path, "/vendors/me")) {
+            return isReadMethod(method) ? "vendor-me-read" : "vendor-me-write";
+        }
+        if (matchesPrefix(path, "/admin/products") || matchesPrefix(path, "/admin/categories")) {
+            return isReadMethod(method) ? "admin-products-read" : "admin-products-write";
+        }
+        if (matchesPrefix(path, "/admin/posters")) {
+            return isReadMethod(method) ? "admin-posters-read" : "admin-posters-write";
+        }
+        if (matchesPrefix(path, "/admin/vendors")) {
+            return isReadMethod(method) ? "admin-vendors-read" : "admin-vendors-write";
+        }
+        if (matchesPrefix(path, "/admin/me")) {
+            return "admin-me-read";
+        }
+        if (matches(method, HttpMethod.GET, "/admin/keycloak/users/search", path)
+                || matches(method, HttpMethod.HEAD, "/admin/keycloak/users/search", path)) {
+            return "admin-keycloak-search";
+        }
+        if (matchesPrefix(path, "/admin/platform-staff")
+                || matchesPrefix(path, "/admin/vendor-staff")
+                || matchesPrefix(path, "/admin/access-audit")) {
+            return isReadMethod(method) ? "admin-access-read" : "admin-access-write";
+        }
+        if (path.startsWith("/webhooks/")) {
+            return "webhooks";
+        }
+        if (matchesPrefix(path, "/payments/me")) {
+            return isReadMethod(method) ? "payment-me-read" : "payment-me-write";
+        }
+        if (matchesPrefix(path, "/payments/vendor/me")) {
+            return isReadMethod(method) ? "payment-vendor-me-read" : "payment-vendor-me-write";
+        }
+        if (matches(method, HttpMethod.POST, "/personalization/events", path)) {
+            return "personalization-events";
+        }
+        if ((matchesPrefix(path, "/personalization/me")
+                || matchesPrefix(path, "/personalization/trending")
+                || path.startsWith("/personalization/products/")) && isReadMethod(method)) {
+            return "personalization-read";
+        }
+        if (matches(method, HttpMethod.POST, "/personalization/sessions/merge", path)) {
+            return "personalization-read";
+        }
+        if (matchesPrefix(path, "/search")) {
+            return "search-read";
+        }
+        if (matchesPrefix(path, "/reviews") && isReadMethod(method)) {
+            return "reviews-read";
+        }
+        return "default";
+    }
+
+    static boolean isFailClosedPath(String path) {
+        return path.startsWith("/orders")
+                || path.startsWith("/cart/me/checkout")
+                || path.startsWith("/payments")
+                || path.startsWith("/webhooks")
+                || "/customers/register-identity".equals(path)
+                || path.startsWith("/auth")
+                || path.startsWith("/personalization/events")
+                || path.startsWith("/analytics/")
+                || path.startsWith("/admin/orders/export");
+    }
+
+    static boolean isProtectedMutation(String path, HttpMethod method) {
+        return path.startsWith("/admin/")
+                || matchesPost(path, method, "/auth/logout", "/auth/session",
+                "/auth/resend-verification", "/customers/register-identity")
+                || (isWriteMethod(method)
+                && ("/customers/me/addresses".equals(path) || path.startsWith("/customers/me/addresses/")))
+                || matches(method, HttpMethod.PUT, "/customers/me", path)
+                || matches(method, HttpMethod.POST, "/customers/me/deactivate", path)
+                || matches(method, HttpMethod.POST, "/orders/me", path)
+                || (method == HttpMethod.POST && path.startsWith("/orders/me/") && path.endsWith("/cancel"))
+                || matchesPost(path, method, "/payments/me/initiate", "/payments/me/refunds")
+                || (method == HttpMethod.POST
+                && path.startsWith("/payments/vendor/me/refunds/") && path.endsWith("/respond"))
+                || (method == HttpMethod.POST
+                && path.startsWith("/admin/payments/refunds/") && path.endsWith("/finalize"))
+                || matches(method, HttpMethod.POST, "/cart/me/checkout", path)
+                || (isWriteMethod(method) && matchesCartPath(path))
+                || (isWriteMethod(method) && matchesWishlistPath(path))
+                || matchesPost(path, method, "/vendors/me/stop-orders", "/vendors/me/resume-orders")
+                || matches(method, HttpMethod.PUT, "/vendors/me", path)
+                || matches(method, HttpMethod.PUT, "/vendors/me/payout-config", path);
+    }
+
+    private static boolean matchesPost(String path, HttpMethod method, String... exactPaths) {
+        for (String exactPath : exactPaths) {
+            if (matches(method, HttpMethod.POST, exactPath, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(HttpMethod actualMethod, HttpMethod expectedMethod, String expectedPath, String actualPath) {
+        return actualMethod == expectedMethod && expectedPath.equals(actualPath);
+    }
+
+    private static boolean matchesPrefix(String path, String prefix) {
+        return prefix.equals(path) || path.startsWith(prefix + "/");
+    }
+
+    private static boolean matchesCartPath(String path) {
+        return "/cart/me".equals(path) || "/cart/me/items".equals(path) || path.startsWith("/cart/me/items/");
+    }
+
+    private static boolean matchesWishlistPath(String path) {
+        return "/wishlist/me".equals(path) || "/wishlist/me/items".equals(path) || path.startsWith("/wishlist/me/items/");
+    }
+
+    private static boolean isReadMethod(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD;
+    }
+
+    private static boolean isWriteMethod(HttpMethod method) {
+        return method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+    }
+}
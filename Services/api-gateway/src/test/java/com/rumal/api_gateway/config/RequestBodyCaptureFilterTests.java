@@ -0,0 +1,94 @@
+package com.rumal.api_gateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBodyCaptureFilterTests {
+
+    private final RequestBodyCaptureFilter filter = new RequestBodyCaptureFilter(DataSize.ofKilobytes(1));
+
+    @Test
+    void hashesBodyOnceAndReplaysItDownstream() throws Exception {
+        String body = "{\"productId\":\"abc\",\"quantity\":2}";
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/cart/me/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body));
+        AtomicReference<String> replayed = new AtomicReference<>();
+        AtomicReference<String> replayedAgain = new AtomicReference<>();
+
+        GatewayFilterChain chain = ex -> readBody(ex)
+                .doOnNext(replayed::set)
+                .then(readBody(ex).doOnNext(replayedAgain::set))
+                .then();
+        filter.filter(exchange, chain).block();
+
+        assertEquals(body, replayed.get());
+        assertEquals(body, replayedAgain.get());
+        assertEquals(sha256(body), RequestBodyCaptureFilter.bodySha256(exchange));
+    }
+
+    @Test
+    void streamsMultipartBodiesWithoutHashing() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/products/images")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body("--boundary--"));
+
+        filter.filter(exchange, ex -> readBody(ex).then()).block();
+
+        assertTrue(Boolean.TRUE.equals(exchange.getAttribute(RequestBodyCaptureFilter.STREAMED_BODY_ATTR)));
+        assertNull(RequestBodyCaptureFilter.bodySha256(exchange));
+    }
+
+    @Test
+    void streamsBodiesDeclaringMoreThanTheCaptureLimit() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/reviews/me")
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(4096)
+                .body("{}"));
+
+        filter.filter(exchange, ex -> readBody(ex).then()).block();
+
+        assertNull(RequestBodyCaptureFilter.bodySha256(exchange));
+    }
+
+    @Test
+    void publishesEmptyHashForEmptyBody() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/vendors/me/stop-orders")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        filter.filter(exchange, ex -> readBody(ex).then()).block();
+
+        assertEquals("", RequestBodyCaptureFilter.bodySha256(exchange));
+    }
+
+    private static Mono<String> readBody(ServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+                .map(buffer -> {
+                    String value = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return value;
+                })
+                .defaultIfEmpty("");
+    }
+
+    private static String sha256(String value) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.rumal.api_gateway.config;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of hashing a request body that arrives as Netty chunks: the old path, which copied every chunk
+ * into a {@code byte[]}, concatenated them and then hashed, against the incremental digest
+ * {@link RequestBodyCaptureFilter} feeds as buffers arrive. The joined buffer is what the gateway keeps for replay.
+ * <p>
+ * Run with {@code mvn test-compile} and then this class's {@code main} on the test classpath; add
+ * {@code -prof gc} to compare bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBodyHashingBenchmark {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({"4096", "262144", "1048576"})
+    public int bodySize;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = new byte[bodySize];
+        ThreadLocalRandom.current().nextBytes(body);
+    }
+
+    @Benchmark
+    public String copyThenHash() throws Exception {
+        List<byte[]> chunks = new ArrayList<>();
+        for (DataBuffer buffer : chunks()) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            chunks.add(bytes);
+        }
+        int total = chunks.stream().mapToInt(chunk -> chunk.length).sum();
+        byte[] combined = new byte[total];
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            System.arraycopy(chunk, 0, combined, offset, chunk.length);
+            offset += chunk.length;
+        }
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(combined));
+    }
+
+    @Benchmark
+    public String incrementalHash() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        List<DataBuffer> buffers = chunks();
+        for (DataBuffer buffer : buffers) {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    digest.update(iterator.next());
+                }
+            }
+        }
+        DataBuffer joined = bufferFactory.join(buffers);
+        DataBufferUtils.release(joined);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private List<DataBuffer> chunks() {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, body.length - offset);
+            DataBuffer buffer = bufferFactory.allocateBuffer(length);
+            buffer.write(body, offset, length);
+            buffers.add(buffer);
+        }
+        return buffers;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestBodyHashingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
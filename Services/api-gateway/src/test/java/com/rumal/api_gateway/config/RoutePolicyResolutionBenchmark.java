@@ -0,0 +1,85 @@
+package com.rumal.api_gateway.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of resolving the rate-limit policy, fail-closed flag and idempotency requirement: the compiled
+ * {@link RoutePolicyTable}s against the {@link LegacyRoutePolicyChain} if-chains they replaced. Each invocation
+ * resolves every request in a fixed mix of real gateway paths.
+ * <p>
+ * Run with {@code mvn test-compile} and then this class's {@code main} on the test classpath; add
+ * {@code -prof gc} to confirm the table path allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutePolicyResolutionBenchmark {
+
+    private static final List<HttpMethod> METHODS = List.of(
+            HttpMethod.GET, HttpMethod.GET, HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE
+    );
+
+    private RoutePolicyTable<String> policies;
+    private RoutePolicyTable<Boolean> failClosed;
+    private RoutePolicyTable<Boolean> protectedMutations;
+    private String[] paths;
+    private HttpMethod[] methods;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        policies = RateLimitEnforcementFilter.policyRoutes();
+        failClosed = RateLimitEnforcementFilter.failClosedRoutes();
+        protectedMutations = IdempotencyFilter.protectedMutationRoutes();
+        List<String> corpus = RoutePolicyTableTests.PATHS;
+        paths = corpus.toArray(new String[0]);
+        methods = new HttpMethod[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            methods[i] = METHODS.get(i % METHODS.size());
+        }
+    }
+
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        for (int i = 0; i < paths.length; i++) {
+            blackhole.consume(policies.resolve(methods[i], paths[i]));
+            blackhole.consume(failClosed.resolve(null, paths[i]));
+            blackhole.consume(protectedMutations.resolve(methods[i], paths[i]));
+        }
+    }
+
+    @Benchmark
+    public void legacyIfChain(Blackhole blackhole) {
+        for (int i = 0; i < paths.length; i++) {
+            blackhole.consume(LegacyRoutePolicyChain.rateLimitPolicy(paths[i], methods[i]));
+            blackhole.consume(LegacyRoutePolicyChain.isFailClosedPath(paths[i]));
+            blackhole.consume(LegacyRoutePolicyChain.isProtectedMutation(paths[i], methods[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoutePolicyResolutionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.rumal.api_gateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RoutePolicyTableTests {
+
+    private static final List<HttpMethod> METHODS = List.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.POST, HttpMethod.PUT,
+            HttpMethod.PATCH, HttpMethod.DELETE, HttpMethod.valueOf("PROPFIND")
+    );
+
+    static final List<String> PATHS = List.of(
+            "/", "/auth", "/auth/logout", "/auth/session", "/auth/resend-verification", "/auth/other",
+            "/customers/register-identity", "/customers/me", "/customers/me/deactivate",
+            "/customers/me/addresses", "/customers/me/addresses/42", "/customers/me/addressesx",
+            "/orders", "/orders/me", "/orders/me/1", "/orders/me/1/cancel", "/orders/me/cancel", "/ordersx",
+            "/cart/me", "/cart/me/items", "/cart/me/items/9", "/cart/me/checkout", "/cart/me/checkout/x", "/cart/mine",
+            "/wishlist/me", "/wishlist/me/items", "/wishlist/me/items/3", "/wishlist/me/other",
+            "/analytics/admin/dashboard", "/analytics/vendor/sales", "/analytics/admin", "/analytics/other",
+            "/admin/orders", "/admin/orders/1", "/admin/orders/export", "/admin/orders/exports",
+            "/admin/orders/exports/77", "/admin/vendor-orders", "/admin/vendor-orders/2",
+            "/promotions", "/promotions/1", "/promotions/me", "/promotions/me/claims",
+            "/products", "/products/abc", "/productsx", "/categories/tree",
+            "/posters", "/vendors", "/vendors/1", "/vendors/me", "/vendors/me/payout-config",
+            "/vendors/me/stop-orders", "/vendors/me/resume-orders",
+            "/admin/products", "/admin/products/5", "/admin/categories", "/admin/posters/1", "/admin/vendors",
+            "/admin/me", "/admin/me/permissions", "/admin/keycloak/users/search", "/admin/keycloak/users",
+            "/admin/platform-staff", "/admin/vendor-staff/1", "/admin/access-audit",
+            "/admin/payments/refunds/1/finalize", "/admin",
+            "/webhooks/payhere", "/webhooks", "/payments", "/payments/me", "/payments/me/initiate",
+            "/payments/me/refunds", "/payments/vendor/me", "/payments/vendor/me/refunds/5/respond",
+            "/personalization/events", "/personalization/me/recent", "/personalization/trending",
+            "/personalization/products/1/similar", "/personalization/sessions/merge",
+            "/search", "/search/products", "/reviews", "/reviews/product/1", "/unknown/path"
+    );
+
+    @Test
+    void rateLimitRoutesMatchTheLegacyChain() {
+        RoutePolicyTable<String> routes = RateLimitEnforcementFilter.policyRoutes();
+        for (String path : PATHS) {
+            for (HttpMethod method : METHODS) {
+                assertEquals(LegacyRoutePolicyChain.rateLimitPolicy(path, method), routes.resolve(method, path),
+                        method + " " + path);
+            }
+        }
+    }
+
+    @Test
+    void failClosedRoutesMatchTheLegacyChain() {
+        RoutePolicyTable<Boolean> routes = RateLimitEnforcementFilter.failClosedRoutes();
+        for (String path : PATHS) {
+            assertEquals(LegacyRoutePolicyChain.isFailClosedPath(path), routes.resolve(null, path), path);
+        }
+    }
+
+    @Test
+    void protectedMutationRoutesMatchTheLegacyChain() {
+        RoutePolicyTable<Boolean> routes = IdempotencyFilter.protectedMutationRoutes();
+        for (String path : PATHS) {
+            for (HttpMethod method : METHODS) {
+                assertEquals(LegacyRoutePolicyChain.isProtectedMutation(path, method), routes.resolve(method, path),
+                        method + " " + path);
+            }
+        }
+    }
+
+    @Test
+    void firstDeclaredRuleWinsOverLongerMatches() {
+        RoutePolicyTable<String> routes = RoutePolicyTable.<String>builder()
+                .prefix(RoutePolicyTable.ANY_METHOD, "/a/", "broad")
+                .exact(RoutePolicyTable.GET, "/a/b", "narrow")
+                .build("default");
+
+        assertEquals("broad", routes.resolve(HttpMethod.GET, "/a/b"));
+        assertEquals("default", routes.resolve(HttpMethod.GET, "/a"));
+    }
+
+    @Test
+    void mapConvertsEachDistinctValueOnce() {
+        RoutePolicyTable<String> routes = RoutePolicyTable.<String>builder()
+                .segment(RoutePolicyTable.GET, "/x", "read")
+                .segment(RoutePolicyTable.GET, "/y", "read")
+                .build("default");
+
+        RoutePolicyTable<StringBuilder> mapped = routes.map(StringBuilder::new);
+
+        assertSame(mapped.resolve(HttpMethod.GET, "/x/1"), mapped.resolve(HttpMethod.GET, "/y"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.rumal.api_gateway.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalRevocationCacheTests {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String CLIENT_IP = "203.0.113.10";
+    private static final String USER_AGENT = "Mozilla/5.0";
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private LocalRevocationCache cache;
+    private String tokenHash;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        cache = new LocalRevocationCache(
+                redisTemplate,
+                mock(ReactiveRedisConnectionFactory.class),
+                true,
+                "gw:revocation-events:test",
+                Duration.ofSeconds(10),
+                1_000,
+                1 << 16,
+                Duration.ofMinutes(10)
+        );
+        tokenHash = cache.tokenHash(TOKEN);
+    }
+
+    @Test
+    void servesNothingUntilTheRevocationChannelIsLive() {
+        cache.rememberActive(tokenHash, "user-1", "session-1", CLIENT_IP, USER_AGENT);
+
+        assertFalse(cache.isKnownActive(tokenHash, CLIENT_IP, USER_AGENT));
+    }
+
+    @Test
+    void servesRememberedSessionOnlyForTheSameClient() {
+        cache.onSubscribed();
+        cache.rememberActive(tokenHash, "user-1", "session-1", CLIENT_IP, USER_AGENT);
+
+        assertTrue(cache.isKnownActive(tokenHash, CLIENT_IP, USER_AGENT));
+        assertFalse(cache.isKnownActive(tokenHash, "198.51.100.7", USER_AGENT));
+        assertFalse(cache.isKnownActive(tokenHash, CLIENT_IP, "curl/8.0"));
+    }
+
+    @Test
+    void tokenRevocationEvictsAndBlocksLateInserts() {
+        when(redisTemplate.convertAndSend(eq("gw:revocation-events:test"), anyString())).thenReturn(Mono.just(1L));
+        cache.onSubscribed();
+        cache.rememberActive(tokenHash, "user-1", "session-1", CLIENT_IP, USER_AGENT);
+
+        cache.publishTokenRevoked(TOKEN).block();
+        assertFalse(cache.isKnownActive(tokenHash, CLIENT_IP, USER_AGENT));
+
+        cache.rememberActive(tokenHash, "user-1", "session-1", CLIENT_IP, USER_AGENT);
+        assertFalse(cache.isKnownActive(tokenHash, CLIENT_IP, USER_AGENT));
+        verify(redisTemplate).convertAndSend(eq("gw:revocation-events:test"), eq("T:" + tokenHash));
+    }
+
+    @Test
+    void sessionAndSubjectEventsFromPeersEvictMatchingTokens() {
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        LocalRevocationCache peer = new LocalRevocationCache(
+                redisTemplate, mock(ReactiveRedisConnectionFactory.class), true, "gw:revocation-events:test",
+                Duration.ofSeconds(10), 1_000, 1 << 16, Duration.ofMinutes(10));
+        String otherTokenHash = cache.tokenHash("other.token.value");
+        cache.onSubscribed();
+        cache.rememberActive(tokenHash, "user-1", "session-1", CLIENT_IP, USER_AGENT);
+        cache.rememberActive(otherTokenHash, "user-2", "session-2", CLIENT_IP, USER_AGENT);
+
+        peer.publishSessionRevoked("session-1").block();
+        peer.publishSubjectRevoked("user-2").block();
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(anyString(), messages.capture());
+        messages.getAllValues().forEach(cache::apply);
+
+        assertFalse(cache.isKnownActive(tokenHash, CLIENT_IP, USER_AGENT));
+        assertFalse(cache.isKnownActive(otherTokenHash, CLIENT_IP, USER_AGENT));
+    }
+}
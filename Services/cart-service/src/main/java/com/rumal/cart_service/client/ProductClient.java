@@ -8,16 +8,25 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class ProductClient {
 
+    private static final int BATCH_SIZE = 50;
+    private static final ParameterizedTypeReference<List<ProductDetails>> PRODUCT_LIST_TYPE = new ParameterizedTypeReference<>() {};
+
     private final RestClient restClient;
     private final String internalAuthSecret;
 
@@ -52,6 +61,57 @@ public class ProductClient {
         }
     }
 
+    /**
+     * Fetches public product details in chunks of {@value #BATCH_SIZE}. Products that are missing or not publicly
+     * visible are simply absent from the returned map.
+     */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService", fallbackMethod = "productFallbackGetByIds")
+    public Map<UUID, ProductDetails> getByIds(Collection<UUID> productIds) {
+        Map<UUID, ProductDetails> productsById = new HashMap<>();
+        if (productIds == null || productIds.isEmpty()) {
+            return productsById;
+        }
+        List<UUID> ids = new ArrayList<>(productIds);
+        RestClient rc = restClient;
+        try {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+                List<ProductDetails> rows = rc.post()
+                        .uri("http://product-service/internal/products/batch/details")
+                        .header("X-Internal-Auth", internalAuthSecret)
+                        .body(Map.of("productIds", chunk))
+                        .retrieve()
+                        .body(PRODUCT_LIST_TYPE);
+                if (rows == null) {
+                    continue;
+                }
+                for (ProductDetails row : rows) {
+                    if (row != null && row.id() != null) {
+                        productsById.put(row.id(), row);
+                    }
+                }
+            }
+            return productsById;
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().is4xxClientError()) {
+                throw new ValidationException(resolveErrorMessage(ex, "Invalid product batch request"));
+            }
+            throw new ServiceUnavailableException("Product service error for product batch.", ex);
+        } catch (RestClientException ex) {
+            throw new ServiceUnavailableException("Service unavailable: " + ex.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public Map<UUID, ProductDetails> productFallbackGetByIds(Collection<UUID> productIds, Throwable ex) {
+        if (ex instanceof ValidationException ve) throw ve;
+        throw new ServiceUnavailableException(
+                "Product service unavailable for product batch. Try again later.",
+                ex
+        );
+    }
+
     @SuppressWarnings("unused")
     public ProductDetails productFallbackGetById(UUID productId, Throwable ex) {
         if (ex instanceof ResourceNotFoundException rnfe) throw rnfe;
@@ -0,0 +1,87 @@
+package com.rumal.cart_service.client;
+
+import com.rumal.cart_service.dto.ProductDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves product details for rendering through {@link ProductClient#getByIds}. Lookups for IDs that another
+ * request is already fetching join that in-flight call instead of issuing their own, so concurrent renders of
+ * carts sharing popular products collapse into one downstream batch. Unresolvable products map to {@code null}.
+ */
+@Component
+public class ProductDetailsBatchLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductDetailsBatchLoader.class);
+
+    private final ProductClient productClient;
+    private final Map<UUID, CompletableFuture<ProductDetails>> inFlight = new ConcurrentHashMap<>();
+
+    public ProductDetailsBatchLoader(ProductClient productClient) {
+        this.productClient = productClient;
+    }
+
+    public Map<UUID, ProductDetails> loadAll(Collection<UUID> productIds) {
+        Map<UUID, CompletableFuture<ProductDetails>> pending = new LinkedHashMap<>();
+        List<UUID> owned = new ArrayList<>();
+        if (productIds != null) {
+            for (UUID productId : productIds) {
+                if (productId == null || pending.containsKey(productId)) {
+                    continue;
+                }
+                CompletableFuture<ProductDetails> created = new CompletableFuture<>();
+                CompletableFuture<ProductDetails> existing = inFlight.putIfAbsent(productId, created);
+                if (existing == null) {
+                    owned.add(productId);
+                    pending.put(productId, created);
+                } else {
+                    pending.put(productId, existing);
+                }
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            fetchOwned(owned, pending);
+        }
+
+        Map<UUID, ProductDetails> productsById = new HashMap<>();
+        pending.forEach((productId, future) -> {
+            try {
+                productsById.put(productId, future.join());
+            } catch (CompletionException ex) {
+                productsById.put(productId, null);
+            }
+        });
+        return productsById;
+    }
+
+    private void fetchOwned(List<UUID> owned, Map<UUID, CompletableFuture<ProductDetails>> pending) {
+        try {
+            Map<UUID, ProductDetails> fetched = productClient.getByIds(owned);
+            for (UUID productId : owned) {
+                pending.get(productId).complete(fetched == null ? null : fetched.get(productId));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Batch product lookup failed for {} products; rendering them as unavailable", owned.size(), ex);
+            for (UUID productId : owned) {
+                pending.get(productId).completeExceptionally(ex);
+            }
+        } finally {
+            for (UUID productId : owned) {
+                inFlight.remove(productId, pending.get(productId));
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.rumal.cart_service.service;
 import com.rumal.cart_service.client.CustomerClient;
 import com.rumal.cart_service.client.OrderClient;
 import com.rumal.cart_service.client.ProductClient;
+import com.rumal.cart_service.client.ProductDetailsBatchLoader;
 import com.rumal.cart_service.client.PromotionClient;
 import com.rumal.cart_service.client.VendorOperationalStateClient;
 import com.rumal.cart_service.dto.AddCartItemRequest;
@@ -68,6 +69,7 @@ public class CartService {
     private final CartRepository cartRepository;
     private final ActiveCartStoreService activeCartStoreService;
     private final ProductClient productClient;
+    private final ProductDetailsBatchLoader productDetailsBatchLoader;
     private final VendorOperationalStateClient vendorOperationalStateClient;
     private final OrderClient orderClient;
     private final PromotionClient promotionClient;
@@ -935,22 +937,10 @@ public class CartService {
     }
 
     private Map<UUID, ProductDetails> resolveProductsById(List<CartItem> items) {
-        Map<UUID, ProductDetails> productsById = new HashMap<>();
-        if (items == null) {
-            return productsById;
+        if (items == null || items.isEmpty()) {
+            return new HashMap<>();
         }
-        for (CartItem item : items) {
-            UUID productId = item.getProductId();
-            if (productId == null || productsById.containsKey(productId)) {
-                continue;
-            }
-            try {
-                productsById.put(productId, productClient.getById(productId));
-            } catch (RuntimeException ex) {
-                productsById.put(productId, null);
-            }
-        }
-        return productsById;
+        return productDetailsBatchLoader.loadAll(items.stream().map(CartItem::getProductId).toList());
     }
 
     private CartItemResponse toItemResponse(CartItem item, ProductDetails product) {
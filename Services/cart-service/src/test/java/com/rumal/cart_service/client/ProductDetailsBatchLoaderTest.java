@@ -0,0 +1,84 @@
+package com.rumal.cart_service.client;
+
+import com.rumal.cart_service.dto.ProductDetails;
+import com.rumal.cart_service.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+class ProductDetailsBatchLoaderTest {
+
+    @Test
+    void concurrentLookupsForSameIdsShareOneDownstreamCall() throws Exception {
+        ProductClient productClient = Mockito.mock(ProductClient.class);
+        CountDownLatch firstCallStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCall = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        List<UUID> requestedIds = java.util.Collections.synchronizedList(new ArrayList<>());
+        when(productClient.getByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            requestedIds.addAll(ids);
+            if (calls.incrementAndGet() == 1) {
+                firstCallStarted.countDown();
+                assertTrue(releaseFirstCall.await(5, TimeUnit.SECONDS));
+            }
+            Map<UUID, ProductDetails> products = new HashMap<>();
+            ids.forEach(id -> products.put(id, product(id)));
+            return products;
+        });
+        ProductDetailsBatchLoader loader = new ProductDetailsBatchLoader(productClient);
+
+        UUID shared = UUID.randomUUID();
+        UUID onlySecond = UUID.randomUUID();
+        CompletableFuture<Map<UUID, ProductDetails>> first = CompletableFuture.supplyAsync(() -> loader.loadAll(List.of(shared)));
+        assertTrue(firstCallStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Map<UUID, ProductDetails>> second = CompletableFuture.supplyAsync(() -> loader.loadAll(List.of(shared, onlySecond)));
+        // The second caller fetches only the ID nobody else is loading, then waits on the shared one.
+        while (calls.get() < 2) {
+            Thread.onSpinWait();
+        }
+        releaseFirstCall.countDown();
+
+        assertEquals(shared, first.get(5, TimeUnit.SECONDS).get(shared).id());
+        Map<UUID, ProductDetails> secondResult = second.get(5, TimeUnit.SECONDS);
+        assertEquals(shared, secondResult.get(shared).id());
+        assertEquals(onlySecond, secondResult.get(onlySecond).id());
+        assertEquals(2, calls.get());
+        assertEquals(List.of(shared, onlySecond), List.copyOf(requestedIds));
+    }
+
+    @Test
+    void downstreamFailureRendersProductsAsUnavailable() {
+        ProductClient productClient = Mockito.mock(ProductClient.class);
+        when(productClient.getByIds(anyCollection())).thenThrow(new ServiceUnavailableException("down"));
+        ProductDetailsBatchLoader loader = new ProductDetailsBatchLoader(productClient);
+        UUID productId = UUID.randomUUID();
+
+        Map<UUID, ProductDetails> result = loader.loadAll(List.of(productId));
+
+        assertTrue(result.containsKey(productId));
+        assertNull(result.get(productId));
+    }
+
+    private ProductDetails product(UUID productId) {
+        return new ProductDetails(productId, UUID.randomUUID(), "slug", "Name", "SKU", "SINGLE", true,
+                new BigDecimal("10.00"), List.of(), List.of());
+    }
+}
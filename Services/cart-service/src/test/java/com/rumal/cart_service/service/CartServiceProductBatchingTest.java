@@ -0,0 +1,119 @@
+package com.rumal.cart_service.service;
+
+import com.rumal.cart_service.client.CustomerClient;
+import com.rumal.cart_service.client.OrderClient;
+import com.rumal.cart_service.client.ProductClient;
+import com.rumal.cart_service.client.ProductDetailsBatchLoader;
+import com.rumal.cart_service.client.PromotionClient;
+import com.rumal.cart_service.client.VendorOperationalStateClient;
+import com.rumal.cart_service.dto.CartResponse;
+import com.rumal.cart_service.dto.ProductDetails;
+import com.rumal.cart_service.repo.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CartServiceProductBatchingTest {
+
+    private static final Duration PRODUCT_SERVICE_LATENCY = Duration.ofMillis(60);
+
+    private ProductClient productClient;
+    private ActiveCartStoreService activeCartStoreService;
+    private CartService cartService;
+
+    @BeforeEach
+    void setUp() {
+        productClient = Mockito.mock(ProductClient.class);
+        activeCartStoreService = Mockito.mock(ActiveCartStoreService.class);
+        when(productClient.getByIds(anyCollection())).thenAnswer(invocation -> {
+            Thread.sleep(PRODUCT_SERVICE_LATENCY.toMillis());
+            Collection<UUID> ids = invocation.getArgument(0);
+            Map<UUID, ProductDetails> products = new HashMap<>();
+            ids.forEach(id -> products.put(id, product(id)));
+            return products;
+        });
+
+        cartService = new CartService(
+                Mockito.mock(CartRepository.class),
+                activeCartStoreService,
+                productClient,
+                new ProductDetailsBatchLoader(productClient),
+                Mockito.mock(VendorOperationalStateClient.class),
+                Mockito.mock(OrderClient.class),
+                Mockito.mock(PromotionClient.class),
+                Mockito.mock(CustomerClient.class),
+                new ShippingFeeCalculator(
+                        new BigDecimal("4.99"),
+                        new BigDecimal("0.80"),
+                        new BigDecimal("3.50"),
+                        "US"
+                )
+        );
+    }
+
+    @Test
+    void renderingCartIssuesOneProductLookupRegardlessOfCartSize() {
+        long singleItemNanos = renderCart("kc-small", 1);
+        long thirtyItemNanos = renderCart("kc-large", 30);
+
+        verify(productClient, times(2)).getByIds(anyCollection());
+        verify(productClient, never()).getById(any(UUID.class));
+        // Sequential per-item lookups would cost 30 x latency; batched rendering stays at roughly one round trip.
+        assertTrue(thirtyItemNanos < singleItemNanos + PRODUCT_SERVICE_LATENCY.toNanos() * 3,
+                () -> "30-item render took " + Duration.ofNanos(thirtyItemNanos).toMillis()
+                        + "ms vs 1-item " + Duration.ofNanos(singleItemNanos).toMillis() + "ms");
+    }
+
+    private long renderCart(String keycloakId, int itemCount) {
+        List<ActiveCartItemState> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new ActiveCartItemState(UUID.randomUUID(), UUID.randomUUID(), 1, false));
+        }
+        Instant now = Instant.now();
+        when(activeCartStoreService.loadCustomerCart(keycloakId))
+                .thenReturn(Optional.of(new ActiveCartState(UUID.randomUUID(), keycloakId, null, items, now, now, now)));
+
+        long started = System.nanoTime();
+        CartResponse response = cartService.getByKeycloakId(keycloakId);
+        long elapsed = System.nanoTime() - started;
+
+        assertEquals(itemCount, response.items().size());
+        assertTrue(response.items().stream().noneMatch(item -> "Unavailable product".equals(item.productName())));
+        return elapsed;
+    }
+
+    private ProductDetails product(UUID productId) {
+        return new ProductDetails(
+                productId,
+                UUID.randomUUID(),
+                "product-" + productId,
+                "Product " + productId,
+                "SKU-" + productId,
+                "SINGLE",
+                true,
+                new BigDecimal("10.00"),
+                List.of("img-1"),
+                List.of()
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.rumal.cart_service.service;
 import com.rumal.cart_service.client.CustomerClient;
 import com.rumal.cart_service.client.OrderClient;
 import com.rumal.cart_service.client.ProductClient;
+import com.rumal.cart_service.client.ProductDetailsBatchLoader;
 import com.rumal.cart_service.client.PromotionClient;
 import com.rumal.cart_service.client.VendorOperationalStateClient;
 import com.rumal.cart_service.dto.CheckoutCartRequest;
@@ -101,6 +102,7 @@ class CartServicePromotionFlowIntegrationTest {
                 cartRepository,
                 activeCartStoreService,
                 productClient,
+                new ProductDetailsBatchLoader(productClient),
                 vendorOperationalStateClient,
                 orderClient,
                 promotionClient,
@@ -1,12 +1,17 @@
 package com.rumal.customer_service.controller;
 
+import com.rumal.customer_service.dto.BatchCustomerRequest;
+import com.rumal.customer_service.dto.CustomerContactSummary;
 import com.rumal.customer_service.dto.CustomerResponse;
 import com.rumal.customer_service.dto.InternalCustomerSummary;
 import com.rumal.customer_service.security.InternalRequestVerifier;
 import com.rumal.customer_service.service.CustomerService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/internal/customers")
 @RequiredArgsConstructor
@@ -24,4 +29,13 @@ public class InternalCustomerController {
         CustomerResponse customer = customerService.getByKeycloakId(keycloakId);
         return InternalCustomerSummary.fromFullName(customer.id(), customer.name());
     }
+
+    @PostMapping("/batch-summaries")
+    public List<CustomerContactSummary> batchSummaries(
+            @RequestHeader(value = "X-Internal-Auth", required = false) String internalAuth,
+            @Valid @RequestBody BatchCustomerRequest request
+    ) {
+        internalRequestVerifier.verify(internalAuth);
+        return customerService.getContactSummaries(request.customerIds());
+    }
 }
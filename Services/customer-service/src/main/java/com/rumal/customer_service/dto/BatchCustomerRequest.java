@@ -0,0 +1,11 @@
+package com.rumal.customer_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchCustomerRequest(
+        @NotEmpty @Size(max = 500) List<UUID> customerIds
+) {}
@@ -0,0 +1,9 @@
+package com.rumal.customer_service.dto;
+
+import java.util.UUID;
+
+public record CustomerContactSummary(
+        UUID id,
+        String name,
+        String email
+) {}
@@ -7,6 +7,7 @@ import com.rumal.customer_service.dto.CreateCustomerRequest;
 import com.rumal.customer_service.dto.CustomerActivityLogResponse;
 import com.rumal.customer_service.dto.CustomerAddressRequest;
 import com.rumal.customer_service.dto.CustomerAddressResponse;
+import com.rumal.customer_service.dto.CustomerContactSummary;
 import com.rumal.customer_service.dto.CustomerResponse;
 import com.rumal.customer_service.dto.LinkedAccountsResponse;
 import com.rumal.customer_service.dto.RegisterIdentityCustomerRequest;
@@ -15,6 +16,7 @@ import com.rumal.customer_service.dto.UpdateCustomerProfileRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +29,7 @@ public interface CustomerService {
     CustomerResponse updateProfile(String keycloakId, UpdateCustomerProfileRequest request, String ipAddress);
     CustomerResponse deactivateAccount(String keycloakId);
     CustomerResponse getById(UUID id);
+    List<CustomerContactSummary> getContactSummaries(Collection<UUID> ids);
 
     List<CustomerAddressResponse> listAddressesByKeycloak(String keycloakId);
     CustomerAddressResponse addAddressByKeycloak(String keycloakId, CustomerAddressRequest request, String ipAddress);
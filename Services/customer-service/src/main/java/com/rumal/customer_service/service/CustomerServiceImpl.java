@@ -6,6 +6,7 @@ import com.rumal.customer_service.dto.CreateCustomerRequest;
 import com.rumal.customer_service.dto.CustomerActivityLogResponse;
 import com.rumal.customer_service.dto.CustomerAddressRequest;
 import com.rumal.customer_service.dto.CustomerAddressResponse;
+import com.rumal.customer_service.dto.CustomerContactSummary;
 import com.rumal.customer_service.dto.CustomerResponse;
 import com.rumal.customer_service.dto.LinkedAccountsResponse;
 import com.rumal.customer_service.dto.RegisterIdentityCustomerRequest;
@@ -38,8 +39,10 @@ import org.springframework.util.StringUtils;
 
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -217,6 +220,18 @@ public class CustomerServiceImpl implements CustomerService {
         return toResponse(c);
     }
 
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED, timeout = 10)
+    public List<CustomerContactSummary> getContactSummaries(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return customerRepository.findAllById(distinctIds).stream()
+                .map(c -> new CustomerContactSummary(c.getId(), c.getName(), c.getEmail()))
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED, timeout = 10)
     public List<CustomerAddressResponse> listAddressesByKeycloak(String keycloakId) {
@@ -0,0 +1,78 @@
+package com.rumal.inventory_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Check;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A reservation taken against the Redis counters of a hot SKU that has not been applied to {@link StockItem} yet.
+ * Rows are insert-only on the request path so reservations never wait on the stock item row lock; they are folded
+ * into {@link StockReservation} rows and movements asynchronously, or synchronously before the order is confirmed,
+ * released or cancelled.
+ */
+@Entity
+@Check(name = "chk_hot_sku_reservation_writebacks_positive_quantity", constraints = "quantity > 0")
+@Table(
+        name = "hot_sku_reservation_writebacks",
+        indexes = {
+                @Index(name = "idx_hot_sku_writebacks_pending", columnList = "status, created_at"),
+                @Index(name = "idx_hot_sku_writebacks_order_status", columnList = "order_id, status"),
+                @Index(name = "idx_hot_sku_writebacks_product_status", columnList = "product_id, status")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotSkuReservationWriteback {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "stock_item_id", nullable = false)
+    private UUID stockItemId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private UUID warehouseId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HotSkuWritebackStatus status = HotSkuWritebackStatus.PENDING;
+
+    @Column(name = "reserved_at", nullable = false)
+    private Instant reservedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @Column(name = "last_error", length = 900)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
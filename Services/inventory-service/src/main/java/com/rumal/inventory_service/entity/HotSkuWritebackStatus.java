@@ -0,0 +1,7 @@
+package com.rumal.inventory_service.entity;
+
+public enum HotSkuWritebackStatus {
+    PENDING,
+    APPLIED,
+    REJECTED
+}
@@ -0,0 +1,45 @@
+package com.rumal.inventory_service.repo;
+
+import com.rumal.inventory_service.entity.HotSkuReservationWriteback;
+import com.rumal.inventory_service.entity.HotSkuWritebackStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface HotSkuReservationWritebackRepository extends JpaRepository<HotSkuReservationWriteback, UUID> {
+
+    List<HotSkuReservationWriteback> findByOrderIdAndStatus(UUID orderId, HotSkuWritebackStatus status);
+
+    boolean existsByOrderIdAndStatus(UUID orderId, HotSkuWritebackStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from HotSkuReservationWriteback w where w.orderId = :orderId and w.status = :status")
+    List<HotSkuReservationWriteback> findByOrderIdAndStatusForUpdate(
+            @Param("orderId") UUID orderId,
+            @Param("status") HotSkuWritebackStatus status
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from HotSkuReservationWriteback w where w.status = :status order by w.createdAt asc, w.id asc")
+    List<HotSkuReservationWriteback> findByStatusForUpdate(
+            @Param("status") HotSkuWritebackStatus status,
+            Pageable pageable
+    );
+
+    @Query("""
+            select w.stockItemId, coalesce(sum(w.quantity), 0)
+            from HotSkuReservationWriteback w
+            where w.productId = :productId and w.status = :status
+            group by w.stockItemId
+            """)
+    List<Object[]> sumQuantityByStockItemId(
+            @Param("productId") UUID productId,
+            @Param("status") HotSkuWritebackStatus status
+    );
+}
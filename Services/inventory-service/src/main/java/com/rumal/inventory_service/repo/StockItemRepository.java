@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,6 +31,22 @@ public interface StockItemRepository extends JpaRepository<StockItem, UUID> {
     @Query("select s from StockItem s join fetch s.warehouse w where s.productId = :productId and w.active = true")
     List<StockItem> findByProductIdWithActiveWarehouse(@Param("productId") UUID productId);
 
+    /**
+     * One row per product that has stock in an active warehouse:
+     * {@code [productId, totalAvailable, stockItemCount, backorderableCount, lowStockCount]}.
+     */
+    @Query("""
+            select s.productId,
+                   coalesce(sum(s.quantityAvailable), 0),
+                   count(s),
+                   sum(case when s.backorderable = true then 1 else 0 end),
+                   sum(case when s.stockStatus = com.rumal.inventory_service.entity.StockStatus.LOW_STOCK then 1 else 0 end)
+            from StockItem s join s.warehouse w
+            where s.productId in :productIds and w.active = true
+            group by s.productId
+            """)
+    List<Object[]> aggregateAvailabilityByProductIds(@Param("productIds") Collection<UUID> productIds);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select s from StockItem s join fetch s.warehouse w where s.productId = :productId and w.active = true order by s.quantityAvailable desc, s.id asc")
     List<StockItem> findByProductIdForUpdateOrderByAvailableDesc(@Param("productId") UUID productId);
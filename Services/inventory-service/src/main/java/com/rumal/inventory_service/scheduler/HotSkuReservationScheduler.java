@@ -0,0 +1,55 @@
+package com.rumal.inventory_service.scheduler;
+
+import com.rumal.inventory_service.service.HotSkuReservationService;
+import com.rumal.inventory_service.service.StockService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class HotSkuReservationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSkuReservationScheduler.class);
+
+    private final StockService stockService;
+    private final HotSkuReservationService hotSkuReservationService;
+
+    @Value("${inventory.hot-sku.writeback-batch-size:200}")
+    private int writebackBatchSize;
+
+    // Runs even when the fast path is disabled so rows written before it was switched off still land.
+    @Scheduled(
+            fixedDelayString = "${inventory.hot-sku.writeback-interval-ms:1000}",
+            initialDelayString = "${inventory.hot-sku.writeback-initial-delay-ms:10000}"
+    )
+    public void writeBackPendingReservations() {
+        int total = 0;
+        try {
+            int batch;
+            do {
+                batch = stockService.writeBackHotSkuReservationsBatch(writebackBatchSize);
+                total += batch;
+            } while (batch >= Math.max(1, writebackBatchSize));
+        } catch (Exception e) {
+            log.error("Error during hot SKU reservation writeback (applied {} so far)", total, e);
+        }
+        if (total > 0) {
+            log.debug("Hot SKU writeback applied {} pending reservations", total);
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${inventory.hot-sku.reconcile-interval:PT30S}",
+            initialDelayString = "${inventory.hot-sku.reconcile-initial-delay:PT15S}"
+    )
+    public void reconcileCounters() {
+        if (!hotSkuReservationService.isEnabled()) {
+            return;
+        }
+        hotSkuReservationService.reconcile();
+    }
+}
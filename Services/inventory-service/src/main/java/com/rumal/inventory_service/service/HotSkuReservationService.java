@@ -0,0 +1,359 @@
+package com.rumal.inventory_service.service;
+
+import com.rumal.inventory_service.dto.ReservationItemResponse;
+import com.rumal.inventory_service.dto.StockCheckRequest;
+import com.rumal.inventory_service.entity.HotSkuReservationWriteback;
+import com.rumal.inventory_service.entity.HotSkuWritebackStatus;
+import com.rumal.inventory_service.entity.StockItem;
+import com.rumal.inventory_service.exception.InsufficientStockException;
+import com.rumal.inventory_service.repo.HotSkuReservationWritebackRepository;
+import com.rumal.inventory_service.repo.StockItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in fast path for flash-sale SKUs. Reservations for configured products are taken from Redis counters by a
+ * Lua script and recorded as insert-only {@link HotSkuReservationWriteback} rows, so concurrent buyers never queue
+ * on the {@code stock_items} row lock. {@link StockService} folds the rows into reservations and movements, and a
+ * scheduled reconciliation re-derives the counters from the database.
+ * <p>
+ * Invariant: counter = {@code StockItem.quantityAvailable} - pending writeback quantity, per active stock item.
+ * Products with backorderable stock stay on the database path because the counters cannot express backorders.
+ */
+@Service
+public class HotSkuReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSkuReservationService.class);
+
+    private final HotSkuStockCounters counters;
+    private final HotSkuReservationWritebackRepository writebackRepository;
+    private final StockItemRepository stockItemRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final boolean enabled;
+    private final Set<UUID> hotProductIds;
+    private final Map<String, Integer> observedDrift = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> warehouseIdByStockItemId = new ConcurrentHashMap<>();
+
+    public HotSkuReservationService(
+            HotSkuStockCounters counters,
+            HotSkuReservationWritebackRepository writebackRepository,
+            StockItemRepository stockItemRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.hot-sku.enabled:false}") boolean enabled,
+            @Value("${inventory.hot-sku.product-ids:}") String productIds
+    ) {
+        this.counters = counters;
+        this.writebackRepository = writebackRepository;
+        this.stockItemRepository = stockItemRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setTimeout(10);
+        this.enabled = enabled;
+        this.hotProductIds = parseProductIds(productIds);
+    }
+
+    public boolean isEnabled() {
+        return enabled && !hotProductIds.isEmpty();
+    }
+
+    public boolean isHot(UUID productId) {
+        return isEnabled() && productId != null && hotProductIds.contains(productId);
+    }
+
+    /**
+     * Reserves the hot lines of an order against Redis and records them for writeback. Must run inside the caller's
+     * transaction: if that transaction rolls back, the taken units are returned to the counters.
+     * Lines for products that are not hot, or not primed yet, are left for the database path.
+     *
+     * @throws InsufficientStockException when a hot product cannot cover its requested quantity
+     */
+    public HotSkuReservation reserve(UUID orderId, List<StockCheckRequest> items, Instant reservedAt, Instant expiresAt) {
+        if (!isEnabled() || items == null || items.isEmpty()) {
+            return HotSkuReservation.NONE;
+        }
+        Map<UUID, Integer> requestedByProduct = new LinkedHashMap<>();
+        for (StockCheckRequest item : items) {
+            if (isHot(item.productId())) {
+                requestedByProduct.merge(item.productId(), item.quantity(), Integer::sum);
+            }
+        }
+        if (requestedByProduct.isEmpty()) {
+            return HotSkuReservation.NONE;
+        }
+
+        Map<UUID, Map<UUID, Integer>> taken = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<UUID, Integer> entry : requestedByProduct.entrySet()) {
+                HotSkuStockCounters.Allocation allocation;
+                try {
+                    allocation = counters.reserve(entry.getKey(), entry.getValue());
+                } catch (RuntimeException ex) {
+                    log.warn("Hot SKU counters unavailable for product {}; using database reservation path", entry.getKey(), ex);
+                    continue;
+                }
+                if (allocation == null) {
+                    continue;
+                }
+                if (!allocation.reserved()) {
+                    throw new InsufficientStockException(
+                            "Insufficient stock for product " + entry.getKey() +
+                            ": requested=" + entry.getValue() + ", available=" + allocation.available()
+                    );
+                }
+                taken.put(entry.getKey(), allocation.quantityByStockItemId());
+            }
+        } catch (RuntimeException ex) {
+            giveBack(taken);
+            throw ex;
+        }
+        if (taken.isEmpty()) {
+            return HotSkuReservation.NONE;
+        }
+        giveBackOnRollback(taken);
+
+        Map<UUID, UUID> warehouseIds = resolveWarehouseIds(taken.values().stream()
+                .flatMap(quantities -> quantities.keySet().stream())
+                .toList());
+        List<HotSkuReservationWriteback> writebacks = new ArrayList<>();
+        taken.forEach((productId, quantities) -> quantities.forEach((stockItemId, quantity) ->
+                writebacks.add(HotSkuReservationWriteback.builder()
+                        .orderId(orderId)
+                        .productId(productId)
+                        .stockItemId(stockItemId)
+                        .warehouseId(warehouseIds.get(stockItemId))
+                        .quantity(quantity)
+                        .reservedAt(reservedAt)
+                        .expiresAt(expiresAt)
+                        .build())));
+        List<ReservationItemResponse> responses = writebackRepository.saveAll(writebacks).stream()
+                .map(HotSkuReservationService::toReservationItem)
+                .toList();
+        return new HotSkuReservation(Set.copyOf(taken.keySet()), responses);
+    }
+
+    // Pending rows are honoured even after the fast path is switched off, so these lookups are not gated on isEnabled().
+    public List<ReservationItemResponse> pendingReservationItems(UUID orderId) {
+        return writebackRepository.findByOrderIdAndStatus(orderId, HotSkuWritebackStatus.PENDING).stream()
+                .map(HotSkuReservationService::toReservationItem)
+                .toList();
+    }
+
+    public boolean hasPendingReservations(UUID orderId) {
+        return writebackRepository.existsByOrderIdAndStatus(orderId, HotSkuWritebackStatus.PENDING);
+    }
+
+    public List<HotSkuReservationWriteback> lockPendingForOrder(UUID orderId) {
+        return writebackRepository.findByOrderIdAndStatusForUpdate(orderId, HotSkuWritebackStatus.PENDING);
+    }
+
+    public List<HotSkuReservationWriteback> lockPendingBatch(int batchSize) {
+        return writebackRepository.findByStatusForUpdate(HotSkuWritebackStatus.PENDING, PageRequest.of(0, Math.max(1, batchSize)));
+    }
+
+    public void saveWritebacks(List<HotSkuReservationWriteback> writebacks) {
+        writebackRepository.saveAll(writebacks);
+    }
+
+    /**
+     * Mirrors a committed database change of {@code quantityAvailable} (release, restock, adjustment) into the
+     * counters. Reservations applied from writeback rows must not call this: Redis already counted them.
+     */
+    public void applyAvailableDeltaAfterCommit(UUID productId, UUID stockItemId, int delta) {
+        if (delta == 0 || !isHot(productId) || stockItemId == null) {
+            return;
+        }
+        runAfterCommit(() -> {
+            try {
+                counters.increment(productId, Map.of(stockItemId, delta));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to apply hot SKU counter delta {} for stock item {} (reconciliation will correct it)",
+                        delta, stockItemId, ex);
+            }
+        });
+    }
+
+    /**
+     * Returns the units of a writeback the database refused to the counters once the rejection commits. The order
+     * no longer holds them, and waiting for reconciliation would keep them unsellable for two runs; any drift that
+     * made the counters run ahead is still left to reconciliation.
+     */
+    public void creditRejectedAfterCommit(HotSkuReservationWriteback writeback) {
+        if (writeback.getQuantity() <= 0 || writeback.getStockItemId() == null) {
+            return;
+        }
+        Map<UUID, Integer> units = Map.of(writeback.getStockItemId(), writeback.getQuantity());
+        runAfterCommit(() -> giveBack(Map.of(writeback.getProductId(), units)));
+    }
+
+    /**
+     * Primes missing counters and corrects drift against the database. A drift is only corrected when the same value
+     * is seen on two consecutive runs, which filters out reservations still between the Redis decrement and the
+     * writeback insert commit; the correction itself is a compare-and-set so concurrent reservations are never
+     * overwritten.
+     */
+    public void reconcile() {
+        if (!isEnabled()) {
+            return;
+        }
+        for (UUID productId : hotProductIds) {
+            try {
+                reconcileProduct(productId);
+            } catch (RuntimeException ex) {
+                log.warn("Hot SKU reconciliation failed for product {}", productId, ex);
+            }
+        }
+    }
+
+    void reconcileProduct(UUID productId) {
+        Map<UUID, Integer> current = counters.snapshot(productId);
+        Ledger ledger = snapshotTransaction.execute(status -> loadLedger(productId));
+        if (ledger == null) {
+            return;
+        }
+        if (ledger.backorderable()) {
+            if (current != null) {
+                counters.evict(productId);
+                log.info("Hot SKU counters evicted for product {} because it has backorderable stock", productId);
+            }
+            return;
+        }
+        if (current == null) {
+            if (counters.prime(productId, ledger.expectedAvailable())) {
+                log.info("Hot SKU counters primed for product {} across {} stock items", productId, ledger.expectedAvailable().size());
+            }
+            return;
+        }
+
+        Set<UUID> stockItemIds = new LinkedHashSet<>(ledger.expectedAvailable().keySet());
+        stockItemIds.addAll(current.keySet());
+        for (UUID stockItemId : stockItemIds) {
+            String driftKey = productId + ":" + stockItemId;
+            Integer actual = current.get(stockItemId);
+            int expected = ledger.expectedAvailable().getOrDefault(stockItemId, 0);
+            int drift = expected - (actual == null ? 0 : actual);
+            if (drift == 0 && actual != null) {
+                observedDrift.remove(driftKey);
+                continue;
+            }
+            Integer previous = observedDrift.put(driftKey, drift);
+            if (previous == null || previous != drift) {
+                continue;
+            }
+            observedDrift.remove(driftKey);
+            if (counters.compareAndSet(productId, stockItemId, actual, expected)) {
+                log.warn("Hot SKU counter corrected for product {} stock item {}: {} -> {}", productId, stockItemId, actual, expected);
+            }
+        }
+    }
+
+    private Ledger loadLedger(UUID productId) {
+        List<StockItem> items = stockItemRepository.findByProductIdWithActiveWarehouse(productId);
+        Map<UUID, Integer> pending = new HashMap<>();
+        for (Object[] row : writebackRepository.sumQuantityByStockItemId(productId, HotSkuWritebackStatus.PENDING)) {
+            pending.put((UUID) row[0], ((Number) row[1]).intValue());
+        }
+        Map<UUID, Integer> expected = new LinkedHashMap<>();
+        boolean backorderable = false;
+        for (StockItem item : items) {
+            warehouseIdByStockItemId.putIfAbsent(item.getId(), item.getWarehouse().getId());
+            backorderable |= item.isBackorderable();
+            expected.put(item.getId(), item.getQuantityAvailable() - pending.getOrDefault(item.getId(), 0));
+        }
+        return new Ledger(expected, backorderable);
+    }
+
+    // A stock item never moves between warehouses, so the mapping is cached for the life of the process.
+    private Map<UUID, UUID> resolveWarehouseIds(Collection<UUID> stockItemIds) {
+        List<UUID> missing = stockItemIds.stream()
+                .filter(stockItemId -> !warehouseIdByStockItemId.containsKey(stockItemId))
+                .toList();
+        if (!missing.isEmpty()) {
+            for (StockItem item : stockItemRepository.findAllById(missing)) {
+                warehouseIdByStockItemId.put(item.getId(), item.getWarehouse().getId());
+            }
+        }
+        Map<UUID, UUID> resolved = new HashMap<>();
+        for (UUID stockItemId : stockItemIds) {
+            UUID warehouseId = warehouseIdByStockItemId.get(stockItemId);
+            if (warehouseId == null) {
+                throw new IllegalStateException("Hot SKU counter references unknown stock item " + stockItemId);
+            }
+            resolved.put(stockItemId, warehouseId);
+        }
+        return resolved;
+    }
+
+    private void giveBackOnRollback(Map<UUID, Map<UUID, Integer>> taken) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    giveBack(taken);
+                }
+            }
+        });
+    }
+
+    private void giveBack(Map<UUID, Map<UUID, Integer>> taken) {
+        taken.forEach((productId, quantities) -> {
+            try {
+                counters.increment(productId, quantities);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to return hot SKU units for product {} (reconciliation will correct it)", productId, ex);
+            }
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static ReservationItemResponse toReservationItem(HotSkuReservationWriteback writeback) {
+        return new ReservationItemResponse(writeback.getId(), writeback.getProductId(), writeback.getWarehouseId(), writeback.getQuantity());
+    }
+
+    private static Set<UUID> parseProductIds(String productIds) {
+        if (productIds == null || productIds.isBlank()) {
+            return Set.of();
+        }
+        Set<UUID> parsed = new LinkedHashSet<>();
+        for (String token : productIds.split(",")) {
+            if (!token.isBlank()) {
+                parsed.add(UUID.fromString(token.trim()));
+            }
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+
+    public record HotSkuReservation(Set<UUID> productIds, List<ReservationItemResponse> items) {
+        static final HotSkuReservation NONE = new HotSkuReservation(Set.of(), List.of());
+    }
+
+    private record Ledger(Map<UUID, Integer> expectedAvailable, boolean backorderable) {
+    }
+}
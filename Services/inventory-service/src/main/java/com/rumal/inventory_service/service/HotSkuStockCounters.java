@@ -0,0 +1,182 @@
+package com.rumal.inventory_service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Redis-held available counters for hot SKUs: one hash per product, one field per stock item.
+ * Every mutation is a single-key Lua script, so allocation across warehouses is atomic without row locks.
+ */
+@Service
+public class HotSkuStockCounters {
+
+    static final String STATUS_NOT_PRIMED = "-1";
+    static final String STATUS_INSUFFICIENT = "-2";
+
+    // Allocates largest-available-first (ties by stock item id), matching the database reservation path.
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 0 then return {'-1'} end
+            local flat = redis.call('hgetall', KEYS[1])
+            local items = {}
+            local total = 0
+            for i = 1, #flat, 2 do
+              local available = tonumber(flat[i + 1])
+              if available > 0 then
+                items[#items + 1] = {flat[i], available}
+                total = total + available
+              end
+            end
+            local remaining = tonumber(ARGV[1])
+            if total < remaining then return {'-2', tostring(total)} end
+            table.sort(items, function(a, b)
+              if a[2] == b[2] then return a[1] < b[1] end
+              return a[2] > b[2]
+            end)
+            local result = {'0'}
+            for _, item in ipairs(items) do
+              if remaining <= 0 then break end
+              local take = math.min(remaining, item[2])
+              redis.call('hincrby', KEYS[1], item[1], -take)
+              result[#result + 1] = item[1]
+              result[#result + 1] = tostring(take)
+              remaining = remaining - take
+            end
+            return result
+            """, List.class);
+
+    private static final DefaultRedisScript<Long> INCREMENT_IF_PRIMED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 0 then return 0 end
+            for i = 1, #ARGV, 2 do
+              redis.call('hincrby', KEYS[1], ARGV[i], tonumber(ARGV[i + 1]))
+            end
+            return 1
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> PRIME_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 1 then return 0 end
+            redis.call('hset', KEYS[1], unpack(ARGV))
+            return 1
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('hget', KEYS[1], ARGV[1])
+            if (current or '') ~= ARGV[2] then return 0 end
+            redis.call('hset', KEYS[1], ARGV[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public HotSkuStockCounters(
+            StringRedisTemplate redisTemplate,
+            @Value("${inventory.hot-sku.key-prefix:inv:hot-sku:v1::}") String keyPrefix
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = StringUtils.hasText(keyPrefix) ? keyPrefix : "inv:hot-sku:v1::";
+    }
+
+    /**
+     * Atomically takes {@code quantity} units from the product's counters.
+     * Returns {@code null} when the product has no counters in Redis yet.
+     */
+    public Allocation reserve(UUID productId, int quantity) {
+        List<?> raw = redisTemplate.execute(RESERVE_SCRIPT, List.of(key(productId)), Integer.toString(quantity));
+        if (raw == null || raw.isEmpty() || STATUS_NOT_PRIMED.equals(String.valueOf(raw.getFirst()))) {
+            return null;
+        }
+        if (STATUS_INSUFFICIENT.equals(String.valueOf(raw.getFirst()))) {
+            int available = raw.size() > 1 ? Integer.parseInt(String.valueOf(raw.get(1))) : 0;
+            return Allocation.insufficient(available);
+        }
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (int i = 1; i + 1 < raw.size(); i += 2) {
+            quantities.put(UUID.fromString(String.valueOf(raw.get(i))), Integer.parseInt(String.valueOf(raw.get(i + 1))));
+        }
+        return Allocation.taken(quantities);
+    }
+
+    /**
+     * Adds per-stock-item deltas to a product's counters. A product that is not primed is left alone;
+     * reconciliation seeds it from the database.
+     */
+    public void increment(UUID productId, Map<UUID, Integer> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        redisTemplate.execute(INCREMENT_IF_PRIMED_SCRIPT, List.of(key(productId)), flatten(deltas).toArray());
+    }
+
+    public boolean prime(UUID productId, Map<UUID, Integer> available) {
+        if (available == null || available.isEmpty()) {
+            return false;
+        }
+        Long primed = redisTemplate.execute(PRIME_SCRIPT, List.of(key(productId)), flatten(available).toArray());
+        return primed != null && primed == 1L;
+    }
+
+    /**
+     * Returns the current counters, or {@code null} when the product is not primed.
+     */
+    public Map<UUID, Integer> snapshot(UUID productId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(productId));
+        if (entries.isEmpty()) {
+            return null;
+        }
+        Map<UUID, Integer> counters = new LinkedHashMap<>();
+        entries.forEach((field, value) -> counters.put(UUID.fromString(String.valueOf(field)), Integer.parseInt(String.valueOf(value))));
+        return counters;
+    }
+
+    /**
+     * Overwrites one counter only if it still holds {@code expected} ({@code null} meaning absent).
+     */
+    public boolean compareAndSet(UUID productId, UUID stockItemId, Integer expected, int target) {
+        Long updated = redisTemplate.execute(
+                COMPARE_AND_SET_SCRIPT,
+                List.of(key(productId)),
+                stockItemId.toString(),
+                expected == null ? "" : expected.toString(),
+                Integer.toString(target)
+        );
+        return updated != null && updated == 1L;
+    }
+
+    public void evict(UUID productId) {
+        redisTemplate.delete(key(productId));
+    }
+
+    private String key(UUID productId) {
+        return keyPrefix + productId;
+    }
+
+    private static List<String> flatten(Map<UUID, Integer> values) {
+        List<String> args = new ArrayList<>(values.size() * 2);
+        values.forEach((stockItemId, value) -> {
+            args.add(stockItemId.toString());
+            args.add(Integer.toString(value));
+        });
+        return args;
+    }
+
+    public record Allocation(boolean reserved, int available, Map<UUID, Integer> quantityByStockItemId) {
+
+        static Allocation taken(Map<UUID, Integer> quantityByStockItemId) {
+            return new Allocation(true, -1, quantityByStockItemId);
+        }
+
+        static Allocation insufficient(int available) {
+            return new Allocation(false, available, Map.of());
+        }
+    }
+}
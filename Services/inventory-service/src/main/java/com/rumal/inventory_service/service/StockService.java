@@ -38,20 +38,35 @@ public class StockService {
     private final WarehouseService warehouseService;
     private final OrderClient orderClient;
     private final InventoryProductSearchSyncOutboxService inventoryProductSearchSyncOutboxService;
+    private final HotSkuReservationService hotSkuReservationService;
     private final org.springframework.transaction.PlatformTransactionManager txManager;
 
     @Transactional(readOnly = true)
     public List<StockCheckResult> checkAvailability(List<StockCheckRequest> requests) {
-        List<StockCheckResult> results = new ArrayList<>();
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> productIds = requests.stream()
+                .map(StockCheckRequest::productId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<UUID, ProductAvailability> availabilityByProduct = new HashMap<>();
+        for (Object[] row : stockItemRepository.aggregateAvailabilityByProductIds(productIds)) {
+            ProductAvailability availability = ProductAvailability.fromRow(row);
+            availabilityByProduct.put(availability.productId(), availability);
+        }
+
+        List<StockCheckResult> results = new ArrayList<>(requests.size());
         for (StockCheckRequest req : requests) {
-            List<StockItem> items = stockItemRepository.findByProductIdWithActiveWarehouse(req.productId());
-            int totalAvailable = items.stream()
-                    .mapToInt(StockItem::getQuantityAvailable)
-                    .sum();
-            boolean backorderable = items.stream().anyMatch(StockItem::isBackorderable);
-            boolean sufficient = totalAvailable >= req.quantity() || backorderable;
-            String status = resolveAggregateStatus(totalAvailable, backorderable, items);
-            results.add(new StockCheckResult(req.productId(), totalAvailable, sufficient, backorderable, status));
+            ProductAvailability availability = availabilityByProduct.getOrDefault(
+                    req.productId(), ProductAvailability.none(req.productId()));
+            boolean sufficient = availability.totalAvailable() >= req.quantity() || availability.backorderable();
+            results.add(new StockCheckResult(
+                    req.productId(),
+                    availability.totalAvailable(),
+                    sufficient,
+                    availability.backorderable(),
+                    resolveAggregateStatus(availability)
+            ));
         }
         return results;
     }
@@ -64,7 +79,7 @@ public class StockService {
         return stockReservationRepository.existsByOrderIdAndStatusIn(
                 orderId,
                 EnumSet.of(ReservationStatus.RESERVED, ReservationStatus.CONFIRMED)
-        );
+        ) || hotSkuReservationService.hasPendingReservations(orderId);
     }
 
     @Transactional(readOnly = false, isolation = Isolation.REPEATABLE_READ, timeout = 20)
@@ -73,20 +88,28 @@ public class StockService {
 
         List<StockReservation> existing = stockReservationRepository
                 .findByOrderIdAndStatusWithStockItem(orderId, ReservationStatus.RESERVED);
-        if (!existing.isEmpty()) {
+        List<ReservationItemResponse> pendingHotSkuItems = hotSkuReservationService.pendingReservationItems(orderId);
+        if (!existing.isEmpty() || !pendingHotSkuItems.isEmpty()) {
             log.info("Reservation already exists for order {} - returning existing reservation (idempotent)", orderId);
-            List<ReservationItemResponse> existingItems = existing.stream()
+            List<ReservationItemResponse> existingItems = new ArrayList<>(existing.stream()
                     .map(r -> new ReservationItemResponse(r.getId(), r.getProductId(),
                             r.getStockItem().getWarehouse().getId(), r.getQuantityReserved()))
-                    .toList();
-            return new StockReservationResponse(orderId, "RESERVED", existingItems, existing.getFirst().getExpiresAt());
+                    .toList());
+            existingItems.addAll(pendingHotSkuItems);
+            Instant existingExpiresAt = existing.isEmpty() ? expiresAt : existing.getFirst().getExpiresAt();
+            return new StockReservationResponse(orderId, "RESERVED", existingItems, existingExpiresAt);
         }
 
-        List<ReservationItemResponse> reservationItems = new ArrayList<>();
         Instant now = Instant.now();
+        HotSkuReservationService.HotSkuReservation hotSkuReservation =
+                hotSkuReservationService.reserve(orderId, items, now, expiresAt);
+        List<ReservationItemResponse> reservationItems = new ArrayList<>(hotSkuReservation.items());
         Set<UUID> touchedProductIds = new LinkedHashSet<>();
 
         for (StockCheckRequest req : sortRequestsForLocking(items)) {
+            if (hotSkuReservation.productIds().contains(req.productId())) {
+                continue;
+            }
             List<StockItem> stockItems = stockItemRepository.findByProductIdForUpdateOrderByAvailableDesc(req.productId());
             if (stockItems.isEmpty()) {
                 throw new InsufficientStockException("No stock records found for product: " + req.productId());
@@ -158,6 +181,7 @@ public class StockService {
 
     @Transactional(readOnly = false, isolation = Isolation.REPEATABLE_READ, timeout = 20)
     public void confirmReservation(UUID orderId) {
+        writeBackPendingHotSkuReservations(orderId);
         List<StockReservation> reservations = stockReservationRepository
                 .findByOrderIdAndStatusWithStockItemForUpdate(orderId, ReservationStatus.RESERVED);
 
@@ -216,6 +240,7 @@ public class StockService {
 
     @Transactional(readOnly = false, isolation = Isolation.REPEATABLE_READ, timeout = 20)
     public void releaseReservation(UUID orderId, String reason) {
+        writeBackPendingHotSkuReservations(orderId);
         List<StockReservation> reservations = stockReservationRepository
                 .findByOrderIdAndStatusWithStockItemForUpdate(orderId, ReservationStatus.RESERVED);
 
@@ -236,6 +261,7 @@ public class StockService {
             recalculateAndValidateStockState(stockItem,
                     "Reservation release would result in an invalid stock state for order " + orderId);
             stockItemRepository.save(stockItem);
+            mirrorAvailableChange(stockItem, quantityBefore);
 
             reservation.setStatus(ReservationStatus.RELEASED);
             reservation.setReleasedAt(now);
@@ -255,6 +281,7 @@ public class StockService {
 
     @Transactional(readOnly = false, isolation = Isolation.REPEATABLE_READ, timeout = 20)
     public void cancelOrderReservations(UUID orderId, String reason) {
+        writeBackPendingHotSkuReservations(orderId);
         List<StockReservation> reserved = stockReservationRepository
                 .findByOrderIdAndStatusWithStockItemForUpdate(orderId, ReservationStatus.RESERVED);
         List<StockReservation> confirmed = stockReservationRepository
@@ -276,6 +303,7 @@ public class StockService {
             recalculateAndValidateStockState(stockItem,
                     "Reservation cancellation would result in an invalid stock state for order " + orderId);
             stockItemRepository.save(stockItem);
+            mirrorAvailableChange(stockItem, quantityBefore);
 
             reservation.setStatus(ReservationStatus.RELEASED);
             reservation.setReleasedAt(now);
@@ -298,6 +326,7 @@ public class StockService {
             recalculateAndValidateStockState(stockItem,
                     "Reservation reversal would result in an invalid stock state for order " + orderId);
             stockItemRepository.save(stockItem);
+            mirrorAvailableChange(stockItem, quantityBefore);
 
             reservation.setStatus(ReservationStatus.RELEASED);
             reservation.setReleasedAt(now);
@@ -377,6 +406,7 @@ public class StockService {
                 "Stock item creation would result in an invalid stock state for product " + request.productId());
 
         stockItem = stockItemRepository.save(stockItem);
+        mirrorAvailableChange(stockItem, 0);
 
         if (request.quantityOnHand() > 0) {
             recordMovement(stockItem, MovementType.STOCK_IN, request.quantityOnHand(),
@@ -415,6 +445,7 @@ public class StockService {
         recalculateAndValidateStockState(stockItem, "Adjustment would result in an invalid stock state");
 
         stockItem = stockItemRepository.save(stockItem);
+        mirrorAvailableChange(stockItem, quantityBefore);
 
         recordMovement(stockItem, MovementType.ADJUSTMENT, quantityChange,
                 quantityBefore, stockItem.getQuantityAvailable(),
@@ -455,6 +486,7 @@ public class StockService {
                         recalculateAndValidateStockState(stockItem,
                                 "Bulk import update would result in an invalid stock state for product " + req.productId());
                         stockItemRepository.save(stockItem);
+                        mirrorAvailableChange(stockItem, quantityBefore);
 
                         if (diff != 0) {
                             recordMovement(stockItem, MovementType.BULK_IMPORT, diff,
@@ -480,6 +512,7 @@ public class StockService {
                         recalculateAndValidateStockState(stockItem,
                                 "Bulk import create would result in an invalid stock state for product " + req.productId());
                         stockItem = stockItemRepository.save(stockItem);
+                        mirrorAvailableChange(stockItem, 0);
 
                         if (req.quantityOnHand() > 0) {
                             recordMovement(stockItem, MovementType.BULK_IMPORT, req.quantityOnHand(),
@@ -572,6 +605,13 @@ public class StockService {
         return expired;
     }
 
+    @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 20)
+    public int writeBackHotSkuReservationsBatch(int batchSize) {
+        List<HotSkuReservationWriteback> pending = hotSkuReservationService.lockPendingBatch(batchSize);
+        applyHotSkuWritebacks(pending);
+        return pending.size();
+    }
+
     public StockItem findStockItemById(UUID id) {
         return stockItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Stock item not found: " + id));
@@ -649,6 +689,86 @@ public class StockService {
         return orderStatus == null || orderStatus.isBlank() ? "UNKNOWN" : orderStatus;
     }
 
+    private void writeBackPendingHotSkuReservations(UUID orderId) {
+        List<HotSkuReservationWriteback> pending = hotSkuReservationService.lockPendingForOrder(orderId);
+        if (!pending.isEmpty()) {
+            applyHotSkuWritebacks(pending);
+        }
+    }
+
+    /**
+     * Folds Redis-side hot SKU reservations into the ledger: one locked update per stock item for the whole batch,
+     * plus the usual reservation and movement rows. Units the database can no longer cover (the counters ran ahead
+     * of an out-of-band change) are rejected and credited back to the counters after commit; the order then fails
+     * confirmation the same way an expired reservation does, and reconciliation removes the remaining drift.
+     */
+    private void applyHotSkuWritebacks(List<HotSkuReservationWriteback> writebacks) {
+        if (writebacks.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Map<UUID, List<HotSkuReservationWriteback>> byStockItem = writebacks.stream()
+                .collect(Collectors.groupingBy(HotSkuReservationWriteback::getStockItemId, TreeMap::new, Collectors.toList()));
+        Set<UUID> touchedProductIds = new LinkedHashSet<>();
+
+        for (Map.Entry<UUID, List<HotSkuReservationWriteback>> entry : byStockItem.entrySet()) {
+            StockItem stockItem = stockItemRepository.findByIdForUpdate(entry.getKey()).orElse(null);
+            for (HotSkuReservationWriteback writeback : entry.getValue()) {
+                writeback.setProcessedAt(now);
+                if (stockItem == null) {
+                    rejectWriteback(writeback, "Stock item not found: " + entry.getKey());
+                    continue;
+                }
+                if (!stockItem.isBackorderable() && stockItem.getQuantityAvailable() < writeback.getQuantity()) {
+                    rejectWriteback(writeback, "Insufficient available quantity (" + stockItem.getQuantityAvailable()
+                            + ") for hot SKU reservation of " + writeback.getQuantity());
+                    hotSkuReservationService.creditRejectedAfterCommit(writeback);
+                    continue;
+                }
+
+                int quantityBefore = stockItem.getQuantityAvailable();
+                stockItem.setQuantityReserved(stockItem.getQuantityReserved() + writeback.getQuantity());
+                recalculateAndValidateStockState(stockItem, "Hot SKU reservation writeback would result in an invalid stock state for product "
+                        + writeback.getProductId() + " in warehouse " + stockItem.getWarehouse().getId());
+
+                stockReservationRepository.save(StockReservation.builder()
+                        .orderId(writeback.getOrderId())
+                        .productId(writeback.getProductId())
+                        .stockItem(stockItem)
+                        .quantityReserved(writeback.getQuantity())
+                        .status(ReservationStatus.RESERVED)
+                        .reservedAt(writeback.getReservedAt())
+                        .expiresAt(writeback.getExpiresAt())
+                        .build());
+                recordMovement(stockItem, MovementType.RESERVATION, -writeback.getQuantity(),
+                        quantityBefore, stockItem.getQuantityAvailable(),
+                        "order", writeback.getOrderId(), "system", "order-service",
+                        "Reserved for order " + writeback.getOrderId() + " (hot SKU)");
+
+                writeback.setStatus(HotSkuWritebackStatus.APPLIED);
+                touchedProductIds.add(writeback.getProductId());
+            }
+            if (stockItem != null) {
+                stockItemRepository.save(stockItem);
+            }
+        }
+
+        hotSkuReservationService.saveWritebacks(writebacks);
+        inventoryProductSearchSyncOutboxService.enqueueAll(touchedProductIds);
+    }
+
+    private void rejectWriteback(HotSkuReservationWriteback writeback, String reason) {
+        writeback.setStatus(HotSkuWritebackStatus.REJECTED);
+        writeback.setLastError(reason.length() > 900 ? reason.substring(0, 900) : reason);
+        log.error("Rejected hot SKU reservation {} for order {} product {}: {}",
+                writeback.getId(), writeback.getOrderId(), writeback.getProductId(), reason);
+    }
+
+    private void mirrorAvailableChange(StockItem stockItem, int quantityBefore) {
+        hotSkuReservationService.applyAvailableDeltaAfterCommit(
+                stockItem.getProductId(), stockItem.getId(), stockItem.getQuantityAvailable() - quantityBefore);
+    }
+
     private void expireReservation(StockReservation reservation, Instant now) {
         StockItem stockItem = stockItemRepository.findByIdForUpdate(reservation.getStockItem().getId())
                 .orElse(null);
@@ -662,6 +782,7 @@ public class StockService {
         recalculateAndValidateStockState(stockItem,
                 "Reservation expiry would result in an invalid stock state for order " + reservation.getOrderId());
         stockItemRepository.save(stockItem);
+        mirrorAvailableChange(stockItem, quantityBefore);
 
         reservation.setStatus(ReservationStatus.EXPIRED);
         reservation.setReleasedAt(now);
@@ -684,6 +805,14 @@ public class StockService {
         return StockStatus.IN_STOCK.name();
     }
 
+    private String resolveAggregateStatus(ProductAvailability availability) {
+        if (availability.stockItemCount() == 0) return StockStatus.OUT_OF_STOCK.name();
+        if (availability.totalAvailable() <= 0 && availability.backorderable()) return StockStatus.BACKORDER.name();
+        if (availability.totalAvailable() <= 0) return StockStatus.OUT_OF_STOCK.name();
+        if (availability.anyLowStock()) return StockStatus.LOW_STOCK.name();
+        return StockStatus.IN_STOCK.name();
+    }
+
     private List<StockCheckRequest> sortRequestsForLocking(List<StockCheckRequest> requests) {
         if (requests == null || requests.isEmpty()) {
             return List.of();
@@ -782,4 +911,27 @@ public class StockService {
                 r.getReleasedAt(), r.getReleaseReason(), r.getCreatedAt()
         );
     }
+
+    private record ProductAvailability(
+            UUID productId,
+            int totalAvailable,
+            long stockItemCount,
+            boolean backorderable,
+            boolean anyLowStock
+    ) {
+        static ProductAvailability none(UUID productId) {
+            return new ProductAvailability(productId, 0, 0, false, false);
+        }
+
+        static ProductAvailability fromRow(Object[] row) {
+            long total = row[1] == null ? 0L : ((Number) row[1]).longValue();
+            return new ProductAvailability(
+                    (UUID) row[0],
+                    (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, total)),
+                    row[2] == null ? 0L : ((Number) row[2]).longValue(),
+                    row[3] != null && ((Number) row[3]).longValue() > 0,
+                    row[4] != null && ((Number) row[4]).longValue() > 0
+            );
+        }
+    }
 }
@@ -0,0 +1,215 @@
+package com.rumal.inventory_service.service;
+
+import com.rumal.inventory_service.dto.StockCheckRequest;
+import com.rumal.inventory_service.entity.StockItem;
+import com.rumal.inventory_service.entity.Warehouse;
+import com.rumal.inventory_service.repo.HotSkuReservationWritebackRepository;
+import com.rumal.inventory_service.repo.StockItemRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reservations per second for one flash-sale SKU with 64 concurrent buyers. {@code hotSku} runs
+ * {@link HotSkuReservationService#reserve} against real Redis counters with the writeback insert mocked, so it covers
+ * the Lua allocation and the service's own work. {@code rowLock} is the path it replaces: lock the stock row,
+ * decrement it and insert a reservation in one transaction, on a throw-away table.
+ * <p>
+ * Needs a scratch Redis, and a scratch PostgreSQL for {@code rowLock}. Run with {@code mvn test-compile} and then
+ * {@code org.openjdk.jmh.Main HotSkuReservationBenchmark -p redisHost=... -p jdbcUrl=jdbc:postgresql://.../bench} on
+ * the test classpath; without {@code jdbcUrl}, {@code rowLock} fails in setup and only {@code hotSku} reports.
+ * The hot SKU trial fails if the counter and the reservations taken do not add up to the primed stock.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class HotSkuReservationBenchmark {
+
+    private static final int STOCK = 1_000_000_000;
+    private static final String STOCK_TABLE = "hot_sku_bench_stock";
+    private static final String RESERVATION_TABLE = "hot_sku_bench_reservation";
+
+    @State(Scope.Benchmark)
+    public static class HotSku {
+
+        @Param({"localhost"})
+        public String redisHost;
+
+        @Param({"6379"})
+        public int redisPort;
+
+        private final UUID productId = UUID.randomUUID();
+        private final LongAdder reserved = new LongAdder();
+        private LettuceConnectionFactory connectionFactory;
+        private HotSkuStockCounters counters;
+        private HotSkuReservationService service;
+        private StockItem stockItem;
+        private List<StockCheckRequest> order;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort));
+            connectionFactory.afterPropertiesSet();
+            counters = new HotSkuStockCounters(new StringRedisTemplate(connectionFactory), "inv:hot-sku:bench::");
+            stockItem = StockItem.builder()
+                    .id(UUID.randomUUID())
+                    .productId(productId)
+                    .warehouse(Warehouse.builder().id(UUID.randomUUID()).name("Main").build())
+                    .build();
+            HotSkuReservationWritebackRepository writebackRepository = Mockito.mock(HotSkuReservationWritebackRepository.class);
+            when(writebackRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            StockItemRepository stockItemRepository = Mockito.mock(StockItemRepository.class);
+            when(stockItemRepository.findAllById(List.of(stockItem.getId()))).thenReturn(List.of(stockItem));
+            service = new HotSkuReservationService(counters, writebackRepository, stockItemRepository,
+                    Mockito.mock(PlatformTransactionManager.class), true, productId.toString());
+            order = List.of(new StockCheckRequest(productId, 1));
+            counters.prime(productId, Map.of(stockItem.getId(), STOCK));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            try {
+                int left = counters.snapshot(productId).get(stockItem.getId());
+                if (left + reserved.sum() != STOCK) {
+                    throw new IllegalStateException("Counter lost units: " + left + " left after " + reserved.sum() + " reservations");
+                }
+            } finally {
+                counters.evict(productId);
+                connectionFactory.destroy();
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StockTable {
+
+        @Param({""})
+        public String jdbcUrl;
+
+        @Param({"postgres"})
+        public String user;
+
+        @Param({"postgres"})
+        public String password;
+
+        private final UUID stockItemId = UUID.randomUUID();
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            if (jdbcUrl.isBlank()) {
+                throw new IllegalStateException("rowLock needs -p jdbcUrl=<scratch PostgreSQL>");
+            }
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + RESERVATION_TABLE + ", " + STOCK_TABLE);
+                statement.execute("CREATE TABLE " + STOCK_TABLE + " (id uuid PRIMARY KEY, quantity_available integer NOT NULL)");
+                statement.execute("CREATE TABLE " + RESERVATION_TABLE + " (id bigserial PRIMARY KEY, order_id uuid NOT NULL, stock_item_id uuid NOT NULL, quantity integer NOT NULL)");
+                statement.execute("INSERT INTO " + STOCK_TABLE + " VALUES ('" + stockItemId + "', " + STOCK + ")");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + RESERVATION_TABLE + ", " + STOCK_TABLE);
+            }
+        }
+
+        Connection connect() throws SQLException {
+            return DriverManager.getConnection(jdbcUrl, user, password);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Buyer {
+
+        private Connection connection;
+        private PreparedStatement lock;
+        private PreparedStatement decrement;
+        private PreparedStatement insert;
+
+        @Setup(Level.Trial)
+        public void setUp(StockTable table) throws SQLException {
+            connection = table.connect();
+            connection.setAutoCommit(false);
+            lock = connection.prepareStatement("SELECT quantity_available FROM " + STOCK_TABLE + " WHERE id = ? FOR UPDATE");
+            decrement = connection.prepareStatement("UPDATE " + STOCK_TABLE + " SET quantity_available = quantity_available - 1 WHERE id = ?");
+            insert = connection.prepareStatement("INSERT INTO " + RESERVATION_TABLE + " (order_id, stock_item_id, quantity) VALUES (?, ?, 1)");
+            lock.setObject(1, table.stockItemId);
+            decrement.setObject(1, table.stockItemId);
+            insert.setObject(2, table.stockItemId);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public HotSkuReservationService.HotSkuReservation hotSku(HotSku state) {
+        Instant now = Instant.now();
+        HotSkuReservationService.HotSkuReservation reservation =
+                state.service.reserve(UUID.randomUUID(), state.order, now, now.plusSeconds(900));
+        state.reserved.increment();
+        return reservation;
+    }
+
+    @Benchmark
+    public boolean rowLock(Buyer buyer) throws SQLException {
+        try (ResultSet row = buyer.lock.executeQuery()) {
+            if (!row.next() || row.getInt(1) < 1) {
+                buyer.connection.rollback();
+                return false;
+            }
+        }
+        buyer.decrement.executeUpdate();
+        buyer.insert.setObject(1, UUID.randomUUID());
+        buyer.insert.executeUpdate();
+        buyer.connection.commit();
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HotSkuReservationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
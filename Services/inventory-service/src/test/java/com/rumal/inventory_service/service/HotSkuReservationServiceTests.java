@@ -0,0 +1,152 @@
+package com.rumal.inventory_service.service;
+
+import com.rumal.inventory_service.dto.StockCheckRequest;
+import com.rumal.inventory_service.entity.HotSkuReservationWriteback;
+import com.rumal.inventory_service.entity.HotSkuWritebackStatus;
+import com.rumal.inventory_service.entity.StockItem;
+import com.rumal.inventory_service.entity.Warehouse;
+import com.rumal.inventory_service.exception.InsufficientStockException;
+import com.rumal.inventory_service.repo.HotSkuReservationWritebackRepository;
+import com.rumal.inventory_service.repo.StockItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HotSkuReservationServiceTests {
+
+    private final UUID hotProductId = UUID.randomUUID();
+    private final UUID secondHotProductId = UUID.randomUUID();
+    private final HotSkuStockCounters counters = mock(HotSkuStockCounters.class);
+    private final HotSkuReservationWritebackRepository writebackRepository = mock(HotSkuReservationWritebackRepository.class);
+    private final StockItemRepository stockItemRepository = mock(StockItemRepository.class);
+
+    private final HotSkuReservationService service = new HotSkuReservationService(
+            counters,
+            writebackRepository,
+            stockItemRepository,
+            mock(PlatformTransactionManager.class),
+            true,
+            hotProductId + "," + secondHotProductId
+    );
+
+    @Test
+    void reserveRecordsWritebacksForHotLinesOnly() {
+        UUID orderId = UUID.randomUUID();
+        UUID coldProductId = UUID.randomUUID();
+        StockItem stockItem = stockItem(hotProductId, 10);
+        when(counters.reserve(hotProductId, 3)).thenReturn(HotSkuStockCounters.Allocation.taken(Map.of(stockItem.getId(), 3)));
+        when(counters.reserve(secondHotProductId, 1)).thenReturn(null);
+        when(stockItemRepository.findAllById(List.of(stockItem.getId()))).thenReturn(List.of(stockItem));
+        when(writebackRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        HotSkuReservationService.HotSkuReservation reservation = service.reserve(orderId, List.of(
+                new StockCheckRequest(hotProductId, 2),
+                new StockCheckRequest(coldProductId, 5),
+                new StockCheckRequest(hotProductId, 1),
+                new StockCheckRequest(secondHotProductId, 1)
+        ), Instant.now(), Instant.now().plusSeconds(900));
+
+        assertEquals(Set.of(hotProductId), reservation.productIds());
+        assertEquals(1, reservation.items().size());
+        assertEquals(stockItem.getWarehouse().getId(), reservation.items().getFirst().warehouseId());
+        assertEquals(3, reservation.items().getFirst().quantityReserved());
+        verify(counters, never()).reserve(eq(coldProductId), anyInt());
+    }
+
+    @Test
+    void reserveReturnsTakenUnitsWhenALaterHotLineIsShort() {
+        UUID stockItemId = UUID.randomUUID();
+        when(counters.reserve(hotProductId, 2)).thenReturn(HotSkuStockCounters.Allocation.taken(Map.of(stockItemId, 2)));
+        when(counters.reserve(secondHotProductId, 4)).thenReturn(HotSkuStockCounters.Allocation.insufficient(1));
+
+        assertThrows(InsufficientStockException.class, () -> service.reserve(UUID.randomUUID(), List.of(
+                new StockCheckRequest(hotProductId, 2),
+                new StockCheckRequest(secondHotProductId, 4)
+        ), Instant.now(), Instant.now().plusSeconds(900)));
+
+        verify(counters).increment(hotProductId, Map.of(stockItemId, 2));
+        verify(writebackRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void reconcileOnlyCorrectsDriftSeenOnConsecutiveRuns() {
+        StockItem stockItem = stockItem(hotProductId, 10);
+        when(counters.snapshot(hotProductId)).thenReturn(Map.of(stockItem.getId(), 9));
+        when(stockItemRepository.findByProductIdWithActiveWarehouse(hotProductId)).thenReturn(List.of(stockItem));
+        when(writebackRepository.sumQuantityByStockItemId(hotProductId, HotSkuWritebackStatus.PENDING))
+                .thenReturn(List.<Object[]>of(new Object[]{stockItem.getId(), 2L}));
+
+        service.reconcileProduct(hotProductId);
+        verify(counters, never()).compareAndSet(any(), any(), any(), anyInt());
+
+        service.reconcileProduct(hotProductId);
+        verify(counters, times(1)).compareAndSet(hotProductId, stockItem.getId(), 9, 8);
+    }
+
+    @Test
+    void reconcilePrimesMissingCountersNetOfPendingWritebacks() {
+        StockItem stockItem = stockItem(hotProductId, 10);
+        when(counters.snapshot(hotProductId)).thenReturn(null);
+        when(stockItemRepository.findByProductIdWithActiveWarehouse(hotProductId)).thenReturn(List.of(stockItem));
+        when(writebackRepository.sumQuantityByStockItemId(hotProductId, HotSkuWritebackStatus.PENDING))
+                .thenReturn(List.<Object[]>of(new Object[]{stockItem.getId(), 4L}));
+        when(counters.prime(any(), any())).thenReturn(true);
+
+        service.reconcileProduct(hotProductId);
+
+        verify(counters).prime(hotProductId, Map.of(stockItem.getId(), 6));
+    }
+
+    @Test
+    void rejectedWritebackIsCreditedBackToItsCounter() {
+        UUID stockItemId = UUID.randomUUID();
+        HotSkuReservationWriteback rejected = HotSkuReservationWriteback.builder()
+                .id(UUID.randomUUID())
+                .orderId(UUID.randomUUID())
+                .productId(hotProductId)
+                .stockItemId(stockItemId)
+                .quantity(3)
+                .status(HotSkuWritebackStatus.REJECTED)
+                .build();
+
+        service.creditRejectedAfterCommit(rejected);
+
+        verify(counters).increment(hotProductId, Map.of(stockItemId, 3));
+    }
+
+    @Test
+    void productsOutsideTheConfiguredListAreNotHot() {
+        assertTrue(service.isHot(hotProductId));
+        assertFalse(service.isHot(UUID.randomUUID()));
+    }
+
+    private static StockItem stockItem(UUID productId, int available) {
+        return StockItem.builder()
+                .id(UUID.randomUUID())
+                .productId(productId)
+                .vendorId(UUID.randomUUID())
+                .warehouse(Warehouse.builder().id(UUID.randomUUID()).name("Main").build())
+                .quantityOnHand(available)
+                .quantityAvailable(available)
+                .build();
+    }
+}
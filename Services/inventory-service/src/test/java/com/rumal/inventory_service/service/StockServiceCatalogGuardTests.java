@@ -3,9 +3,15 @@ package com.rumal.inventory_service.service;
 import com.rumal.inventory_service.client.OrderClient;
 import com.rumal.inventory_service.dto.BulkStockImportResponse;
 import com.rumal.inventory_service.dto.OrderStatusSnapshot;
+import com.rumal.inventory_service.dto.ReservationItemResponse;
 import com.rumal.inventory_service.dto.StockAvailabilitySummary;
+import com.rumal.inventory_service.dto.StockCheckRequest;
+import com.rumal.inventory_service.dto.StockCheckResult;
 import com.rumal.inventory_service.dto.StockItemCreateRequest;
+import com.rumal.inventory_service.dto.StockReservationResponse;
 import com.rumal.inventory_service.entity.CatalogProduct;
+import com.rumal.inventory_service.entity.HotSkuReservationWriteback;
+import com.rumal.inventory_service.entity.HotSkuWritebackStatus;
 import com.rumal.inventory_service.entity.ReservationStatus;
 import com.rumal.inventory_service.entity.StockItem;
 import com.rumal.inventory_service.entity.StockReservation;
@@ -26,6 +32,7 @@ import java.time.Instant;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -49,6 +56,7 @@ class StockServiceCatalogGuardTests {
     private final WarehouseService warehouseService = mock(WarehouseService.class);
     private final OrderClient orderClient = mock(OrderClient.class);
     private final InventoryProductSearchSyncOutboxService inventoryProductSearchSyncOutboxService = mock(InventoryProductSearchSyncOutboxService.class);
+    private final HotSkuReservationService hotSkuReservationService = mock(HotSkuReservationService.class);
     private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
 
     private final StockService stockService = new StockService(
@@ -59,6 +67,7 @@ class StockServiceCatalogGuardTests {
             warehouseService,
             orderClient,
             inventoryProductSearchSyncOutboxService,
+            hotSkuReservationService,
             transactionManager
     );
 
@@ -286,4 +295,99 @@ class StockServiceCatalogGuardTests {
         verify(stockItemRepository, never()).save(any(StockItem.class));
         verify(inventoryProductSearchSyncOutboxService, never()).enqueue(any());
     }
+
+    @Test
+    void checkAvailabilityResolvesAllLinesWithOneAggregateQuery() {
+        UUID inStock = UUID.randomUUID();
+        UUID backorder = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+
+        when(stockItemRepository.aggregateAvailabilityByProductIds(any())).thenReturn(List.of(
+                new Object[]{inStock, 12L, 2L, 0L, 1L},
+                new Object[]{backorder, 0L, 1L, 1L, 0L}
+        ));
+
+        List<StockCheckResult> results = stockService.checkAvailability(List.of(
+                new StockCheckRequest(inStock, 5),
+                new StockCheckRequest(backorder, 3),
+                new StockCheckRequest(missing, 1),
+                new StockCheckRequest(inStock, 20)
+        ));
+
+        assertEquals(4, results.size());
+        assertEquals(new StockCheckResult(inStock, 12, true, false, StockStatus.LOW_STOCK.name()), results.get(0));
+        assertEquals(new StockCheckResult(backorder, 0, true, true, StockStatus.BACKORDER.name()), results.get(1));
+        assertEquals(new StockCheckResult(missing, 0, false, false, StockStatus.OUT_OF_STOCK.name()), results.get(2));
+        assertEquals(new StockCheckResult(inStock, 12, false, false, StockStatus.LOW_STOCK.name()), results.get(3));
+        verify(stockItemRepository).aggregateAvailabilityByProductIds(Set.of(inStock, backorder, missing));
+        verify(stockItemRepository, never()).findByProductIdWithActiveWarehouse(any());
+    }
+
+    @Test
+    void reserveForOrderTakesHotSkuLinesWithoutLockingStockRows() {
+        UUID orderId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(900);
+        ReservationItemResponse hotItem = new ReservationItemResponse(UUID.randomUUID(), productId, warehouseId, 2);
+
+        when(stockReservationRepository.findByOrderIdAndStatusWithStockItem(orderId, ReservationStatus.RESERVED)).thenReturn(List.of());
+        when(hotSkuReservationService.pendingReservationItems(orderId)).thenReturn(List.of());
+        when(hotSkuReservationService.reserve(eq(orderId), any(), any(), eq(expiresAt)))
+                .thenReturn(new HotSkuReservationService.HotSkuReservation(Set.of(productId), List.of(hotItem)));
+
+        StockReservationResponse response = stockService.reserveForOrder(
+                orderId, List.of(new StockCheckRequest(productId, 2)), expiresAt);
+
+        assertEquals(List.of(hotItem), response.items());
+        verify(stockItemRepository, never()).findByProductIdForUpdateOrderByAvailableDesc(any());
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void hotSkuWritebackAppliesCoveredUnitsAndRejectsTheRest() {
+        UUID productId = UUID.randomUUID();
+        Warehouse warehouse = Warehouse.builder().id(UUID.randomUUID()).name("Main").active(true).build();
+        StockItem stockItem = StockItem.builder()
+                .id(UUID.randomUUID())
+                .productId(productId)
+                .vendorId(UUID.randomUUID())
+                .warehouse(warehouse)
+                .quantityOnHand(5)
+                .quantityReserved(0)
+                .quantityAvailable(5)
+                .backorderable(false)
+                .stockStatus(StockStatus.IN_STOCK)
+                .build();
+        HotSkuReservationWriteback covered = writeback(productId, stockItem.getId(), 4);
+        HotSkuReservationWriteback uncovered = writeback(productId, stockItem.getId(), 3);
+
+        when(hotSkuReservationService.lockPendingBatch(10)).thenReturn(List.of(covered, uncovered));
+        when(stockItemRepository.findByIdForUpdate(stockItem.getId())).thenReturn(Optional.of(stockItem));
+
+        assertEquals(2, stockService.writeBackHotSkuReservationsBatch(10));
+
+        assertEquals(HotSkuWritebackStatus.APPLIED, covered.getStatus());
+        assertEquals(HotSkuWritebackStatus.REJECTED, uncovered.getStatus());
+        assertEquals(4, stockItem.getQuantityReserved());
+        assertEquals(1, stockItem.getQuantityAvailable());
+        verify(stockReservationRepository).save(any(StockReservation.class));
+        verify(stockItemRepository).save(stockItem);
+        verify(hotSkuReservationService, never()).applyAvailableDeltaAfterCommit(any(), any(), anyInt());
+        verify(hotSkuReservationService).creditRejectedAfterCommit(uncovered);
+        verify(hotSkuReservationService, never()).creditRejectedAfterCommit(covered);
+    }
+
+    private HotSkuReservationWriteback writeback(UUID productId, UUID stockItemId, int quantity) {
+        return HotSkuReservationWriteback.builder()
+                .id(UUID.randomUUID())
+                .orderId(UUID.randomUUID())
+                .productId(productId)
+                .stockItemId(stockItemId)
+                .warehouseId(UUID.randomUUID())
+                .quantity(quantity)
+                .reservedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(900))
+                .build();
+    }
 }
@@ -8,17 +8,27 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Component
 public class CustomerClient {
 
+    private static final int BATCH_SIZE = 500;
+    private static final ParameterizedTypeReference<List<CustomerSummary>> CUSTOMER_LIST_TYPE =
+            new ParameterizedTypeReference<>() {};
+
     private final RestClient restClient;
     private final String internalSharedSecret;
 
@@ -114,6 +124,41 @@ public class CustomerClient {
         }
     }
 
+    /**
+     * Resolves customers in chunks of {@value #BATCH_SIZE} per call. Unknown ids are absent from the result.
+     */
+    @Retry(name = "customerService")
+    @CircuitBreaker(name = "customerService", fallbackMethod = "customerFallbackGetCustomersByIds")
+    public Map<UUID, CustomerSummary> getCustomersByIds(Collection<UUID> customerIds) {
+        List<UUID> ids = customerIds == null ? List.of() : customerIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<UUID, CustomerSummary> customersById = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+                List<CustomerSummary> rows = restClient.post()
+                        .uri("http://customer-service/internal/customers/batch-summaries")
+                        .header("X-Internal-Auth", internalSharedSecret)
+                        .body(Map.of("customerIds", chunk))
+                        .retrieve()
+                        .body(CUSTOMER_LIST_TYPE);
+                if (rows == null) {
+                    continue;
+                }
+                for (CustomerSummary row : rows) {
+                    if (row != null && row.id() != null) {
+                        customersById.put(row.id(), row);
+                    }
+                }
+            }
+            return customersById;
+        } catch (RestClientException ex) {
+            throw new ServiceUnavailableException("Service unavailable: " + ex.getMessage(), ex);
+        }
+    }
+
     @Retry(name = "customerService")
     @CircuitBreaker(name = "customerService", fallbackMethod = "customerFallbackGetCustomerAddress")
     public CustomerAddressSummary getCustomerAddress(UUID customerId, UUID addressId) {
@@ -147,6 +192,11 @@ public class CustomerClient {
         throw new ServiceUnavailableException("Customer service unavailable for customer " + customerId + ". Try again later.", ex);
     }
 
+    @SuppressWarnings("unused")
+    public Map<UUID, CustomerSummary> customerFallbackGetCustomersByIds(Collection<UUID> customerIds, Throwable ex) {
+        throw new ServiceUnavailableException("Customer service unavailable for customer batch. Try again later.", ex);
+    }
+
     @SuppressWarnings("unused")
     public CustomerSummary customerFallbackGetCustomerByKeycloak(String keycloakId, Throwable ex) {
         if (ex instanceof ResourceNotFoundException rnfe) throw rnfe;
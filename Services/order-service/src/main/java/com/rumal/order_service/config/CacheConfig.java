@@ -2,6 +2,8 @@ package com.rumal.order_service.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.rumal.order_service.service.OrderCacheInvalidationPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.CachingConfigurer;
@@ -20,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Configuration
@@ -28,16 +31,15 @@ public class CacheConfig implements CachingConfigurer {
     private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
 
     @Bean
-    public RedisCacheManager cacheManager(
+    public TwoLevelCacheManager cacheManager(
             RedisConnectionFactory redisConnectionFactory,
+            OrderCacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${cache.l1.ttl:30s}") Duration localTtl,
+            @Value("${cache.l1.maximum-size:10000}") long localMaximumSize,
             @Value("${cache.orders-by-keycloak-ttl:60s}") Duration ordersByKeycloakTtl,
             @Value("${cache.order-details-by-keycloak-ttl:60s}") Duration orderDetailsByKeycloakTtl,
-            @Value("${cache.order-analytics-platform-summary-ttl:5m}") Duration orderAnalyticsPlatformSummaryTtl,
-            @Value("${cache.order-analytics-revenue-trend-ttl:5m}") Duration orderAnalyticsRevenueTrendTtl,
             @Value("${cache.order-analytics-top-products-ttl:10m}") Duration orderAnalyticsTopProductsTtl,
-            @Value("${cache.order-analytics-status-breakdown-ttl:5m}") Duration orderAnalyticsStatusBreakdownTtl,
-            @Value("${cache.order-analytics-vendor-summary-ttl:5m}") Duration orderAnalyticsVendorSummaryTtl,
-            @Value("${cache.order-analytics-vendor-revenue-trend-ttl:5m}") Duration orderAnalyticsVendorRevenueTrendTtl,
             @Value("${cache.order-analytics-vendor-top-products-ttl:10m}") Duration orderAnalyticsVendorTopProductsTtl,
             @Value("${cache.order-analytics-customer-summary-ttl:5m}") Duration orderAnalyticsCustomerSummaryTtl,
             @Value("${cache.order-analytics-customer-spending-trend-ttl:10m}") Duration orderAnalyticsCustomerSpendingTrendTtl
@@ -62,22 +64,41 @@ public class CacheConfig implements CachingConfigurer {
                         )
                 );
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(defaultConfig.entryTtl(Duration.ofSeconds(60)))
-                .withInitialCacheConfigurations(Map.ofEntries(
-                        Map.entry("ordersByKeycloak", defaultConfig.entryTtl(ordersByKeycloakTtl)),
-                        Map.entry("orderDetailsByKeycloak", defaultConfig.entryTtl(orderDetailsByKeycloakTtl)),
-                        Map.entry("orderAnalyticsPlatformSummary", defaultConfig.entryTtl(orderAnalyticsPlatformSummaryTtl)),
-                        Map.entry("orderAnalyticsRevenueTrend", defaultConfig.entryTtl(orderAnalyticsRevenueTrendTtl)),
-                        Map.entry("orderAnalyticsTopProducts", defaultConfig.entryTtl(orderAnalyticsTopProductsTtl)),
-                        Map.entry("orderAnalyticsStatusBreakdown", defaultConfig.entryTtl(orderAnalyticsStatusBreakdownTtl)),
-                        Map.entry("orderAnalyticsVendorSummary", defaultConfig.entryTtl(orderAnalyticsVendorSummaryTtl)),
-                        Map.entry("orderAnalyticsVendorRevenueTrend", defaultConfig.entryTtl(orderAnalyticsVendorRevenueTrendTtl)),
-                        Map.entry("orderAnalyticsVendorTopProducts", defaultConfig.entryTtl(orderAnalyticsVendorTopProductsTtl)),
-                        Map.entry("orderAnalyticsCustomerSummary", defaultConfig.entryTtl(orderAnalyticsCustomerSummaryTtl)),
-                        Map.entry("orderAnalyticsCustomerSpendingTrend", defaultConfig.entryTtl(orderAnalyticsCustomerSpendingTrendTtl))
-                ))
+        Map<String, Duration> redisTtls = Map.ofEntries(
+                Map.entry("ordersByKeycloak", ordersByKeycloakTtl),
+                Map.entry("orderDetailsByKeycloak", orderDetailsByKeycloakTtl),
+                Map.entry("orderAnalyticsTopProducts", orderAnalyticsTopProductsTtl),
+                Map.entry("orderAnalyticsVendorTopProducts", orderAnalyticsVendorTopProductsTtl),
+                Map.entry("orderAnalyticsCustomerSummary", orderAnalyticsCustomerSummaryTtl),
+                Map.entry("orderAnalyticsCustomerSpendingTrend", orderAnalyticsCustomerSpendingTrendTtl)
+        );
+
+        Map<String, RedisCacheConfiguration> redisConfigs = new LinkedHashMap<>();
+        Map<String, Duration> localTtls = new LinkedHashMap<>();
+        Duration defaultRedisTtl = Duration.ofSeconds(60);
+        Duration effectiveLocalTtl = localTtl == null || localTtl.isNegative() || localTtl.isZero()
+                ? Duration.ofSeconds(30)
+                : localTtl;
+        redisTtls.forEach((cacheName, ttl) -> {
+            redisConfigs.put(cacheName, defaultConfig.entryTtl(ttl));
+            // L1 must never outlive L2, otherwise a replica could serve an entry Redis already expired.
+            localTtls.put(cacheName, ttl.compareTo(effectiveLocalTtl) < 0 ? ttl : effectiveLocalTtl);
+        });
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(defaultConfig.entryTtl(defaultRedisTtl))
+                .withInitialCacheConfigurations(redisConfigs)
                 .build();
+        redisCacheManager.initializeCaches();
+
+        return new TwoLevelCacheManager(
+                redisCacheManager,
+                invalidationPublisher,
+                meterRegistry,
+                localTtls,
+                defaultRedisTtl.compareTo(effectiveLocalTtl) < 0 ? defaultRedisTtl : effectiveLocalTtl,
+                Math.max(100, localMaximumSize)
+        );
     }
 
     @Override
@@ -0,0 +1,28 @@
+package com.rumal.order_service.config;
+
+import com.rumal.order_service.service.OrderCacheInvalidationPublisher;
+import com.rumal.order_service.service.OrderCacheInvalidationSubscriber;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class OrderCacheInvalidationRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer orderCacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            OrderCacheInvalidationSubscriber orderCacheInvalidationSubscriber,
+            OrderCacheInvalidationPublisher orderCacheInvalidationPublisher
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                orderCacheInvalidationSubscriber,
+                new ChannelTopic(orderCacheInvalidationPublisher.channel())
+        );
+        return container;
+    }
+}
@@ -0,0 +1,161 @@
+package com.rumal.order_service.config;
+
+import com.rumal.order_service.service.OrderCacheInvalidationPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine L1 in front of a Redis L2 cache. Reads are served from L1 when possible; writes go to both tiers,
+ * and evictions/clears are applied locally and broadcast so peer replicas drop their L1 copies as well.
+ * L1 keys use the same string form Redis uses, so a broadcast key matches regardless of the original key type.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final Cache redisCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final OrderCacheInvalidationPublisher invalidationPublisher;
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Timer l2Latency;
+
+    public TwoLevelCache(
+            String name,
+            Cache redisCache,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+            OrderCacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l1Hits = requests(meterRegistry, name, "l1_hit");
+        this.l2Hits = requests(meterRegistry, name, "l2_hit");
+        this.misses = requests(meterRegistry, name, "miss");
+        this.l2Latency = Timer.builder("order.cache.l2.latency")
+                .description("Latency of Redis (L2) lookups after an L1 miss")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(local);
+        }
+        ValueWrapper remote = l2Latency.record(() -> redisCache.get(key));
+        if (remote == null || remote.get() == null) {
+            misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        localCache.put(localKey, remote.get());
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return (T) local;
+        }
+        boolean[] loaded = {false};
+        T value = l2Latency.record(() -> redisCache.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        }));
+        if (loaded[0]) {
+            misses.increment();
+        } else {
+            l2Hits.increment();
+        }
+        if (value != null) {
+            localCache.put(localKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        String localKey = localKey(key);
+        if (value == null) {
+            localCache.invalidate(localKey);
+        } else {
+            localCache.put(localKey, value);
+        }
+        invalidationPublisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        String localKey = localKey(key);
+        localCache.invalidate(localKey);
+        invalidationPublisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    public void evictLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    public void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("order.cache.requests")
+                .description("Two-level cache lookups by outcome")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
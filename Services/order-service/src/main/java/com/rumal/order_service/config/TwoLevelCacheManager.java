@@ -0,0 +1,66 @@
+package com.rumal.order_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rumal.order_service.service.OrderCacheInvalidationPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final OrderCacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Duration> localTtls;
+    private final Duration defaultLocalTtl;
+    private final long localMaximumSize;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(
+            RedisCacheManager redisCacheManager,
+            OrderCacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry,
+            Map<String, Duration> localTtls,
+            Duration defaultLocalTtl,
+            long localMaximumSize
+    ) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.localTtls = Map.copyOf(localTtls);
+        this.defaultLocalTtl = defaultLocalTtl;
+        this.localMaximumSize = localMaximumSize;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache existing = caches.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> createCache(cacheName, redisCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name, Cache redisCache) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .expireAfterWrite(localTtls.getOrDefault(name, defaultLocalTtl))
+                .maximumSize(localMaximumSize)
+                .build();
+        return new TwoLevelCache(name, redisCache, localCache, invalidationPublisher, meterRegistry);
+    }
+}
@@ -28,6 +28,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
@@ -35,6 +37,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -315,12 +318,14 @@ public class OrderController {
     }
 
     @GetMapping("/exports/{jobId}/download")
-    public ResponseEntity<byte[]> downloadOrderExport(
+    public ResponseEntity<Resource> downloadOrderExport(
             @RequestHeader(value = "X-Internal-Auth", required = false) String internalAuth,
+            @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
             @PathVariable UUID jobId
     ) {
         internalRequestVerifier.verify(internalAuth);
-        return buildDownloadResponse(orderExportService.download(jobId));
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        return buildDownloadResponse(orderExportService.download(jobId, acceptsGzip));
     }
 
     @PatchMapping("/{id}/shipping-address")
@@ -346,17 +351,23 @@ public class OrderController {
         }
     }
 
-    private ResponseEntity<byte[]> buildDownloadResponse(OrderExportStorageService.StoredOrderExportFile storedFile) {
+    // Spring copies the stream to the response through a fixed buffer and closes it afterwards.
+    private ResponseEntity<Resource> buildDownloadResponse(OrderExportStorageService.StoredOrderExportFile storedFile) {
         MediaType mediaType = MediaType.parseMediaType(
                 storedFile.contentType() == null || storedFile.contentType().isBlank()
                         ? "text/csv"
                         : storedFile.contentType()
         );
-        return ResponseEntity.ok()
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(mediaType)
-                .header("Content-Disposition", "attachment; filename=\"" + storedFile.fileName() + "\"")
-                .contentLength(storedFile.contentLength())
-                .body(storedFile.content());
+                .header("Content-Disposition", "attachment; filename=\"" + storedFile.fileName() + "\"");
+        if (storedFile.contentLength() >= 0) {
+            response.contentLength(storedFile.contentLength());
+        }
+        if (storedFile.contentEncoding() != null) {
+            response.header("Content-Encoding", storedFile.contentEncoding());
+        }
+        return response.body(new InputStreamResource(storedFile.content()));
     }
 
 }
@@ -0,0 +1,20 @@
+package com.rumal.order_service.dto;
+
+import com.rumal.order_service.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One order (or vendor order, when {@code vendorId} is set) moving between rollup buckets. {@code fromStatus} is
+ * null for newly created orders.
+ */
+public record AnalyticsRollupDelta(
+        UUID vendorId,
+        LocalDate bucketDate,
+        OrderStatus fromStatus,
+        OrderStatus toStatus,
+        BigDecimal orderTotal
+) {
+}
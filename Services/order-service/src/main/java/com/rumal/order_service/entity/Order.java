@@ -15,7 +15,7 @@ import java.util.UUID;
 @Table(name = "orders", indexes = {
         @Index(name = "idx_orders_customer_id", columnList = "customer_id"),
         @Index(name = "idx_orders_status", columnList = "status"),
-        @Index(name = "idx_orders_created_at", columnList = "created_at")
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
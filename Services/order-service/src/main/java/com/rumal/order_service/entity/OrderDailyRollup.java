@@ -0,0 +1,59 @@
+package com.rumal.order_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Running totals of orders created on {@code bucketDate} (UTC) that are currently in {@code status}. Each
+ * (day, status) pair is spread over a few shards so concurrent checkouts do not queue on one row; readers sum the
+ * shards.
+ */
+@Entity
+@Table(
+        name = "order_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_daily_rollups_bucket", columnNames = {"bucket_date", "status", "shard"}),
+        indexes = @Index(name = "idx_order_daily_rollups_status_bucket", columnList = "status, bucket_date")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDailyRollup {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "order_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal orderTotal;
+
+    @Column(name = "total_discount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalDiscount;
+
+    @Column(name = "shipping_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal shippingAmount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -18,7 +18,8 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "idx_vendor_orders_vendor_id", columnList = "vendor_id"),
                 @Index(name = "idx_vendor_orders_order_id", columnList = "order_id"),
-                @Index(name = "idx_vendor_orders_vendor_status_created", columnList = "vendor_id, status, created_at DESC")
+                @Index(name = "idx_vendor_orders_vendor_status_created", columnList = "vendor_id, status, created_at DESC"),
+                @Index(name = "idx_vendor_orders_created_at", columnList = "created_at")
         }
 )
 @Getter
@@ -0,0 +1,64 @@
+package com.rumal.order_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-vendor counterpart of {@link OrderDailyRollup}: running totals of a vendor's orders created on
+ * {@code bucketDate} (UTC) that are currently in {@code status}.
+ */
+@Entity
+@Table(
+        name = "vendor_order_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_vendor_order_daily_rollups_bucket",
+                columnNames = {"vendor_id", "bucket_date", "status", "shard"}
+        ),
+        indexes = @Index(name = "idx_vendor_order_daily_rollups_bucket", columnList = "bucket_date")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendorOrderDailyRollup {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "vendor_id", nullable = false)
+    private UUID vendorId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "order_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal orderTotal;
+
+    @Column(name = "platform_fee", nullable = false, precision = 19, scale = 2)
+    private BigDecimal platformFee;
+
+    @Column(name = "payout_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal payoutAmount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
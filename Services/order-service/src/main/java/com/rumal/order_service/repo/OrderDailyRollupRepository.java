@@ -0,0 +1,65 @@
+package com.rumal.order_service.repo;
+
+import com.rumal.order_service.entity.OrderDailyRollup;
+import com.rumal.order_service.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderDailyRollupRepository extends JpaRepository<OrderDailyRollup, UUID> {
+
+    @Modifying
+    @Query("""
+            update OrderDailyRollup r
+            set r.orderCount = r.orderCount + :count,
+                r.orderTotal = r.orderTotal + :orderTotal,
+                r.totalDiscount = r.totalDiscount + :totalDiscount,
+                r.shippingAmount = r.shippingAmount + :shippingAmount,
+                r.updatedAt = :now
+            where r.bucketDate = :bucketDate
+              and r.status = :status
+              and r.shard = :shard
+            """)
+    int applyDelta(
+            @Param("bucketDate") LocalDate bucketDate,
+            @Param("status") OrderStatus status,
+            @Param("shard") int shard,
+            @Param("count") long count,
+            @Param("orderTotal") BigDecimal orderTotal,
+            @Param("totalDiscount") BigDecimal totalDiscount,
+            @Param("shippingAmount") BigDecimal shippingAmount,
+            @Param("now") Instant now
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from OrderDailyRollup r where r.bucketDate = :bucketDate order by r.status, r.shard")
+    List<OrderDailyRollup> findByBucketDateForUpdate(@Param("bucketDate") LocalDate bucketDate);
+
+    @Query("""
+            select r.status, sum(r.orderCount), sum(r.orderTotal), sum(r.totalDiscount), sum(r.shippingAmount)
+            from OrderDailyRollup r
+            group by r.status
+            """)
+    List<Object[]> sumGroupedByStatus();
+
+    @Query("""
+            select r.bucketDate, sum(r.orderTotal), sum(r.orderCount)
+            from OrderDailyRollup r
+            where r.bucketDate >= :since
+              and r.status in :statuses
+            group by r.bucketDate
+            having sum(r.orderCount) > 0
+            order by r.bucketDate
+            """)
+    List<Object[]> sumByDay(@Param("since") LocalDate since, @Param("statuses") Collection<OrderStatus> statuses);
+}
@@ -109,39 +109,29 @@ public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecific
 
     // --- Analytics queries ---
 
-    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
-    List<Object[]> countGroupedByStatus();
-
-    long countByStatus(OrderStatus status);
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.status IN :statuses")
-    long countByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT COALESCE(SUM(o.orderTotal), 0) FROM Order o WHERE o.status IN :statuses")
-    java.math.BigDecimal sumOrderTotalByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT COALESCE(SUM(o.totalDiscount), 0) FROM Order o WHERE o.status IN :statuses")
-    java.math.BigDecimal sumTotalDiscountByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT COALESCE(SUM(o.shippingAmount), 0) FROM Order o WHERE o.status IN :statuses")
-    java.math.BigDecimal sumShippingAmountByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
+    // Source aggregates for rebuilding one day of order_daily_rollups; the live read path never scans orders.
+    @Query("""
+            SELECT o.status, COUNT(o), COALESCE(SUM(o.orderTotal), 0), COALESCE(SUM(o.totalDiscount), 0), COALESCE(SUM(o.shippingAmount), 0)
+            FROM Order o
+            WHERE o.createdAt >= :from AND o.createdAt < :to
+            GROUP BY o.status
+            """)
+    List<Object[]> aggregateByStatusCreatedBetween(@Param("from") Instant from, @Param("to") Instant to);
 
-    @Query("SELECT CAST(o.createdAt AS LocalDate), COALESCE(SUM(o.orderTotal), 0), COUNT(o) FROM Order o WHERE o.createdAt >= :since AND o.status IN :statuses GROUP BY CAST(o.createdAt AS LocalDate) ORDER BY CAST(o.createdAt AS LocalDate)")
-    List<Object[]> getRevenueByDay(@Param("since") java.time.Instant since, @Param("statuses") Collection<OrderStatus> statuses);
+    @Query("SELECT MIN(o.createdAt) FROM Order o")
+    Instant findEarliestCreatedAt();
 
     // Customer analytics
     @Query("SELECT COUNT(DISTINCT oi.vendorId) FROM OrderItem oi JOIN oi.order o WHERE o.customerId = :customerId")
     long countUniqueVendorsByCustomer(@Param("customerId") UUID customerId);
 
-    @Query("SELECT COALESCE(SUM(o.orderTotal), 0) FROM Order o WHERE o.customerId = :customerId AND o.status IN :statuses")
-    java.math.BigDecimal sumCustomerSpentByStatusIn(@Param("customerId") UUID customerId, @Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT COALESCE(SUM(o.totalDiscount), 0) FROM Order o WHERE o.customerId = :customerId AND o.status IN :statuses")
-    java.math.BigDecimal sumCustomerSavedByStatusIn(@Param("customerId") UUID customerId, @Param("statuses") Collection<OrderStatus> statuses);
-
-    long countByCustomerId(UUID customerId);
-
-    long countByCustomerIdAndStatus(UUID customerId, OrderStatus status);
+    @Query("""
+            SELECT o.status, COUNT(o), COALESCE(SUM(o.orderTotal), 0), COALESCE(SUM(o.totalDiscount), 0)
+            FROM Order o
+            WHERE o.customerId = :customerId
+            GROUP BY o.status
+            """)
+    List<Object[]> sumCustomerGroupedByStatus(@Param("customerId") UUID customerId);
 
     @Query("SELECT COUNT(o) FROM Order o WHERE o.customerId = :customerId AND o.status IN :statuses")
     long countByCustomerIdAndStatusIn(@Param("customerId") UUID customerId, @Param("statuses") Collection<OrderStatus> statuses);
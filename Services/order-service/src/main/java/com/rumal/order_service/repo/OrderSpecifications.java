@@ -45,4 +45,17 @@ public final class OrderSpecifications {
             return cb.and(predicates.toArray(Predicate[]::new));
         };
     }
+
+    /**
+     * Keyset predicate for paging in {@code createdAt DESC, id DESC} order: rows strictly after the given cursor.
+     */
+    public static Specification<Order> createdBeforeCursor(Instant cursorCreatedAt, UUID cursorId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursorCreatedAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursorCreatedAt),
+                        cb.lessThan(root.get("id"), cursorId)
+                )
+        );
+    }
 }
@@ -20,7 +20,7 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID>
                     (status = 'PENDING' AND (next_retry_at IS NULL OR next_retry_at <= :now))
                  OR (status = 'PROCESSING' AND next_retry_at IS NOT NULL AND next_retry_at <= :now)
                   )
-            ORDER BY created_at ASC
+            ORDER BY created_at ASC, id ASC
             LIMIT :limit
             FOR UPDATE SKIP LOCKED
             """, nativeQuery = true)
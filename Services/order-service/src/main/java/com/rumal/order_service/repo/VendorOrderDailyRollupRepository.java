@@ -0,0 +1,77 @@
+package com.rumal.order_service.repo;
+
+import com.rumal.order_service.entity.OrderStatus;
+import com.rumal.order_service.entity.VendorOrderDailyRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface VendorOrderDailyRollupRepository extends JpaRepository<VendorOrderDailyRollup, UUID> {
+
+    @Modifying
+    @Query("""
+            update VendorOrderDailyRollup r
+            set r.orderCount = r.orderCount + :count,
+                r.orderTotal = r.orderTotal + :orderTotal,
+                r.platformFee = r.platformFee + :platformFee,
+                r.payoutAmount = r.payoutAmount + :payoutAmount,
+                r.updatedAt = :now
+            where r.vendorId = :vendorId
+              and r.bucketDate = :bucketDate
+              and r.status = :status
+              and r.shard = :shard
+            """)
+    int applyDelta(
+            @Param("vendorId") UUID vendorId,
+            @Param("bucketDate") LocalDate bucketDate,
+            @Param("status") OrderStatus status,
+            @Param("shard") int shard,
+            @Param("count") long count,
+            @Param("orderTotal") BigDecimal orderTotal,
+            @Param("platformFee") BigDecimal platformFee,
+            @Param("payoutAmount") BigDecimal payoutAmount,
+            @Param("now") Instant now
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select r from VendorOrderDailyRollup r
+            where r.bucketDate = :bucketDate
+            order by r.vendorId, r.status, r.shard
+            """)
+    List<VendorOrderDailyRollup> findByBucketDateForUpdate(@Param("bucketDate") LocalDate bucketDate);
+
+    @Query("""
+            select r.status, sum(r.orderCount), sum(r.orderTotal), sum(r.platformFee), sum(r.payoutAmount)
+            from VendorOrderDailyRollup r
+            where r.vendorId = :vendorId
+            group by r.status
+            """)
+    List<Object[]> sumGroupedByStatus(@Param("vendorId") UUID vendorId);
+
+    @Query("""
+            select r.bucketDate, sum(r.orderTotal), sum(r.orderCount)
+            from VendorOrderDailyRollup r
+            where r.vendorId = :vendorId
+              and r.bucketDate >= :since
+              and r.status in :statuses
+            group by r.bucketDate
+            having sum(r.orderCount) > 0
+            order by r.bucketDate
+            """)
+    List<Object[]> sumByDay(
+            @Param("vendorId") UUID vendorId,
+            @Param("since") LocalDate since,
+            @Param("statuses") Collection<OrderStatus> statuses
+    );
+}
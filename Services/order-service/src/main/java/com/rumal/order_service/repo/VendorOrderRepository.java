@@ -56,22 +56,12 @@ public interface VendorOrderRepository extends JpaRepository<VendorOrder, UUID>
 
     // --- Vendor Analytics queries ---
 
-    long countByVendorId(UUID vendorId);
-
-    long countByVendorIdAndStatus(UUID vendorId, OrderStatus status);
-
-    @Query("SELECT COUNT(vo) FROM VendorOrder vo WHERE vo.vendorId = :vendorId AND vo.status IN :statuses")
-    long countByVendorIdAndStatusIn(@Param("vendorId") UUID vendorId, @Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT COALESCE(SUM(vo.orderTotal), 0) FROM VendorOrder vo WHERE vo.vendorId = :vendorId AND vo.status IN :statuses")
-    java.math.BigDecimal sumVendorRevenueByStatusIn(@Param("vendorId") UUID vendorId, @Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT COALESCE(SUM(vo.platformFee), 0) FROM VendorOrder vo WHERE vo.vendorId = :vendorId AND vo.status IN :statuses")
-    java.math.BigDecimal sumVendorPlatformFeesByStatusIn(@Param("vendorId") UUID vendorId, @Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT COALESCE(SUM(vo.payoutAmount), 0) FROM VendorOrder vo WHERE vo.vendorId = :vendorId AND vo.status IN :statuses")
-    java.math.BigDecimal sumVendorPayoutsByStatusIn(@Param("vendorId") UUID vendorId, @Param("statuses") Collection<OrderStatus> statuses);
-
-    @Query("SELECT CAST(vo.createdAt AS LocalDate), COALESCE(SUM(vo.orderTotal), 0), COUNT(vo) FROM VendorOrder vo WHERE vo.vendorId = :vendorId AND vo.createdAt >= :since AND vo.status IN :statuses GROUP BY CAST(vo.createdAt AS LocalDate) ORDER BY CAST(vo.createdAt AS LocalDate)")
-    List<Object[]> getVendorRevenueByDay(@Param("vendorId") UUID vendorId, @Param("since") java.time.Instant since, @Param("statuses") Collection<OrderStatus> statuses);
+    // Source aggregates for rebuilding one day of vendor_order_daily_rollups.
+    @Query("""
+            SELECT vo.vendorId, vo.status, COUNT(vo), COALESCE(SUM(vo.orderTotal), 0), COALESCE(SUM(vo.platformFee), 0), COALESCE(SUM(vo.payoutAmount), 0)
+            FROM VendorOrder vo
+            WHERE vo.createdAt >= :from AND vo.createdAt < :to
+            GROUP BY vo.vendorId, vo.status
+            """)
+    List<Object[]> aggregateByVendorAndStatusCreatedBetween(@Param("from") Instant from, @Param("to") Instant to);
 }
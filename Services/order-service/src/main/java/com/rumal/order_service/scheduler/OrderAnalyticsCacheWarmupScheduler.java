@@ -21,12 +21,8 @@ public class OrderAnalyticsCacheWarmupScheduler {
     )
     public void warmPlatformAnalytics() {
         try {
-            orderAnalyticsService.getPlatformSummary(30);
-            orderAnalyticsService.getRevenueTrend(7);
-            orderAnalyticsService.getRevenueTrend(30);
-            orderAnalyticsService.getRevenueTrend(90);
+            // Summaries and trends come from the daily rollups; only the top-product ranking still scans order items.
             orderAnalyticsService.getTopProducts(20);
-            orderAnalyticsService.getStatusBreakdown();
         } catch (Exception ex) {
             log.warn("Order analytics cache warmup failed", ex);
         }
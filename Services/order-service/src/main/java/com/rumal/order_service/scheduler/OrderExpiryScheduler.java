@@ -1,5 +1,6 @@
 package com.rumal.order_service.scheduler;
 
+import com.rumal.order_service.dto.AnalyticsRollupDelta;
 import com.rumal.order_service.entity.Order;
 import com.rumal.order_service.entity.OrderStatus;
 import com.rumal.order_service.entity.OutboxEvent;
@@ -8,6 +9,7 @@ import com.rumal.order_service.repo.OrderRepository;
 import com.rumal.order_service.repo.OutboxEventRepository;
 import com.rumal.order_service.repo.VendorOrderRepository;
 import com.rumal.order_service.service.OrderAnalyticsLiveUpdateService;
+import com.rumal.order_service.service.OrderRollupService;
 import com.rumal.order_service.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
@@ -40,6 +43,7 @@ public class OrderExpiryScheduler {
     private final TransactionTemplate transactionTemplate;
     private final OrderAnalyticsLiveUpdateService orderAnalyticsLiveUpdateService;
     private final OrderService orderService;
+    private final OrderRollupService orderRollupService;
 
     @Scheduled(fixedDelayString = "${order.expiry.check-interval:PT5M}")
     public void cancelExpiredOrders() {
@@ -84,6 +88,8 @@ public class OrderExpiryScheduler {
                 "order_expired",
                 "Order expired and auto-cancelled"
         );
+        List<AnalyticsRollupDelta> rollupDeltas = new ArrayList<>();
+        rollupDeltas.add(orderRollupService.recordOrderStatusChange(order, previousStatus, OrderStatus.CANCELLED));
 
         // Fix A: vendorOrders are now accessible — loaded within the same session
         if (order.getVendorOrders() != null) {
@@ -102,13 +108,14 @@ public class OrderExpiryScheduler {
                             "order_expired",
                             "Vendor order cancelled due to parent order expiry"
                     );
+                    rollupDeltas.add(orderRollupService.recordVendorOrderStatusChange(vo, voPrevious, OrderStatus.CANCELLED));
                 }
             }
         }
 
         // Fix B: Enqueue compensation events to release inventory and coupon reservations
         enqueueCompensationEvents(order);
-        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(order, "order_expired");
+        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(order, "order_expired", rollupDeltas);
 
         log.info("Expired order {} cancelled (was {})", order.getId(), previousStatus);
     }
@@ -0,0 +1,74 @@
+package com.rumal.order_service.scheduler;
+
+import com.rumal.order_service.service.OrderRollupService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Backfills the daily order rollups on first start and re-derives the most recent days every night, so a missed or
+ * failed delta only skews the dashboards until the next rebuild. Every replica runs the schedule; each day is claimed
+ * with a database advisory lock in {@link OrderRollupService#rebuildDay}, so concurrent runs split the range and skip
+ * the days another instance is already rebuilding.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderRollupRebuildScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderRollupRebuildScheduler.class);
+
+    private final OrderRollupService orderRollupService;
+
+    @Value("${order.analytics.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${order.analytics.rollup.rebuild-lookback-days:7}")
+    private int rebuildLookbackDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!backfillOnStartup || orderRollupService.hasRollups()) {
+            return;
+        }
+        LocalDate earliest = orderRollupService.earliestOrderDay();
+        if (earliest == null) {
+            return;
+        }
+        log.info("No order rollups found, backfilling from {}", earliest);
+        rebuild(earliest);
+    }
+
+    @Scheduled(cron = "${order.analytics.rollup.rebuild-cron:0 15 0 * * *}", zone = "UTC")
+    public void scheduledRebuild() {
+        rebuild(LocalDate.now(ZoneOffset.UTC).minusDays(Math.max(1, rebuildLookbackDays)));
+    }
+
+    private void rebuild(LocalDate from) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        int rebuilt = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            try {
+                if (orderRollupService.rebuildDay(day)) {
+                    rebuilt++;
+                } else {
+                    skipped++;
+                }
+            } catch (Exception ex) {
+                failed++;
+                log.warn("Failed to rebuild order rollups for {}", day, ex);
+            }
+        }
+        log.info("Order rollup rebuild from {} finished: {} days rebuilt, {} claimed by another instance, {} failed",
+                from, rebuilt, skipped, failed);
+    }
+}
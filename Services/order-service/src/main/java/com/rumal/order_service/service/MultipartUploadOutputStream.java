@@ -0,0 +1,169 @@
+package com.rumal.order_service.service;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers one part at a time and uploads it as an S3 multipart part when full, so memory stays at one part size
+ * however large the object grows. The multipart upload is only started once the first part fills up; smaller objects
+ * go out as a single put from {@link #complete()}.
+ * <p>
+ * {@link #close()} leaves the upload open: callers must finish with {@link #complete()} or {@link #abort()}, so a
+ * writer that closes its stream while unwinding from an exception cannot publish a truncated object.
+ */
+class MultipartUploadOutputStream extends OutputStream {
+
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final String contentType;
+    private final String contentEncoding;
+    private final byte[] buffer;
+    private final List<CompletedPart> completedParts = new ArrayList<>();
+    private int buffered;
+    private long bytesWritten;
+    private String uploadId;
+    private boolean finished;
+
+    MultipartUploadOutputStream(
+            S3Client s3Client,
+            String bucket,
+            String key,
+            String contentType,
+            String contentEncoding,
+            int partSize
+    ) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+        this.buffer = new byte[Math.max(MIN_PART_SIZE, partSize)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (buffered == buffer.length) {
+            uploadBufferedPart();
+        }
+        buffer[buffered++] = (byte) b;
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            if (buffered == buffer.length) {
+                uploadBufferedPart();
+            }
+            int chunk = Math.min(length, buffer.length - buffered);
+            System.arraycopy(bytes, offset, buffer, buffered, chunk);
+            buffered += chunk;
+            bytesWritten += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void close() {
+        // Deliberately does not complete the upload; see class comment.
+    }
+
+    long bytesWritten() {
+        return bytesWritten;
+    }
+
+    void complete() throws IOException {
+        ensureOpen();
+        finished = true;
+        if (uploadId == null) {
+            s3Client.putObject(
+                    PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .contentEncoding(contentEncoding)
+                            .build(),
+                    bufferedBody()
+            );
+            return;
+        }
+        if (buffered > 0) {
+            uploadPart();
+        }
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                .build());
+    }
+
+    void abort() {
+        finished = true;
+        if (uploadId == null) {
+            return;
+        }
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .build());
+    }
+
+    private void uploadBufferedPart() {
+        if (uploadId == null) {
+            uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentEncoding(contentEncoding)
+                    .build()).uploadId();
+        }
+        uploadPart();
+    }
+
+    private void uploadPart() {
+        int partNumber = completedParts.size() + 1;
+        String eTag = s3Client.uploadPart(
+                UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) buffered)
+                        .build(),
+                bufferedBody()
+        ).eTag();
+        completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+        buffered = 0;
+    }
+
+    private RequestBody bufferedBody() {
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, buffered), buffered);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Multipart upload already finished for " + key);
+        }
+    }
+}
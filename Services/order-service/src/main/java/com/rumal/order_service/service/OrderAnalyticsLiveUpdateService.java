@@ -3,7 +3,9 @@ package com.rumal.order_service.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rumal.order_service.dto.AnalyticsLiveDashboardMessage;
+import com.rumal.order_service.dto.AnalyticsRollupDelta;
 import com.rumal.order_service.entity.Order;
+import com.rumal.order_service.entity.OrderStatus;
 import com.rumal.order_service.entity.VendorOrder;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -18,6 +20,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 import org.springframework.util.StringUtils;
 
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -28,15 +31,13 @@ import java.util.UUID;
 public class OrderAnalyticsLiveUpdateService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderAnalyticsLiveUpdateService.class);
-    private static final List<String> LIVE_ANALYTICS_CACHE_NAMES = List.of(
-            "orderAnalyticsPlatformSummary",
-            "orderAnalyticsRevenueTrend",
+    // Summaries and trends are read straight from the daily rollups; only the top-product rankings are still cached,
+    // and those only count completed orders.
+    private static final List<String> TOP_PRODUCT_CACHE_NAMES = List.of(
             "orderAnalyticsTopProducts",
-            "orderAnalyticsStatusBreakdown",
-            "orderAnalyticsVendorSummary",
-            "orderAnalyticsVendorRevenueTrend",
             "orderAnalyticsVendorTopProducts"
     );
+    private static final Set<OrderStatus> TOP_PRODUCT_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CLOSED);
 
     private final CacheManager cacheManager;
     private final StringRedisTemplate redisTemplate;
@@ -45,20 +46,28 @@ public class OrderAnalyticsLiveUpdateService {
     @Value("${analytics.live.redis-channel:analytics:live:dashboard:v1}")
     private String analyticsLiveRedisChannel;
 
-    public void notifyOrderChangedAfterCommit(Order order, String trigger) {
+    /**
+     * Publishes the rollup deltas of a committed order change so dashboards can patch their figures in place.
+     */
+    public void notifyOrderChangedAfterCommit(Order order, String trigger, List<AnalyticsRollupDelta> deltas) {
         if (order == null || order.getId() == null) {
             return;
         }
 
+        List<AnalyticsRollupDelta> changes = deltas == null ? List.of() : List.copyOf(deltas);
         AnalyticsLiveDashboardMessage message = new AnalyticsLiveDashboardMessage(
                 order.getId(),
                 extractVendorIds(order),
                 normalizeTrigger(trigger),
-                Instant.now()
+                Instant.now(),
+                changes
         );
+        boolean touchesTopProducts = changes.stream().anyMatch(this::touchesTopProducts);
 
         Runnable action = () -> {
-            evictLiveAnalyticsCaches();
+            if (touchesTopProducts) {
+                evictTopProductCaches();
+            }
             publish(message);
         };
 
@@ -96,8 +105,12 @@ public class OrderAnalyticsLiveUpdateService {
         return trigger.trim();
     }
 
-    private void evictLiveAnalyticsCaches() {
-        for (String cacheName : LIVE_ANALYTICS_CACHE_NAMES) {
+    private boolean touchesTopProducts(AnalyticsRollupDelta delta) {
+        return TOP_PRODUCT_STATUSES.contains(delta.fromStatus()) || TOP_PRODUCT_STATUSES.contains(delta.toStatus());
+    }
+
+    private void evictTopProductCaches() {
+        for (String cacheName : TOP_PRODUCT_CACHE_NAMES) {
             Cache cache = cacheManager.getCache(cacheName);
             if (cache == null) {
                 continue;
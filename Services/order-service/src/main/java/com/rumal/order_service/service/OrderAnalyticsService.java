@@ -2,9 +2,10 @@ package com.rumal.order_service.service;
 
 import com.rumal.order_service.dto.analytics.*;
 import com.rumal.order_service.entity.OrderStatus;
+import com.rumal.order_service.repo.OrderDailyRollupRepository;
 import com.rumal.order_service.repo.OrderItemRepository;
 import com.rumal.order_service.repo.OrderRepository;
-import com.rumal.order_service.repo.VendorOrderRepository;
+import com.rumal.order_service.repo.VendorOrderDailyRollupRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
@@ -26,8 +27,9 @@ import java.util.stream.Collectors;
 public class OrderAnalyticsService {
 
     private final OrderRepository orderRepository;
-    private final VendorOrderRepository vendorOrderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderDailyRollupRepository orderDailyRollupRepository;
+    private final VendorOrderDailyRollupRepository vendorOrderDailyRollupRepository;
 
     private static final Set<OrderStatus> COMPLETED_STATUSES = Set.of(OrderStatus.DELIVERED, OrderStatus.CLOSED);
     private static final Set<OrderStatus> ACTIVE_STATUSES = Set.of(
@@ -39,25 +41,23 @@ public class OrderAnalyticsService {
         OrderStatus.DELIVERED, OrderStatus.CLOSED
     );
 
-    @Cacheable(cacheNames = "orderAnalyticsPlatformSummary", key = "#periodDays", sync = true)
+    // Platform and vendor summaries, trends and the status breakdown read the daily rollups (a few rows per day),
+    // so they are cheap enough to serve uncached and always reflect committed status changes.
     public PlatformOrderSummary getPlatformSummary(int periodDays) {
-        Map<OrderStatus, Long> statusCounts = resolveStatusCounts();
-        long total = statusCounts.values().stream().mapToLong(Long::longValue).sum();
-        long pending = statusCounts.getOrDefault(OrderStatus.PENDING, 0L)
-                     + statusCounts.getOrDefault(OrderStatus.PAYMENT_PENDING, 0L);
-        long processing = statusCounts.getOrDefault(OrderStatus.CONFIRMED, 0L)
-                        + statusCounts.getOrDefault(OrderStatus.PROCESSING, 0L);
-        long shipped = statusCounts.getOrDefault(OrderStatus.SHIPPED, 0L);
-        long delivered = COMPLETED_STATUSES.stream()
-                .mapToLong(s -> statusCounts.getOrDefault(s, 0L)).sum();
-        long cancelled = statusCounts.getOrDefault(OrderStatus.CANCELLED, 0L);
-        long refunded = statusCounts.getOrDefault(OrderStatus.REFUNDED, 0L);
-
-        BigDecimal totalRevenue = orderRepository.sumOrderTotalByStatusIn(REVENUE_STATUSES);
-        BigDecimal totalDiscount = orderRepository.sumTotalDiscountByStatusIn(REVENUE_STATUSES);
-        BigDecimal totalShipping = orderRepository.sumShippingAmountByStatusIn(REVENUE_STATUSES);
-
-        long revenueOrders = orderRepository.countByStatusIn(REVENUE_STATUSES);
+        Map<OrderStatus, Object[]> totals = groupByStatus(orderDailyRollupRepository.sumGroupedByStatus());
+        long total = count(totals, EnumSet.allOf(OrderStatus.class));
+        long pending = count(totals, EnumSet.of(OrderStatus.PENDING, OrderStatus.PAYMENT_PENDING));
+        long processing = count(totals, EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.PROCESSING));
+        long shipped = count(totals, EnumSet.of(OrderStatus.SHIPPED));
+        long delivered = count(totals, COMPLETED_STATUSES);
+        long cancelled = count(totals, EnumSet.of(OrderStatus.CANCELLED));
+        long refunded = count(totals, EnumSet.of(OrderStatus.REFUNDED));
+
+        BigDecimal totalRevenue = sum(totals, REVENUE_STATUSES, 2);
+        BigDecimal totalDiscount = sum(totals, REVENUE_STATUSES, 3);
+        BigDecimal totalShipping = sum(totals, REVENUE_STATUSES, 4);
+
+        long revenueOrders = count(totals, REVENUE_STATUSES);
         BigDecimal avgOrderValue = revenueOrders > 0
             ? totalRevenue.divide(BigDecimal.valueOf(revenueOrders), 2, RoundingMode.HALF_UP)
             : BigDecimal.ZERO;
@@ -69,16 +69,9 @@ public class OrderAnalyticsService {
             avgOrderValue, Math.round(completionRate * 100.0) / 100.0);
     }
 
-    @Cacheable(cacheNames = "orderAnalyticsRevenueTrend", key = "#days", sync = true)
     public List<DailyRevenueBucket> getRevenueTrend(int days) {
-        Instant since = LocalDate.now(ZoneOffset.UTC).minusDays(days).atStartOfDay(ZoneOffset.UTC).toInstant();
-        List<Object[]> rows = orderRepository.getRevenueByDay(since, REVENUE_STATUSES);
-        return rows.stream()
-            .map(r -> new DailyRevenueBucket(
-                r[0] instanceof LocalDate ld ? ld : LocalDate.parse(r[0].toString()),
-                (BigDecimal) r[1],
-                ((Number) r[2]).longValue()))
-            .toList();
+        LocalDate since = LocalDate.now(ZoneOffset.UTC).minusDays(days);
+        return toRevenueBuckets(orderDailyRollupRepository.sumByDay(since, REVENUE_STATUSES));
     }
 
     @Cacheable(cacheNames = "orderAnalyticsTopProducts", key = "#limit", sync = true)
@@ -91,43 +84,29 @@ public class OrderAnalyticsService {
             .toList();
     }
 
-    @Cacheable(cacheNames = "orderAnalyticsStatusBreakdown", key = "'platform'", sync = true)
     public Map<String, Long> getStatusBreakdown() {
-        Map<OrderStatus, Long> statusCounts = resolveStatusCounts();
+        Map<OrderStatus, Object[]> totals = groupByStatus(orderDailyRollupRepository.sumGroupedByStatus());
         Map<String, Long> breakdown = new LinkedHashMap<>();
         for (OrderStatus status : OrderStatus.values()) {
-            long count = statusCounts.getOrDefault(status, 0L);
+            long count = count(totals, EnumSet.of(status));
             if (count > 0) breakdown.put(status.name(), count);
         }
         return breakdown;
     }
 
-    private Map<OrderStatus, Long> resolveStatusCounts() {
-        List<Object[]> rows = orderRepository.countGroupedByStatus();
-        Map<OrderStatus, Long> map = new EnumMap<>(OrderStatus.class);
-        for (Object[] row : rows) {
-            map.put((OrderStatus) row[0], (Long) row[1]);
-        }
-        return map;
-    }
-
-    @Cacheable(
-            cacheNames = "orderAnalyticsVendorSummary",
-            key = "#vendorId.toString() + '::' + #periodDays",
-            sync = true
-    )
     public VendorOrderSummary getVendorSummary(UUID vendorId, int periodDays) {
-        long total = vendorOrderRepository.countByVendorId(vendorId);
-        long active = vendorOrderRepository.countByVendorIdAndStatusIn(vendorId, ACTIVE_STATUSES);
-        long completed = vendorOrderRepository.countByVendorIdAndStatusIn(vendorId, COMPLETED_STATUSES);
-        long cancelled = vendorOrderRepository.countByVendorIdAndStatus(vendorId, OrderStatus.CANCELLED);
-        long refunded = vendorOrderRepository.countByVendorIdAndStatus(vendorId, OrderStatus.REFUNDED);
-
-        BigDecimal revenue = vendorOrderRepository.sumVendorRevenueByStatusIn(vendorId, REVENUE_STATUSES);
-        BigDecimal fees = vendorOrderRepository.sumVendorPlatformFeesByStatusIn(vendorId, REVENUE_STATUSES);
-        BigDecimal payouts = vendorOrderRepository.sumVendorPayoutsByStatusIn(vendorId, REVENUE_STATUSES);
-
-        long revenueOrders = vendorOrderRepository.countByVendorIdAndStatusIn(vendorId, REVENUE_STATUSES);
+        Map<OrderStatus, Object[]> totals = groupByStatus(vendorOrderDailyRollupRepository.sumGroupedByStatus(vendorId));
+        long total = count(totals, EnumSet.allOf(OrderStatus.class));
+        long active = count(totals, ACTIVE_STATUSES);
+        long completed = count(totals, COMPLETED_STATUSES);
+        long cancelled = count(totals, EnumSet.of(OrderStatus.CANCELLED));
+        long refunded = count(totals, EnumSet.of(OrderStatus.REFUNDED));
+
+        BigDecimal revenue = sum(totals, REVENUE_STATUSES, 2);
+        BigDecimal fees = sum(totals, REVENUE_STATUSES, 3);
+        BigDecimal payouts = sum(totals, REVENUE_STATUSES, 4);
+
+        long revenueOrders = count(totals, REVENUE_STATUSES);
         BigDecimal avgValue = revenueOrders > 0
             ? revenue.divide(BigDecimal.valueOf(revenueOrders), 2, RoundingMode.HALF_UP)
             : BigDecimal.ZERO;
@@ -136,20 +115,9 @@ public class OrderAnalyticsService {
             refunded, revenue, fees, payouts, avgValue);
     }
 
-    @Cacheable(
-            cacheNames = "orderAnalyticsVendorRevenueTrend",
-            key = "#vendorId.toString() + '::' + #days",
-            sync = true
-    )
     public List<DailyRevenueBucket> getVendorRevenueTrend(UUID vendorId, int days) {
-        Instant since = LocalDate.now(ZoneOffset.UTC).minusDays(days).atStartOfDay(ZoneOffset.UTC).toInstant();
-        List<Object[]> rows = vendorOrderRepository.getVendorRevenueByDay(vendorId, since, REVENUE_STATUSES);
-        return rows.stream()
-            .map(r -> new DailyRevenueBucket(
-                r[0] instanceof LocalDate ld ? ld : LocalDate.parse(r[0].toString()),
-                (BigDecimal) r[1],
-                ((Number) r[2]).longValue()))
-            .toList();
+        LocalDate since = LocalDate.now(ZoneOffset.UTC).minusDays(days);
+        return toRevenueBuckets(vendorOrderDailyRollupRepository.sumByDay(vendorId, since, REVENUE_STATUSES));
     }
 
     @Cacheable(
@@ -168,12 +136,13 @@ public class OrderAnalyticsService {
 
     @Cacheable(cacheNames = "orderAnalyticsCustomerSummary", key = "#customerId", sync = true)
     public CustomerOrderSummary getCustomerSummary(UUID customerId) {
-        long total = orderRepository.countByCustomerId(customerId);
-        long active = orderRepository.countByCustomerIdAndStatusIn(customerId, ACTIVE_STATUSES);
-        long completed = orderRepository.countByCustomerIdAndStatusIn(customerId, COMPLETED_STATUSES);
+        Map<OrderStatus, Object[]> totals = groupByStatus(orderRepository.sumCustomerGroupedByStatus(customerId));
+        long total = count(totals, EnumSet.allOf(OrderStatus.class));
+        long active = count(totals, ACTIVE_STATUSES);
+        long completed = count(totals, COMPLETED_STATUSES);
 
-        BigDecimal spent = orderRepository.sumCustomerSpentByStatusIn(customerId, REVENUE_STATUSES);
-        BigDecimal saved = orderRepository.sumCustomerSavedByStatusIn(customerId, REVENUE_STATUSES);
+        BigDecimal spent = sum(totals, REVENUE_STATUSES, 2);
+        BigDecimal saved = sum(totals, REVENUE_STATUSES, 3);
 
         BigDecimal avgValue = total > 0
             ? spent.divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP)
@@ -202,4 +171,39 @@ public class OrderAnalyticsService {
                 ((Number) r[2]).longValue()))
             .toList();
     }
+
+    private static Map<OrderStatus, Object[]> groupByStatus(List<Object[]> rows) {
+        Map<OrderStatus, Object[]> map = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : rows) {
+            map.put((OrderStatus) row[0], row);
+        }
+        return map;
+    }
+
+    private static long count(Map<OrderStatus, Object[]> totals, Set<OrderStatus> statuses) {
+        long count = 0;
+        for (OrderStatus status : statuses) {
+            Object[] row = totals.get(status);
+            if (row != null && row[1] != null) count += ((Number) row[1]).longValue();
+        }
+        return count;
+    }
+
+    private static BigDecimal sum(Map<OrderStatus, Object[]> totals, Set<OrderStatus> statuses, int column) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (OrderStatus status : statuses) {
+            Object[] row = totals.get(status);
+            if (row != null && row[column] != null) sum = sum.add((BigDecimal) row[column]);
+        }
+        return sum;
+    }
+
+    private static List<DailyRevenueBucket> toRevenueBuckets(List<Object[]> rows) {
+        return rows.stream()
+            .map(r -> new DailyRevenueBucket(
+                (LocalDate) r[0],
+                (BigDecimal) r[1],
+                ((Number) r[2]).longValue()))
+            .toList();
+    }
 }
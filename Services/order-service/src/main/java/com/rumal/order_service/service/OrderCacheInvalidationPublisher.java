@@ -0,0 +1,63 @@
+package com.rumal.order_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts local-cache invalidations to every order-service replica over Redis pub/sub.
+ * Messages are pipe-delimited ({@code origin|type|name|payload}); the payload is last so it may contain pipes.
+ */
+@Service
+public class OrderCacheInvalidationPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCacheInvalidationPublisher.class);
+    static final String TYPE_EVICT = "evict";
+    static final String TYPE_CLEAR = "clear";
+    static final String TYPE_VERSION = "version";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public OrderCacheInvalidationPublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${cache.invalidation.redis-channel:os:cache:invalidation:v1}") String channel
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.channel = StringUtils.hasText(channel) ? channel : "os:cache:invalidation:v1";
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(TYPE_EVICT, cacheName, key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(TYPE_CLEAR, cacheName, "");
+    }
+
+    public void publishVersion(String bucket, long version) {
+        publish(TYPE_VERSION, bucket, Long.toString(version));
+    }
+
+    private void publish(String type, String name, String payload) {
+        try {
+            redisTemplate.convertAndSend(channel, instanceId + "|" + type + "|" + name + "|" + payload);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to publish order cache invalidation type={} name={} (peer local caches expire by TTL)", type, name, ex);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.rumal.order_service.service;
+
+import com.rumal.order_service.config.TwoLevelCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class OrderCacheInvalidationSubscriber implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCacheInvalidationSubscriber.class);
+
+    private final CacheManager cacheManager;
+    private final OrderCacheVersionService orderCacheVersionService;
+    private final OrderCacheInvalidationPublisher invalidationPublisher;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        byte[] body = message.getBody();
+        if (body.length == 0) {
+            return;
+        }
+
+        String rawPayload = new String(body, StandardCharsets.UTF_8);
+        String[] parts = rawPayload.split("\\|", 4);
+        if (parts.length < 4) {
+            log.warn("Ignoring malformed order cache invalidation message: {}", rawPayload);
+            return;
+        }
+        if (invalidationPublisher.instanceId().equals(parts[0])) {
+            return;
+        }
+
+        try {
+            switch (parts[1]) {
+                case OrderCacheInvalidationPublisher.TYPE_EVICT -> {
+                    if (cacheManager.getCache(parts[2]) instanceof TwoLevelCache cache) {
+                        cache.evictLocal(parts[3]);
+                    }
+                }
+                case OrderCacheInvalidationPublisher.TYPE_CLEAR -> {
+                    if (cacheManager.getCache(parts[2]) instanceof TwoLevelCache cache) {
+                        cache.clearLocal();
+                    }
+                }
+                case OrderCacheInvalidationPublisher.TYPE_VERSION ->
+                        orderCacheVersionService.applyRemoteVersion(parts[2], Long.parseLong(parts[3]));
+                default -> log.warn("Ignoring unknown order cache invalidation type: {}", rawPayload);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to process order cache invalidation message: {}", rawPayload, ex);
+        }
+    }
+}
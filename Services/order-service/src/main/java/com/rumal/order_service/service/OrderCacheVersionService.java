@@ -1,5 +1,7 @@
 package com.rumal.order_service.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +9,15 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versions are read through a short-lived local copy so the SpEL cache keys do not cost a Redis GET per call.
+ * Bumps are pushed to peer replicas over {@link OrderCacheInvalidationPublisher}; the local TTL bounds staleness
+ * if a pub/sub message is missed.
+ */
 @Service
 public class OrderCacheVersionService {
 
@@ -14,14 +25,26 @@ public class OrderCacheVersionService {
     private static final String DEFAULT_VERSION = "0";
 
     private final StringRedisTemplate redisTemplate;
+    private final OrderCacheInvalidationPublisher invalidationPublisher;
     private final String keyPrefix;
+    private final long localTtlNanos;
+    private final Map<String, LocalVersion> localVersions = new ConcurrentHashMap<>();
+    private final Counter localLookups;
+    private final Counter redisLookups;
 
     public OrderCacheVersionService(
             StringRedisTemplate redisTemplate,
-            @Value("${cache.version-key-prefix:os:cachever:v1::}") String keyPrefix
+            OrderCacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${cache.version-key-prefix:os:cachever:v1::}") String keyPrefix,
+            @Value("${cache.version-local-ttl:30s}") Duration localTtl
     ) {
         this.redisTemplate = redisTemplate;
+        this.invalidationPublisher = invalidationPublisher;
         this.keyPrefix = StringUtils.hasText(keyPrefix) ? keyPrefix : "os:cachever:v1::";
+        this.localTtlNanos = (localTtl == null || localTtl.isNegative() ? Duration.ZERO : localTtl).toNanos();
+        this.localLookups = versionLookups(meterRegistry, "local");
+        this.redisLookups = versionLookups(meterRegistry, "redis");
     }
 
     public String ordersByKeycloakVersion() {
@@ -40,19 +63,38 @@ public class OrderCacheVersionService {
         bump("orderDetailsByKeycloak");
     }
 
+    public void applyRemoteVersion(String bucket, long version) {
+        localVersions.merge(bucket, new LocalVersion(version, System.nanoTime()),
+                (current, incoming) -> incoming.value() >= current.value() ? incoming : current);
+    }
+
     private String getVersion(String bucket) {
+        LocalVersion local = localVersions.get(bucket);
+        long now = System.nanoTime();
+        if (local != null && now - local.loadedAtNanos() < localTtlNanos) {
+            localLookups.increment();
+            return Long.toString(local.value());
+        }
+        redisLookups.increment();
         try {
             String value = redisTemplate.opsForValue().get(key(bucket));
-            return StringUtils.hasText(value) ? value : DEFAULT_VERSION;
+            long version = StringUtils.hasText(value) ? Long.parseLong(value) : 0L;
+            applyRemoteVersion(bucket, version);
+            return Long.toString(version);
         } catch (Exception ex) {
-            return DEFAULT_VERSION;
+            return local != null ? Long.toString(local.value()) : DEFAULT_VERSION;
         }
     }
 
     private void bump(String bucket) {
         try {
-            redisTemplate.opsForValue().increment(key(bucket));
+            Long version = redisTemplate.opsForValue().increment(key(bucket));
+            if (version != null) {
+                applyRemoteVersion(bucket, version);
+                invalidationPublisher.publishVersion(bucket, version);
+            }
         } catch (Exception ex) {
+            localVersions.remove(bucket);
             log.warn("Failed to bump order cache version bucket={} (cache invalidation degraded)", bucket, ex);
         }
     }
@@ -60,4 +102,14 @@ public class OrderCacheVersionService {
     private String key(String bucket) {
         return keyPrefix + bucket;
     }
+
+    private static Counter versionLookups(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("order.cache.version.lookups")
+                .description("Cache version reads by source; redis lookups are round trips the local copy did not absorb")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record LocalVersion(long value, long loadedAtNanos) {
+    }
 }
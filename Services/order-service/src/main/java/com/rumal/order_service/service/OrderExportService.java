@@ -18,6 +18,8 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
@@ -27,6 +29,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +39,7 @@ public class OrderExportService {
     private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
     private static final String EXPORT_FORMAT_CSV = "csv";
     private static final int MAX_FAILURE_MESSAGE_LENGTH = 1000;
+    private static final int INFLATE_BUFFER_SIZE = 64 * 1024;
 
     private final OrderExportJobRepository orderExportJobRepository;
     private final OrderService orderService;
@@ -87,8 +92,13 @@ public class OrderExportService {
         return toResponse(job);
     }
 
+    /**
+     * Opens a completed export for streaming. Files are stored gzip-compressed; they are returned compressed with
+     * their {@code contentEncoding} set when the caller accepts gzip, and inflated as they are read otherwise, with
+     * an unknown length. The caller closes the returned {@code content}.
+     */
     @Transactional(readOnly = true)
-    public OrderExportStorageService.StoredOrderExportFile download(UUID jobId) {
+    public OrderExportStorageService.StoredOrderExportFile download(UUID jobId, boolean acceptsGzip) {
         OrderExportJob job = orderExportJobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order export job not found: " + jobId));
         if (job.getStatus() != OrderExportJobStatus.COMPLETED || !StringUtils.hasText(job.getStorageKey())) {
@@ -97,7 +107,32 @@ public class OrderExportService {
         if (job.getExpiresAt() != null && job.getExpiresAt().isBefore(Instant.now())) {
             throw new ValidationException("Order export has expired");
         }
-        return orderExportStorageService.load(job.getStorageKey(), job.getFileName(), job.getContentType());
+        OrderExportStorageService.StoredOrderExportFile storedFile =
+                orderExportStorageService.load(job.getStorageKey(), job.getFileName(), job.getContentType());
+        if (acceptsGzip || !"gzip".equalsIgnoreCase(storedFile.contentEncoding())) {
+            return storedFile;
+        }
+        try {
+            return new OrderExportStorageService.StoredOrderExportFile(
+                    storedFile.storageKey(),
+                    storedFile.fileName(),
+                    storedFile.contentType(),
+                    null,
+                    -1,
+                    new GZIPInputStream(storedFile.content(), INFLATE_BUFFER_SIZE)
+            );
+        } catch (IOException ex) {
+            closeQuietly(storedFile.content());
+            throw new IllegalStateException("Failed to decompress export file", ex);
+        }
+    }
+
+    private static void closeQuietly(InputStream content) {
+        try {
+            content.close();
+        } catch (IOException ex) {
+            log.debug("Failed closing export file stream", ex);
+        }
     }
 
     @Transactional(isolation = Isolation.READ_COMMITTED, timeout = 10)
@@ -127,20 +162,21 @@ public class OrderExportService {
         }
 
         try {
-            OrderService.OrderCsvExportResult csvExportResult = orderService.generateOrdersCsv(
-                    job.getFilterStatus(),
-                    job.getCreatedAfter(),
-                    job.getCreatedBefore(),
-                    job.getVendorId(),
-                    job.getCustomerEmail()
-            );
+            AtomicInteger rowCount = new AtomicInteger();
             OrderExportStorageService.StoredOrderExportFile storedFile = orderExportStorageService.store(
                     job.getId(),
                     job.getFileName(),
                     job.getContentType(),
-                    csvExportResult.content()
+                    outputStream -> rowCount.set(orderService.writeOrdersCsv(
+                            job.getFilterStatus(),
+                            job.getCreatedAfter(),
+                            job.getCreatedBefore(),
+                            job.getVendorId(),
+                            job.getCustomerEmail(),
+                            outputStream
+                    ))
             );
-            markCompleted(jobId, storedFile, csvExportResult.rowCount());
+            markCompleted(jobId, storedFile, rowCount.get());
         } catch (Exception ex) {
             log.error("Failed processing order export job {}", jobId, ex);
             markFailed(jobId, ex);
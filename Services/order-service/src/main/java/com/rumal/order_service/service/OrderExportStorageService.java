@@ -1,21 +1,40 @@
 package com.rumal.order_service.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.UUID;
 
 public interface OrderExportStorageService {
 
-    StoredOrderExportFile store(UUID jobId, String fileName, String contentType, byte[] content);
+    /**
+     * Streams the export through gzip into storage as it is written, so the file is never held in memory.
+     * The returned file carries no content; {@link #load} reads it back.
+     */
+    StoredOrderExportFile store(UUID jobId, String fileName, String contentType, ExportContentWriter writer);
 
+    /**
+     * Opens the stored file for reading; the caller closes {@code content}.
+     */
     StoredOrderExportFile load(String storageKey, String fileName, String contentType);
 
     void delete(String storageKey);
 
+    @FunctionalInterface
+    interface ExportContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * {@code contentLength} is {@code -1} when unknown; {@code content} is only set by {@link #load}.
+     */
     record StoredOrderExportFile(
             String storageKey,
             String fileName,
             String contentType,
+            String contentEncoding,
             long contentLength,
-            byte[] content
+            InputStream content
     ) {
     }
 }
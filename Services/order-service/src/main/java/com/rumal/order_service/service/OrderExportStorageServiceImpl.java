@@ -6,62 +6,84 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class OrderExportStorageServiceImpl implements OrderExportStorageService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderExportStorageServiceImpl.class);
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
     private final ObjectProvider<S3Client> s3ClientProvider;
     private final ObjectStorageProperties objectStorageProperties;
     private final Path localRootDirectory;
+    private final int multipartPartSizeBytes;
 
     public OrderExportStorageServiceImpl(
             ObjectProvider<S3Client> s3ClientProvider,
             ObjectStorageProperties objectStorageProperties,
-            @Value("${order.export.storage.local-dir:${java.io.tmpdir}/rumal-order-exports}") String localDirectory
+            @Value("${order.export.storage.local-dir:${java.io.tmpdir}/rumal-order-exports}") String localDirectory,
+            @Value("${order.export.storage.multipart-part-size-bytes:8388608}") int multipartPartSizeBytes
     ) {
         this.s3ClientProvider = s3ClientProvider;
         this.objectStorageProperties = objectStorageProperties;
         this.localRootDirectory = Path.of(localDirectory).toAbsolutePath().normalize();
+        this.multipartPartSizeBytes = Math.max(MultipartUploadOutputStream.MIN_PART_SIZE, multipartPartSizeBytes);
     }
 
     @Override
-    public StoredOrderExportFile store(UUID jobId, String fileName, String contentType, byte[] content) {
-        byte[] safeContent = content == null ? new byte[0] : content;
-        String key = buildStorageKey(jobId, fileName);
+    public StoredOrderExportFile store(UUID jobId, String fileName, String contentType, ExportContentWriter writer) {
+        String key = buildStorageKey(jobId, fileName) + GZIP_SUFFIX;
         String resolvedContentType = normalizeContentType(contentType);
         S3Client s3Client = s3ClientProvider.getIfAvailable();
         if (s3Client != null && objectStorageProperties.enabled()) {
-            s3Client.putObject(
-                    PutObjectRequest.builder()
-                            .bucket(objectStorageProperties.bucket())
-                            .key(key)
-                            .contentType(resolvedContentType)
-                            .build(),
-                    RequestBody.fromBytes(safeContent)
+            MultipartUploadOutputStream upload = new MultipartUploadOutputStream(
+                    s3Client,
+                    objectStorageProperties.bucket(),
+                    key,
+                    resolvedContentType,
+                    GZIP_ENCODING,
+                    multipartPartSizeBytes
             );
-            return new StoredOrderExportFile(key, fileName, resolvedContentType, safeContent.length, safeContent);
+            try {
+                writeGzip(writer, upload);
+                upload.complete();
+            } catch (IOException | RuntimeException ex) {
+                abortQuietly(upload, key);
+                throw new IllegalStateException("Failed to upload export file to object storage", ex);
+            }
+            return new StoredOrderExportFile(key, fileName, resolvedContentType, GZIP_ENCODING, upload.bytesWritten(), null);
         }
 
         Path targetPath = resolveLocalPath(key);
         try {
             Files.createDirectories(targetPath.getParent());
-            Files.write(targetPath, safeContent, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
-            return new StoredOrderExportFile(key, fileName, resolvedContentType, safeContent.length, safeContent);
-        } catch (IOException ex) {
+            try (OutputStream fileStream = Files.newOutputStream(targetPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeGzip(writer, fileStream);
+            }
+            return new StoredOrderExportFile(key, fileName, resolvedContentType, GZIP_ENCODING, Files.size(targetPath), null);
+        } catch (IOException | RuntimeException ex) {
+            try {
+                Files.deleteIfExists(targetPath);
+            } catch (IOException deleteEx) {
+                log.warn("Failed deleting partial local export file, key={}", key, deleteEx);
+            }
             throw new IllegalStateException("Failed to persist export file locally", ex);
         }
     }
@@ -74,19 +96,22 @@ public class OrderExportStorageServiceImpl implements OrderExportStorageService
         String resolvedContentType = normalizeContentType(contentType);
         S3Client s3Client = s3ClientProvider.getIfAvailable();
         if (s3Client != null && objectStorageProperties.enabled()) {
-            byte[] bytes = s3Client.getObjectAsBytes(
+            ResponseInputStream<GetObjectResponse> object = s3Client.getObject(
                     GetObjectRequest.builder()
                             .bucket(objectStorageProperties.bucket())
                             .key(storageKey)
                             .build()
-            ).asByteArray();
-            return new StoredOrderExportFile(storageKey, fileName, resolvedContentType, bytes.length, bytes);
+            );
+            Long contentLength = object.response().contentLength();
+            return new StoredOrderExportFile(storageKey, fileName, resolvedContentType, resolveContentEncoding(storageKey),
+                    contentLength == null ? -1 : contentLength, object);
         }
 
         Path targetPath = resolveLocalPath(storageKey);
         try {
-            byte[] bytes = Files.readAllBytes(targetPath);
-            return new StoredOrderExportFile(storageKey, fileName, resolvedContentType, bytes.length, bytes);
+            long contentLength = Files.size(targetPath);
+            return new StoredOrderExportFile(storageKey, fileName, resolvedContentType, resolveContentEncoding(storageKey),
+                    contentLength, Files.newInputStream(targetPath));
         } catch (IOException ex) {
             throw new IllegalStateException("Failed to read export file", ex);
         }
@@ -117,6 +142,27 @@ public class OrderExportStorageServiceImpl implements OrderExportStorageService
         }
     }
 
+    // The writer gets a stream it cannot close, so only this method decides when the gzip trailer is written.
+    private static void writeGzip(ExportContentWriter writer, OutputStream target) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(target, GZIP_BUFFER_SIZE);
+        writer.writeTo(new NonClosingOutputStream(gzip));
+        gzip.finish();
+        gzip.flush();
+    }
+
+    private void abortQuietly(MultipartUploadOutputStream upload, String key) {
+        try {
+            upload.abort();
+        } catch (RuntimeException ex) {
+            log.warn("Failed aborting multipart upload for export file, key={}", key, ex);
+        }
+    }
+
+    // Files stored before exports were compressed have no suffix and are served as-is.
+    private static String resolveContentEncoding(String storageKey) {
+        return storageKey.endsWith(GZIP_SUFFIX) ? GZIP_ENCODING : null;
+    }
+
     private String buildStorageKey(UUID jobId, String fileName) {
         String safeFileName = sanitizeFileName(fileName);
         return "order-exports/" + jobId + "/" + safeFileName;
@@ -141,4 +187,21 @@ public class OrderExportStorageServiceImpl implements OrderExportStorageService
         }
         return contentType.trim();
     }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
 }
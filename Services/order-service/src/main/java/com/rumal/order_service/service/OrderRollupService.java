@@ -0,0 +1,334 @@
+package com.rumal.order_service.service;
+
+import com.rumal.order_service.dto.AnalyticsRollupDelta;
+import com.rumal.order_service.entity.Order;
+import com.rumal.order_service.entity.OrderDailyRollup;
+import com.rumal.order_service.entity.OrderStatus;
+import com.rumal.order_service.entity.VendorOrder;
+import com.rumal.order_service.entity.VendorOrderDailyRollup;
+import com.rumal.order_service.repo.OrderDailyRollupRepository;
+import com.rumal.order_service.repo.OrderRepository;
+import com.rumal.order_service.repo.VendorOrderDailyRollupRepository;
+import com.rumal.order_service.repo.VendorOrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains {@code order_daily_rollups} and {@code vendor_order_daily_rollups}.
+ * <p>
+ * Every status transition moves the order out of its old (day, status) bucket and into the new one inside the
+ * caller's transaction, so analytics reads sum a handful of rows per day instead of scanning orders. Orders are
+ * bucketed by the UTC day they were created on; {@link #rebuildDay} recomputes a day from the source tables to repair
+ * drift and to backfill history.
+ * <p>
+ * A missing bucket row is inserted with {@code ON CONFLICT DO NOTHING} on the caller's connection; a concurrent seed of
+ * the same row waits on the unique key and then inserts nothing. Deltas hold a shared transaction-scoped advisory lock
+ * on their day and the rebuild holds it exclusively, so a recount never overlaps a delta that is still in flight.
+ */
+@Service
+public class OrderRollupService {
+
+    private static final int DAY_FENCE_LOCK_CLASS = 0x726F6C6C;
+    private static final int REBUILD_CLAIM_LOCK_CLASS = 0x72656275;
+    private static final String SEED_ORDER_ROW_SQL = """
+            INSERT INTO order_daily_rollups
+                (id, bucket_date, status, shard, order_count, order_total, total_discount, shipping_amount, updated_at)
+            VALUES (?, ?, ?, ?, 0, 0, 0, 0, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String SEED_VENDOR_ROW_SQL = """
+            INSERT INTO vendor_order_daily_rollups
+                (id, vendor_id, bucket_date, status, shard, order_count, order_total, platform_fee, payout_amount, updated_at)
+            VALUES (?, ?, ?, ?, ?, 0, 0, 0, 0, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final OrderDailyRollupRepository orderRollupRepository;
+    private final VendorOrderDailyRollupRepository vendorRollupRepository;
+    private final OrderRepository orderRepository;
+    private final VendorOrderRepository vendorOrderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate rebuildTransaction;
+    private final int shardCount;
+
+    public OrderRollupService(
+            OrderDailyRollupRepository orderRollupRepository,
+            VendorOrderDailyRollupRepository vendorRollupRepository,
+            OrderRepository orderRepository,
+            VendorOrderRepository vendorOrderRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.analytics.rollup.shards:8}") int shardCount
+    ) {
+        this.orderRollupRepository = orderRollupRepository;
+        this.vendorRollupRepository = vendorRollupRepository;
+        this.orderRepository = orderRepository;
+        this.vendorOrderRepository = vendorOrderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.rebuildTransaction.setTimeout(60);
+        this.shardCount = Math.max(1, shardCount);
+    }
+
+    /**
+     * Adds a freshly persisted order and its vendor orders to their initial buckets. Must run in the transaction
+     * that inserted them.
+     */
+    public List<AnalyticsRollupDelta> recordOrderCreated(Order order) {
+        List<AnalyticsRollupDelta> deltas = new ArrayList<>();
+        deltas.add(recordOrderStatusChange(order, null, order.getStatus()));
+        if (order.getVendorOrders() != null) {
+            for (VendorOrder vendorOrder : order.getVendorOrders()) {
+                deltas.add(recordVendorOrderStatusChange(vendorOrder, null, vendorOrder.getStatus()));
+            }
+        }
+        return deltas;
+    }
+
+    public AnalyticsRollupDelta recordOrderStatusChange(Order order, OrderStatus from, OrderStatus to) {
+        LocalDate day = bucketOf(order.getCreatedAt());
+        int shard = shardOf(order.getId());
+        BigDecimal orderTotal = amount(order.getOrderTotal());
+        BigDecimal totalDiscount = amount(order.getTotalDiscount());
+        BigDecimal shippingAmount = amount(order.getShippingAmount());
+        fenceDelta(day);
+        // Touch the two rows in a fixed order so opposite transitions on the same day cannot deadlock.
+        for (OrderStatus status : lockOrder(from, to)) {
+            long sign = status == to ? 1 : -1;
+            applyOrderDelta(day, status, shard, sign, orderTotal, totalDiscount, shippingAmount);
+        }
+        return new AnalyticsRollupDelta(null, day, from, to, orderTotal);
+    }
+
+    public AnalyticsRollupDelta recordVendorOrderStatusChange(VendorOrder vendorOrder, OrderStatus from, OrderStatus to) {
+        LocalDate day = bucketOf(vendorOrder.getCreatedAt());
+        int shard = shardOf(vendorOrder.getId());
+        BigDecimal orderTotal = amount(vendorOrder.getOrderTotal());
+        BigDecimal platformFee = amount(vendorOrder.getPlatformFee());
+        BigDecimal payoutAmount = amount(vendorOrder.getPayoutAmount());
+        fenceDelta(day);
+        for (OrderStatus status : lockOrder(from, to)) {
+            long sign = status == to ? 1 : -1;
+            applyVendorDelta(vendorOrder.getVendorId(), day, status, shard, sign, orderTotal, platformFee, payoutAmount);
+        }
+        return new AnalyticsRollupDelta(vendorOrder.getVendorId(), day, from, to, orderTotal);
+    }
+
+    /**
+     * Recomputes one UTC day of both rollup tables from {@code orders} and {@code vendor_orders}.
+     * <p>
+     * The day is claimed first, so replicas rebuilding the same range split it instead of repeating it. The day's
+     * fence is then taken exclusively: the recount waits for transactions that already applied a delta to the day to
+     * commit, and transitions that arrive later wait for the recount and apply their delta on top of it. Locking
+     * only the existing rows is not enough, because a delta that seeded a new shard row is invisible to that lock
+     * while its order change is visible to the recount, and would be counted twice.
+     *
+     * @return {@code false} if another instance is rebuilding the day
+     */
+    public boolean rebuildDay(LocalDate day) {
+        Instant from = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        return Boolean.TRUE.equals(rebuildTransaction.execute(status -> {
+            Boolean claimed = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?, ?)", Boolean.class,
+                    REBUILD_CLAIM_LOCK_CLASS, (int) day.toEpochDay());
+            if (!Boolean.TRUE.equals(claimed)) {
+                return false;
+            }
+            jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?, ?)", Integer.class,
+                    DAY_FENCE_LOCK_CLASS, (int) day.toEpochDay());
+            rebuildOrderRollups(day, from, to);
+            rebuildVendorRollups(day, from, to);
+            return true;
+        }));
+    }
+
+    public boolean hasRollups() {
+        return orderRollupRepository.count() > 0;
+    }
+
+    public LocalDate earliestOrderDay() {
+        Instant earliest = orderRepository.findEarliestCreatedAt();
+        return earliest == null ? null : bucketOf(earliest);
+    }
+
+    private void applyOrderDelta(
+            LocalDate day,
+            OrderStatus status,
+            int shard,
+            long sign,
+            BigDecimal orderTotal,
+            BigDecimal totalDiscount,
+            BigDecimal shippingAmount
+    ) {
+        Instant now = Instant.now();
+        BigDecimal signedTotal = signed(orderTotal, sign);
+        BigDecimal signedDiscount = signed(totalDiscount, sign);
+        BigDecimal signedShipping = signed(shippingAmount, sign);
+        if (orderRollupRepository.applyDelta(day, status, shard, sign, signedTotal, signedDiscount, signedShipping, now) > 0) {
+            return;
+        }
+        seedOrderRow(day, status, shard);
+        if (orderRollupRepository.applyDelta(day, status, shard, sign, signedTotal, signedDiscount, signedShipping, now) == 0) {
+            throw new IllegalStateException("Order rollup row missing after seeding: " + day + " " + status);
+        }
+    }
+
+    private void applyVendorDelta(
+            UUID vendorId,
+            LocalDate day,
+            OrderStatus status,
+            int shard,
+            long sign,
+            BigDecimal orderTotal,
+            BigDecimal platformFee,
+            BigDecimal payoutAmount
+    ) {
+        Instant now = Instant.now();
+        BigDecimal signedTotal = signed(orderTotal, sign);
+        BigDecimal signedFee = signed(platformFee, sign);
+        BigDecimal signedPayout = signed(payoutAmount, sign);
+        if (vendorRollupRepository.applyDelta(vendorId, day, status, shard, sign, signedTotal, signedFee, signedPayout, now) > 0) {
+            return;
+        }
+        seedVendorRow(vendorId, day, status, shard);
+        if (vendorRollupRepository.applyDelta(vendorId, day, status, shard, sign, signedTotal, signedFee, signedPayout, now) == 0) {
+            throw new IllegalStateException("Vendor order rollup row missing after seeding: " + vendorId + " " + day + " " + status);
+        }
+    }
+
+    private void fenceDelta(LocalDate day) {
+        jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock_shared(?, ?)", Integer.class,
+                DAY_FENCE_LOCK_CLASS, (int) day.toEpochDay());
+    }
+
+    private void seedOrderRow(LocalDate day, OrderStatus status, int shard) {
+        jdbcTemplate.update(SEED_ORDER_ROW_SQL, UUID.randomUUID(), day, status.name(), shard, Timestamp.from(Instant.now()));
+    }
+
+    private void seedVendorRow(UUID vendorId, LocalDate day, OrderStatus status, int shard) {
+        jdbcTemplate.update(SEED_VENDOR_ROW_SQL, UUID.randomUUID(), vendorId, day, status.name(), shard,
+                Timestamp.from(Instant.now()));
+    }
+
+    private void rebuildOrderRollups(LocalDate day, Instant from, Instant to) {
+        List<OrderDailyRollup> existing = orderRollupRepository.findByBucketDateForUpdate(day);
+        Map<OrderStatus, Object[]> actual = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderRepository.aggregateByStatusCreatedBetween(from, to)) {
+            actual.put((OrderStatus) row[0], row);
+        }
+        // The recount lands on shard 0; every other shard of the day is reset to zero.
+        for (OrderDailyRollup rollup : existing) {
+            Object[] row = rollup.getShard() == 0 ? actual.remove(rollup.getStatus()) : null;
+            setOrderTotals(rollup, row);
+        }
+        for (Object[] row : actual.values()) {
+            OrderDailyRollup rollup = emptyOrderRollup(day, (OrderStatus) row[0], 0);
+            setOrderTotals(rollup, row);
+            orderRollupRepository.save(rollup);
+        }
+    }
+
+    private void rebuildVendorRollups(LocalDate day, Instant from, Instant to) {
+        List<VendorOrderDailyRollup> existing = vendorRollupRepository.findByBucketDateForUpdate(day);
+        Map<VendorStatusKey, Object[]> actual = new HashMap<>();
+        for (Object[] row : vendorOrderRepository.aggregateByVendorAndStatusCreatedBetween(from, to)) {
+            actual.put(new VendorStatusKey((UUID) row[0], (OrderStatus) row[1]), row);
+        }
+        for (VendorOrderDailyRollup rollup : existing) {
+            Object[] row = rollup.getShard() == 0
+                    ? actual.remove(new VendorStatusKey(rollup.getVendorId(), rollup.getStatus()))
+                    : null;
+            setVendorTotals(rollup, row);
+        }
+        for (Object[] row : actual.values()) {
+            VendorOrderDailyRollup rollup = emptyVendorRollup((UUID) row[0], day, (OrderStatus) row[1], 0);
+            setVendorTotals(rollup, row);
+            vendorRollupRepository.save(rollup);
+        }
+    }
+
+    private static void setOrderTotals(OrderDailyRollup rollup, Object[] row) {
+        rollup.setOrderCount(row == null ? 0L : ((Number) row[1]).longValue());
+        rollup.setOrderTotal(row == null ? BigDecimal.ZERO : (BigDecimal) row[2]);
+        rollup.setTotalDiscount(row == null ? BigDecimal.ZERO : (BigDecimal) row[3]);
+        rollup.setShippingAmount(row == null ? BigDecimal.ZERO : (BigDecimal) row[4]);
+    }
+
+    private static void setVendorTotals(VendorOrderDailyRollup rollup, Object[] row) {
+        rollup.setOrderCount(row == null ? 0L : ((Number) row[2]).longValue());
+        rollup.setOrderTotal(row == null ? BigDecimal.ZERO : (BigDecimal) row[3]);
+        rollup.setPlatformFee(row == null ? BigDecimal.ZERO : (BigDecimal) row[4]);
+        rollup.setPayoutAmount(row == null ? BigDecimal.ZERO : (BigDecimal) row[5]);
+    }
+
+    private static OrderDailyRollup emptyOrderRollup(LocalDate day, OrderStatus status, int shard) {
+        return OrderDailyRollup.builder()
+                .bucketDate(day)
+                .status(status)
+                .shard(shard)
+                .orderCount(0L)
+                .orderTotal(BigDecimal.ZERO)
+                .totalDiscount(BigDecimal.ZERO)
+                .shippingAmount(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static VendorOrderDailyRollup emptyVendorRollup(UUID vendorId, LocalDate day, OrderStatus status, int shard) {
+        return VendorOrderDailyRollup.builder()
+                .vendorId(vendorId)
+                .bucketDate(day)
+                .status(status)
+                .shard(shard)
+                .orderCount(0L)
+                .orderTotal(BigDecimal.ZERO)
+                .platformFee(BigDecimal.ZERO)
+                .payoutAmount(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static List<OrderStatus> lockOrder(OrderStatus from, OrderStatus to) {
+        if (from == null) {
+            return List.of(to);
+        }
+        if (from == to) {
+            return List.of();
+        }
+        return from.compareTo(to) < 0 ? List.of(from, to) : List.of(to, from);
+    }
+
+    private int shardOf(UUID id) {
+        return id == null ? 0 : Math.floorMod(id.hashCode(), shardCount);
+    }
+
+    private static LocalDate bucketOf(Instant createdAt) {
+        return LocalDate.ofInstant(createdAt == null ? Instant.now() : createdAt, ZoneOffset.UTC);
+    }
+
+    private static BigDecimal amount(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private static BigDecimal signed(BigDecimal value, long sign) {
+        return sign < 0 ? value.negate() : value;
+    }
+
+    private record VendorStatusKey(UUID vendorId, OrderStatus status) {
+    }
+}
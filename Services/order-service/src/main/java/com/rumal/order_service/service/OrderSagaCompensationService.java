@@ -1,6 +1,7 @@
 package com.rumal.order_service.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rumal.order_service.dto.AnalyticsRollupDelta;
 import com.rumal.order_service.entity.Order;
 import com.rumal.order_service.entity.OrderStatus;
 import com.rumal.order_service.entity.OutboxEvent;
@@ -17,6 +18,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
@@ -34,6 +37,7 @@ public class OrderSagaCompensationService {
     private final ObjectMapper objectMapper;
     private final OrderAnalyticsLiveUpdateService orderAnalyticsLiveUpdateService;
     private final OrderStatusAuditRecorder orderStatusAuditRecorder;
+    private final OrderRollupService orderRollupService;
 
     @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 20)
     public void compensatePermanentFailure(OutboxEvent failedEvent, String failureMessage) {
@@ -70,6 +74,8 @@ public class OrderSagaCompensationService {
                 "outbox_compensation",
                 truncateAuditNote(compensationReason)
         );
+        List<AnalyticsRollupDelta> rollupDeltas = new ArrayList<>();
+        rollupDeltas.add(orderRollupService.recordOrderStatusChange(order, previousStatus, OrderStatus.CANCELLED));
 
         if (order.getVendorOrders() != null) {
             for (VendorOrder vendorOrder : order.getVendorOrders()) {
@@ -89,6 +95,7 @@ public class OrderSagaCompensationService {
                         "outbox_compensation",
                         truncateAuditNote(compensationReason)
                 );
+                rollupDeltas.add(orderRollupService.recordVendorOrderStatusChange(vendorOrder, previousVendorStatus, OrderStatus.CANCELLED));
             }
         }
 
@@ -103,7 +110,7 @@ public class OrderSagaCompensationService {
             ));
         }
 
-        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(order, "order_compensated");
+        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(order, "order_compensated", rollupDeltas);
 
         log.error("Cancelled order {} after permanent outbox failure {}. Reason: {}",
                 order.getId(), failedEvent.getEventType(), compensationReason);
@@ -7,6 +7,7 @@ import com.rumal.order_service.client.ProductClient;
 import com.rumal.order_service.client.PromotionClient;
 import com.rumal.order_service.client.VendorClient;
 import com.rumal.order_service.client.VendorOperationalStateClient;
+import com.rumal.order_service.dto.AnalyticsRollupDelta;
 import com.rumal.order_service.dto.PromotionQuoteRequest;
 import com.rumal.order_service.dto.PromotionQuoteResponse;
 import com.rumal.order_service.dto.StockCheckRequest;
@@ -67,6 +68,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
@@ -75,7 +77,7 @@ import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.io.BufferedWriter;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -91,6 +93,9 @@ public class OrderService {
     private static final int MAX_ITEM_QUANTITY = 1000;
     private static final int MAX_DISTINCT_ITEMS = 200;
     private static final int CSV_EXPORT_MAX_ROWS = 250_000;
+    private static final int CSV_EXPORT_PAGE_SIZE = 500;
+    private static final int CSV_EXPORT_CUSTOMER_CACHE_SIZE = 10_000;
+    private static final Sort CSV_EXPORT_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
     private static final BigDecimal PLATFORM_FEE_RATE = new BigDecimal("0.10");
     private static final String NO_PAYMENT_METHOD = "NO_CHARGE";
     private static final String NO_PAYMENT_GATEWAY_REF = "NO_PAYMENT_REQUIRED";
@@ -151,6 +156,7 @@ public class OrderService {
     private final TransactionTemplate transactionTemplate;
     private final OutboxService outboxService;
     private final OrderAnalyticsLiveUpdateService orderAnalyticsLiveUpdateService;
+    private final OrderRollupService orderRollupService;
 
     @org.springframework.beans.factory.annotation.Value("${order.expiry.ttl:30m}")
     private java.time.Duration orderExpiryTtl;
@@ -158,9 +164,6 @@ public class OrderService {
     @org.springframework.beans.factory.annotation.Value("${order.audit.outbox.retry-base-delay-seconds:15}")
     private long orderAuditRetryBaseDelaySeconds;
 
-    public record OrderCsvExportResult(byte[] content, int rowCount) {
-    }
-
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse create(CreateOrderRequest req) {
         customerClient.assertCustomerExists(req.customerId());
@@ -174,8 +177,9 @@ public class OrderService {
             saved.getVendorOrders().forEach(vendorOrder ->
                     recordVendorOrderStatusAudit(vendorOrder, null, OrderStatus.PENDING, null, null, "system", "order_create", "Vendor order created")
             );
+            List<AnalyticsRollupDelta> rollupDeltas = orderRollupService.recordOrderCreated(saved);
             evictOrdersListCaches();
-            orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(saved, "order_created");
+            orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(saved, "order_created", rollupDeltas);
             return toResponse(saved);
         });
     }
@@ -215,8 +219,9 @@ public class OrderService {
                 enqueueCompensationEvents(order, OrderStatus.CONFIRMED);
             }
 
+            List<AnalyticsRollupDelta> rollupDeltas = orderRollupService.recordOrderCreated(order);
             evictOrdersListCaches();
-            orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(order, "order_created");
+            orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(order, "order_created", rollupDeltas);
             return order;
         });
         return toResponse(saved);
@@ -363,9 +368,11 @@ public class OrderService {
                 "status_update",
                 auditNote
         );
+        List<AnalyticsRollupDelta> rollupDeltas = new ArrayList<>();
+        rollupDeltas.add(orderRollupService.recordOrderStatusChange(saved, current, status));
         enqueueCompensationEvents(saved, status);
         evictOrderCachesAfterStatusMutation();
-        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(saved, "order_status_updated");
+        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(saved, "order_status_updated", rollupDeltas);
         return toResponse(saved);
     }
 
@@ -409,6 +416,8 @@ public class OrderService {
                 "vendor_order_status_update",
                 vendorAuditNote
         );
+        List<AnalyticsRollupDelta> rollupDeltas = new ArrayList<>();
+        rollupDeltas.add(orderRollupService.recordVendorOrderStatusChange(savedVendorOrder, current, status));
 
         Order parent = orderRepository.findByIdForUpdate(savedVendorOrder.getOrder().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Parent order not found for vendor order: " + vendorOrderId));
@@ -427,10 +436,11 @@ public class OrderService {
                     "vendor_order_aggregate_sync",
                     "Order aggregate status synchronized from vendor order statuses"
             );
+            rollupDeltas.add(orderRollupService.recordOrderStatusChange(savedOrder, previousAggregate, nextAggregate));
             enqueueCompensationEvents(savedOrder, nextAggregate);
         }
         evictOrderCachesAfterStatusMutation();
-        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(parent, "vendor_order_status_updated");
+        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(parent, "vendor_order_status_updated", rollupDeltas);
         return toVendorOrderResponse(savedVendorOrder);
     }
 
@@ -1771,6 +1781,8 @@ public class OrderService {
                 ? "Customer cancelled: " + req.reason().trim()
                 : "Customer cancelled order";
         recordStatusAudit(saved, previousStatus, OrderStatus.CANCELLED, keycloakId, null, "customer", "customer_cancel", note);
+        List<AnalyticsRollupDelta> rollupDeltas = new ArrayList<>();
+        rollupDeltas.add(orderRollupService.recordOrderStatusChange(saved, previousStatus, OrderStatus.CANCELLED));
 
         if (order.getVendorOrders() != null) {
             for (VendorOrder vo : order.getVendorOrders()) {
@@ -1779,13 +1791,14 @@ public class OrderService {
                     vo.setStatus(OrderStatus.CANCELLED);
                     vendorOrderRepository.save(vo);
                     recordVendorOrderStatusAudit(vo, voPrevious, OrderStatus.CANCELLED, keycloakId, null, "customer", "customer_cancel", "Cancelled by customer");
+                    rollupDeltas.add(orderRollupService.recordVendorOrderStatusChange(vo, voPrevious, OrderStatus.CANCELLED));
                 }
             }
         }
 
         enqueueCompensationEvents(saved, OrderStatus.CANCELLED);
         evictOrderCachesAfterStatusMutation();
-        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(saved, "order_cancelled");
+        orderAnalyticsLiveUpdateService.notifyOrderChangedAfterCommit(saved, "order_cancelled", rollupDeltas);
         return toResponse(saved);
     }
 
@@ -1973,79 +1986,110 @@ public class OrderService {
 
     // ── CSV export ──────────────────────────────────────────────
 
-    public OrderCsvExportResult generateOrdersCsv(
+    /**
+     * Streams the filtered orders as CSV into {@code outputStream} and returns the number of data rows written.
+     * Orders are read in keyset pages over {@code (createdAt DESC, id DESC)}, each in its own short read so nothing
+     * accumulates in a persistence context, and customer emails are resolved with one batch call per page. Memory use
+     * is bounded by the page size and the customer cache, not by the export size. The stream is flushed but not closed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int writeOrdersCsv(
             OrderStatus status,
             Instant createdAfter,
             Instant createdBefore,
             UUID vendorId,
-            String customerEmail
+            String customerEmail,
+            OutputStream outputStream
     ) {
         UUID resolvedCustomerId = null;
         if (StringUtils.hasText(customerEmail)) {
             resolvedCustomerId = customerClient.getCustomerByEmail(customerEmail.trim()).id();
         }
+        Specification<Order> filters = OrderSpecifications.withFilters(resolvedCustomerId, vendorId, status, createdAfter, createdBefore);
 
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
             writer.write("orderId,customerId,customerEmail,status,grandTotal,currency,createdAt,updatedAt,itemCount\n");
 
-            int page = 0;
-            int pageSize = 500;
             int totalRowsWritten = 0;
-            Page<Order> orderPage;
-            Map<UUID, CustomerSummary> customerCache = new HashMap<>();
-            do {
-                orderPage = orderRepository.findAll(
-                        OrderSpecifications.withFilters(resolvedCustomerId, vendorId, status, createdAfter, createdBefore),
-                        PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"))
-                );
-                for (Order order : orderPage.getContent()) {
-                    UUID customerId = order.getCustomerId();
-                    if (customerId != null && !customerCache.containsKey(customerId)) {
-                        try {
-                            customerCache.put(customerId, customerClient.getCustomer(customerId));
-                        } catch (Exception ex) {
-                            log.warn("Failed to fetch customer for CSV export, customerId={}", customerId, ex);
-                            customerCache.put(customerId, null);
-                        }
-                    }
+            Order cursor = null;
+            Map<UUID, CustomerSummary> customerCache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, CustomerSummary> eldest) {
+                    return size() > CSV_EXPORT_CUSTOMER_CACHE_SIZE;
                 }
+            };
+            while (totalRowsWritten < CSV_EXPORT_MAX_ROWS) {
+                int limit = Math.min(CSV_EXPORT_PAGE_SIZE, CSV_EXPORT_MAX_ROWS - totalRowsWritten);
+                Specification<Order> pageSpec = cursor == null
+                        ? filters
+                        : filters.and(OrderSpecifications.createdBeforeCursor(cursor.getCreatedAt(), cursor.getId()));
+                List<Order> orders = orderRepository.findBy(pageSpec, query -> query.sortBy(CSV_EXPORT_SORT).limit(limit).all());
+                if (orders.isEmpty()) {
+                    break;
+                }
+                resolveExportCustomers(orders, customerCache);
 
-                StringBuilder batch = new StringBuilder();
-                for (Order order : orderPage.getContent()) {
-                    if (totalRowsWritten >= CSV_EXPORT_MAX_ROWS) {
-                        break;
-                    }
+                for (Order order : orders) {
                     CustomerSummary customer = order.getCustomerId() != null ? customerCache.get(order.getCustomerId()) : null;
 
-                    batch.append(escapeCsvField(order.getId().toString())).append(',');
-                    batch.append(escapeCsvField(order.getCustomerId() != null ? order.getCustomerId().toString() : "")).append(',');
-                    batch.append(escapeCsvField(customer != null ? customer.email() : "")).append(',');
-                    batch.append(escapeCsvField(order.getStatus() != null ? order.getStatus().name() : "")).append(',');
-                    batch.append(normalizeMoney(order.getOrderTotal()).toPlainString()).append(',');
-                    batch.append(escapeCsvField(order.getCurrency())).append(',');
-                    batch.append(escapeCsvField(order.getCreatedAt() != null ? order.getCreatedAt().toString() : "")).append(',');
-                    batch.append(escapeCsvField(order.getUpdatedAt() != null ? order.getUpdatedAt().toString() : "")).append(',');
-                    batch.append(order.getItemCount());
-                    batch.append('\n');
+                    writer.write(escapeCsvField(order.getId().toString()));
+                    writer.write(',');
+                    writer.write(escapeCsvField(order.getCustomerId() != null ? order.getCustomerId().toString() : ""));
+                    writer.write(',');
+                    writer.write(escapeCsvField(customer != null ? customer.email() : ""));
+                    writer.write(',');
+                    writer.write(escapeCsvField(order.getStatus() != null ? order.getStatus().name() : ""));
+                    writer.write(',');
+                    writer.write(normalizeMoney(order.getOrderTotal()).toPlainString());
+                    writer.write(',');
+                    writer.write(escapeCsvField(order.getCurrency()));
+                    writer.write(',');
+                    writer.write(escapeCsvField(order.getCreatedAt() != null ? order.getCreatedAt().toString() : ""));
+                    writer.write(',');
+                    writer.write(escapeCsvField(order.getUpdatedAt() != null ? order.getUpdatedAt().toString() : ""));
+                    writer.write(',');
+                    writer.write(Integer.toString(order.getItemCount()));
+                    writer.write('\n');
                     totalRowsWritten++;
                 }
-                writer.write(batch.toString());
-                writer.flush();
-                if (totalRowsWritten >= CSV_EXPORT_MAX_ROWS) {
+                if (orders.size() < limit) {
                     break;
                 }
-                page++;
-            } while (orderPage.hasNext());
+                cursor = orders.getLast();
+            }
 
             writer.flush();
-            return new OrderCsvExportResult(outputStream.toByteArray(), totalRowsWritten);
+            return totalRowsWritten;
         } catch (java.io.IOException ex) {
             throw new RuntimeException("Failed to write CSV export", ex);
         }
     }
 
+    // Fetches the page's uncached customers in one batch; a failed lookup leaves the email column blank as before.
+    private void resolveExportCustomers(List<Order> orders, Map<UUID, CustomerSummary> customerCache) {
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (Order order : orders) {
+            UUID customerId = order.getCustomerId();
+            if (customerId != null && !customerCache.containsKey(customerId)) {
+                missing.add(customerId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<UUID, CustomerSummary> fetched;
+        try {
+            fetched = customerClient.getCustomersByIds(missing);
+        } catch (Exception ex) {
+            log.warn("Failed to fetch {} customers for CSV export", missing.size(), ex);
+            fetched = Map.of();
+        }
+        for (UUID customerId : missing) {
+            customerCache.put(customerId, fetched.get(customerId));
+        }
+    }
+
     private String escapeCsvField(String value) {
         if (value == null) return "";
         // CSV injection protection: prefix dangerous leading characters
@@ -0,0 +1,196 @@
+package com.rumal.order_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the saga outbox concurrently on virtual threads. Claimed events are partitioned by aggregate and each
+ * partition runs its events in claim order, so one order's saga steps never overlap while different orders proceed
+ * in parallel.
+ * <p>
+ * That is the only ordering the outbox gives, as with the sequential processor before it. An event that fails is
+ * rescheduled with backoff by {@code OutboxService#processEvent} and the rest of its partition carries on, so a retry
+ * may run after later steps of its aggregate, but one failing event never stalls its order until it is dead-lettered.
+ * <p>
+ * A drain is triggered after every committing transaction that enqueued an event, and by the poll in
+ * {@code OutboxProcessorScheduler} for retries and anything a missed wake-up left behind. Concurrent triggers coalesce
+ * into at most one running drain plus one follow-up.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxService outboxService;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean drainRequested = new AtomicBoolean(false);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OutboxDispatcher(
+            OutboxService outboxService,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.processor.batch-size:50}") int batchSize,
+            @Value("${outbox.dispatcher.max-concurrency:16}") int maxConcurrency
+    ) {
+        this.outboxService = outboxService;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = Math.max(1, batchSize);
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+        Gauge.builder("order.outbox.in_flight", inFlight, AtomicInteger::get)
+                .description("Outbox events currently being dispatched")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventEnqueued(OutboxService.OutboxEventEnqueued event) {
+        requestDrain();
+    }
+
+    /**
+     * Starts a drain on a virtual thread unless one is running, in which case that drain runs another pass.
+     * Never blocks the caller.
+     */
+    public void requestDrain() {
+        drainRequested.set(true);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainLoop);
+            } catch (RuntimeException ex) {
+                draining.set(false);
+                log.warn("Outbox dispatcher could not start a drain", ex);
+            }
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (drainRequested.getAndSet(false)) {
+                drain();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Outbox dispatcher drain failed", ex);
+        } finally {
+            draining.set(false);
+        }
+        // A request that raced with the exit above would otherwise wait for the next poll.
+        if (drainRequested.get()) {
+            requestDrain();
+        }
+    }
+
+    /**
+     * Claims and dispatches rounds until nothing is due. Each round completes before the next claim, so a drain never
+     * has two events of the same aggregate in flight.
+     */
+    void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<OutboxService.OutboxClaim> claims;
+            try {
+                claims = outboxService.claimEventsForProcessing(Instant.now(), batchSize);
+            } catch (Exception ex) {
+                log.error("Outbox processor claim failed", ex);
+                return;
+            }
+            if (claims == null || claims.isEmpty()) {
+                return;
+            }
+            dispatchRound(claims);
+        }
+    }
+
+    private void dispatchRound(List<OutboxService.OutboxClaim> claims) {
+        Map<UUID, List<OutboxService.OutboxClaim>> partitions = new LinkedHashMap<>();
+        for (OutboxService.OutboxClaim claim : claims) {
+            partitions.computeIfAbsent(claim.aggregateId(), ignored -> new ArrayList<>()).add(claim);
+        }
+        List<Future<?>> running = new ArrayList<>(partitions.size());
+        for (List<OutboxService.OutboxClaim> partition : partitions.values()) {
+            running.add(executor.submit(() -> dispatchPartition(partition)));
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.error("Outbox partition dispatch failed", ex);
+            }
+        }
+    }
+
+    private void dispatchPartition(List<OutboxService.OutboxClaim> partition) {
+        for (OutboxService.OutboxClaim claim : partition) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            inFlight.incrementAndGet();
+            try {
+                dispatchOne(claim);
+            } finally {
+                inFlight.decrementAndGet();
+                permits.release();
+            }
+        }
+    }
+
+    private void dispatchOne(OutboxService.OutboxClaim claim) {
+        String eventType = claim.eventType() == null ? "unknown" : claim.eventType();
+        if (claim.createdAt() != null) {
+            Duration lag = Duration.between(claim.createdAt(), Instant.now());
+            Timer.builder("order.outbox.lag")
+                    .description("Time from enqueue to dispatch start")
+                    .tag("event_type", eventType)
+                    .register(meterRegistry)
+                    .record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+        long started = System.nanoTime();
+        OutboxService.OutboxProcessOutcome outcome;
+        try {
+            outcome = outboxService.processEvent(claim.id());
+        } catch (Exception ex) {
+            outcome = null;
+            log.error("Outbox processor failed for event {}", claim.id(), ex);
+        }
+        Timer.builder("order.outbox.dispatch")
+                .description("Outbox event dispatch duration by outcome; the count is dispatch throughput")
+                .tag("event_type", eventType)
+                .tag("outcome", outcome == null ? "error" : outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,12 +32,13 @@ public class OutboxService {
     private final PromotionClient promotionClient;
     private final OrderSagaCompensationService orderSagaCompensationService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${outbox.processor.processing-lease:PT2M}")
     private Duration processingLease;
 
     /**
-     * Enqueue an outbox event within the current transaction.
+     * Enqueue an outbox event within the current transaction. The dispatcher is woken once the transaction commits.
      */
     public void enqueue(String aggregateType, UUID aggregateId, String eventType, Map<String, Object> payload) {
         String payloadJson;
@@ -54,10 +56,16 @@ public class OutboxService {
                 .status(OutboxEventStatus.PENDING)
                 .build();
         outboxEventRepository.save(event);
+        eventPublisher.publishEvent(new OutboxEventEnqueued(aggregateId, eventType));
     }
 
+    /**
+     * Claims up to {@code limit} due events in creation order. {@link OutboxDispatcher} keeps the events of one
+     * aggregate in that order within the claim; a failed event is rescheduled with backoff and does not hold back the
+     * later events of its aggregate.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public List<UUID> claimEventsForProcessing(Instant now, int limit) {
+    public List<OutboxClaim> claimEventsForProcessing(Instant now, int limit) {
         List<OutboxEvent> events = outboxEventRepository.findEventsReadyToClaim(now, limit);
         if (events.isEmpty()) {
             return List.of();
@@ -70,19 +78,21 @@ public class OutboxService {
             event.setLastError(null);
         }
         outboxEventRepository.saveAll(events);
-        return events.stream().map(OutboxEvent::getId).toList();
+        return events.stream()
+                .map(event -> new OutboxClaim(event.getId(), event.getAggregateId(), event.getEventType(), event.getCreatedAt()))
+                .toList();
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void processEvent(UUID eventId) {
+    public OutboxProcessOutcome processEvent(UUID eventId) {
         OutboxEvent event = outboxEventRepository.findByIdForUpdate(eventId)
                 .orElse(null);
         if (event == null) {
-            return;
+            return OutboxProcessOutcome.SKIPPED;
         }
         if (event.getStatus() != OutboxEventStatus.PROCESSING) {
             log.debug("Skipping outbox event {} because status is {}", event.getId(), event.getStatus());
-            return;
+            return OutboxProcessOutcome.SKIPPED;
         }
 
         try {
@@ -92,6 +102,7 @@ public class OutboxService {
             event.setNextRetryAt(null);
             event.setLastError(null);
             outboxEventRepository.save(event);
+            return OutboxProcessOutcome.PROCESSED;
         } catch (Exception ex) {
             int nextRetryCount = event.getRetryCount() + 1;
             event.setRetryCount(nextRetryCount);
@@ -104,6 +115,8 @@ public class OutboxService {
                 event.setNextRetryAt(null);
                 log.error("Outbox event {} permanently failed after {} retries: {}/{}",
                         event.getId(), event.getRetryCount(), event.getAggregateType(), event.getEventType(), ex);
+                outboxEventRepository.save(event);
+                return OutboxProcessOutcome.FAILED;
             } else {
                 // Exponential backoff: 5s, 20s, 45s, 80s, 125s
                 long delaySec = 5L * event.getRetryCount() * event.getRetryCount();
@@ -112,8 +125,9 @@ public class OutboxService {
                 log.warn("Outbox event {} failed (attempt {}), next retry at {}: {}/{}",
                         event.getId(), event.getRetryCount(), event.getNextRetryAt(),
                         event.getAggregateType(), event.getEventType(), ex);
+                outboxEventRepository.save(event);
+                return OutboxProcessOutcome.RETRY_SCHEDULED;
             }
-            outboxEventRepository.save(event);
         }
     }
 
@@ -167,4 +181,17 @@ public class OutboxService {
         if (s == null) return null;
         return s.length() > 500 ? s.substring(0, 500) : s;
     }
+
+    public enum OutboxProcessOutcome {
+        PROCESSED,
+        RETRY_SCHEDULED,
+        FAILED,
+        SKIPPED
+    }
+
+    public record OutboxClaim(UUID id, UUID aggregateId, String eventType, Instant createdAt) {
+    }
+
+    public record OutboxEventEnqueued(UUID aggregateId, String eventType) {
+    }
 }
@@ -0,0 +1,98 @@
+package com.rumal.order_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rumal.order_service.service.OrderCacheInvalidationPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TwoLevelCacheTests {
+
+    private Cache redisCache;
+    private OrderCacheInvalidationPublisher publisher;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisCache = spy(new ConcurrentMapCache("ordersByKeycloak", false));
+        publisher = mock(OrderCacheInvalidationPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoLevelCache(
+                "ordersByKeycloak",
+                redisCache,
+                Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(30)).maximumSize(100).build(),
+                publisher,
+                meterRegistry
+        );
+    }
+
+    @Test
+    void repeatedReadsAreServedFromLocalTierAfterFirstRedisHit() {
+        redisCache.put("0::kc-1::0::20", "page");
+
+        assertThat(cache.get("0::kc-1::0::20", () -> "loaded")).isEqualTo("page");
+        assertThat(cache.get("0::kc-1::0::20", () -> "loaded")).isEqualTo("page");
+        assertThat(cache.get("0::kc-1::0::20", () -> "loaded")).isEqualTo("page");
+
+        verify(redisCache, times(1)).get(eq("0::kc-1::0::20"), any(Callable.class));
+        assertThat(counter("l1_hit")).isEqualTo(2.0);
+        assertThat(counter("l2_hit")).isEqualTo(1.0);
+        assertThat(counter("miss")).isZero();
+    }
+
+    @Test
+    void loaderMissPopulatesBothTiers() {
+        assertThat(cache.get(30, () -> "summary")).isEqualTo("summary");
+
+        assertThat(redisCache.get(30)).isNotNull();
+        assertThat(cache.get(30).get()).isEqualTo("summary");
+        assertThat(counter("miss")).isEqualTo(1.0);
+        assertThat(counter("l1_hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void evictClearsBothTiersAndBroadcastsStringKey() {
+        cache.put(30, "summary");
+        clearInvocations(publisher);
+
+        cache.evict(30);
+
+        assertThat(redisCache.get(30)).isNull();
+        assertThat(cache.get(30)).isNull();
+        verify(publisher).publishEvict("ordersByKeycloak", "30");
+    }
+
+    @Test
+    void peerInvalidationDropsOnlyLocalCopy() {
+        cache.put("platform", "stale");
+
+        cache.evictLocal("platform");
+
+        assertThat(redisCache.get("platform")).isNotNull();
+        assertThat(cache.get("platform").get()).isEqualTo("stale");
+        assertThat(counter("l2_hit")).isEqualTo(1.0);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("order.cache.requests")
+                .tag("cache", "ordersByKeycloak")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -2,13 +2,17 @@ package com.rumal.order_service.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rumal.order_service.dto.AnalyticsLiveDashboardMessage;
+import com.rumal.order_service.dto.AnalyticsRollupDelta;
 import com.rumal.order_service.entity.Order;
+import com.rumal.order_service.entity.OrderStatus;
 import com.rumal.order_service.entity.VendorOrder;
 import org.junit.jupiter.api.Test;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -21,38 +25,27 @@ import org.mockito.ArgumentCaptor;
 
 class OrderAnalyticsLiveUpdateServiceTests {
 
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+            "orderAnalyticsTopProducts",
+            "orderAnalyticsVendorTopProducts"
+    );
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @Test
-    void notifyOrderChangedAfterCommitClearsAnalyticsCachesAndPublishesScopedMessage() throws Exception {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
-                "orderAnalyticsPlatformSummary",
-                "orderAnalyticsRevenueTrend",
-                "orderAnalyticsTopProducts",
-                "orderAnalyticsStatusBreakdown",
-                "orderAnalyticsVendorSummary",
-                "orderAnalyticsVendorRevenueTrend",
-                "orderAnalyticsVendorTopProducts"
-        );
-        cacheManager.getCache("orderAnalyticsPlatformSummary").put("platform", "stale");
-        cacheManager.getCache("orderAnalyticsVendorSummary").put("vendor", "stale");
-
-        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
-        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
-        OrderAnalyticsLiveUpdateService service = new OrderAnalyticsLiveUpdateService(cacheManager, redisTemplate, objectMapper);
-        ReflectionTestUtils.setField(service, "analyticsLiveRedisChannel", "analytics:live:test");
+    void notifyOrderChangedAfterCommitPublishesScopedMessageWithRollupDeltas() throws Exception {
+        cacheManager.getCache("orderAnalyticsTopProducts").put(20, "stale");
+        OrderAnalyticsLiveUpdateService service = service();
 
         UUID orderId = UUID.randomUUID();
         UUID vendorId = UUID.randomUUID();
-        VendorOrder vendorOrder = new VendorOrder();
-        vendorOrder.setVendorId(vendorId);
-
-        Order order = new Order();
-        order.setId(orderId);
-        order.setVendorOrders(List.of(vendorOrder));
+        Order order = order(orderId, vendorId);
+        AnalyticsRollupDelta delta = new AnalyticsRollupDelta(
+                vendorId, LocalDate.of(2026, 3, 8), OrderStatus.SHIPPED, OrderStatus.DELIVERED, new BigDecimal("25.00"));
 
-        service.notifyOrderChangedAfterCommit(order, "order_created");
+        service.notifyOrderChangedAfterCommit(order, "vendor_order_status_updated", List.of(delta));
 
-        assertThat(cacheManager.getCache("orderAnalyticsPlatformSummary").get("platform")).isNull();
-        assertThat(cacheManager.getCache("orderAnalyticsVendorSummary").get("vendor")).isNull();
+        assertThat(cacheManager.getCache("orderAnalyticsTopProducts").get(20)).isNull();
 
         ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
         verify(redisTemplate).convertAndSend(eq("analytics:live:test"), payloadCaptor.capture());
@@ -60,7 +53,40 @@ class OrderAnalyticsLiveUpdateServiceTests {
         AnalyticsLiveDashboardMessage actualMessage = objectMapper.readValue(payloadCaptor.getValue(), AnalyticsLiveDashboardMessage.class);
         assertThat(actualMessage.orderId()).isEqualTo(orderId);
         assertThat(actualMessage.vendorIds()).isEqualTo(Set.of(vendorId));
-        assertThat(actualMessage.trigger()).isEqualTo("order_created");
+        assertThat(actualMessage.trigger()).isEqualTo("vendor_order_status_updated");
         assertThat(actualMessage.occurredAt()).isNotNull();
+        assertThat(actualMessage.deltas()).containsExactly(delta);
+    }
+
+    @Test
+    void notifyOrderChangedAfterCommitKeepsTopProductsWhenNoCompletedStatusIsTouched() {
+        cacheManager.getCache("orderAnalyticsTopProducts").put(20, "warm");
+        cacheManager.getCache("orderAnalyticsVendorTopProducts").put("vendor::20", "warm");
+        OrderAnalyticsLiveUpdateService service = service();
+
+        UUID orderId = UUID.randomUUID();
+        AnalyticsRollupDelta delta = new AnalyticsRollupDelta(
+                null, LocalDate.of(2026, 3, 8), null, OrderStatus.PENDING, new BigDecimal("25.00"));
+
+        service.notifyOrderChangedAfterCommit(order(orderId, UUID.randomUUID()), "order_created", List.of(delta));
+
+        assertThat(cacheManager.getCache("orderAnalyticsTopProducts").get(20)).isNotNull();
+        assertThat(cacheManager.getCache("orderAnalyticsVendorTopProducts").get("vendor::20")).isNotNull();
+    }
+
+    private OrderAnalyticsLiveUpdateService service() {
+        OrderAnalyticsLiveUpdateService service = new OrderAnalyticsLiveUpdateService(cacheManager, redisTemplate, objectMapper);
+        ReflectionTestUtils.setField(service, "analyticsLiveRedisChannel", "analytics:live:test");
+        return service;
+    }
+
+    private static Order order(UUID orderId, UUID vendorId) {
+        VendorOrder vendorOrder = new VendorOrder();
+        vendorOrder.setVendorId(vendorId);
+
+        Order order = new Order();
+        order.setId(orderId);
+        order.setVendorOrders(List.of(vendorOrder));
+        return order;
     }
 }
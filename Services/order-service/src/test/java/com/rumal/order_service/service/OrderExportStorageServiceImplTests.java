@@ -0,0 +1,160 @@
+package com.rumal.order_service.service;
+
+import com.rumal.order_service.config.ObjectStorageProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderExportStorageServiceImplTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void storesLocallyAsGzipAndLoadsWithContentEncoding() throws IOException {
+        OrderExportStorageServiceImpl storage = storage(null, false);
+
+        OrderExportStorageService.StoredOrderExportFile stored = storage.store(
+                UUID.randomUUID(),
+                "orders-export.csv",
+                "text/csv",
+                outputStream -> outputStream.write("orderId\n1\n".getBytes(StandardCharsets.UTF_8))
+        );
+
+        assertThat(stored.storageKey()).endsWith("orders-export.csv.gz");
+        assertThat(stored.contentEncoding()).isEqualTo("gzip");
+        OrderExportStorageService.StoredOrderExportFile loaded = storage.load(stored.storageKey(), "orders-export.csv", "text/csv");
+        assertThat(loaded.contentLength()).isEqualTo(stored.contentLength());
+        assertThat(gunzip(loaded.content())).isEqualTo("orderId\n1\n");
+    }
+
+    @Test
+    void loadsFromObjectStorageAsAStream() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        byte[] gzipped = gzip("orderId\n1\n");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().contentLength((long) gzipped.length).build(),
+                AbortableInputStream.create(new ByteArrayInputStream(gzipped))));
+        OrderExportStorageServiceImpl storage = storage(s3Client, true);
+
+        OrderExportStorageService.StoredOrderExportFile loaded =
+                storage.load("order-exports/job/orders-export.csv.gz", "orders-export.csv", "text/csv");
+
+        assertThat(loaded.contentEncoding()).isEqualTo("gzip");
+        assertThat(loaded.contentLength()).isEqualTo(gzipped.length);
+        assertThat(gunzip(loaded.content())).isEqualTo("orderId\n1\n");
+        verify(s3Client, never()).getObjectAsBytes(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void failedLocalWriteLeavesNoPartialFile() {
+        OrderExportStorageServiceImpl storage = storage(null, false);
+        UUID jobId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> storage.store(jobId, "orders-export.csv", "text/csv", outputStream -> {
+            outputStream.write("orderId\n".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(Files.exists(tempDir.resolve("order-exports").resolve(jobId.toString()).resolve("orders-export.csv.gz"))).isFalse();
+    }
+
+    @Test
+    void uploadsLargeExportsAsMultipartPartsOfBoundedSize() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+        OrderExportStorageServiceImpl storage = storage(s3Client, true);
+        byte[] incompressible = new byte[12 * 1024 * 1024];
+        new Random(42).nextBytes(incompressible);
+
+        OrderExportStorageService.StoredOrderExportFile stored = storage.store(
+                UUID.randomUUID(), "orders-export.csv", "text/csv", outputStream -> outputStream.write(incompressible));
+
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThat(stored.contentLength()).isGreaterThan(incompressible.length);
+    }
+
+    @Test
+    void abortsMultipartUploadWhenTheWriterFails() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+        OrderExportStorageServiceImpl storage = storage(s3Client, true);
+        byte[] incompressible = new byte[6 * 1024 * 1024];
+        new Random(7).nextBytes(incompressible);
+
+        assertThatThrownBy(() -> storage.store(UUID.randomUUID(), "orders-export.csv", "text/csv", outputStream -> {
+            outputStream.write(incompressible);
+            outputStream.close();
+            throw new IllegalStateException("database went away");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private OrderExportStorageServiceImpl storage(S3Client s3Client, boolean objectStorageEnabled) {
+        ObjectProvider<S3Client> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(s3Client);
+        return new OrderExportStorageServiceImpl(
+                provider,
+                new ObjectStorageProperties(objectStorageEnabled, null, null, null, null, "exports"),
+                tempDir.toString(),
+                MultipartUploadOutputStream.MIN_PART_SIZE
+        );
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream deflater = new GZIPOutputStream(out)) {
+            deflater.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static String gunzip(InputStream content) throws IOException {
+        try (GZIPInputStream inflater = new GZIPInputStream(content)) {
+            return new String(inflater.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.rumal.order_service.service;
+
+import com.rumal.order_service.dto.AnalyticsRollupDelta;
+import com.rumal.order_service.entity.Order;
+import com.rumal.order_service.entity.OrderDailyRollup;
+import com.rumal.order_service.entity.OrderStatus;
+import com.rumal.order_service.repo.OrderDailyRollupRepository;
+import com.rumal.order_service.repo.OrderRepository;
+import com.rumal.order_service.repo.VendorOrderDailyRollupRepository;
+import com.rumal.order_service.repo.VendorOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRollupServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 8);
+
+    @Mock
+    private OrderDailyRollupRepository orderRollupRepository;
+
+    @Mock
+    private VendorOrderDailyRollupRepository vendorRollupRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private VendorOrderRepository vendorOrderRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderRollupService(
+                orderRollupRepository,
+                vendorRollupRepository,
+                orderRepository,
+                vendorOrderRepository,
+                jdbcTemplate,
+                transactionManager,
+                1
+        );
+    }
+
+    @Test
+    void recordOrderStatusChange_movesOrderBetweenBucketsInStatusOrder() {
+        when(orderRollupRepository.applyDelta(any(), any(), anyInt(), anyLong(), any(), any(), any(), any())).thenReturn(1);
+        Order order = order();
+
+        AnalyticsRollupDelta delta = service.recordOrderStatusChange(order, OrderStatus.SHIPPED, OrderStatus.CONFIRMED);
+
+        InOrder inOrder = inOrder(jdbcTemplate, orderRollupRepository);
+        inOrder.verify(jdbcTemplate).queryForObject("SELECT 1 FROM pg_advisory_xact_lock_shared(?, ?)", Integer.class,
+                0x726F6C6C, (int) DAY.toEpochDay());
+        inOrder.verify(orderRollupRepository).applyDelta(eq(DAY), eq(OrderStatus.CONFIRMED), eq(0), eq(1L),
+                eq(new BigDecimal("40.00")), eq(new BigDecimal("5.00")), eq(new BigDecimal("4.99")), any());
+        inOrder.verify(orderRollupRepository).applyDelta(eq(DAY), eq(OrderStatus.SHIPPED), eq(0), eq(-1L),
+                eq(new BigDecimal("-40.00")), eq(new BigDecimal("-5.00")), eq(new BigDecimal("-4.99")), any());
+        assertThat(delta).isEqualTo(new AnalyticsRollupDelta(
+                null, DAY, OrderStatus.SHIPPED, OrderStatus.CONFIRMED, new BigDecimal("40.00")));
+    }
+
+    @Test
+    void recordOrderStatusChange_seedsMissingBucketAndReapplies() {
+        when(orderRollupRepository.applyDelta(any(), any(), anyInt(), anyLong(), any(), any(), any(), any()))
+                .thenReturn(0, 1);
+
+        service.recordOrderStatusChange(order(), null, OrderStatus.PENDING);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).update(sql.capture(), any(UUID.class), eq(DAY), eq("PENDING"), eq(0), any());
+        assertThat(sql.getValue()).contains("INSERT INTO order_daily_rollups").contains("ON CONFLICT DO NOTHING");
+        verify(orderRollupRepository, never()).saveAndFlush(any());
+        verify(orderRollupRepository, times(2)).applyDelta(eq(DAY), eq(OrderStatus.PENDING), eq(0), eq(1L),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    void rebuildDay_writesRecountToFirstShardAndZeroesTheRest() {
+        when(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?, ?)", Boolean.class,
+                0x72656275, (int) DAY.toEpochDay())).thenReturn(true);
+        OrderDailyRollup primary = rollup(OrderStatus.PENDING, 0, 7);
+        OrderDailyRollup secondary = rollup(OrderStatus.PENDING, 3, 2);
+        OrderDailyRollup stale = rollup(OrderStatus.CANCELLED, 0, 4);
+        when(orderRollupRepository.findByBucketDateForUpdate(DAY)).thenReturn(List.of(primary, secondary, stale));
+        when(orderRepository.aggregateByStatusCreatedBetween(any(), any())).thenReturn(List.<Object[]>of(
+                new Object[]{OrderStatus.PENDING, 5L, new BigDecimal("50.00"), BigDecimal.ZERO, new BigDecimal("9.98")},
+                new Object[]{OrderStatus.DELIVERED, 1L, new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("4.99")}
+        ));
+        when(vendorRollupRepository.findByBucketDateForUpdate(DAY)).thenReturn(List.of());
+        when(vendorOrderRepository.aggregateByVendorAndStatusCreatedBetween(any(), any())).thenReturn(List.of());
+
+        assertThat(service.rebuildDay(DAY)).isTrue();
+
+        verify(jdbcTemplate).queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?, ?)", Integer.class,
+                0x726F6C6C, (int) DAY.toEpochDay());
+        assertThat(primary.getOrderCount()).isEqualTo(5);
+        assertThat(primary.getOrderTotal()).isEqualByComparingTo("50.00");
+        assertThat(secondary.getOrderCount()).isZero();
+        assertThat(stale.getOrderCount()).isZero();
+        ArgumentCaptor<OrderDailyRollup> inserted = ArgumentCaptor.forClass(OrderDailyRollup.class);
+        verify(orderRollupRepository).save(inserted.capture());
+        assertThat(inserted.getValue().getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(inserted.getValue().getShard()).isZero();
+        assertThat(inserted.getValue().getOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildDay_skipsDayClaimedByAnotherInstance() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(), any())).thenReturn(false);
+
+        assertThat(service.rebuildDay(DAY)).isFalse();
+
+        verify(jdbcTemplate, never()).queryForObject(eq("SELECT 1 FROM pg_advisory_xact_lock(?, ?)"), eq(Integer.class),
+                any(), any());
+        verifyNoInteractions(orderRollupRepository, orderRepository);
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setCreatedAt(Instant.parse("2026-03-08T23:30:00Z"));
+        order.setOrderTotal(new BigDecimal("40.00"));
+        order.setTotalDiscount(new BigDecimal("5.00"));
+        order.setShippingAmount(new BigDecimal("4.99"));
+        return order;
+    }
+
+    private static OrderDailyRollup rollup(OrderStatus status, int shard, long count) {
+        return OrderDailyRollup.builder()
+                .bucketDate(DAY)
+                .status(status)
+                .shard(shard)
+                .orderCount(count)
+                .orderTotal(BigDecimal.TEN)
+                .totalDiscount(BigDecimal.ZERO)
+                .shippingAmount(BigDecimal.ZERO)
+                .build();
+    }
+}
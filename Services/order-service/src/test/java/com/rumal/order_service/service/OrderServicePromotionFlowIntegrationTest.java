@@ -100,6 +100,7 @@ class OrderServicePromotionFlowIntegrationTest {
         OrderCacheVersionService orderCacheVersionService = Mockito.mock(OrderCacheVersionService.class);
         outboxService = Mockito.mock(OutboxService.class);
         OrderAnalyticsLiveUpdateService orderAnalyticsLiveUpdateService = Mockito.mock(OrderAnalyticsLiveUpdateService.class);
+        OrderRollupService orderRollupService = Mockito.mock(OrderRollupService.class);
         when(orderStatusAuditOutboxRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         orderService = new OrderService(
@@ -126,7 +127,8 @@ class OrderServicePromotionFlowIntegrationTest {
                 orderCacheVersionService,
                 transactionTemplate,
                 outboxService,
-                orderAnalyticsLiveUpdateService
+                orderAnalyticsLiveUpdateService,
+                orderRollupService
         );
         ReflectionTestUtils.setField(orderService, "orderExpiryTtl", Duration.ofMinutes(30));
     }
@@ -0,0 +1,100 @@
+package com.rumal.order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTests {
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxDispatcher dispatcher = new OutboxDispatcher(outboxService, meterRegistry, 50, 8);
+
+    @Test
+    void runsAggregatesConcurrentlyButEachAggregateInOrder() throws Exception {
+        UUID orderA = UUID.randomUUID();
+        UUID orderB = UUID.randomUUID();
+        OutboxService.OutboxClaim a1 = claim(orderA, "INVENTORY_RESERVE");
+        OutboxService.OutboxClaim a2 = claim(orderA, "COUPON_COMMIT");
+        OutboxService.OutboxClaim b1 = claim(orderB, "INVENTORY_RESERVE");
+        when(outboxService.claimEventsForProcessing(any(Instant.class), anyInt()))
+                .thenReturn(List.of(a1, b1, a2))
+                .thenReturn(List.of());
+
+        CountDownLatch bStarted = new CountDownLatch(1);
+        List<UUID> processed = new CopyOnWriteArrayList<>();
+        when(outboxService.processEvent(any(UUID.class))).thenAnswer(invocation -> {
+            UUID eventId = invocation.getArgument(0);
+            if (eventId.equals(b1.id())) {
+                bStarted.countDown();
+            } else if (eventId.equals(a1.id())) {
+                // a1 can only finish if b1 runs alongside it.
+                assertThat(bStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            processed.add(eventId);
+            return OutboxService.OutboxProcessOutcome.PROCESSED;
+        });
+
+        dispatcher.drain();
+
+        assertThat(processed).containsExactlyInAnyOrder(a1.id(), a2.id(), b1.id());
+        assertThat(processed.indexOf(a1.id())).isLessThan(processed.indexOf(a2.id()));
+        assertThat(meterRegistry.get("order.outbox.dispatch").tag("outcome", "processed").timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum()).isEqualTo(3);
+    }
+
+    @Test
+    void failedEventDoesNotHoldBackTheRestOfItsAggregate() {
+        UUID order = UUID.randomUUID();
+        OutboxService.OutboxClaim reserve = claim(order, "INVENTORY_RESERVE");
+        OutboxService.OutboxClaim commit = claim(order, "COUPON_COMMIT");
+        when(outboxService.claimEventsForProcessing(any(Instant.class), anyInt()))
+                .thenReturn(List.of(reserve, commit))
+                .thenReturn(List.of());
+        when(outboxService.processEvent(reserve.id())).thenReturn(OutboxService.OutboxProcessOutcome.RETRY_SCHEDULED);
+        when(outboxService.processEvent(commit.id())).thenReturn(OutboxService.OutboxProcessOutcome.PROCESSED);
+
+        dispatcher.drain();
+
+        InOrder inOrder = inOrder(outboxService);
+        inOrder.verify(outboxService).processEvent(reserve.id());
+        inOrder.verify(outboxService).processEvent(commit.id());
+    }
+
+    @Test
+    void recordsRetriesAndLag() {
+        OutboxService.OutboxClaim claim = claim(UUID.randomUUID(), "CONFIRM_INVENTORY_RESERVATION");
+        when(outboxService.claimEventsForProcessing(any(Instant.class), anyInt()))
+                .thenReturn(List.of(claim))
+                .thenReturn(List.of());
+        when(outboxService.processEvent(claim.id())).thenReturn(OutboxService.OutboxProcessOutcome.RETRY_SCHEDULED);
+
+        dispatcher.drain();
+
+        assertThat(meterRegistry.get("order.outbox.dispatch")
+                .tag("event_type", "CONFIRM_INVENTORY_RESERVATION")
+                .tag("outcome", "retry_scheduled")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.outbox.lag").timer().count()).isEqualTo(1);
+    }
+
+    private static OutboxService.OutboxClaim claim(UUID aggregateId, String eventType) {
+        return new OutboxService.OutboxClaim(UUID.randomUUID(), aggregateId, eventType, Instant.now().minusSeconds(1));
+    }
+}
@@ -31,8 +31,7 @@ public class CacheConfig implements CachingConfigurer {
             @Value("${cache.key-prefix:person:v1::}") String cacheKeyPrefix,
             @Value("${cache.recommendations-ttl:1h}") Duration recommendationsTtl,
             @Value("${cache.similar-products-ttl:6h}") Duration similarProductsTtl,
-            @Value("${cache.bought-together-ttl:6h}") Duration boughtTogetherTtl,
-            @Value("${cache.trending-ttl:30m}") Duration trendingTtl
+            @Value("${cache.bought-together-ttl:15m}") Duration boughtTogetherTtl
     ) {
         GenericJacksonJsonRedisSerializer valueSerializer = GenericJacksonJsonRedisSerializer.builder()
                 .enableDefaultTyping(BasicPolymorphicTypeValidator.builder()
@@ -55,8 +54,7 @@ public class CacheConfig implements CachingConfigurer {
                 .withInitialCacheConfigurations(Map.of(
                         "recommendations", defaultConfig.entryTtl(recommendationsTtl),
                         "similarProducts", defaultConfig.entryTtl(similarProductsTtl),
-                        "boughtTogether", defaultConfig.entryTtl(boughtTogetherTtl),
-                        "trending", defaultConfig.entryTtl(trendingTtl)
+                        "boughtTogether", defaultConfig.entryTtl(boughtTogetherTtl)
                 ))
                 .build();
     }
@@ -4,11 +4,9 @@ import com.rumal.personalization_service.model.CoPurchase;
 import com.rumal.personalization_service.model.CoPurchaseId;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,8 +19,10 @@ public interface CoPurchaseRepository extends JpaRepository<CoPurchase, CoPurcha
             """)
     List<CoPurchase> findByProductId(UUID productId, Pageable pageable);
 
-    @Modifying
-    @Transactional
-    @Query("DELETE FROM CoPurchase c WHERE c.lastComputedAt < :before")
-    int deleteStaleEntries(Instant before);
+    @Query("""
+            SELECT c FROM CoPurchase c
+            WHERE c.productIdA IN :productIds OR c.productIdB IN :productIds
+            ORDER BY c.coPurchaseCount DESC
+            """)
+    List<CoPurchase> findByAnyProductId(Collection<UUID> productIds, Pageable pageable);
 }
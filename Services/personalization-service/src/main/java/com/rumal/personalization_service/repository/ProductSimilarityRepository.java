@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +17,8 @@ public interface ProductSimilarityRepository extends JpaRepository<ProductSimila
 
     List<ProductSimilarity> findByProductIdOrderByScoreDesc(UUID productId, Pageable pageable);
 
+    List<ProductSimilarity> findByProductIdIn(Collection<UUID> productIds);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM ProductSimilarity s WHERE s.lastComputedAt < :before")
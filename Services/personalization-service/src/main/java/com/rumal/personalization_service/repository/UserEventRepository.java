@@ -63,10 +63,23 @@ public interface UserEventRepository extends JpaRepository<UserEvent, UUID> {
 
     @Query("""
             SELECT e.userId, e.productId, e.createdAt FROM UserEvent e
-            WHERE e.eventType = 'PURCHASE' AND e.createdAt > :since
-            ORDER BY e.userId, e.createdAt
+            WHERE e.eventType = 'PURCHASE' AND e.userId IN :userIds
+            AND e.createdAt >= :from AND e.createdAt < :to
             """)
-    List<Object[]> findPurchaseEventsForCoPurchase(Instant since, Pageable pageable);
+    List<Object[]> findPurchasesForUsersBetween(Collection<UUID> userIds, Instant from, Instant to);
+
+    @Query("""
+            SELECT DISTINCT e.userId FROM UserEvent e
+            WHERE e.eventType = 'PURCHASE' AND e.userId IS NOT NULL AND e.createdAt < :before
+            AND e.userId > :afterUserId
+            ORDER BY e.userId
+            """)
+    List<UUID> findPurchaseUserIdsBefore(Instant before, UUID afterUserId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserEvent e WHERE e.eventType = 'PURCHASE' AND e.createdAt < :before")
+    int deletePurchaseEventsBefore(Instant before);
 
     @Query("""
             SELECT e.productId, e.categorySlugs, e.vendorId, e.brandName, COUNT(e) AS cnt
@@ -90,8 +103,8 @@ public interface UserEventRepository extends JpaRepository<UserEvent, UUID> {
 
     @Modifying
     @Transactional
-    @Query("DELETE FROM UserEvent e WHERE e.createdAt < :before")
-    int deleteByCreatedAtBefore(Instant before);
+    @Query("DELETE FROM UserEvent e WHERE e.createdAt < :before AND e.eventType <> 'PURCHASE'")
+    int deleteNonPurchaseEventsBefore(Instant before);
 
     @Modifying
     @Transactional
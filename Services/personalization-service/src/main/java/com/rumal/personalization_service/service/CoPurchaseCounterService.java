@@ -0,0 +1,217 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.repository.UserEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maintains {@code co_purchase} counts incrementally. Two products are co-purchased when the same user buys both
+ * within one five-minute window (aligned to the epoch), and a pair's count is the number of such windows.
+ * <p>
+ * New purchases add only the pairs they create in their window; the periodic expiry subtracts the pairs of windows
+ * that leave the event retention period. Both apply their deltas with a batched
+ * {@code INSERT ... ON CONFLICT DO UPDATE}, in a fixed pair order so concurrent writers lock rows in the same order.
+ * <p>
+ * Recording takes a transaction-scoped advisory lock per buyer first. Without it, two stream workers persisting
+ * batches for the same user and window under READ_COMMITTED would not see each other's purchases: a product bought
+ * in both batches would be counted twice and the pairs between them never, which later expiry would drive negative.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CoPurchaseCounterService {
+
+    static final long GROUP_WINDOW_MILLIS = 5 * 60 * 1000L;
+
+    private static final long EXPIRY_LOCK_KEY = 7_301_115_061_771_420_001L;
+    private static final int BUYER_LOCK_CLASS = 0x636F7075;
+    private static final int EXPIRY_USER_BATCH_SIZE = 500;
+    private static final UUID FIRST_USER_ID = new UUID(0, 0);
+    private static final int UPSERT_BATCH_SIZE = 500;
+    private static final String UPSERT_SQL = """
+            INSERT INTO co_purchase (product_id_a, product_id_b, co_purchase_count, last_computed_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (product_id_a, product_id_b) DO UPDATE
+            SET co_purchase_count = co_purchase.co_purchase_count + EXCLUDED.co_purchase_count,
+                last_computed_at = EXCLUDED.last_computed_at
+            """;
+    private static final String DELETE_EMPTY_SQL = "DELETE FROM co_purchase WHERE co_purchase_count <= 0";
+
+    private final UserEventRepository userEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Purchase(UUID userId, UUID productId, Instant occurredAt) {}
+
+    public record ExpiryResult(boolean ran, int expiredEvents, int adjustedPairs, int deletedPairs) {}
+
+    /**
+     * Counts the pairs created by {@code purchases}. Has to run inside the persisting transaction before the new
+     * events are saved, so the window lookup sees only what was bought earlier; the buyer locks taken here are held
+     * until that transaction commits, so a concurrent batch for the same buyer waits and then sees these events.
+     *
+     * @return number of pair rows incremented
+     */
+    public int recordPurchases(Collection<Purchase> purchases) {
+        Map<GroupKey, Set<UUID>> added = group(purchases);
+        if (added.isEmpty()) {
+            return 0;
+        }
+
+        Set<UUID> userIds = new HashSet<>();
+        long fromWindow = Long.MAX_VALUE;
+        long toWindow = Long.MIN_VALUE;
+        for (GroupKey key : added.keySet()) {
+            userIds.add(key.userId());
+            fromWindow = Math.min(fromWindow, key.window());
+            toWindow = Math.max(toWindow, key.window());
+        }
+        lockBuyers(userIds);
+        Map<GroupKey, Set<UUID>> earlier = group(toPurchases(userEventRepository.findPurchasesForUsersBetween(
+                userIds,
+                Instant.ofEpochMilli(fromWindow * GROUP_WINDOW_MILLIS),
+                Instant.ofEpochMilli((toWindow + 1) * GROUP_WINDOW_MILLIS))));
+
+        Map<Pair, Integer> increments = new HashMap<>();
+        added.forEach((key, products) -> {
+            Set<UUID> before = earlier.getOrDefault(key, Set.of());
+            List<UUID> fresh = products.stream().filter(productId -> !before.contains(productId)).toList();
+            for (int i = 0; i < fresh.size(); i++) {
+                for (UUID existing : before) {
+                    increments.merge(Pair.of(fresh.get(i), existing), 1, Integer::sum);
+                }
+                for (int j = i + 1; j < fresh.size(); j++) {
+                    increments.merge(Pair.of(fresh.get(i), fresh.get(j)), 1, Integer::sum);
+                }
+            }
+        });
+        return apply(increments, 1);
+    }
+
+    /**
+     * Subtracts the pairs of every purchase window that ends before {@code cutoff}, then deletes those purchase
+     * events so they are never subtracted twice. A transaction-scoped advisory lock keeps replicas from expiring the
+     * same windows concurrently; a replica that does not get it skips the run.
+     * <p>
+     * Expiring events are read a page of buyers at a time, keyed on user id, so a window is never split across pages
+     * and memory stays bounded however far behind the expiry is.
+     */
+    public ExpiryResult expireBefore(Instant cutoff) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, EXPIRY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return new ExpiryResult(false, 0, 0, 0);
+        }
+
+        Instant alignedCutoff = Instant.ofEpochMilli(Math.floorDiv(cutoff.toEpochMilli(), GROUP_WINDOW_MILLIS) * GROUP_WINDOW_MILLIS);
+        int adjusted = 0;
+        UUID afterUserId = FIRST_USER_ID;
+        while (true) {
+            List<UUID> userIds = userEventRepository.findPurchaseUserIdsBefore(
+                    alignedCutoff, afterUserId, PageRequest.of(0, EXPIRY_USER_BATCH_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Map<GroupKey, Set<UUID>> expired = group(toPurchases(
+                    userEventRepository.findPurchasesForUsersBetween(userIds, Instant.EPOCH, alignedCutoff)));
+            Map<Pair, Integer> decrements = new HashMap<>();
+            for (Set<UUID> products : expired.values()) {
+                List<UUID> productList = new ArrayList<>(products);
+                for (int i = 0; i < productList.size(); i++) {
+                    for (int j = i + 1; j < productList.size(); j++) {
+                        decrements.merge(Pair.of(productList.get(i), productList.get(j)), 1, Integer::sum);
+                    }
+                }
+            }
+            adjusted += apply(decrements, -1);
+            if (userIds.size() < EXPIRY_USER_BATCH_SIZE) {
+                break;
+            }
+            afterUserId = userIds.getLast();
+        }
+
+        int expiredEvents = userEventRepository.deletePurchaseEventsBefore(alignedCutoff);
+        int deletedPairs = jdbcTemplate.update(DELETE_EMPTY_SQL);
+        return new ExpiryResult(true, expiredEvents, adjusted, deletedPairs);
+    }
+
+    /**
+     * Locks every buyer in {@code userIds} for the rest of the transaction, in ascending key order so two batches
+     * that share buyers cannot deadlock. Distinct users may share a key; that only serializes them needlessly.
+     */
+    private void lockBuyers(Set<UUID> userIds) {
+        int[] keys = userIds.stream().mapToInt(UUID::hashCode).distinct().sorted().toArray();
+        for (int key : keys) {
+            jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?, ?)", Integer.class, BUYER_LOCK_CLASS, key);
+        }
+    }
+
+    private int apply(Map<Pair, Integer> deltas, int sign) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Pair, Integer>> ordered = new ArrayList<>(deltas.entrySet());
+        ordered.sort(Map.Entry.comparingByKey(Pair.ORDER));
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, ordered, UPSERT_BATCH_SIZE, (statement, entry) -> {
+            statement.setObject(1, entry.getKey().productIdA());
+            statement.setObject(2, entry.getKey().productIdB());
+            statement.setInt(3, sign * entry.getValue());
+            statement.setTimestamp(4, now);
+        });
+        return ordered.size();
+    }
+
+    private static Map<GroupKey, Set<UUID>> group(Collection<Purchase> purchases) {
+        Map<GroupKey, Set<UUID>> groups = new HashMap<>();
+        for (Purchase purchase : purchases) {
+            if (purchase.userId() == null || purchase.productId() == null || purchase.occurredAt() == null) {
+                continue;
+            }
+            groups.computeIfAbsent(GroupKey.of(purchase.userId(), purchase.occurredAt()), ignored -> new LinkedHashSet<>())
+                    .add(purchase.productId());
+        }
+        return groups;
+    }
+
+    private static List<Purchase> toPurchases(List<Object[]> rows) {
+        List<Purchase> purchases = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            purchases.add(new Purchase((UUID) row[0], (UUID) row[1], (Instant) row[2]));
+        }
+        return purchases;
+    }
+
+    private record GroupKey(long userHigh, long userLow, long window) {
+        static GroupKey of(UUID userId, Instant occurredAt) {
+            return new GroupKey(userId.getMostSignificantBits(), userId.getLeastSignificantBits(),
+                    Math.floorDiv(occurredAt.toEpochMilli(), GROUP_WINDOW_MILLIS));
+        }
+
+        UUID userId() {
+            return new UUID(userHigh, userLow);
+        }
+    }
+
+    private record Pair(UUID productIdA, UUID productIdB) {
+        static final Comparator<Pair> ORDER = Comparator.comparing(Pair::productIdA).thenComparing(Pair::productIdB);
+
+        static Pair of(UUID first, UUID second) {
+            return first.compareTo(second) < 0 ? new Pair(first, second) : new Pair(second, first);
+        }
+    }
+}
@@ -1,34 +1,28 @@
 package com.rumal.personalization_service.service;
 
-import com.rumal.personalization_service.model.CoPurchase;
-import com.rumal.personalization_service.model.ProductSimilarity;
 import com.rumal.personalization_service.model.UserAffinity;
 import com.rumal.personalization_service.repository.AnonymousSessionRepository;
-import com.rumal.personalization_service.repository.CoPurchaseRepository;
 import com.rumal.personalization_service.repository.ProductSimilarityRepository;
 import com.rumal.personalization_service.repository.UserAffinityRepository;
 import com.rumal.personalization_service.repository.UserEventRepository;
+import com.rumal.personalization_service.service.ProductSimilarityEngine.ProductFeatures;
+import com.rumal.personalization_service.service.ProductSimilarityEngine.SimilarProduct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,12 +36,11 @@ import java.util.stream.Collectors;
 public class ComputationJobService {
 
     private final UserEventRepository userEventRepository;
-    private final CoPurchaseRepository coPurchaseRepository;
+    private final CoPurchaseCounterService coPurchaseCounterService;
     private final ProductSimilarityRepository productSimilarityRepository;
+    private final ProductSimilarityWriter productSimilarityWriter;
     private final UserAffinityRepository userAffinityRepository;
     private final AnonymousSessionRepository anonymousSessionRepository;
-    private final TrendingService trendingService;
-    private final CacheManager cacheManager;
 
     @Value("${personalization.event-retention-days:90}")
     private int eventRetentionDays;
@@ -55,41 +48,46 @@ public class ComputationJobService {
     @Value("${personalization.anonymous-session-expiry-days:30}")
     private int anonymousSessionExpiryDays;
 
-    @Value("${personalization.computation.co-purchase-max-events:500000}")
-    private int coPurchaseMaxEvents;
-
     @Value("${personalization.computation.affinity-max-aggregates:500000}")
     private int affinityMaxAggregates;
 
-    @Value("${personalization.computation.co-purchase-lookback-days:90}")
-    private int coPurchaseLookbackDays;
-
     @Value("${personalization.computation.similarity-lookback-days:30}")
     private int similarityLookbackDays;
 
     @Value("${personalization.computation.affinity-lookback-days:30}")
     private int affinityLookbackDays;
 
-    private static record ProductFeatures(UUID productId, Set<String> categories, UUID vendorId, String brandName) {}
+    @Value("${personalization.computation.similarity-top-k:20}")
+    private int similarityTopK;
 
     private static record AffinityMetrics(double score, long eventCount) {}
 
+    /**
+     * Co-purchase counts are maintained as purchases are persisted; this only retires purchase windows that have
+     * left the event retention period.
+     */
     @Scheduled(cron = "${personalization.computation.co-purchase-cron:0 0 */6 * * *}")
     @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 300)
-    public void computeCoPurchases() {
-        log.info("Starting co-purchase computation");
-        Instant since = Instant.now().minus(coPurchaseLookbackDays, ChronoUnit.DAYS);
-        Map<String, Set<UUID>> purchaseGroups = loadPurchaseGroups(since);
-        Map<com.rumal.personalization_service.model.CoPurchaseId, Integer> pairCounts = countCoPurchasePairs(purchaseGroups);
-        int upsertedCount = upsertCoPurchases(pairCounts, Instant.now());
-
-        log.info("Co-purchase computation complete: {} pairs upserted from {} purchase groups", upsertedCount, purchaseGroups.size());
+    public void expireCoPurchases() {
+        Instant cutoff = Instant.now().minus(eventRetentionDays, ChronoUnit.DAYS);
+        CoPurchaseCounterService.ExpiryResult result = coPurchaseCounterService.expireBefore(cutoff);
+        if (!result.ran()) {
+            log.debug("Co-purchase expiry already running on another instance, skipping");
+            return;
+        }
+        log.info("Co-purchase expiry complete: {} purchase events retired, {} pairs decremented, {} pairs removed",
+                result.expiredEvents(), result.adjustedPairs(), result.deletedPairs());
     }
 
+    /**
+     * Runs outside a job-wide transaction: the activity query and every write chunk get their own, so the run is
+     * bounded by its work rather than a single transaction timeout.
+     */
     @Scheduled(cron = "${personalization.computation.similarity-cron:0 30 */6 * * *}")
-    @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 300)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void computeProductSimilarity() {
         log.info("Starting product similarity computation");
+        long started = System.nanoTime();
         Instant since = Instant.now().minus(similarityLookbackDays, ChronoUnit.DAYS);
         List<Object[]> productData = userEventRepository.findProductsWithRecentActivity(since, 3);
 
@@ -99,35 +97,17 @@ public class ComputationJobService {
         }
 
         Map<UUID, ProductFeatures> featureMap = buildProductFeatureMap(productData);
-        List<UUID> productIds = limitSimilarityProducts(featureMap.keySet());
-        Map<com.rumal.personalization_service.model.ProductSimilarityId, Double> similarityScores =
-                computeSimilarityScores(productIds, featureMap);
-        int upsertedCount = upsertSimilarityScores(similarityScores, Instant.now());
-
-        log.info("Product similarity computation complete: {} similarity entries computed for {} products", upsertedCount, productIds.size());
-    }
-
-    private double computeSimilarityScore(ProductFeatures a, ProductFeatures b) {
-        double categoryScore = 0;
-        if (!a.categories().isEmpty() && !b.categories().isEmpty()) {
-            Set<String> intersection = new HashSet<>(a.categories());
-            intersection.retainAll(b.categories());
-            Set<String> union = new HashSet<>(a.categories());
-            union.addAll(b.categories());
-            categoryScore = (double) intersection.size() / union.size();
-        }
-
-        double brandBonus = 0;
-        if (a.brandName() != null && a.brandName().equalsIgnoreCase(b.brandName())) {
-            brandBonus = 0.2;
-        }
-
-        double vendorBonus = 0;
-        if (a.vendorId() != null && a.vendorId().equals(b.vendorId())) {
-            vendorBonus = 0.1;
-        }
-
-        return Math.min(1.0, categoryScore * 0.7 + brandBonus + vendorBonus);
+        long loaded = System.nanoTime();
+        Map<UUID, List<SimilarProduct>> similarProducts = new ProductSimilarityEngine(similarityTopK)
+                .compute(featureMap.values());
+        long computed = System.nanoTime();
+        int upsertedCount = productSimilarityWriter.upsert(similarProducts, Instant.now());
+        long written = System.nanoTime();
+
+        log.info("Product similarity computation complete: {} similarity entries for {} products in {}ms "
+                        + "(load {}ms, compute {}ms, write {}ms)",
+                upsertedCount, featureMap.size(), millis(started, written),
+                millis(started, loaded), millis(loaded, computed), millis(computed, written));
     }
 
     @Scheduled(cron = "${personalization.computation.affinity-cron:0 0 * * * *}")
@@ -146,24 +126,6 @@ public class ComputationJobService {
         log.info("User affinity computation complete: {} affinities upserted for {} users", upsertedCount, userScores.size());
     }
 
-    @Scheduled(cron = "${personalization.computation.trending-cron:0 */30 * * * *}")
-    public void refreshTrendingCache() {
-        Cache cache = cacheManager.getCache("trending");
-        if (cache != null) {
-            cache.clear();
-        }
-
-        for (int limit : List.of(8, 20, 50, 100)) {
-            try {
-                trendingService.getTrending(limit);
-            } catch (Exception ex) {
-                log.warn("Failed warming trending cache for limit {}: {}", limit, ex.getMessage());
-            }
-        }
-
-        log.info("Trending cache refreshed and warmed");
-    }
-
     @Scheduled(cron = "${personalization.computation.cleanup-cron:0 0 3 * * *}")
     @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 120)
     @CacheEvict(cacheNames = {"similarProducts", "boughtTogether"}, allEntries = true)
@@ -171,91 +133,17 @@ public class ComputationJobService {
         log.info("Starting scheduled cleanup");
 
         Instant eventCutoff = Instant.now().minus(eventRetentionDays, ChronoUnit.DAYS);
-        int deletedEvents = userEventRepository.deleteByCreatedAtBefore(eventCutoff);
+        // purchase events are retired by expireCoPurchases once their pairs have been subtracted
+        int deletedEvents = userEventRepository.deleteNonPurchaseEventsBefore(eventCutoff);
 
         Instant sessionCutoff = Instant.now().minus(anonymousSessionExpiryDays, ChronoUnit.DAYS);
         int deletedSessions = anonymousSessionRepository.deleteStaleUnmergedSessions(sessionCutoff);
 
         Instant similarityCutoff = Instant.now().minus(7, ChronoUnit.DAYS);
         int deletedSimilarities = productSimilarityRepository.deleteStaleEntries(similarityCutoff);
-        int deletedCoPurchases = coPurchaseRepository.deleteStaleEntries(similarityCutoff);
-
-        log.info("Cleanup complete: {} events, {} sessions, {} similarities, {} co-purchases deleted",
-                deletedEvents, deletedSessions, deletedSimilarities, deletedCoPurchases);
-    }
-
-    private Map<String, Set<UUID>> loadPurchaseGroups(Instant since) {
-        List<Object[]> purchaseEvents = userEventRepository.findPurchaseEventsForCoPurchase(
-                since, PageRequest.of(0, coPurchaseMaxEvents));
-        Map<String, Set<UUID>> purchaseGroups = new LinkedHashMap<>();
-
-        for (Object[] row : purchaseEvents) {
-            UUID userId = (UUID) row[0];
-            UUID productId = (UUID) row[1];
-            Instant createdAt = (Instant) row[2];
-            long windowKey = createdAt.toEpochMilli() / (5 * 60 * 1000L);
-            String groupKey = userId + "::" + windowKey;
-            purchaseGroups.computeIfAbsent(groupKey, ignored -> new LinkedHashSet<>()).add(productId);
-        }
-
-        return purchaseGroups;
-    }
-
-    private Map<com.rumal.personalization_service.model.CoPurchaseId, Integer> countCoPurchasePairs(Map<String, Set<UUID>> purchaseGroups) {
-        Map<com.rumal.personalization_service.model.CoPurchaseId, Integer> pairCounts = new HashMap<>();
-
-        for (Set<UUID> products : purchaseGroups.values()) {
-            if (products.size() >= 2) {
-                List<UUID> productList = new ArrayList<>(products);
-                for (int i = 0; i < productList.size(); i++) {
-                    for (int j = i + 1; j < productList.size(); j++) {
-                        com.rumal.personalization_service.model.CoPurchaseId pairId =
-                                orderedCoPurchaseId(productList.get(i), productList.get(j));
-                        pairCounts.merge(pairId, 1, Integer::sum);
-                    }
-                }
-            }
-        }
-
-        return pairCounts;
-    }
-
-    private int upsertCoPurchases(Map<com.rumal.personalization_service.model.CoPurchaseId, Integer> pairCounts, Instant now) {
-        List<com.rumal.personalization_service.model.CoPurchaseId> pairIds = new ArrayList<>(pairCounts.keySet());
-        Map<com.rumal.personalization_service.model.CoPurchaseId, CoPurchase> existingMap = coPurchaseRepository.findAllById(pairIds)
-                .stream()
-                .collect(Collectors.toMap(
-                        entry -> new com.rumal.personalization_service.model.CoPurchaseId(entry.getProductIdA(), entry.getProductIdB()),
-                        entry -> entry));
-
-        List<CoPurchase> toSave = new ArrayList<>();
-        for (Map.Entry<com.rumal.personalization_service.model.CoPurchaseId, Integer> entry : pairCounts.entrySet()) {
-            com.rumal.personalization_service.model.CoPurchaseId pairId = entry.getKey();
-            Integer count = entry.getValue();
-            CoPurchase existing = existingMap.get(pairId);
-            if (existing != null) {
-                existing.setCoPurchaseCount(count);
-                existing.setLastComputedAt(now);
-                toSave.add(existing);
-            } else {
-                toSave.add(CoPurchase.builder()
-                        .productIdA(pairId.getProductIdA())
-                        .productIdB(pairId.getProductIdB())
-                        .coPurchaseCount(count)
-                        .lastComputedAt(now)
-                        .build());
-            }
-        }
-
-        coPurchaseRepository.saveAll(toSave);
-        return toSave.size();
-    }
 
-    private com.rumal.personalization_service.model.CoPurchaseId orderedCoPurchaseId(UUID firstProductId, UUID secondProductId) {
-        if (firstProductId.compareTo(secondProductId) < 0) {
-            return new com.rumal.personalization_service.model.CoPurchaseId(firstProductId, secondProductId);
-        }
-        return new com.rumal.personalization_service.model.CoPurchaseId(secondProductId, firstProductId);
+        log.info("Cleanup complete: {} events, {} sessions, {} similarities deleted",
+                deletedEvents, deletedSessions, deletedSimilarities);
     }
 
     private Map<UUID, ProductFeatures> buildProductFeatureMap(List<Object[]> productData) {
@@ -270,6 +158,10 @@ public class ComputationJobService {
         return featureMap;
     }
 
+    private static long millis(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000;
+    }
+
     private Set<String> parseCategories(String categorySlugs) {
         if (categorySlugs == null) {
             return Set.of();
@@ -281,94 +173,6 @@ public class ComputationJobService {
                 .collect(Collectors.toSet());
     }
 
-    private List<UUID> limitSimilarityProducts(Collection<UUID> productIds) {
-        List<UUID> limitedProductIds = new ArrayList<>(productIds);
-        if (limitedProductIds.size() > 500) {
-            log.warn("Limiting similarity computation from {} to 500 products", limitedProductIds.size());
-            return new ArrayList<>(limitedProductIds.subList(0, 500));
-        }
-        return limitedProductIds;
-    }
-
-    private Map<com.rumal.personalization_service.model.ProductSimilarityId, Double> computeSimilarityScores(
-            List<UUID> productIds,
-            Map<UUID, ProductFeatures> featureMap
-    ) {
-        Map<com.rumal.personalization_service.model.ProductSimilarityId, Double> similarityScores = new HashMap<>();
-
-        for (UUID productId : productIds) {
-            ProductFeatures baseFeatures = featureMap.get(productId);
-            List<Map.Entry<UUID, Double>> rankedMatches = rankSimilarProducts(productId, productIds, baseFeatures, featureMap);
-            int matchLimit = Math.min(20, rankedMatches.size());
-            for (int index = 0; index < matchLimit; index++) {
-                Map.Entry<UUID, Double> entry = rankedMatches.get(index);
-                similarityScores.put(
-                        new com.rumal.personalization_service.model.ProductSimilarityId(productId, entry.getKey()),
-                        entry.getValue()
-                );
-            }
-        }
-
-        return similarityScores;
-    }
-
-    private List<Map.Entry<UUID, Double>> rankSimilarProducts(
-            UUID baseProductId,
-            List<UUID> productIds,
-            ProductFeatures baseFeatures,
-            Map<UUID, ProductFeatures> featureMap
-    ) {
-        List<Map.Entry<UUID, Double>> scores = new ArrayList<>();
-        for (UUID candidateProductId : productIds) {
-            if (!baseProductId.equals(candidateProductId)) {
-                double score = computeSimilarityScore(baseFeatures, featureMap.get(candidateProductId));
-                if (score > 0.1) {
-                    scores.add(Map.entry(candidateProductId, score));
-                }
-            }
-        }
-
-        scores.sort((left, right) -> Double.compare(right.getValue(), left.getValue()));
-        return scores;
-    }
-
-    private int upsertSimilarityScores(
-            Map<com.rumal.personalization_service.model.ProductSimilarityId, Double> similarityScores,
-            Instant now
-    ) {
-        List<com.rumal.personalization_service.model.ProductSimilarityId> similarityIds = new ArrayList<>(similarityScores.keySet());
-        Map<com.rumal.personalization_service.model.ProductSimilarityId, ProductSimilarity> existingMap =
-                productSimilarityRepository.findAllById(similarityIds).stream()
-                        .collect(Collectors.toMap(
-                                entry -> new com.rumal.personalization_service.model.ProductSimilarityId(
-                                        entry.getProductId(),
-                                        entry.getSimilarProductId()
-                                ),
-                                entry -> entry));
-
-        List<ProductSimilarity> toSave = new ArrayList<>();
-        for (Map.Entry<com.rumal.personalization_service.model.ProductSimilarityId, Double> entry : similarityScores.entrySet()) {
-            com.rumal.personalization_service.model.ProductSimilarityId similarityId = entry.getKey();
-            double score = entry.getValue();
-            ProductSimilarity existing = existingMap.get(similarityId);
-            if (existing != null) {
-                existing.setScore(score);
-                existing.setLastComputedAt(now);
-                toSave.add(existing);
-            } else {
-                toSave.add(ProductSimilarity.builder()
-                        .productId(similarityId.getProductId())
-                        .similarProductId(similarityId.getSimilarProductId())
-                        .score(score)
-                        .lastComputedAt(now)
-                        .build());
-            }
-        }
-
-        productSimilarityRepository.saveAll(toSave);
-        return toSave.size();
-    }
-
     private Map<UUID, Map<String, Map<String, AffinityMetrics>>> buildUserScores(List<Object[]> aggregates) {
         Map<UUID, Map<String, Map<String, AffinityMetrics>>> userScores = new HashMap<>();
 
@@ -4,21 +4,31 @@ import com.rumal.personalization_service.dto.EventType;
 import com.rumal.personalization_service.dto.QueuedEventPayload;
 import com.rumal.personalization_service.dto.RecordEventRequest;
 import com.rumal.personalization_service.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Range;
 import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.PendingMessage;
 import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
 import org.springframework.data.redis.connection.stream.ReadOffset;
 import org.springframework.data.redis.connection.stream.Record;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StreamOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -33,7 +43,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -43,8 +57,13 @@ public class EventIngestionStreamService {
     private final StringRedisTemplate stringRedisTemplate;
     private final EventService eventService;
     private final TrackingOptOutService trackingOptOutService;
+    private final TrendingCounterService trendingCounterService;
+    private final MeterRegistry meterRegistry;
 
     private final AtomicBoolean consumerGroupReady = new AtomicBoolean(false);
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong streamLength = new AtomicLong();
+    private final AtomicLong pendingEntries = new AtomicLong();
 
     @Value("${spring.application.name:personalization-service}")
     private String applicationName;
@@ -64,12 +83,72 @@ public class EventIngestionStreamService {
     @Value("${personalization.ingestion.claim-idle:30s}")
     private Duration claimIdleDuration;
 
+    @Value("${personalization.ingestion.workers:4}")
+    private int workerCount;
+
+    @Value("${personalization.ingestion.block-timeout:1s}")
+    private Duration blockTimeout;
+
     private String consumerName;
+    private ExecutorService workers;
+    private Counter processedCounter;
+    private Counter failedCounter;
 
     @PostConstruct
     void initialize() {
         consumerName = applicationName + ":" + UUID.randomUUID();
         ensureConsumerGroup();
+        Gauge.builder("personalization.ingestion.stream.length", streamLength, AtomicLong::get)
+                .description("Entries in the personalization event stream")
+                .register(meterRegistry);
+        Gauge.builder("personalization.ingestion.stream.pending", pendingEntries, AtomicLong::get)
+                .description("Delivered but unacknowledged entries in the persister group")
+                .register(meterRegistry);
+        processedCounter = Counter.builder("personalization.ingestion.events")
+                .tag("result", "persisted")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("personalization.ingestion.events")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts {@code personalization.ingestion.workers} consumers, each blocking on {@code XREADGROUP} under its own
+     * consumer name so they split new entries between them instead of polling on a fixed delay. Blocking reads
+     * take a pooled connection each, and {@code block-timeout} has to stay below the Redis command timeout.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorkers() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        int count = Math.max(1, workerCount);
+        workers = Executors.newFixedThreadPool(count, Thread.ofPlatform()
+                .name("person-ingest-", 0)
+                .daemon(true)
+                .factory());
+        for (int i = 0; i < count; i++) {
+            String workerConsumer = consumerName + ":" + i;
+            workers.submit(() -> runWorker(workerConsumer));
+        }
+        log.info("Started {} personalization event stream consumers for {}", count, streamKey);
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        running.set(false);
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(blockTimeout.toMillis() + 5000, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
     public void enqueue(UUID userId, String sessionId, List<RecordEventRequest> requests) {
@@ -83,32 +162,67 @@ public class EventIngestionStreamService {
 
         ensureConsumerGroup();
 
-        StreamOperations<String, String, String> streamOperations = stringRedisTemplate.opsForStream();
         RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions.maxlen(streamMaxLen)
                 .approximateTrimming(true);
 
+        List<Map<String, String>> entries = requests.stream()
+                .map(request -> toStreamFields(userId, sessionId, request))
+                .toList();
         try {
-            for (RecordEventRequest request : requests) {
-                Record<String, Map<String, String>> streamRecord = Record.of(toStreamFields(userId, sessionId, request))
-                        .withStreamKey(streamKey);
-                streamOperations.add(streamRecord, options);
-            }
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (Map<String, String> fields : entries) {
+                    redis.xAdd(StreamRecords.string(fields).withStreamKey(streamKey), options);
+                }
+                return null;
+            });
         } catch (Exception ex) {
             throw new ServiceUnavailableException("Personalization ingestion unavailable", ex);
         }
     }
 
-    @Scheduled(fixedDelayString = "${personalization.ingestion.poll-delay-ms:500}")
-    public void drainQueuedEvents() {
+    /**
+     * Takes over entries left pending by consumers that died or stalled, and samples the stream backlog gauges.
+     */
+    @Scheduled(fixedDelayString = "${personalization.ingestion.claim-interval-ms:5000}")
+    public void reclaimStaleEvents() {
         try {
             ensureConsumerGroup();
             processRecords(claimStaleRecords());
-            processRecords(readNewRecords());
+            sampleBacklog();
         } catch (Exception ex) {
-            log.warn("Failed draining personalization event stream {}: {}", streamKey, ex.getMessage());
+            log.warn("Failed reclaiming personalization event stream {}: {}", streamKey, ex.getMessage());
+        }
+    }
+
+    private void runWorker(String workerConsumer) {
+        while (running.get()) {
+            try {
+                ensureConsumerGroup();
+                processRecords(readNewRecords(workerConsumer));
+            } catch (Exception ex) {
+                if (!running.get()) {
+                    return;
+                }
+                log.warn("Failed draining personalization event stream {}: {}", streamKey, ex.getMessage());
+                try {
+                    Thread.sleep(blockTimeout.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
         }
     }
 
+    private void sampleBacklog() {
+        StreamOperations<String, String, String> streamOperations = stringRedisTemplate.opsForStream();
+        Long length = streamOperations.size(streamKey);
+        streamLength.set(length == null ? 0 : length);
+        PendingMessagesSummary pending = streamOperations.pending(streamKey, streamGroup);
+        pendingEntries.set(pending == null ? 0 : pending.getTotalPendingMessages());
+    }
+
     private void ensureConsumerGroup() {
         if (consumerGroupReady.get()) {
             return;
@@ -179,11 +293,11 @@ public class EventIngestionStreamService {
         );
     }
 
-    private List<MapRecord<String, String, String>> readNewRecords() {
+    private List<MapRecord<String, String, String>> readNewRecords(String workerConsumer) {
         StreamOperations<String, String, String> streamOperations = stringRedisTemplate.opsForStream();
         List<MapRecord<String, String, String>> records = streamOperations.read(
-                Consumer.from(streamGroup, consumerName),
-                StreamReadOptions.empty().count(batchSize),
+                Consumer.from(streamGroup, workerConsumer),
+                StreamReadOptions.empty().count(batchSize).block(blockTimeout),
                 StreamOffset.create(streamKey, ReadOffset.lastConsumed())
         );
         return records == null ? List.of() : records;
@@ -214,9 +328,12 @@ public class EventIngestionStreamService {
         }
 
         try {
-            eventService.persistBatch(payloads);
+            List<QueuedEventPayload> persisted = eventService.persistBatch(payloads);
             acknowledgeAndDelete(validRecords);
+            processedCounter.increment(validRecords.size());
+            trendingCounterService.record(persisted);
         } catch (Exception ex) {
+            failedCounter.increment(validRecords.size());
             log.warn("Failed processing {} personalization events: {}", validRecords.size(), ex.getMessage());
         }
     }
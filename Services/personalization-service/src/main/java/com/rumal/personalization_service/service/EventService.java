@@ -39,11 +39,13 @@ public class EventService {
     private final TrackingOptOutService trackingOptOutService;
     private final RecommendationProfileService recommendationProfileService;
     private final ProductClient productClient;
+    private final CoPurchaseCounterService coPurchaseCounterService;
+    private final RecommendationCandidateService recommendationCandidateService;
 
     @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 60)
-    public void persistBatch(List<QueuedEventPayload> events) {
+    public List<QueuedEventPayload> persistBatch(List<QueuedEventPayload> events) {
         if (events == null || events.isEmpty()) {
-            return;
+            return List.of();
         }
 
         Set<String> existingEventIds = findExistingEventIds(events);
@@ -53,9 +55,10 @@ public class EventService {
         PersistenceBatch batch = prepareBatch(events, existingEventIds, mergedSessionUsers, productSummaries, activityAt);
 
         if (batch.isEmpty()) {
-            return;
+            return List.of();
         }
 
+        coPurchaseCounterService.recordPurchases(batch.purchases());
         userEventRepository.saveAll(batch.userEvents());
         userEventRepository.flush();
         upsertAnonymousSessions(batch.anonymousSessionIds(), activityAt);
@@ -63,6 +66,7 @@ public class EventService {
 
         log.debug("Persisted {} personalization events ({} deduped, {} anonymous sessions touched)",
                 batch.userEvents().size(), existingEventIds.size(), batch.anonymousSessionIds().size());
+        return batch.acceptedEvents();
     }
 
     private Set<String> findExistingEventIds(List<QueuedEventPayload> events) {
@@ -90,19 +94,21 @@ public class EventService {
         List<UserEvent> userEvents = new ArrayList<>();
         List<PersistedEventState> persistedStates = new ArrayList<>();
         Set<String> anonymousSessionIds = new LinkedHashSet<>();
+        List<QueuedEventPayload> acceptedEvents = new ArrayList<>();
 
         for (QueuedEventPayload event : events) {
             PreparedEvent preparedEvent = prepareEvent(event, existingEventIds, mergedSessionUsers, productSummaries, activityAt);
             if (preparedEvent != null) {
                 userEvents.add(preparedEvent.userEvent());
                 persistedStates.add(preparedEvent.persistedState());
+                acceptedEvents.add(event);
                 if (preparedEvent.touchAnonymousSession()) {
                     anonymousSessionIds.add(preparedEvent.persistedState().sessionId());
                 }
             }
         }
 
-        return new PersistenceBatch(userEvents, persistedStates, anonymousSessionIds);
+        return new PersistenceBatch(userEvents, persistedStates, anonymousSessionIds, acceptedEvents);
     }
 
     private PreparedEvent prepareEvent(
@@ -314,7 +320,11 @@ public class EventService {
     }
 
     private void updateReadModels(List<PersistedEventState> persistedStates) {
+        Set<UUID> affectedUserIds = new LinkedHashSet<>();
         for (PersistedEventState state : persistedStates) {
+            if (state.userId() != null) {
+                affectedUserIds.add(state.userId());
+            }
             recommendationProfileService.recordEvent(
                     state.userId(),
                     state.sessionId(),
@@ -328,6 +338,7 @@ public class EventService {
                 recentlyViewedService.add(state.userId(), state.sessionId(), state.productId());
             }
         }
+        recommendationCandidateService.evictUsers(affectedUserIds);
     }
 
     private String truncate(String value, int maxLength) {
@@ -371,10 +382,18 @@ public class EventService {
     private record PersistenceBatch(
             List<UserEvent> userEvents,
             List<PersistedEventState> persistedStates,
-            Set<String> anonymousSessionIds
+            Set<String> anonymousSessionIds,
+            List<QueuedEventPayload> acceptedEvents
     ) {
         private boolean isEmpty() {
             return userEvents.isEmpty();
         }
+
+        private List<CoPurchaseCounterService.Purchase> purchases() {
+            return persistedStates.stream()
+                    .filter(state -> "PURCHASE".equals(state.eventType()) && state.userId() != null)
+                    .map(state -> new CoPurchaseCounterService.Purchase(state.userId(), state.productId(), state.occurredAt()))
+                    .toList();
+        }
     }
 }
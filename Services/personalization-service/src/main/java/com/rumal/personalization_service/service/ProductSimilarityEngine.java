@@ -0,0 +1,211 @@
+package com.rumal.personalization_service.service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Content-based product similarity: Jaccard overlap of category sets weighted 0.7, plus 0.2 for the same brand and
+ * 0.1 for the same vendor, keeping matches that score above {@value #MIN_SCORE}.
+ * <p>
+ * Instead of comparing every pair, products are indexed by category and brand and each product only scores the
+ * products that appear in its own postings. A vendor match alone scores exactly 0.1 and never qualifies, so vendors
+ * only add a bonus to candidates found through categories or brand. Products are scored in parallel on the common
+ * fork-join pool, each keeping a bounded top-K heap.
+ */
+public final class ProductSimilarityEngine {
+
+    static final double MIN_SCORE = 0.1;
+
+    public record ProductFeatures(UUID productId, Set<String> categories, UUID vendorId, String brandName) {}
+
+    public record SimilarProduct(UUID productId, double score) {}
+
+    private final int topK;
+
+    public ProductSimilarityEngine(int topK) {
+        this.topK = Math.max(1, topK);
+    }
+
+    public Map<UUID, List<SimilarProduct>> compute(Collection<ProductFeatures> products) {
+        ProductFeatures[] items = products.toArray(ProductFeatures[]::new);
+        int count = items.length;
+        int[][] categories = new int[count][];
+        int[] brands = new int[count];
+        int[] vendors = new int[count];
+
+        Map<String, Integer> categoryIds = new HashMap<>();
+        Map<String, Integer> brandIds = new HashMap<>();
+        Map<UUID, Integer> vendorIds = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            ProductFeatures features = items[i];
+            Set<String> productCategories = features.categories() == null ? Set.of() : features.categories();
+            int[] ids = new int[productCategories.size()];
+            int next = 0;
+            for (String category : productCategories) {
+                ids[next++] = categoryIds.computeIfAbsent(category, ignored -> categoryIds.size());
+            }
+            categories[i] = ids;
+            brands[i] = features.brandName() == null
+                    ? -1
+                    : brandIds.computeIfAbsent(features.brandName().toLowerCase(Locale.ROOT), ignored -> brandIds.size());
+            vendors[i] = features.vendorId() == null
+                    ? -1
+                    : vendorIds.computeIfAbsent(features.vendorId(), ignored -> vendorIds.size());
+        }
+
+        int[][] categoryPostings = invert(categories, categoryIds.size());
+        int[][] brandPostings = invert(brands, brandIds.size());
+
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(count));
+        @SuppressWarnings("unchecked")
+        List<SimilarProduct>[] results = new List[count];
+        IntStream.range(0, count).parallel().forEach(i -> results[i] =
+                rank(i, items, categories, brands, vendors, categoryPostings, brandPostings, scratch.get()));
+
+        Map<UUID, List<SimilarProduct>> similar = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (!results[i].isEmpty()) {
+                similar.put(items[i].productId(), results[i]);
+            }
+        }
+        return similar;
+    }
+
+    /**
+     * Reference pairwise score; the indexed path computes the same value from postings.
+     */
+    static double score(ProductFeatures a, ProductFeatures b) {
+        double categoryScore = 0;
+        if (!a.categories().isEmpty() && !b.categories().isEmpty()) {
+            long shared = a.categories().stream().filter(b.categories()::contains).count();
+            categoryScore = (double) shared / (a.categories().size() + b.categories().size() - shared);
+        }
+        double brandBonus = a.brandName() != null && a.brandName().equalsIgnoreCase(b.brandName()) ? 0.2 : 0;
+        double vendorBonus = a.vendorId() != null && a.vendorId().equals(b.vendorId()) ? 0.1 : 0;
+        return Math.min(1.0, categoryScore * 0.7 + brandBonus + vendorBonus);
+    }
+
+    private List<SimilarProduct> rank(
+            int product,
+            ProductFeatures[] items,
+            int[][] categories,
+            int[] brands,
+            int[] vendors,
+            int[][] categoryPostings,
+            int[][] brandPostings,
+            Scratch scratch
+    ) {
+        int[] shared = scratch.shared;
+        boolean[] sameBrand = scratch.sameBrand;
+        int[] touched = scratch.touched;
+        int touchedCount = 0;
+
+        for (int category : categories[product]) {
+            for (int candidate : categoryPostings[category]) {
+                if (candidate != product) {
+                    if (shared[candidate] == 0 && !sameBrand[candidate]) {
+                        touched[touchedCount++] = candidate;
+                    }
+                    shared[candidate]++;
+                }
+            }
+        }
+        if (brands[product] >= 0) {
+            for (int candidate : brandPostings[brands[product]]) {
+                if (candidate != product) {
+                    if (shared[candidate] == 0 && !sameBrand[candidate]) {
+                        touched[touchedCount++] = candidate;
+                    }
+                    sameBrand[candidate] = true;
+                }
+            }
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(topK + 1, Match.WORST_FIRST);
+        int productCategories = categories[product].length;
+        for (int t = 0; t < touchedCount; t++) {
+            int candidate = touched[t];
+            int overlap = shared[candidate];
+            double categoryScore = overlap == 0
+                    ? 0
+                    : (double) overlap / (productCategories + categories[candidate].length - overlap);
+            double score = Math.min(1.0, categoryScore * 0.7
+                    + (sameBrand[candidate] ? 0.2 : 0)
+                    + (vendors[product] >= 0 && vendors[product] == vendors[candidate] ? 0.1 : 0));
+            shared[candidate] = 0;
+            sameBrand[candidate] = false;
+
+            if (score > MIN_SCORE) {
+                if (best.size() < topK) {
+                    best.add(new Match(candidate, score));
+                } else if (Match.WORST_FIRST.compare(best.peek(), new Match(candidate, score)) < 0) {
+                    best.poll();
+                    best.add(new Match(candidate, score));
+                }
+            }
+        }
+
+        if (best.isEmpty()) {
+            return List.of();
+        }
+        return best.stream()
+                .sorted(Match.WORST_FIRST.reversed())
+                .map(match -> new SimilarProduct(items[match.index()].productId(), match.score()))
+                .toList();
+    }
+
+    private static int[][] invert(int[][] features, int featureCount) {
+        int[] sizes = new int[featureCount];
+        for (int[] productFeatures : features) {
+            for (int feature : productFeatures) {
+                sizes[feature]++;
+            }
+        }
+        int[][] postings = new int[featureCount][];
+        for (int feature = 0; feature < featureCount; feature++) {
+            postings[feature] = new int[sizes[feature]];
+        }
+        int[] fill = new int[featureCount];
+        for (int product = 0; product < features.length; product++) {
+            for (int feature : features[product]) {
+                postings[feature][fill[feature]++] = product;
+            }
+        }
+        return postings;
+    }
+
+    private static int[][] invert(int[] features, int featureCount) {
+        int[][] wrapped = new int[features.length][];
+        for (int product = 0; product < features.length; product++) {
+            wrapped[product] = features[product] < 0 ? new int[0] : new int[]{features[product]};
+        }
+        return invert(wrapped, featureCount);
+    }
+
+    private record Match(int index, double score) {
+        // lowest score first; on ties the later product is dropped first so results are deterministic
+        static final Comparator<Match> WORST_FIRST = Comparator.comparingDouble(Match::score)
+                .thenComparing(Comparator.comparingInt(Match::index).reversed());
+    }
+
+    private static final class Scratch {
+        private final int[] shared;
+        private final boolean[] sameBrand;
+        private final int[] touched;
+
+        private Scratch(int size) {
+            shared = new int[size];
+            sameBrand = new boolean[size];
+            touched = new int[size];
+        }
+    }
+}
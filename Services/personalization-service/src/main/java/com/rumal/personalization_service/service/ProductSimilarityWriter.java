@@ -0,0 +1,83 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.service.ProductSimilarityEngine.SimilarProduct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes a similarity run to {@code product_similarity} with a batched {@code INSERT ... ON CONFLICT DO UPDATE},
+ * one short transaction per chunk of rows. A run produces up to products x top-K rows, which the persistence context
+ * cannot load and dirty-check inside one job transaction; chunks keep every transaction and its row locks small, and
+ * rows are written in key order so concurrent runs lock them in the same order.
+ * <p>
+ * A run that fails part-way leaves earlier chunks committed. Those rows simply carry the newer scores; the rest keep
+ * their previous ones until the next run, and the cleanup job removes rows no run has refreshed for a week.
+ */
+@Service
+public class ProductSimilarityWriter {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String UPSERT_SQL = """
+            INSERT INTO product_similarity (product_id, similar_product_id, score, last_computed_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (product_id, similar_product_id) DO UPDATE
+            SET score = EXCLUDED.score,
+                last_computed_at = EXCLUDED.last_computed_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public ProductSimilarityWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${personalization.computation.similarity-write-chunk:10000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.chunkTransaction.setTimeout(60);
+        this.chunkSize = Math.max(BATCH_SIZE, chunkSize);
+    }
+
+    /**
+     * @return number of rows written
+     */
+    public int upsert(Map<UUID, List<SimilarProduct>> similarProducts, Instant computedAt) {
+        List<Row> rows = new ArrayList<>();
+        similarProducts.forEach((productId, matches) -> matches.forEach(match ->
+                rows.add(new Row(productId, match.productId(), match.score()))));
+        rows.sort(Row.ORDER);
+
+        Timestamp timestamp = Timestamp.from(computedAt);
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<Row> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            chunkTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, chunk, BATCH_SIZE, (statement, row) -> {
+                        statement.setObject(1, row.productId());
+                        statement.setObject(2, row.similarProductId());
+                        statement.setDouble(3, row.score());
+                        statement.setTimestamp(4, timestamp);
+                    }));
+        }
+        return rows.size();
+    }
+
+    private record Row(UUID productId, UUID similarProductId, double score) {
+        static final Comparator<Row> ORDER = Comparator.comparing(Row::productId).thenComparing(Row::similarProductId);
+    }
+}
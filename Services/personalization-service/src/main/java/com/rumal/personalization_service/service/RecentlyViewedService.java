@@ -39,14 +39,10 @@ public class RecentlyViewedService {
     }
 
     public List<ProductSummary> get(UUID userId, String sessionId, int limit) {
-        String key = resolveKey(userId, sessionId);
-        if (key == null) return List.of();
+        List<UUID> productIds = getProductIds(userId, sessionId, limit);
+        if (productIds.isEmpty()) return List.of();
 
         try {
-            Set<String> ids = redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1L);
-            if (ids == null || ids.isEmpty()) return List.of();
-
-            List<UUID> productIds = ids.stream().map(UUID::fromString).toList();
             List<ProductSummary> products = productClient.getBatchSummaries(productIds);
 
             Map<UUID, ProductSummary> productMap = new LinkedHashMap<>();
@@ -58,6 +54,32 @@ public class RecentlyViewedService {
                     .map(productMap::get)
                     .filter(Objects::nonNull)
                     .toList();
+        } catch (Exception e) {
+            log.warn("Failed to resolve recently-viewed products for user={} session={}: {}", userId, sessionId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Most recently viewed product ids, newest first, without resolving product summaries.
+     */
+    public List<UUID> getProductIds(UUID userId, String sessionId, int limit) {
+        String key = resolveKey(userId, sessionId);
+        if (key == null || limit <= 0) return List.of();
+
+        try {
+            Set<String> ids = redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1L);
+            if (ids == null || ids.isEmpty()) return List.of();
+
+            List<UUID> productIds = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                try {
+                    productIds.add(UUID.fromString(id));
+                } catch (IllegalArgumentException ignored) {
+                    // not a product id
+                }
+            }
+            return productIds;
         } catch (Exception e) {
             log.warn("Failed to fetch recently-viewed from Redis for key={}: {}", key, e.getMessage());
             return List.of();
@@ -0,0 +1,303 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.client.ProductClient;
+import com.rumal.personalization_service.client.dto.ProductSummary;
+import com.rumal.personalization_service.model.CoPurchase;
+import com.rumal.personalization_service.model.ProductSimilarity;
+import com.rumal.personalization_service.model.UserAffinity;
+import com.rumal.personalization_service.repository.CoPurchaseRepository;
+import com.rumal.personalization_service.repository.ProductSimilarityRepository;
+import com.rumal.personalization_service.repository.UserAffinityRepository;
+import com.rumal.personalization_service.repository.UserEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Personalized ranking for signed-in users.
+ * <p>
+ * Candidates are generated from four sources: products similar to the user's recently viewed and purchased products,
+ * products co-purchased with them, the recently viewed products themselves, and the trending products of the user's
+ * top categories. Each candidate is then scored once against the user's category and brand affinities, and the
+ * ranked list is cached per user until {@link EventService} persists new events for that user.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED, timeout = 10)
+public class RecommendationCandidateService {
+
+    private static final String CACHE_NAME = "recommendations";
+    private static final int AFFINITY_CATEGORIES = 5;
+    private static final int AFFINITY_BRANDS = 3;
+
+    private static final double SIMILAR_WEIGHT = 1.0;
+    private static final double CO_PURCHASE_WEIGHT = 1.0;
+    private static final double RECENTLY_VIEWED_WEIGHT = 0.3;
+    private static final double CATEGORY_POPULAR_WEIGHT = 0.5;
+    private static final double CATEGORY_AFFINITY_WEIGHT = 0.6;
+    private static final double BRAND_AFFINITY_WEIGHT = 0.4;
+
+    private final ProductSimilarityRepository productSimilarityRepository;
+    private final CoPurchaseRepository coPurchaseRepository;
+    private final UserAffinityRepository userAffinityRepository;
+    private final UserEventRepository userEventRepository;
+    private final RecommendationProfileService recommendationProfileService;
+    private final RecentlyViewedService recentlyViewedService;
+    private final TrendingService trendingService;
+    private final TrendingCounterService trendingCounterService;
+    private final ProductClient productClient;
+    private final CacheManager cacheManager;
+
+    @Value("${personalization.recommendations.max-results:100}")
+    private int maxResults;
+
+    @Value("${personalization.recommendations.seed-products:10}")
+    private int seedProducts;
+
+    @Value("${personalization.recommendations.co-purchases-per-seed:20}")
+    private int coPurchasesPerSeed;
+
+    @Value("${personalization.recommendations.per-category-candidates:20}")
+    private int perCategoryCandidates;
+
+    /**
+     * Up to {@code max-results} recommendations for the user, best first. Callers slice the cached list to the
+     * requested size so every limit shares one cache entry.
+     */
+    @Cacheable(cacheNames = CACHE_NAME, key = "'user::' + #userId")
+    public List<ProductSummary> rankForUser(UUID userId) {
+        Affinities affinities = loadAffinities(userId);
+        Set<UUID> purchased = resolveRecentPurchases(userId, Instant.now().minus(30, ChronoUnit.DAYS));
+        List<UUID> viewed = recentlyViewedService.getProductIds(userId, null, seedProducts);
+        Map<UUID, Double> seeds = seedWeights(viewed, purchased);
+
+        Map<UUID, Candidate> candidates = new HashMap<>();
+        addRecentlyViewed(candidates, viewed);
+        addSimilar(candidates, seeds);
+        addCoPurchased(candidates, seeds);
+        addCategoryPopular(candidates, affinities.categories());
+        candidates.keySet().removeAll(purchased);
+
+        resolveSummaries(candidates);
+        List<ProductSummary> ranked = score(candidates, affinities);
+        return fillWithTrending(ranked, purchased);
+    }
+
+    /**
+     * Drops the cached rankings of users whose behaviour just changed. Failures only delay freshness until the
+     * entry's TTL, so they are logged rather than propagated into event persistence.
+     */
+    public void evictUsers(Collection<UUID> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        for (UUID userId : userIds) {
+            try {
+                cache.evict("user::" + userId);
+            } catch (RuntimeException ex) {
+                log.warn("Failed evicting cached recommendations for user {}: {}", userId, ex.getMessage());
+            }
+        }
+    }
+
+    private Affinities loadAffinities(UUID userId) {
+        Map<String, Double> categories = recommendationProfileService.getTopUserCategoryScores(userId, AFFINITY_CATEGORIES);
+        Map<String, Double> brands = recommendationProfileService.getTopUserBrandScores(userId, AFFINITY_BRANDS);
+        if (categories.isEmpty() && brands.isEmpty()) {
+            categories = new LinkedHashMap<>();
+            brands = new LinkedHashMap<>();
+            List<UserAffinity> stored = userAffinityRepository.findByUserIdOrderByScoreDesc(
+                    userId, PageRequest.of(0, 4 * (AFFINITY_CATEGORIES + AFFINITY_BRANDS)));
+            for (UserAffinity affinity : stored) {
+                if ("CATEGORY".equals(affinity.getAffinityType()) && categories.size() < AFFINITY_CATEGORIES) {
+                    categories.putIfAbsent(affinity.getAffinityKey(), affinity.getScore());
+                } else if ("BRAND".equals(affinity.getAffinityType()) && brands.size() < AFFINITY_BRANDS) {
+                    brands.putIfAbsent(affinity.getAffinityKey(), affinity.getScore());
+                }
+            }
+        }
+        return new Affinities(normalize(categories), normalize(brands));
+    }
+
+    private Set<UUID> resolveRecentPurchases(UUID userId, Instant purchaseCutoff) {
+        Set<UUID> purchased = new HashSet<>(recommendationProfileService.getRecentPurchasedProductIds(userId, purchaseCutoff));
+        if (purchased.isEmpty()) {
+            purchased.addAll(userEventRepository.findRecentPurchasedProductIds(userId, purchaseCutoff));
+        }
+        return purchased;
+    }
+
+    /**
+     * Recently viewed products weigh less the further back they were viewed; recent purchases weigh fully.
+     */
+    private Map<UUID, Double> seedWeights(List<UUID> viewed, Set<UUID> purchased) {
+        Map<UUID, Double> seeds = new LinkedHashMap<>();
+        for (int i = 0; i < viewed.size(); i++) {
+            seeds.put(viewed.get(i), 1.0 / (1 + 0.25 * i));
+        }
+        purchased.stream().limit(seedProducts).forEach(productId -> seeds.put(productId, 1.0));
+        return seeds;
+    }
+
+    private void addRecentlyViewed(Map<UUID, Candidate> candidates, List<UUID> viewed) {
+        for (int i = 0; i < viewed.size(); i++) {
+            candidate(candidates, viewed.get(i)).score += RECENTLY_VIEWED_WEIGHT / (1 + 0.25 * i);
+        }
+    }
+
+    private void addSimilar(Map<UUID, Candidate> candidates, Map<UUID, Double> seeds) {
+        if (seeds.isEmpty()) {
+            return;
+        }
+        for (ProductSimilarity similarity : productSimilarityRepository.findByProductIdIn(seeds.keySet())) {
+            double seedWeight = seeds.getOrDefault(similarity.getProductId(), 0.0);
+            candidate(candidates, similarity.getSimilarProductId()).score += SIMILAR_WEIGHT * similarity.getScore() * seedWeight;
+        }
+    }
+
+    private void addCoPurchased(Map<UUID, Candidate> candidates, Map<UUID, Double> seeds) {
+        if (seeds.isEmpty()) {
+            return;
+        }
+        List<CoPurchase> coPurchases = coPurchaseRepository.findByAnyProductId(
+                seeds.keySet(), PageRequest.of(0, seeds.size() * coPurchasesPerSeed));
+        if (coPurchases.isEmpty()) {
+            return;
+        }
+        double maxCount = Math.max(1, coPurchases.getFirst().getCoPurchaseCount());
+        for (CoPurchase coPurchase : coPurchases) {
+            double strength = CO_PURCHASE_WEIGHT * coPurchase.getCoPurchaseCount() / maxCount;
+            Double weightA = seeds.get(coPurchase.getProductIdA());
+            Double weightB = seeds.get(coPurchase.getProductIdB());
+            if (weightA != null) {
+                candidate(candidates, coPurchase.getProductIdB()).score += strength * weightA;
+            }
+            if (weightB != null) {
+                candidate(candidates, coPurchase.getProductIdA()).score += strength * weightB;
+            }
+        }
+    }
+
+    private void addCategoryPopular(Map<UUID, Candidate> candidates, Map<String, Double> categories) {
+        categories.forEach((category, affinity) -> {
+            List<ProductSummary> popular = trendingCounterService.topProductsInCategory(category, perCategoryCandidates);
+            for (int rank = 0; rank < popular.size(); rank++) {
+                ProductSummary product = popular.get(rank);
+                Candidate candidate = candidate(candidates, product.id());
+                candidate.summary = product;
+                candidate.score += CATEGORY_POPULAR_WEIGHT * affinity * (popular.size() - rank) / popular.size();
+            }
+        });
+    }
+
+    private void resolveSummaries(Map<UUID, Candidate> candidates) {
+        List<UUID> missing = candidates.entrySet().stream()
+                .filter(entry -> entry.getValue().summary == null)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (ProductSummary summary : productClient.getBatchSummaries(missing)) {
+            Candidate candidate = summary == null ? null : candidates.get(summary.id());
+            if (candidate != null) {
+                candidate.summary = summary;
+            }
+        }
+    }
+
+    private List<ProductSummary> score(Map<UUID, Candidate> candidates, Affinities affinities) {
+        List<ScoredProduct> scored = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates.values()) {
+            ProductSummary product = candidate.summary;
+            if (product == null || !product.active()) {
+                continue;
+            }
+            double categoryAffinity = 0;
+            if (product.categories() != null) {
+                for (String category : product.categories()) {
+                    categoryAffinity = Math.max(categoryAffinity, affinities.categories().getOrDefault(category, 0.0));
+                }
+            }
+            double brandAffinity = product.brandName() == null ? 0 : affinities.brands().getOrDefault(product.brandName(), 0.0);
+            scored.add(new ScoredProduct(product, candidate.score
+                    + CATEGORY_AFFINITY_WEIGHT * categoryAffinity
+                    + BRAND_AFFINITY_WEIGHT * brandAffinity));
+        }
+        return scored.stream()
+                .sorted(ScoredProduct.BEST_FIRST)
+                .limit(maxResults)
+                .map(ScoredProduct::product)
+                .toList();
+    }
+
+    private List<ProductSummary> fillWithTrending(List<ProductSummary> ranked, Set<UUID> excludedProductIds) {
+        if (ranked.size() >= maxResults) {
+            return ranked;
+        }
+        List<ProductSummary> filled = new ArrayList<>(ranked);
+        Set<UUID> seen = new HashSet<>();
+        ranked.forEach(product -> seen.add(product.id()));
+        for (ProductSummary product : trendingService.getTrending(maxResults)) {
+            if (filled.size() >= maxResults) {
+                break;
+            }
+            if (!excludedProductIds.contains(product.id()) && seen.add(product.id())) {
+                filled.add(product);
+            }
+        }
+        return List.copyOf(filled);
+    }
+
+    private static Candidate candidate(Map<UUID, Candidate> candidates, UUID productId) {
+        return candidates.computeIfAbsent(productId, ignored -> new Candidate());
+    }
+
+    private static Map<String, Double> normalize(Map<String, Double> scores) {
+        double max = scores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        if (max <= 0) {
+            return Map.of();
+        }
+        Map<String, Double> normalized = new LinkedHashMap<>();
+        scores.forEach((key, score) -> normalized.put(key, score / max));
+        return normalized;
+    }
+
+    private record Affinities(Map<String, Double> categories, Map<String, Double> brands) {
+    }
+
+    private record ScoredProduct(ProductSummary product, double score) {
+        static final Comparator<ScoredProduct> BEST_FIRST = Comparator.comparingDouble(ScoredProduct::score).reversed()
+                .thenComparing(scored -> scored.product().id());
+    }
+
+    private static final class Candidate {
+        private double score;
+        private ProductSummary summary;
+    }
+}
@@ -87,6 +87,17 @@ public class RecommendationProfileService {
         return readTopMembers(USER_BRAND_KEY_PREFIX + userId, limit);
     }
 
+    /**
+     * Top user category affinities with their accumulated event weights, best first.
+     */
+    public Map<String, Double> getTopUserCategoryScores(UUID userId, int limit) {
+        return readTopScores(USER_CATEGORY_KEY_PREFIX + userId, limit);
+    }
+
+    public Map<String, Double> getTopUserBrandScores(UUID userId, int limit) {
+        return readTopScores(USER_BRAND_KEY_PREFIX + userId, limit);
+    }
+
     public List<String> getTopSessionCategories(String sessionId, int limit) {
         if (!StringUtils.hasText(sessionId)) {
             return List.of();
@@ -267,6 +278,31 @@ public class RecommendationProfileService {
         }
     }
 
+    private Map<String, Double> readTopScores(String key, int limit) {
+        if (limit <= 0) {
+            return Map.of();
+        }
+
+        try {
+            Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                    .reverseRangeWithScores(key, 0, limit - 1L);
+            if (tuples == null || tuples.isEmpty()) {
+                return Map.of();
+            }
+
+            Map<String, Double> scores = new LinkedHashMap<>();
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                if (StringUtils.hasText(tuple.getValue()) && tuple.getScore() != null) {
+                    scores.put(tuple.getValue(), tuple.getScore());
+                }
+            }
+            return scores;
+        } catch (Exception ex) {
+            log.warn("Failed to read personalization profile key {}: {}", key, ex.getMessage());
+            return Map.of();
+        }
+    }
+
     private double eventWeight(EventType eventType) {
         return switch (eventType) {
             case PURCHASE -> 10.0;
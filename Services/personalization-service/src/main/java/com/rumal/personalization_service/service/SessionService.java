@@ -65,9 +65,9 @@ public class SessionService {
     private void evictRecommendationsFor(UUID userId, String sessionId) {
         Cache cache = cacheManager.getCache("recommendations");
         if (cache == null) return;
-        // Evict for all commonly used limit values (controller caps at 100)
+        // user rankings are cached once per user; anonymous ones per limit (controller caps at 100)
+        cache.evict("user::" + userId);
         for (int limit : List.of(5, 10, 20, 50, 100)) {
-            cache.evict("user::" + userId + "::" + limit);
             cache.evict("anon::" + sessionId + "::" + limit);
         }
     }
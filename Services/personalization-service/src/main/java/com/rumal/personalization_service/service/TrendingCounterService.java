@@ -0,0 +1,333 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.client.ProductClient;
+import com.rumal.personalization_service.client.dto.ProductSummary;
+import com.rumal.personalization_service.dto.EventType;
+import com.rumal.personalization_service.dto.QueuedEventPayload;
+import com.rumal.personalization_service.repository.UserEventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window trending counters fed by the ingestion stream as events are persisted.
+ * <p>
+ * Weighted event counts land in one Redis sorted set per time bucket, so every replica sees the events drained by
+ * the others. Each replica periodically folds the live buckets into a decayed ranking with a single weighted
+ * {@code ZUNIONSTORE} (bucket weight halves every {@code half-life}) and keeps the resolved top products in memory,
+ * which is what {@link TrendingService} serves.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingCounterService {
+
+    private static final String KEY_PREFIX = "person:trending:v1:";
+    private static final String BUCKET_KEY_PREFIX = KEY_PREFIX + "bucket:";
+    private static final String SEEDED_KEY = KEY_PREFIX + "seeded";
+    private static final Duration SEED_CLAIM_TTL = Duration.ofMinutes(5);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserEventRepository userEventRepository;
+    private final ProductClient productClient;
+
+    private final Map<UUID, ProductSummary> summaryCache = new ConcurrentHashMap<>();
+    private volatile List<ProductSummary> topProducts = List.of();
+    private volatile Map<String, List<ProductSummary>> topProductsByCategory = Map.of();
+    private volatile boolean warm;
+    private volatile long summariesLoadedAt;
+    private String rankingKey;
+
+    @Value("${personalization.trending-window-hours:48}")
+    private int trendingWindowHours;
+
+    @Value("${personalization.trending.bucket-minutes:60}")
+    private int bucketMinutes;
+
+    @Value("${personalization.trending.half-life:12h}")
+    private Duration halfLife;
+
+    @Value("${personalization.trending.max-tracked:300}")
+    private int maxTracked;
+
+    @Value("${personalization.trending.summary-refresh:5m}")
+    private Duration summaryRefresh;
+
+    @PostConstruct
+    void initialize() {
+        rankingKey = KEY_PREFIX + "ranking:" + UUID.randomUUID();
+    }
+
+    /**
+     * Top trending products from the in-memory snapshot, best first.
+     */
+    public List<ProductSummary> topProducts(int limit) {
+        List<ProductSummary> current = topProducts;
+        return current.size() <= limit ? current : current.subList(0, limit);
+    }
+
+    /**
+     * Top trending products carrying {@code category}, best first. Built from the same snapshot, so it only covers
+     * the {@code max-tracked} products of the overall ranking.
+     */
+    public List<ProductSummary> topProductsInCategory(String category, int limit) {
+        List<ProductSummary> current = topProductsByCategory.getOrDefault(category, List.of());
+        return current.size() <= limit ? current : current.subList(0, limit);
+    }
+
+    /**
+     * Whether at least one ranking refresh has completed, so an empty {@link #topProducts(int)} means "nothing is
+     * trending" rather than "not loaded yet".
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public void record(List<QueuedEventPayload> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long windowStart = now - windowMillis();
+        Map<String, Map<String, Double>> increments = new LinkedHashMap<>();
+        for (QueuedEventPayload event : events) {
+            if (event == null || event.productId() == null || event.eventType() == null) {
+                continue;
+            }
+            long occurredAt = event.enqueuedAt() != null ? Math.min(event.enqueuedAt().toEpochMilli(), now) : now;
+            if (occurredAt < windowStart) {
+                continue;
+            }
+            increments.computeIfAbsent(bucketKey(occurredAt), ignored -> new HashMap<>())
+                    .merge(event.productId().toString(), weight(event.eventType()), Double::sum);
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        long ttlSeconds = (windowMillis() + bucketMillis()) / 1000;
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                increments.forEach((key, scores) -> {
+                    scores.forEach((productId, score) -> redis.zIncrBy(key, score, productId));
+                    redis.expire(key, ttlSeconds);
+                });
+                return null;
+            });
+        } catch (Exception ex) {
+            log.warn("Failed recording trending counters for {} events: {}", events.size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Seeds the counters from the event table the first time the service runs against an empty Redis, so trending
+     * is not empty until a full window of events has streamed through. The seeded scores go into a single bucket in
+     * the middle of the window and age out with it.
+     * <p>
+     * {@code seeded} is first claimed for a few minutes so replicas starting together seed once, and is only marked
+     * done once the scores are written; a failed seed drops the claim for the next start. The mark expires with the
+     * window. Seeding is skipped while any bucket of the window is still live, since those already hold the streamed
+     * events and the history would count them twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromHistory() {
+        String claim = "seeding:" + UUID.randomUUID();
+        boolean claimed = false;
+        try {
+            claimed = Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(SEEDED_KEY, claim, SEED_CLAIM_TTL));
+            if (!claimed) {
+                return;
+            }
+            Instant since = Instant.now().minusMillis(windowMillis());
+            Long liveBuckets = stringRedisTemplate.countExistingKeys(windowBucketKeys(System.currentTimeMillis()));
+            List<Object[]> rows = liveBuckets != null && liveBuckets > 0
+                    ? List.of()
+                    : userEventRepository.findTrendingProducts(since, PageRequest.of(0, maxTracked));
+            if (!rows.isEmpty()) {
+                long seedAt = System.currentTimeMillis() - windowMillis() / 2;
+                String key = bucketKey(seedAt);
+                ZSetOperations<String, String> zSetOperations = stringRedisTemplate.opsForZSet();
+                for (Object[] row : rows) {
+                    zSetOperations.incrementScore(key, row[0].toString(), ((Number) row[1]).doubleValue());
+                }
+                stringRedisTemplate.expire(key, Duration.ofMillis(windowMillis() / 2 + bucketMillis()));
+                log.info("Seeded trending counters with {} products from event history", rows.size());
+            }
+            stringRedisTemplate.opsForValue().set(SEEDED_KEY, Instant.now().toString(), Duration.ofMillis(windowMillis()));
+        } catch (Exception ex) {
+            log.warn("Failed seeding trending counters: {}", ex.getMessage());
+            if (claimed) {
+                releaseSeedClaim(claim);
+            }
+        }
+        refresh();
+    }
+
+    private void releaseSeedClaim(String claim) {
+        try {
+            if (claim.equals(stringRedisTemplate.opsForValue().get(SEEDED_KEY))) {
+                stringRedisTemplate.delete(SEEDED_KEY);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed releasing trending seed claim, it expires in {}: {}", SEED_CLAIM_TTL, ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${personalization.trending.refresh-ms:5000}")
+    public void refresh() {
+        try {
+            List<UUID> ranked = rankProducts(System.currentTimeMillis());
+            List<ProductSummary> resolved = resolveSummaries(ranked);
+            topProductsByCategory = indexByCategory(resolved);
+            topProducts = resolved;
+            warm = true;
+        } catch (Exception ex) {
+            log.warn("Failed refreshing trending ranking: {}", ex.getMessage());
+        }
+    }
+
+    private List<UUID> rankProducts(long now) {
+        long bucketMillis = bucketMillis();
+        long currentBucket = Math.floorDiv(now, bucketMillis);
+        List<String> keys = windowBucketKeys(now);
+        double[] weights = new double[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            long bucket = currentBucket - i;
+            long age = Math.max(0, now - (bucket * bucketMillis + bucketMillis / 2));
+            weights[i] = Math.pow(0.5, (double) age / halfLife.toMillis());
+        }
+
+        ZSetOperations<String, String> zSetOperations = stringRedisTemplate.opsForZSet();
+        zSetOperations.unionAndStore(keys.getFirst(), keys.subList(1, keys.size()), rankingKey, Aggregate.SUM,
+                Weights.of(weights));
+        Set<String> members = zSetOperations.reverseRange(rankingKey, 0, maxTracked - 1L);
+        stringRedisTemplate.delete(rankingKey);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ranked = new ArrayList<>(members.size());
+        for (String member : members) {
+            try {
+                ranked.add(UUID.fromString(member));
+            } catch (IllegalArgumentException ignored) {
+                // not a product id
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * Maps the ranking to product summaries, fetching only products that were not already known. Everything is
+     * re-fetched once {@code summary-refresh} has passed so price and stock changes show up. Products the catalog no
+     * longer returns drop out of the list.
+     */
+    private List<ProductSummary> resolveSummaries(List<UUID> ranked) {
+        if (ranked.isEmpty()) {
+            summaryCache.clear();
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        boolean fullRefresh = now - summariesLoadedAt >= summaryRefresh.toMillis();
+        List<UUID> missing = fullRefresh
+                ? ranked
+                : ranked.stream().filter(id -> !summaryCache.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            try {
+                List<ProductSummary> fetched = productClient.getBatchSummaries(missing);
+                if (fullRefresh) {
+                    summaryCache.clear();
+                    summariesLoadedAt = now;
+                }
+                for (ProductSummary summary : fetched) {
+                    if (summary != null && summary.id() != null) {
+                        summaryCache.put(summary.id(), summary);
+                    }
+                }
+            } catch (Exception ex) {
+                log.warn("Failed resolving {} trending product summaries: {}", missing.size(), ex.getMessage());
+            }
+        }
+        summaryCache.keySet().retainAll(Set.copyOf(ranked));
+
+        List<ProductSummary> resolved = new ArrayList<>(ranked.size());
+        for (UUID productId : ranked) {
+            ProductSummary summary = summaryCache.get(productId);
+            if (summary != null) {
+                resolved.add(summary);
+            }
+        }
+        return List.copyOf(resolved);
+    }
+
+    private static Map<String, List<ProductSummary>> indexByCategory(List<ProductSummary> ranked) {
+        Map<String, List<ProductSummary>> byCategory = new HashMap<>();
+        for (ProductSummary summary : ranked) {
+            if (summary.categories() == null) {
+                continue;
+            }
+            for (String category : summary.categories()) {
+                byCategory.computeIfAbsent(category, ignored -> new ArrayList<>()).add(summary);
+            }
+        }
+        byCategory.replaceAll((category, products) -> List.copyOf(products));
+        return byCategory;
+    }
+
+    /**
+     * Keys of the buckets covering the window ending at {@code now}, newest first.
+     */
+    private List<String> windowBucketKeys(long now) {
+        long currentBucket = Math.floorDiv(now, bucketMillis());
+        int bucketCount = (int) Math.ceil((double) windowMillis() / bucketMillis()) + 1;
+        List<String> keys = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            keys.add(BUCKET_KEY_PREFIX + (currentBucket - i));
+        }
+        return keys;
+    }
+
+    private String bucketKey(long epochMillis) {
+        return BUCKET_KEY_PREFIX + Math.floorDiv(epochMillis, bucketMillis());
+    }
+
+    private long bucketMillis() {
+        return Duration.ofMinutes(Math.max(1, bucketMinutes)).toMillis();
+    }
+
+    private long windowMillis() {
+        return Duration.ofHours(Math.max(1, trendingWindowHours)).toMillis();
+    }
+
+    private static double weight(EventType eventType) {
+        return switch (eventType) {
+            case PURCHASE -> 10;
+            case WISHLIST_ADD -> 5;
+            case ADD_TO_CART -> 3;
+            default -> 1;
+        };
+    }
+}
@@ -6,11 +6,8 @@ import com.rumal.personalization_service.repository.UserEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -20,17 +17,26 @@ import java.util.UUID;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED, timeout = 10)
 public class TrendingService {
 
+    private final TrendingCounterService trendingCounterService;
     private final UserEventRepository userEventRepository;
     private final ProductClient productClient;
 
     @Value("${personalization.trending-window-hours:48}")
     private int trendingWindowHours;
 
-    @Cacheable(cacheNames = "trending", key = "#limit")
     public List<ProductSummary> getTrending(int limit) {
+        if (trendingCounterService.isWarm()) {
+            return trendingCounterService.topProducts(limit);
+        }
+        return queryTrending(limit);
+    }
+
+    /**
+     * Aggregates the raw event table; only used until the in-memory ranking has loaded for the first time.
+     */
+    private List<ProductSummary> queryTrending(int limit) {
         Instant since = Instant.now().minus(trendingWindowHours, ChronoUnit.HOURS);
         List<Object[]> rows = userEventRepository.findTrendingProducts(since, PageRequest.of(0, limit));
 
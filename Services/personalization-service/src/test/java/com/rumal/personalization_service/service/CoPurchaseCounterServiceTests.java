@@ -0,0 +1,160 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.repository.UserEventRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CoPurchaseCounterServiceTests {
+
+    private final UserEventRepository userEventRepository = mock(UserEventRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final CoPurchaseCounterService counterService = new CoPurchaseCounterService(userEventRepository, jdbcTemplate);
+
+    @Test
+    void recordPurchasesCountsOnlyPairsNewToTheWindow() throws SQLException {
+        UUID userId = UUID.randomUUID();
+        Instant windowStart = Instant.ofEpochMilli(1_700_000_100_000L / CoPurchaseCounterService.GROUP_WINDOW_MILLIS
+                * CoPurchaseCounterService.GROUP_WINDOW_MILLIS);
+        UUID earlier = UUID.randomUUID();
+        UUID repeated = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+        when(userEventRepository.findPurchasesForUsersBetween(any(), any(), any())).thenReturn(List.of(
+                new Object[]{userId, earlier, windowStart.plusSeconds(10)},
+                new Object[]{userId, repeated, windowStart.plusSeconds(20)}
+        ));
+
+        int pairs = counterService.recordPurchases(List.of(
+                new CoPurchaseCounterService.Purchase(userId, repeated, windowStart.plusSeconds(60)),
+                new CoPurchaseCounterService.Purchase(userId, fresh, windowStart.plusSeconds(61))
+        ));
+
+        assertEquals(2, pairs);
+        assertEquals(Set.of(Set.of(fresh, earlier), Set.of(fresh, repeated)), capturedPairs().keySet());
+    }
+
+    @Test
+    void recordPurchasesIgnoresAnonymousPurchases() {
+        int pairs = counterService.recordPurchases(List.of(
+                new CoPurchaseCounterService.Purchase(null, UUID.randomUUID(), Instant.now()),
+                new CoPurchaseCounterService.Purchase(null, UUID.randomUUID(), Instant.now())
+        ));
+
+        assertEquals(0, pairs);
+        verify(userEventRepository, never()).findPurchasesForUsersBetween(any(), any(), any());
+    }
+
+    @Test
+    void expireBeforeSkipsWhenAnotherInstanceHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(false);
+
+        CoPurchaseCounterService.ExpiryResult result = counterService.expireBefore(Instant.now());
+
+        assertFalse(result.ran());
+        verify(userEventRepository, never()).deletePurchaseEventsBefore(any());
+    }
+
+    @Test
+    void expireBeforeSubtractsPairsOfExpiredWindows() throws SQLException {
+        UUID userId = UUID.randomUUID();
+        Instant purchasedAt = Instant.parse("2025-01-01T10:01:00Z");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+        when(userEventRepository.findPurchaseUserIdsBefore(any(), any(), any())).thenReturn(List.of(userId));
+        when(userEventRepository.findPurchasesForUsersBetween(eq(List.of(userId)), any(), any())).thenReturn(List.of(
+                new Object[]{userId, first, purchasedAt},
+                new Object[]{userId, second, purchasedAt.plusSeconds(30)}
+        ));
+        when(userEventRepository.deletePurchaseEventsBefore(any())).thenReturn(2);
+
+        CoPurchaseCounterService.ExpiryResult result = counterService.expireBefore(Instant.parse("2025-01-02T00:00:00Z"));
+
+        assertEquals(2, result.expiredEvents());
+        assertEquals(Map.of(Set.of(first, second), -1), capturedPairs());
+    }
+
+    @Test
+    void expireBeforePagesThroughBuyersByUserId() {
+        List<UUID> firstPage = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            firstPage.add(UUID.randomUUID());
+        }
+        UUID lastBuyer = UUID.randomUUID();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+        when(userEventRepository.findPurchaseUserIdsBefore(any(), any(), any())).thenReturn(firstPage, List.of(lastBuyer));
+        when(userEventRepository.findPurchasesForUsersBetween(any(), any(), any())).thenReturn(List.of());
+
+        counterService.expireBefore(Instant.parse("2025-01-02T00:00:00Z"));
+
+        ArgumentCaptor<UUID> after = ArgumentCaptor.forClass(UUID.class);
+        verify(userEventRepository, times(2)).findPurchaseUserIdsBefore(any(), after.capture(), any());
+        assertEquals(List.of(new UUID(0, 0), firstPage.getLast()), after.getAllValues());
+        verify(userEventRepository).findPurchasesForUsersBetween(eq(List.of(lastBuyer)), any(), any());
+        verify(userEventRepository).deletePurchaseEventsBefore(any());
+    }
+
+    @Test
+    void recordPurchasesLocksBuyersBeforeReadingTheirWindows() {
+        UUID userId = UUID.randomUUID();
+        when(userEventRepository.findPurchasesForUsersBetween(any(), any(), any())).thenReturn(List.of());
+
+        counterService.recordPurchases(List.of(
+                new CoPurchaseCounterService.Purchase(userId, UUID.randomUUID(), Instant.now()),
+                new CoPurchaseCounterService.Purchase(userId, UUID.randomUUID(), Instant.now())
+        ));
+
+        InOrder order = inOrder(jdbcTemplate, userEventRepository);
+        order.verify(jdbcTemplate).queryForObject(eq("SELECT 1 FROM pg_advisory_xact_lock(?, ?)"), eq(Integer.class),
+                any(), eq(userId.hashCode()));
+        order.verify(userEventRepository).findPurchasesForUsersBetween(any(), any(), any());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Map<Set<UUID>, Integer> capturedPairs() throws SQLException {
+        ArgumentCaptor<Collection> rows = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(), setter.capture());
+
+        Map<Set<UUID>, Integer> pairs = new HashMap<>();
+        for (Object row : rows.getValue()) {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            setter.getValue().setValues(statement, row);
+            ArgumentCaptor<Object> productIds = ArgumentCaptor.forClass(Object.class);
+            ArgumentCaptor<Integer> delta = ArgumentCaptor.forClass(Integer.class);
+            verify(statement, times(2)).setObject(anyInt(), productIds.capture());
+            verify(statement).setInt(eq(3), delta.capture());
+            pairs.put(Set.of((UUID) productIds.getAllValues().get(0), (UUID) productIds.getAllValues().get(1)),
+                    delta.getValue());
+        }
+        return pairs;
+    }
+}
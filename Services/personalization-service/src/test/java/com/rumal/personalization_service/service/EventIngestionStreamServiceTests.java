@@ -0,0 +1,79 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.dto.EventType;
+import com.rumal.personalization_service.dto.RecordEventRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StringRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EventIngestionStreamServiceTests {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final EventService eventService = mock(EventService.class);
+    private final TrackingOptOutService trackingOptOutService = mock(TrackingOptOutService.class);
+    private final TrendingCounterService trendingCounterService = mock(TrendingCounterService.class);
+
+    private final EventIngestionStreamService ingestionService = new EventIngestionStreamService(
+            stringRedisTemplate,
+            eventService,
+            trackingOptOutService,
+            trendingCounterService,
+            new SimpleMeterRegistry()
+    );
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ingestionService, "streamKey", "person:events:v1");
+        ReflectionTestUtils.setField(ingestionService, "streamMaxLen", 1000L);
+        ((AtomicBoolean) ReflectionTestUtils.getField(ingestionService, "consumerGroupReady")).set(true);
+    }
+
+    @Test
+    void enqueueWritesWholeBatchInOnePipeline() {
+        List<RecordEventRequest> requests = List.of(request(), request(), request());
+
+        ingestionService.enqueue(UUID.randomUUID(), "session-1", requests);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<RedisCallback<Object>> pipeline = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(stringRedisTemplate, times(1)).executePipelined(pipeline.capture());
+        verify(stringRedisTemplate, never()).opsForStream();
+
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        pipeline.getValue().doInRedis(connection);
+        verify(connection, times(3)).xAdd(any(StringRecord.class), any(RedisStreamCommands.XAddOptions.class));
+    }
+
+    @Test
+    void enqueueSkipsOptedOutUsers() {
+        UUID userId = UUID.randomUUID();
+        when(trackingOptOutService.hasOptedOut(userId)).thenReturn(true);
+
+        ingestionService.enqueue(userId, "session-1", List.of(request()));
+
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    private static RecordEventRequest request() {
+        return new RecordEventRequest(EventType.PRODUCT_VIEW, UUID.randomUUID(), "electronics", null, "Acme", null, null);
+    }
+}
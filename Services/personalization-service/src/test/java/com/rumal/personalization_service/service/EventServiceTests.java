@@ -32,6 +32,8 @@ class EventServiceTests {
     private final TrackingOptOutService trackingOptOutService = mock(TrackingOptOutService.class);
     private final RecommendationProfileService recommendationProfileService = mock(RecommendationProfileService.class);
     private final ProductClient productClient = mock(ProductClient.class);
+    private final CoPurchaseCounterService coPurchaseCounterService = mock(CoPurchaseCounterService.class);
+    private final RecommendationCandidateService recommendationCandidateService = mock(RecommendationCandidateService.class);
 
     private final EventService eventService = new EventService(
             userEventRepository,
@@ -39,7 +41,9 @@ class EventServiceTests {
             recentlyViewedService,
             trackingOptOutService,
             recommendationProfileService,
-            productClient
+            productClient,
+            coPurchaseCounterService,
+            recommendationCandidateService
     );
 
     @Test
@@ -90,6 +94,7 @@ class EventServiceTests {
                 payload.enqueuedAt()
         );
         verify(anonymousSessionRepository, never()).saveAll(any());
+        verify(recommendationCandidateService).evictUsers(Set.of(userId));
     }
 
     private ProductSummary product(UUID productId) {
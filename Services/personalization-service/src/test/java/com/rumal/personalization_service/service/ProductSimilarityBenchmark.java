@@ -0,0 +1,153 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.service.ProductSimilarityEngine.ProductFeatures;
+import com.rumal.personalization_service.service.ProductSimilarityEngine.SimilarProduct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling curve of {@link ProductSimilarityEngine} over synthetic catalogs: roughly one category per 40 products,
+ * one brand per 100 and one vendor per 200, with 0-3 categories per product. {@code uniform} spreads products evenly
+ * over categories; {@code skewed} draws categories from a power law, so the largest category holds about a tenth of
+ * the catalog, which is the worst case for the postings scan. Compare the score per size to see how far from
+ * quadratic the indexed path grows.
+ * <p>
+ * {@code computeAndWrite} is the whole job after the activity query: the engine plus
+ * {@link ProductSimilarityWriter} upserting every row into a throw-away {@code product_similarity} table on a scratch
+ * PostgreSQL, so rerunning it measures the update path the scheduled job takes. Run with {@code mvn test-compile}
+ * and then {@code org.openjdk.jmh.Main ProductSimilarityBenchmark -p jdbcUrl=jdbc:postgresql://.../bench} on the
+ * test classpath; without {@code jdbcUrl}, {@code computeAndWrite} fails in setup and only {@code indexedTopK}
+ * reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProductSimilarityBenchmark {
+
+    @Param({"10000", "25000", "50000", "100000"})
+    public int products;
+
+    @Param({"uniform", "skewed"})
+    public String distribution;
+
+    private List<ProductFeatures> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        catalog = "skewed".equals(distribution)
+                ? skewedCatalog(random, products)
+                : ProductSimilarityEngineTests.randomCatalog(random, products);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({""})
+        public String jdbcUrl;
+
+        @Param({"postgres"})
+        public String user;
+
+        @Param({"postgres"})
+        public String password;
+
+        private JdbcTemplate jdbcTemplate;
+        private ProductSimilarityWriter writer;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if (jdbcUrl.isBlank()) {
+                throw new IllegalStateException("computeAndWrite needs -p jdbcUrl=<scratch PostgreSQL>");
+            }
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?")
+                    + "reWriteBatchedInserts=true", user, password);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS product_similarity");
+            jdbcTemplate.execute("""
+                    CREATE TABLE product_similarity (
+                        product_id uuid NOT NULL,
+                        similar_product_id uuid NOT NULL,
+                        score double precision NOT NULL,
+                        last_computed_at timestamp(6) with time zone NOT NULL,
+                        PRIMARY KEY (product_id, similar_product_id)
+                    )""");
+            jdbcTemplate.execute("CREATE INDEX idx_product_similarity_last_computed ON product_similarity (last_computed_at)");
+            writer = new ProductSimilarityWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 10_000);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS product_similarity");
+        }
+    }
+
+    @Benchmark
+    public Map<UUID, List<SimilarProduct>> indexedTopK() {
+        return new ProductSimilarityEngine(20).compute(catalog);
+    }
+
+    @Benchmark
+    public int computeAndWrite(Database database) {
+        return database.writer.upsert(new ProductSimilarityEngine(20).compute(catalog), Instant.now());
+    }
+
+    // category index = size * u^3, so low indices dominate: P(category-0) is about (1 / categories)^(1/3)
+    static List<ProductFeatures> skewedCatalog(Random random, int size) {
+        int categoryCount = Math.max(8, size / 40);
+        int brandCount = Math.max(4, size / 100);
+        List<UUID> vendors = new ArrayList<>();
+        for (int i = 0; i < Math.max(3, size / 200); i++) {
+            vendors.add(UUID.randomUUID());
+        }
+        List<ProductFeatures> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Set<String> categories = new HashSet<>();
+            int categoriesPerProduct = random.nextInt(4);
+            for (int c = 0; c < categoriesPerProduct; c++) {
+                double u = random.nextDouble();
+                categories.add("category-" + (int) (categoryCount * u * u * u));
+            }
+            String brand = random.nextInt(5) == 0 ? null : "brand-" + random.nextInt(brandCount);
+            UUID vendor = random.nextInt(10) == 0 ? null : vendors.get(random.nextInt(vendors.size()));
+            products.add(new ProductFeatures(UUID.randomUUID(), categories, vendor, brand));
+        }
+        return products;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSimilarityBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.service.ProductSimilarityEngine.ProductFeatures;
+import com.rumal.personalization_service.service.ProductSimilarityEngine.SimilarProduct;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSimilarityEngineTests {
+
+    @Test
+    void indexedScoringMatchesPairwiseComparison() {
+        List<ProductFeatures> products = randomCatalog(new Random(42), 400);
+        int topK = 20;
+
+        Map<UUID, List<SimilarProduct>> similar = new ProductSimilarityEngine(topK).compute(products);
+
+        for (int i = 0; i < products.size(); i++) {
+            ProductFeatures base = products.get(i);
+            List<Integer> expected = new ArrayList<>();
+            for (int j = 0; j < products.size(); j++) {
+                if (j != i && ProductSimilarityEngine.score(base, products.get(j)) > ProductSimilarityEngine.MIN_SCORE) {
+                    expected.add(j);
+                }
+            }
+            expected.sort(Comparator.<Integer>comparingDouble(j -> -ProductSimilarityEngine.score(base, products.get(j)))
+                    .thenComparingInt(j -> j));
+            List<UUID> expectedIds = expected.stream().limit(topK).map(j -> products.get(j).productId()).toList();
+
+            List<UUID> actualIds = similar.getOrDefault(base.productId(), List.of()).stream()
+                    .map(SimilarProduct::productId)
+                    .toList();
+            assertEquals(expectedIds, actualIds, "similar products for index " + i);
+        }
+    }
+
+    @Test
+    void vendorOnlyMatchIsNotSimilar() {
+        UUID vendorId = UUID.randomUUID();
+        ProductFeatures first = new ProductFeatures(UUID.randomUUID(), Set.of("shoes"), vendorId, "Acme");
+        ProductFeatures second = new ProductFeatures(UUID.randomUUID(), Set.of("phones"), vendorId, "Globex");
+
+        Map<UUID, List<SimilarProduct>> similar = new ProductSimilarityEngine(20).compute(List.of(first, second));
+
+        assertTrue(similar.isEmpty());
+    }
+
+    @Test
+    void brandMatchIsCaseInsensitive() {
+        ProductFeatures first = new ProductFeatures(UUID.randomUUID(), Set.of(), null, "Acme");
+        ProductFeatures second = new ProductFeatures(UUID.randomUUID(), Set.of(), null, "ACME");
+
+        Map<UUID, List<SimilarProduct>> similar = new ProductSimilarityEngine(20).compute(List.of(first, second));
+
+        assertFalse(similar.isEmpty());
+        assertEquals(0.2, similar.get(first.productId()).getFirst().score(), 1e-9);
+    }
+
+    static List<ProductFeatures> randomCatalog(Random random, int size) {
+        int categoryCount = Math.max(8, size / 40);
+        int brandCount = Math.max(4, size / 100);
+        List<UUID> vendors = new ArrayList<>();
+        for (int i = 0; i < Math.max(3, size / 200); i++) {
+            vendors.add(UUID.randomUUID());
+        }
+        List<ProductFeatures> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Set<String> categories = new HashSet<>();
+            int categoriesPerProduct = random.nextInt(4);
+            for (int c = 0; c < categoriesPerProduct; c++) {
+                categories.add("category-" + random.nextInt(categoryCount));
+            }
+            String brand = random.nextInt(5) == 0 ? null : "brand-" + random.nextInt(brandCount);
+            UUID vendor = random.nextInt(10) == 0 ? null : vendors.get(random.nextInt(vendors.size()));
+            products.add(new ProductFeatures(UUID.randomUUID(), categories, vendor, brand));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,77 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.service.ProductSimilarityEngine.SimilarProduct;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductSimilarityWriterTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final ProductSimilarityWriter writer = new ProductSimilarityWriter(jdbcTemplate, transactionManager, 1000);
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void upsertWritesRowsInKeyOrderOneTransactionPerChunk() throws SQLException {
+        Map<UUID, List<SimilarProduct>> similar = new HashMap<>();
+        for (int i = 0; i < 250; i++) {
+            List<SimilarProduct> matches = new ArrayList<>();
+            for (int k = 0; k < 10; k++) {
+                matches.add(new SimilarProduct(UUID.randomUUID(), 0.5));
+            }
+            similar.put(UUID.randomUUID(), matches);
+        }
+
+        int written = writer.upsert(similar, Instant.now());
+
+        assertEquals(2500, written);
+        ArgumentCaptor<TransactionDefinition> transactions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(3)).getTransaction(transactions.capture());
+        transactions.getAllValues().forEach(definition ->
+                assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getPropagationBehavior()));
+        verify(transactionManager, times(3)).commit(any());
+
+        ArgumentCaptor<Collection> chunks = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), chunks.capture(), anyInt(), setter.capture());
+        assertEquals(List.of(1000, 1000, 500), chunks.getAllValues().stream().map(Collection::size).toList());
+
+        List<UUID> productIds = new ArrayList<>();
+        for (Object row : chunks.getAllValues().stream().flatMap(Collection::stream).toList()) {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            setter.getValue().setValues(statement, row);
+            ArgumentCaptor<Object> productId = ArgumentCaptor.forClass(Object.class);
+            verify(statement).setObject(eq(1), productId.capture());
+            productIds.add((UUID) productId.getValue());
+        }
+        List<UUID> sorted = new ArrayList<>(productIds);
+        sorted.sort(Comparator.naturalOrder());
+        assertEquals(sorted, productIds);
+    }
+}
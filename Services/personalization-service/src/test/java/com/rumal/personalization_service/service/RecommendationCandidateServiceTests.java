@@ -0,0 +1,174 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.client.ProductClient;
+import com.rumal.personalization_service.client.dto.ProductSummary;
+import com.rumal.personalization_service.model.CoPurchase;
+import com.rumal.personalization_service.model.ProductSimilarity;
+import com.rumal.personalization_service.model.UserAffinity;
+import com.rumal.personalization_service.repository.CoPurchaseRepository;
+import com.rumal.personalization_service.repository.ProductSimilarityRepository;
+import com.rumal.personalization_service.repository.UserAffinityRepository;
+import com.rumal.personalization_service.repository.UserEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecommendationCandidateServiceTests {
+
+    private final ProductSimilarityRepository productSimilarityRepository = mock(ProductSimilarityRepository.class);
+    private final CoPurchaseRepository coPurchaseRepository = mock(CoPurchaseRepository.class);
+    private final UserAffinityRepository userAffinityRepository = mock(UserAffinityRepository.class);
+    private final UserEventRepository userEventRepository = mock(UserEventRepository.class);
+    private final RecommendationProfileService recommendationProfileService = mock(RecommendationProfileService.class);
+    private final RecentlyViewedService recentlyViewedService = mock(RecentlyViewedService.class);
+    private final TrendingService trendingService = mock(TrendingService.class);
+    private final TrendingCounterService trendingCounterService = mock(TrendingCounterService.class);
+    private final ProductClient productClient = mock(ProductClient.class);
+    private final CacheManager cacheManager = mock(CacheManager.class);
+
+    private final RecommendationCandidateService candidateService = new RecommendationCandidateService(
+            productSimilarityRepository,
+            coPurchaseRepository,
+            userAffinityRepository,
+            userEventRepository,
+            recommendationProfileService,
+            recentlyViewedService,
+            trendingService,
+            trendingCounterService,
+            productClient,
+            cacheManager
+    );
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(candidateService, "maxResults", 4);
+        ReflectionTestUtils.setField(candidateService, "seedProducts", 10);
+        ReflectionTestUtils.setField(candidateService, "coPurchasesPerSeed", 20);
+        ReflectionTestUtils.setField(candidateService, "perCategoryCandidates", 20);
+        when(recommendationProfileService.getRecentPurchasedProductIds(eq(userId), any())).thenReturn(Set.of());
+        when(userEventRepository.findRecentPurchasedProductIds(eq(userId), any())).thenReturn(List.of());
+        when(trendingService.getTrending(anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void rankForUserGeneratesCandidatesBeyondTrendingAndRanksByAffinity() {
+        ProductSummary viewed = product("electronics", "Acme");
+        ProductSummary similar = product("electronics", "Acme");
+        ProductSummary coPurchased = product("fashion", "Moda");
+        ProductSummary popular = product("electronics", "Other");
+        when(recommendationProfileService.getTopUserCategoryScores(userId, 5)).thenReturn(Map.of("electronics", 8.0));
+        when(recommendationProfileService.getTopUserBrandScores(userId, 3)).thenReturn(Map.of("Acme", 4.0));
+        when(recentlyViewedService.getProductIds(userId, null, 10)).thenReturn(List.of(viewed.id()));
+        when(productSimilarityRepository.findByProductIdIn(any())).thenReturn(List.of(
+                new ProductSimilarity(viewed.id(), similar.id(), 0.9, Instant.now())));
+        when(coPurchaseRepository.findByAnyProductId(any(), any())).thenReturn(List.of(
+                new CoPurchase(coPurchased.id(), viewed.id(), 3, Instant.now())));
+        when(trendingCounterService.topProductsInCategory("electronics", 20)).thenReturn(List.of(popular));
+        when(productClient.getBatchSummaries(any())).thenAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(0);
+            return List.of(viewed, similar, coPurchased).stream().filter(product -> ids.contains(product.id())).toList();
+        });
+
+        List<ProductSummary> ranked = candidateService.rankForUser(userId);
+
+        assertEquals(List.of(similar, viewed, popular, coPurchased), ranked);
+        verify(trendingService, never()).getTrending(anyInt());
+    }
+
+    @Test
+    void rankForUserExcludesRecentPurchasesAndFillsFromTrending() {
+        ProductSummary bought = product("electronics", "Acme");
+        ProductSummary trending = product("fashion", "Moda");
+        when(recommendationProfileService.getTopUserCategoryScores(userId, 5)).thenReturn(Map.of());
+        when(recommendationProfileService.getTopUserBrandScores(userId, 3)).thenReturn(Map.of());
+        when(recommendationProfileService.getRecentPurchasedProductIds(eq(userId), any())).thenReturn(Set.of(bought.id()));
+        when(recentlyViewedService.getProductIds(userId, null, 10)).thenReturn(List.of(bought.id()));
+        when(trendingService.getTrending(4)).thenReturn(List.of(bought, trending));
+
+        assertEquals(List.of(trending), candidateService.rankForUser(userId));
+    }
+
+    @Test
+    void rankForUserReadsStoredAffinitiesOnceWhenRedisProfileIsEmpty() {
+        ProductSummary popular = product("electronics", "Acme");
+        when(recommendationProfileService.getTopUserCategoryScores(userId, 5)).thenReturn(Map.of());
+        when(recommendationProfileService.getTopUserBrandScores(userId, 3)).thenReturn(Map.of());
+        when(recentlyViewedService.getProductIds(userId, null, 10)).thenReturn(List.of());
+        when(userAffinityRepository.findByUserIdOrderByScoreDesc(eq(userId), any())).thenReturn(List.of(
+                affinity("CATEGORY", "electronics"),
+                affinity("BRAND", "Acme")));
+        when(trendingCounterService.topProductsInCategory("electronics", 20)).thenReturn(List.of(popular));
+
+        assertEquals(List.of(popular), candidateService.rankForUser(userId));
+        verify(userAffinityRepository).findByUserIdOrderByScoreDesc(eq(userId), any());
+    }
+
+    @Test
+    void evictUsersDropsEachUsersRanking() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache("recommendations")).thenReturn(cache);
+
+        candidateService.evictUsers(List.of(userId));
+
+        verify(cache).evict("user::" + userId);
+    }
+
+    private UserAffinity affinity(String type, String key) {
+        return UserAffinity.builder()
+                .userId(userId)
+                .affinityType(type)
+                .affinityKey(key)
+                .score(1.0)
+                .eventCount(3)
+                .lastUpdatedAt(Instant.now())
+                .build();
+    }
+
+    private static ProductSummary product(String category, String brandName) {
+        return new ProductSummary(
+                UUID.randomUUID(),
+                "slug",
+                "Product",
+                "Short",
+                brandName,
+                null,
+                BigDecimal.valueOf(100),
+                null,
+                BigDecimal.valueOf(90),
+                "SKU",
+                category,
+                Set.of(category),
+                Set.of(category),
+                "SIMPLE",
+                "APPROVED",
+                UUID.randomUUID(),
+                0L,
+                0L,
+                true,
+                List.of(),
+                10,
+                "IN_STOCK",
+                false
+        );
+    }
+}
@@ -1,13 +1,9 @@
 package com.rumal.personalization_service.service;
 
 import com.rumal.personalization_service.client.dto.ProductSummary;
-import com.rumal.personalization_service.model.UserAffinity;
-import com.rumal.personalization_service.repository.UserAffinityRepository;
-import com.rumal.personalization_service.repository.UserEventRepository;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -15,7 +11,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -23,14 +19,12 @@ import static org.mockito.Mockito.when;
 
 class RecommendationServiceTests {
 
-    private final UserAffinityRepository userAffinityRepository = mock(UserAffinityRepository.class);
-    private final UserEventRepository userEventRepository = mock(UserEventRepository.class);
+    private final RecommendationCandidateService recommendationCandidateService = mock(RecommendationCandidateService.class);
     private final TrendingService trendingService = mock(TrendingService.class);
     private final RecommendationProfileService recommendationProfileService = mock(RecommendationProfileService.class);
 
     private final RecommendationService recommendationService = new RecommendationService(
-            userAffinityRepository,
-            userEventRepository,
+            recommendationCandidateService,
             trendingService,
             recommendationProfileService
     );
@@ -51,50 +45,18 @@ class RecommendationServiceTests {
 
         assertEquals(2, result.size());
         assertTrue(result.get(0).categories().contains("electronics"));
-        verify(userEventRepository, never()).findRecentCategorySlugsBySession(any(), any(), any());
+        verify(recommendationCandidateService, never()).rankForUser(any());
     }
 
     @Test
-    void getRecommendationsForUserFallsBackToPersistentAffinityWhenRedisProfileIsEmpty() {
+    void getRecommendationsForUserSlicesTheCachedRanking() {
         UUID userId = UUID.randomUUID();
+        List<ProductSummary> ranked = List.of(product("electronics", "Acme"), product("fashion", "Moda"), product("home", "Casa"));
+        when(recommendationCandidateService.rankForUser(userId)).thenReturn(ranked);
 
-        when(recommendationProfileService.getTopUserCategories(userId, 5)).thenReturn(List.of());
-        when(recommendationProfileService.getTopUserBrands(userId, 3)).thenReturn(List.of());
-        when(recommendationProfileService.getRecentPurchasedProductIds(eq(userId), any()))
-                .thenReturn(Set.of());
-        when(userAffinityRepository.findByUserIdAndAffinityTypeOrderByScoreDesc(eq(userId), eq("CATEGORY"), any()))
-                .thenReturn(List.of(UserAffinity.builder()
-                        .userId(userId)
-                        .affinityType("CATEGORY")
-                        .affinityKey("electronics")
-                        .score(1.0)
-                        .eventCount(3)
-                        .lastUpdatedAt(Instant.now())
-                        .build()));
-        when(userAffinityRepository.findByUserIdAndAffinityTypeOrderByScoreDesc(eq(userId), eq("BRAND"), any()))
-                .thenReturn(List.of(UserAffinity.builder()
-                        .userId(userId)
-                        .affinityType("BRAND")
-                        .affinityKey("Acme")
-                        .score(1.0)
-                        .eventCount(2)
-                        .lastUpdatedAt(Instant.now())
-                        .build()));
-        when(userEventRepository.findRecentPurchasedProductIds(eq(userId), any()))
-                .thenReturn(List.of());
-        when(trendingService.getTrending(6))
-                .thenReturn(List.of(
-                        product("fashion", "Moda"),
-                        product("electronics", "Acme"),
-                        product("electronics", "Other")
-                ));
-
-        List<ProductSummary> result = recommendationService.getRecommendationsForUser(userId, 2);
-
-        assertEquals(2, result.size());
-        assertEquals("Acme", result.get(0).brandName());
-        verify(userAffinityRepository).findByUserIdAndAffinityTypeOrderByScoreDesc(eq(userId), eq("CATEGORY"), any());
-        verify(userAffinityRepository).findByUserIdAndAffinityTypeOrderByScoreDesc(eq(userId), eq("BRAND"), any());
+        assertEquals(ranked.subList(0, 2), recommendationService.getRecommendationsForUser(userId, 2));
+        assertEquals(ranked, recommendationService.getRecommendationsForUser(userId, 20));
+        verify(trendingService, never()).getTrending(anyInt());
     }
 
     private ProductSummary product(String category, String brandName) {
@@ -57,7 +57,7 @@ class SessionServiceTests {
         verify(recommendationProfileService).mergeAnonymousToUser(userId, sessionId);
         verify(recentlyViewedService).mergeAnonymousToUser(userId, sessionId);
         verify(userEventRepository).mergeSessionEvents(userId, sessionId);
-        verify(recommendationCache).evict("user::" + userId + "::20");
+        verify(recommendationCache).evict("user::" + userId);
         verify(recommendationCache).evict("anon::" + sessionId + "::20");
     }
 }
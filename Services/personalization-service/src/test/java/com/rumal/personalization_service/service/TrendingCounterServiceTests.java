@@ -0,0 +1,196 @@
+package com.rumal.personalization_service.service;
+
+import com.rumal.personalization_service.client.ProductClient;
+import com.rumal.personalization_service.client.dto.ProductSummary;
+import com.rumal.personalization_service.dto.EventType;
+import com.rumal.personalization_service.dto.QueuedEventPayload;
+import com.rumal.personalization_service.repository.UserEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrendingCounterServiceTests {
+
+    private static final String SEEDED_KEY = "person:trending:v1:seeded";
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final UserEventRepository userEventRepository = mock(UserEventRepository.class);
+    private final ProductClient productClient = mock(ProductClient.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private TrendingCounterService trendingCounterService;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        trendingCounterService = new TrendingCounterService(stringRedisTemplate, userEventRepository, productClient);
+        ReflectionTestUtils.setField(trendingCounterService, "trendingWindowHours", 48);
+        ReflectionTestUtils.setField(trendingCounterService, "bucketMinutes", 60);
+        ReflectionTestUtils.setField(trendingCounterService, "halfLife", Duration.ofHours(12));
+        ReflectionTestUtils.setField(trendingCounterService, "maxTracked", 300);
+        ReflectionTestUtils.setField(trendingCounterService, "summaryRefresh", Duration.ofMinutes(5));
+        trendingCounterService.initialize();
+    }
+
+    @Test
+    void refreshServesRankingFromMemoryAndFetchesOnlyNewSummaries() {
+        ProductSummary first = product();
+        ProductSummary second = product();
+        ProductSummary third = product();
+        UUID unresolved = UUID.randomUUID();
+        when(zSetOperations.reverseRange(anyString(), anyLong(), anyLong()))
+                .thenReturn(members(second.id(), first.id(), unresolved))
+                .thenReturn(members(second.id(), third.id(), first.id()));
+        when(productClient.getBatchSummaries(List.of(second.id(), first.id(), unresolved)))
+                .thenReturn(List.of(first, second));
+        when(productClient.getBatchSummaries(List.of(third.id()))).thenReturn(List.of(third));
+
+        assertFalse(trendingCounterService.isWarm());
+        trendingCounterService.refresh();
+
+        assertTrue(trendingCounterService.isWarm());
+        assertEquals(List.of(second, first), trendingCounterService.topProducts(10));
+        assertEquals(List.of(second), trendingCounterService.topProducts(1));
+
+        trendingCounterService.refresh();
+
+        assertEquals(List.of(second, third, first), trendingCounterService.topProducts(10));
+        verify(productClient).getBatchSummaries(List.of(third.id()));
+    }
+
+    @Test
+    void recordSkipsEventsOutsideTheWindow() {
+        QueuedEventPayload stale = event(Instant.now().minus(3, ChronoUnit.DAYS));
+
+        trendingCounterService.record(List.of(stale));
+
+        verify(stringRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void recordPipelinesIncrementsForRecentEvents() {
+        trendingCounterService.record(List.of(event(Instant.now()), event(Instant.now().minusSeconds(30))));
+
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void seedMarksSeededWithTheWindowTtlOnlyAfterWritingScores() {
+        UUID productId = UUID.randomUUID();
+        when(valueOperations.setIfAbsent(eq(SEEDED_KEY), startsWith("seeding:"), eq(Duration.ofMinutes(5))))
+                .thenReturn(true);
+        when(stringRedisTemplate.countExistingKeys(any())).thenReturn(0L);
+        when(userEventRepository.findTrendingProducts(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{productId, 12L}));
+
+        trendingCounterService.seedFromHistory();
+
+        InOrder order = inOrder(zSetOperations, valueOperations);
+        order.verify(zSetOperations).incrementScore(anyString(), eq(productId.toString()), eq(12.0));
+        order.verify(valueOperations).set(eq(SEEDED_KEY), anyString(), eq(Duration.ofHours(48)));
+    }
+
+    @Test
+    void failedSeedReleasesTheClaimWithoutMarkingSeeded() {
+        when(valueOperations.setIfAbsent(eq(SEEDED_KEY), startsWith("seeding:"), any(Duration.class))).thenReturn(true);
+        when(stringRedisTemplate.countExistingKeys(any())).thenReturn(0L);
+        when(userEventRepository.findTrendingProducts(any(), any())).thenThrow(new IllegalStateException("db down"));
+        when(valueOperations.get(SEEDED_KEY)).thenAnswer(invocation -> claimValue());
+
+        trendingCounterService.seedFromHistory();
+
+        verify(valueOperations, never()).set(eq(SEEDED_KEY), anyString(), any(Duration.class));
+        verify(stringRedisTemplate).delete(SEEDED_KEY);
+    }
+
+    @Test
+    void seedSkipsHistoryWhileWindowBucketsAreLive() {
+        when(valueOperations.setIfAbsent(eq(SEEDED_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(stringRedisTemplate.countExistingKeys(any())).thenReturn(3L);
+
+        trendingCounterService.seedFromHistory();
+
+        verify(userEventRepository, never()).findTrendingProducts(any(), any());
+        verify(valueOperations).set(eq(SEEDED_KEY), anyString(), eq(Duration.ofHours(48)));
+    }
+
+    private String claimValue() {
+        ArgumentCaptor<String> claim = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq(SEEDED_KEY), claim.capture(), any(Duration.class));
+        return claim.getValue();
+    }
+
+    private static Set<String> members(UUID... productIds) {
+        Set<String> members = new LinkedHashSet<>();
+        for (UUID productId : productIds) {
+            members.add(productId.toString());
+        }
+        return members;
+    }
+
+    private static QueuedEventPayload event(Instant enqueuedAt) {
+        return new QueuedEventPayload(UUID.randomUUID().toString(), null, "session", EventType.PURCHASE,
+                UUID.randomUUID(), null, null, null, null, null, enqueuedAt);
+    }
+
+    private static ProductSummary product() {
+        return new ProductSummary(
+                UUID.randomUUID(),
+                "slug",
+                "Product",
+                "Short",
+                "Acme",
+                null,
+                BigDecimal.valueOf(100),
+                null,
+                BigDecimal.valueOf(90),
+                "SKU",
+                "electronics",
+                Set.of(),
+                Set.of(),
+                "SIMPLE",
+                "APPROVED",
+                UUID.randomUUID(),
+                0L,
+                0L,
+                true,
+                List.of(),
+                10,
+                "IN_STOCK",
+                false
+        );
+    }
+}
@@ -6,14 +6,13 @@ import com.rumal.poster_service.dto.SlugAvailabilityResponse;
 import com.rumal.poster_service.entity.PosterPlacement;
 import com.rumal.poster_service.service.PosterService;
 import com.rumal.poster_service.storage.PosterImageStorageService;
-import com.rumal.poster_service.storage.StoredImage;
+import com.rumal.shared.storage.StoredImage;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.http.CacheControl;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.http.HttpStatus;
@@ -26,7 +25,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.HandlerMapping;
 
-import java.time.Duration;
 import java.util.UUID;
 
 @RestController
@@ -57,15 +55,12 @@ public class PosterController {
     }
 
     @GetMapping("/images/**")
-    public ResponseEntity<byte[]> getImage(HttpServletRequest request) {
+    public ResponseEntity<Resource> getImage(HttpServletRequest request) {
         String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
         String bestPattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
         String key = new AntPathMatcher().extractPathWithinPattern(bestPattern, path);
         StoredImage image = posterImageStorageService.getImage(key);
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
-                .contentType(MediaType.parseMediaType(image.contentType()))
-                .body(image.bytes());
+        return image.toResponse();
     }
 
     @GetMapping("/{idOrSlug}")
@@ -2,6 +2,7 @@ package com.rumal.poster_service.storage;
 
 import com.rumal.poster_service.dto.PosterImagePrepareUploadRequest;
 import com.rumal.poster_service.dto.PosterImagePrepareUploadResponse;
+import com.rumal.shared.storage.StoredImage;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -6,6 +6,10 @@ import com.rumal.poster_service.dto.PosterImagePrepareUploadRequest;
 import com.rumal.poster_service.dto.PosterImagePrepareUploadResponse;
 import com.rumal.poster_service.dto.PosterImagePresignedUpload;
 import com.rumal.poster_service.exception.ValidationException;
+import com.rumal.shared.storage.ImageDerivativePipeline;
+import com.rumal.shared.storage.ImageDerivatives;
+import com.rumal.shared.storage.ObjectImageCache;
+import com.rumal.shared.storage.StoredImage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
@@ -19,9 +23,7 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
+import java.awt.Dimension;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -45,6 +47,8 @@ public class PosterImageStorageServiceImpl implements PosterImageStorageService
     private final ObjectStorageProperties properties;
     private final ObjectProvider<S3Client> s3ClientProvider;
     private final ObjectProvider<S3Presigner> s3PresignerProvider;
+    private final ObjectImageCache objectImageCache;
+    private final ImageDerivativePipeline imageDerivativePipeline;
 
     @Override
     public List<String> generateImageNames(List<String> fileNames) {
@@ -140,15 +144,19 @@ public class PosterImageStorageServiceImpl implements PosterImageStorageService
                 throw new ValidationException("Poster image content type is not allowed");
             }
 
-            byte[] bytes = s3Client.getObjectAsBytes(GetObjectRequest.builder()
+            Dimension size;
+            try (var object = s3Client.getObject(GetObjectRequest.builder()
                     .bucket(properties.bucket())
                     .key(objectKey)
-                    .build()).asByteArray();
-            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
-            if (image == null) {
+                    .build())) {
+                size = ImageDerivatives.readDimensions(object);
+                object.abort();
+            }
+            if (size == null) {
                 deleteQuietly(s3Client, objectKey);
                 throw new ValidationException("Poster image payload is not a valid image");
             }
+            imageDerivativePipeline.submit(objectKey);
             return objectKey;
         } catch (ValidationException ex) {
             throw ex;
@@ -185,20 +193,21 @@ public class PosterImageStorageServiceImpl implements PosterImageStorageService
 
     private StoredImage fetch(S3Client s3Client, String key) {
         try {
-            var bytes = s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(properties.bucket()).key(key).build());
-            String contentType = bytes.response().contentType();
-            return new StoredImage(bytes.asByteArray(), contentType == null ? "image/jpeg" : contentType);
+            StoredImage derivative = imageDerivativePipeline.resolve(s3Client, key);
+            return derivative != null ? derivative : objectImageCache.get(s3Client, properties.bucket(), key);
         } catch (RuntimeException ex) {
             return null;
         }
     }
 
     private void deleteQuietly(S3Client s3Client, String key) {
+        objectImageCache.evict(key);
         try {
             s3Client.deleteObject(DeleteObjectRequest.builder()
                     .bucket(properties.bucket())
                     .key(key)
                     .build());
+            imageDerivativePipeline.delete(s3Client, key);
         } catch (RuntimeException ignored) {
         }
     }
@@ -1,4 +0,0 @@
-package com.rumal.poster_service.storage;
-
-public record StoredImage(byte[] bytes, String contentType) {
-}
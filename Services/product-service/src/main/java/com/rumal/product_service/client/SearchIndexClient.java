@@ -1,5 +1,7 @@
 package com.rumal.product_service.client;
 
+import com.rumal.product_service.dto.SearchBulkIndexRequest;
+import com.rumal.product_service.dto.SearchBulkIndexResponse;
 import com.rumal.product_service.dto.SearchProductIndexRequest;
 import com.rumal.product_service.exception.ServiceUnavailableException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -12,6 +14,7 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestClientResponseException;
 
 import java.net.URI;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
@@ -61,6 +64,24 @@ public class SearchIndexClient {
         }
     }
 
+    @Retry(name = "searchService")
+    @CircuitBreaker(name = "searchService", fallbackMethod = "fallbackBulkIndex")
+    public SearchBulkIndexResponse bulkIndex(SearchBulkIndexRequest request) {
+        try {
+            SearchBulkIndexResponse response = restClient.post()
+                    .uri(buildUri("/internal/search/index/bulk"))
+                    .header("X-Internal-Auth", internalAuth)
+                    .body(request)
+                    .retrieve()
+                    .body(SearchBulkIndexResponse.class);
+            return response == null ? new SearchBulkIndexResponse(0, 0, Map.of()) : response;
+        } catch (RestClientResponseException ex) {
+            throw new ServiceUnavailableException("Search service bulk index failed (" + ex.getStatusCode().value() + ")", ex);
+        } catch (RestClientException | IllegalStateException ex) {
+            throw new ServiceUnavailableException("Search service unavailable for bulk index", ex);
+        }
+    }
+
     @SuppressWarnings("unused")
     public void fallbackUpsertProduct(SearchProductIndexRequest request, Throwable ex) {
         throw new ServiceUnavailableException("Search service unavailable for product upsert. Retry later.", ex);
@@ -71,6 +92,11 @@ public class SearchIndexClient {
         throw new ServiceUnavailableException("Search service unavailable for product delete. Retry later.", ex);
     }
 
+    @SuppressWarnings("unused")
+    public SearchBulkIndexResponse fallbackBulkIndex(SearchBulkIndexRequest request, Throwable ex) {
+        throw new ServiceUnavailableException("Search service unavailable for bulk index. Retry later.", ex);
+    }
+
     private URI buildUri(String path) {
         return URI.create("http://search-service" + path);
     }
@@ -1,9 +1,14 @@
 package com.rumal.product_service.config;
 
+import com.rumal.shared.storage.ImageDerivativePipeline;
+import com.rumal.shared.storage.ObjectImageCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
@@ -11,6 +16,8 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
 
 import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Locale;
 
 @Configuration
@@ -31,6 +38,29 @@ public class ObjectStorageConfig {
                 .build();
     }
 
+    @Bean
+    public ObjectImageCache objectImageCache(
+            @Value("${object-storage.image-cache.dir:}") String directory,
+            @Value("${object-storage.image-cache.max-size:256MB}") DataSize maxSize
+    ) {
+        Path path = directory == null || directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "product-image-cache")
+                : Path.of(directory.trim());
+        return new ObjectImageCache(path, maxSize);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ImageDerivativePipeline imageDerivativePipeline(
+            ObjectProvider<S3Client> s3ClientProvider,
+            ObjectStorageProperties properties,
+            ObjectImageCache objectImageCache,
+            @Value("${object-storage.derivatives.widths:300,800}") List<Integer> widths,
+            @Value("${object-storage.derivatives.workers:2}") int workers,
+            @Value("${object-storage.derivatives.queue-capacity:500}") int queueCapacity
+    ) {
+        return new ImageDerivativePipeline(s3ClientProvider, properties.bucket(), objectImageCache, widths, workers, queueCapacity);
+    }
+
     private String normalizeEndpoint(String rawEndpoint) {
         if (rawEndpoint == null || rawEndpoint.isBlank()) {
             throw new IllegalStateException("object-storage.endpoint is required when object storage is enabled");
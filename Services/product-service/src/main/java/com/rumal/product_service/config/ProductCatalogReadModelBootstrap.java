@@ -2,7 +2,7 @@ package com.rumal.product_service.config;
 
 import com.rumal.product_service.repo.ProductCatalogReadRepository;
 import com.rumal.product_service.repo.ProductRepository;
-import com.rumal.product_service.service.ProductCatalogReadModelProjector;
+import com.rumal.product_service.service.ProductCatalogReadModelRebuilder;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,7 +24,7 @@ public class ProductCatalogReadModelBootstrap implements ApplicationRunner {
 
     private final ProductRepository productRepository;
     private final ProductCatalogReadRepository productCatalogReadRepository;
-    private final ProductCatalogReadModelProjector productCatalogReadModelProjector;
+    private final ProductCatalogReadModelRebuilder productCatalogReadModelRebuilder;
 
     @Value("${catalog.read-model.rebuild-on-startup:true}")
     private boolean rebuildOnStartup;
@@ -53,14 +53,14 @@ public class ProductCatalogReadModelBootstrap implements ApplicationRunner {
 
         long productCount = productRepository.count();
         long readCount = productCatalogReadRepository.count();
-        if (productCount == readCount) {
-            log.info("Catalog read model is up to date (products={}, readRows={}), skipping rebuild", productCount, readCount);
-            return;
-        }
-
-        log.info("Rebuilding product catalog read model (products={}, readRows={})", productCount, readCount);
         try {
-            productCatalogReadModelProjector.rebuildAll();
+            if (readCount == 0 && productCount > 0) {
+                log.info("Catalog read model is empty, rebuilding from {} products", productCount);
+                productCatalogReadModelRebuilder.rebuild();
+            } else {
+                log.info("Reconciling catalog read model with products (products={}, readRows={})", productCount, readCount);
+                productCatalogReadModelRebuilder.repair();
+            }
         } catch (Exception ex) {
             log.error("Catalog read model rebuild failed: {}", ex.getMessage(), ex);
         }
@@ -0,0 +1,64 @@
+package com.rumal.product_service.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the {@code pg_trgm} GIN indexes behind catalog text search. JPA index annotations cannot express operator
+ * classes, so they are created here after the schema exists and before the read model is rebuilt. Databases other
+ * than PostgreSQL (and PostgreSQL without the extension available) keep working without them, with the same
+ * {@code LIKE} predicates scanning the table.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ProductCatalogSearchIndexInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogSearchIndexInitializer.class);
+
+    private static final List<String> TRIGRAM_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_catalog_read_search_text_trgm ON product_catalog_read USING gin (search_text_lc gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_catalog_read_category_tokens_trgm ON product_catalog_read USING gin (category_tokens_lc gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_catalog_read_sub_category_tokens_trgm ON product_catalog_read USING gin (sub_category_tokens_lc gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_catalog_read_vendor_name_trgm ON product_catalog_read USING gin (vendor_name_lc gin_trgm_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${catalog.search.trigram-indexes-enabled:true}")
+    private boolean trigramIndexesEnabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!trigramIndexesEnabled) {
+            return;
+        }
+        String databaseProduct = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(databaseProduct)) {
+            log.info("Catalog trigram indexes skipped on {}; text search falls back to table scans", databaseProduct);
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            for (String statement : TRIGRAM_INDEXES) {
+                jdbcTemplate.execute(statement);
+            }
+            log.info("Catalog trigram indexes ready");
+        } catch (Exception ex) {
+            log.warn("Could not create catalog trigram indexes, text search falls back to table scans: {}", ex.getMessage());
+        }
+    }
+}
@@ -49,6 +49,15 @@ public class InternalProductMaintenanceController {
         return productService.getFullDetailsByIds(request.productIds());
     }
 
+    @PostMapping("/batch/details")
+    public List<ProductResponse> batchGetPublicDetails(
+            @RequestHeader(INTERNAL_HEADER) String internalAuth,
+            @Valid @RequestBody BatchProductRequest request
+    ) {
+        internalRequestVerifier.verify(internalAuth);
+        return productService.getPublicDetailsByIds(request.productIds());
+    }
+
     @PostMapping("/vendors/{vendorId}/deactivate-all")
     public java.util.Map<String, Object> deactivateAllByVendor(
             @RequestHeader(INTERNAL_HEADER) String internalAuth,
@@ -27,7 +27,7 @@ public class InternalProductSearchController {
     ) {
         internalRequestVerifier.verify(internalAuth);
         return productService.list(
-                PageRequest.of(page, Math.min(size, 200), Sort.by("updatedAt").ascending()),
+                PageRequest.of(page, Math.min(size, 200), Sort.by("createdAt").ascending().and(Sort.by("id").ascending())),
                 null, null, null, null, null, null, null,
                 null, null, false, null, null, null, null, null, null
         );
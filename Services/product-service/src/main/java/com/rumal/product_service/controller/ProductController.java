@@ -6,11 +6,10 @@ import com.rumal.product_service.dto.SlugAvailabilityResponse;
 import com.rumal.product_service.entity.ProductType;
 import com.rumal.product_service.service.ProductService;
 import com.rumal.product_service.storage.ProductImageStorageService;
-import com.rumal.product_service.storage.StoredImage;
+import com.rumal.shared.storage.StoredImage;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.CacheControl;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -29,7 +28,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -70,15 +68,12 @@ public class ProductController {
     }
 
     @GetMapping("/images/**")
-    public ResponseEntity<byte[]> getImage(HttpServletRequest request) {
+    public ResponseEntity<Resource> getImage(HttpServletRequest request) {
         String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
         String bestPattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
         String key = new AntPathMatcher().extractPathWithinPattern(bestPattern, path);
         StoredImage image = productImageStorageService.getImage(key);
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
-                .contentType(MediaType.parseMediaType(image.contentType()))
-                .body(image.bytes());
+        return image.toResponse();
     }
 
     @GetMapping
@@ -0,0 +1,10 @@
+package com.rumal.product_service.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SearchBulkIndexRequest(
+        List<SearchProductIndexRequest> upserts,
+        List<UUID> deletes
+) {
+}
@@ -0,0 +1,11 @@
+package com.rumal.product_service.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record SearchBulkIndexResponse(
+        int indexed,
+        int deleted,
+        Map<UUID, String> failures
+) {
+}
@@ -130,6 +130,12 @@ public class ProductCatalogRead {
     @Column(name = "description_lc", nullable = false, length = 4000)
     private String descriptionLc;
 
+    /**
+     * Lower-cased name, short description, description and brand, newline separated; the free-text search target.
+     */
+    @Column(name = "search_text_lc", nullable = false, length = 4600)
+    private String searchTextLc;
+
     @Column(name = "sku_lc", nullable = false, length = 80)
     private String skuLc;
 
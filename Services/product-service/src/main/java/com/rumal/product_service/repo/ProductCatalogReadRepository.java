@@ -9,15 +9,29 @@ import org.springframework.data.repository.query.Param;
 
 import com.rumal.product_service.entity.ApprovalStatus;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface ProductCatalogReadRepository extends JpaRepository<ProductCatalogRead, UUID>, JpaSpecificationExecutor<ProductCatalogRead> {
 
-    @Modifying
-    @Query("update ProductCatalogRead r set r.viewCount = r.viewCount + 1 where r.id = :productId")
-    int incrementViewCount(@Param("productId") UUID productId);
-
     @Modifying
     @Query("update ProductCatalogRead r set r.approvalStatus = :to where r.approvalStatus = :from")
     int bulkUpdateApprovalStatus(@Param("from") ApprovalStatus from, @Param("to") ApprovalStatus to);
+
+    @Query(value = """
+            SELECT p.id FROM products p
+            LEFT JOIN product_catalog_read r ON r.id = p.id
+            WHERE r.id IS NULL
+               OR r.updated_at IS DISTINCT FROM p.updated_at
+               OR (p.product_type = 'PARENT' AND r.has_active_variation_child <> EXISTS (
+                    SELECT 1 FROM products c
+                    WHERE c.parent_product_id = p.id AND c.is_deleted = false AND c.is_active = true
+                      AND c.product_type = 'VARIATION'))
+            """, nativeQuery = true)
+    List<UUID> findProductIdsOutOfSync();
+
+    @Modifying
+    @Query(value = "DELETE FROM product_catalog_read r WHERE NOT EXISTS (SELECT 1 FROM products p WHERE p.id = r.id)",
+            nativeQuery = true)
+    int deleteRowsWithoutProduct();
 }
@@ -27,6 +27,10 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
     @Query("select p from Product p where p.slug = :slug")
     Optional<Product> findBySlugWithDetails(@Param("slug") String slug);
 
+    @EntityGraph(attributePaths = {"categories", "variations", "images"})
+    @Query("select distinct p from Product p where p.id in :ids")
+    List<Product> findAllByIdInWithDetails(@Param("ids") Collection<UUID> ids);
+
     Optional<Product> findByIdAndVendorIdIn(UUID id, Collection<UUID> vendorIds);
 
     List<Product> findByParentProductIdAndDeletedFalseAndActiveTrue(UUID parentProductId);
@@ -47,6 +51,10 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
             """)
     Set<UUID> findParentIdsWithActiveVariationChildren();
 
+    @Query(value = "SELECT p.id FROM products p WHERE p.id > :after AND p.id <= :upper ORDER BY p.id LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findIdsInKeyRange(@Param("after") UUID after, @Param("upper") UUID upper, @Param("limit") int limit);
+
     @Modifying
     @Query("update Product p set p.approvalStatus = com.rumal.product_service.entity.ApprovalStatus.APPROVED where p.approvalStatus = com.rumal.product_service.entity.ApprovalStatus.DRAFT")
     int approveAllDraft();
@@ -55,10 +63,6 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
     @Query("update Product p set p.active = false where p.vendorId = :vendorId and p.active = true")
     int deactivateAllByVendorId(@Param("vendorId") UUID vendorId);
 
-    @Modifying
-    @Query("update Product p set p.viewCount = p.viewCount + 1 where p.id = :productId")
-    int incrementViewCount(@Param("productId") UUID productId);
-
     @Query("""
             select distinct ps.product.id
             from ProductSpecification ps
@@ -3,8 +3,13 @@ package com.rumal.product_service.repo;
 import com.rumal.product_service.entity.ProductSearchSyncOutboxEvent;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +22,25 @@ public interface ProductSearchSyncOutboxRepository extends JpaRepository<Product
             Instant availableAt,
             Pageable pageable
     );
+
+    /**
+     * Marks the given events processed unless they were re-enqueued (which moves {@code availableAt} forward) after
+     * the dispatch that is acknowledging them started.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update ProductSearchSyncOutboxEvent e
+            set e.processedAt = :processedAt,
+                e.lastError = null,
+                e.updatedAt = :processedAt
+            where e.id in :ids
+              and e.processedAt is null
+              and e.availableAt <= :dispatchedAt
+            """)
+    int markProcessed(
+            @Param("ids") Collection<UUID> ids,
+            @Param("dispatchedAt") Instant dispatchedAt,
+            @Param("processedAt") Instant processedAt
+    );
 }
@@ -0,0 +1,39 @@
+package com.rumal.product_service.scheduler;
+
+import com.rumal.product_service.service.ProductViewCountBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ProductViewCountFlushScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductViewCountFlushScheduler.class);
+
+    private final ProductViewCountBuffer productViewCountBuffer;
+
+    @Scheduled(
+            fixedDelayString = "${product.view-count.flush-interval-ms:5000}",
+            initialDelayString = "${product.view-count.flush-interval-ms:5000}"
+    )
+    public void flush() {
+        try {
+            productViewCountBuffer.flush();
+        } catch (Exception ex) {
+            log.error("Product view count flush failed", ex);
+        }
+    }
+
+    /**
+     * Runs after the web server has drained in-flight requests and before the buffer, the writer and the data
+     * source are destroyed, so a graceful shutdown writes every recorded view.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
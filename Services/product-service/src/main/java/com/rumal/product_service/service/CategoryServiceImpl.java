@@ -43,7 +43,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryAttributeRepository categoryAttributeRepository;
     private final ProductRepository productRepository;
-    private final ProductCatalogReadModelProjector productCatalogReadModelProjector;
+    private final ProductCatalogReadModelRebuilder productCatalogReadModelRebuilder;
     private final ProductCacheVersionService productCacheVersionService;
 
     @Value("${category.max-depth:4}")
@@ -100,7 +100,7 @@ public class CategoryServiceImpl implements CategoryService {
         applyRequest(category, request, baseSlug, autoSlug);
         Category saved = categoryRepository.save(category);
         saveCategoryAttributes(saved, request.attributes());
-        productCatalogReadModelProjector.rebuildAll();
+        productCatalogReadModelRebuilder.requestRebuild();
         productCacheVersionService.bumpAllProductReadCaches();
         return toResponse(saved);
     }
@@ -126,7 +126,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setDeleted(true);
         category.setDeletedAt(Instant.now());
         categoryRepository.save(category);
-        productCatalogReadModelProjector.rebuildAll();
+        productCatalogReadModelRebuilder.requestRebuild();
         productCacheVersionService.bumpAllProductReadCaches();
     }
 
@@ -150,7 +150,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setDeleted(false);
         category.setDeletedAt(null);
         Category saved = categoryRepository.save(category);
-        productCatalogReadModelProjector.rebuildAll();
+        productCatalogReadModelRebuilder.requestRebuild();
         productCacheVersionService.bumpAllProductReadCaches();
         return toResponse(saved);
     }
@@ -0,0 +1,86 @@
+package com.rumal.product_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Per-replica view buffer: one counter per product, bumped with a single atomic fetch-and-add, so concurrent views
+ * of the same product never wait on a lock, let alone a row lock. A graceful shutdown flushes what is left; a crash
+ * loses at most the views of one flush interval on this replica.
+ * <p>
+ * A flush drains each counter atomically and drops counters that stayed idle for a whole interval, so the map only
+ * holds recently viewed products. Dropping swaps the counter to a negative tombstone under the map's per-key lock; a
+ * view that lands on a tombstone sees the negative previous value and is counted again on a fresh counter, so no
+ * view is lost or counted twice.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.view-count", name = "buffer", havingValue = "local", matchIfMissing = true)
+public class InMemoryProductViewCountBuffer implements ProductViewCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryProductViewCountBuffer.class);
+    private static final long DROPPED = Long.MIN_VALUE / 2;
+
+    private final ConcurrentHashMap<UUID, AtomicLong> pending = new ConcurrentHashMap<>();
+    private final Consumer<Map<UUID, Long>> sink;
+
+    @Autowired
+    public InMemoryProductViewCountBuffer(ProductViewCountWriter productViewCountWriter) {
+        this(productViewCountWriter::apply);
+    }
+
+    InMemoryProductViewCountBuffer(Consumer<Map<UUID, Long>> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void record(UUID productId) {
+        add(productId, 1);
+    }
+
+    @Override
+    public synchronized void flush() {
+        Map<UUID, Long> deltas = new HashMap<>();
+        for (Map.Entry<UUID, AtomicLong> entry : pending.entrySet()) {
+            long delta = entry.getValue().getAndSet(0);
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            } else {
+                // Idle for a whole interval; a view that arrives first makes the swap fail and keeps the counter.
+                pending.computeIfPresent(entry.getKey(),
+                        (productId, counter) -> counter.compareAndSet(0, DROPPED) ? null : counter);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            sink.accept(deltas);
+        } catch (RuntimeException ex) {
+            deltas.forEach(this::add);
+            log.warn("Failed to flush view counts for {} products, keeping them buffered: {}", deltas.size(), ex.getMessage());
+        }
+    }
+
+    private void add(UUID productId, long delta) {
+        while (counter(productId).getAndAdd(delta) < 0) {
+            // Landed on a dropped counter that no flush will read again; count it on the product's new counter.
+            Thread.onSpinWait();
+        }
+    }
+
+    private AtomicLong counter(UUID productId) {
+        AtomicLong counter = pending.get(productId);
+        return counter != null ? counter : pending.computeIfAbsent(productId, ignored -> new AtomicLong());
+    }
+}
@@ -0,0 +1,116 @@
+package com.rumal.product_service.service;
+
+import com.rumal.product_service.dto.ProductResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Multi-key access to the {@code productById} cache. Spring's {@link Cache} abstraction only reads one key at a
+ * time, so batch reads go straight to Redis with a single MGET using the cache's own key prefix and serializer.
+ * Keys match {@code ProductServiceImpl#getById}, so entries are shared with the single-product path.
+ */
+@Service
+public class ProductByIdBatchCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductByIdBatchCache.class);
+    private static final String CACHE_NAME = "productById";
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    public ProductByIdBatchCache(CacheManager cacheManager, RedisConnectionFactory redisConnectionFactory) {
+        this.cacheManager = cacheManager;
+        this.redisConnectionFactory = redisConnectionFactory;
+    }
+
+    public Map<UUID, ProductResponse> getAll(String version, List<UUID> productIds) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || productIds == null || productIds.isEmpty()) {
+            return Map.of();
+        }
+        if (!(cache instanceof RedisCache redisCache)) {
+            return getAllOneByOne(cache, version, productIds);
+        }
+
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        String prefix = configuration.getKeyPrefixFor(CACHE_NAME);
+        byte[][] keys = new byte[productIds.size()][];
+        for (int i = 0; i < productIds.size(); i++) {
+            keys[i] = ByteUtils.getBytes(configuration.getKeySerializationPair().write(prefix + idKey(version, productIds.get(i))));
+        }
+
+        List<byte[]> values;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(keys);
+        } catch (RuntimeException ex) {
+            log.warn("productById multi-get failed for {} keys; loading from database", keys.length, ex);
+            return Map.of();
+        }
+        if (values == null) {
+            return Map.of();
+        }
+
+        Map<UUID, ProductResponse> hits = new HashMap<>();
+        for (int i = 0; i < values.size() && i < productIds.size(); i++) {
+            byte[] raw = values.get(i);
+            if (raw == null || raw.length == 0) {
+                continue;
+            }
+            try {
+                if (configuration.getValueSerializationPair().read(ByteBuffer.wrap(raw)) instanceof ProductResponse response) {
+                    hits.put(productIds.get(i), response);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Ignoring unreadable productById cache entry for product {}", productIds.get(i), ex);
+            }
+        }
+        return hits;
+    }
+
+    public void putAll(String version, Collection<ProductResponse> responses) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || responses == null) {
+            return;
+        }
+        for (ProductResponse response : responses) {
+            if (response == null || response.id() == null) {
+                continue;
+            }
+            try {
+                cache.put(idKey(version, response.id()), response);
+            } catch (RuntimeException ex) {
+                log.warn("Failed caching productById entry for product {}", response.id(), ex);
+            }
+        }
+    }
+
+    private Map<UUID, ProductResponse> getAllOneByOne(Cache cache, String version, List<UUID> productIds) {
+        Map<UUID, ProductResponse> hits = new HashMap<>();
+        for (UUID productId : productIds) {
+            ProductResponse response = cache.get(idKey(version, productId), ProductResponse.class);
+            if (response != null) {
+                hits.put(productId, response);
+            }
+        }
+        return hits;
+    }
+
+    static String idKey(String version, UUID productId) {
+        return version + "::id::" + productId;
+    }
+}
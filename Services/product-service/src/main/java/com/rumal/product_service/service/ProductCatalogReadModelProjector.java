@@ -75,6 +75,43 @@ public class ProductCatalogReadModelProjector {
                 .ifPresent(this::upsert);
     }
 
+    /**
+     * Re-projects the given products into the live read model in one transaction; used to repair rows found out
+     * of sync and to catch up on writes that landed during a shadow rebuild.
+     */
+    @Transactional
+    public int upsertAllById(Collection<UUID> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return 0;
+        }
+        List<ProductCatalogRead> rows = projectRows(productIds, productRepository.findParentIdsWithActiveVariationChildren());
+        productCatalogReadRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    /**
+     * Maps products to read rows without writing them, batching the vendor lookup. Runs in its own read-only
+     * transaction so rebuild workers can call it concurrently.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductCatalogRead> projectRows(Collection<UUID> productIds, Set<UUID> parentIdsWithChildren) {
+        List<Product> products = productRepository.findAllByIdInWithDetails(productIds);
+        Set<UUID> vendorIds = products.stream()
+                .map(Product::getVendorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, VendorOperationalStateResponse> vendorStates = vendorIds.isEmpty()
+                ? Map.of()
+                : fetchVendorStatesBatch(vendorIds);
+        return products.stream()
+                .map(product -> toReadRow(product, parentIdsWithChildren, vendorStates))
+                .toList();
+    }
+
+    /**
+     * In-place rebuild: readers see an empty, then partial, read model until it commits. This is the fallback
+     * {@link ProductCatalogReadModelRebuilder#rebuild()} uses on databases other than PostgreSQL; call that instead.
+     */
     @Transactional
     public void rebuildAll() {
         Set<UUID> parentIdsWithChildren = productRepository.findParentIdsWithActiveVariationChildren();
@@ -183,6 +220,8 @@ public class ProductCatalogReadModelProjector {
                 .nameLc(normalize(product.getName()))
                 .shortDescriptionLc(normalize(product.getShortDescription()))
                 .descriptionLc(normalize(product.getDescription()))
+                .searchTextLc(ProductCatalogTextSearch.searchText(
+                        product.getName(), product.getShortDescription(), product.getDescription(), product.getBrandName()))
                 .skuLc(normalize(product.getSku()))
                 .mainCategoryLc(normalize(mainCategory))
                 .viewCount(product.getViewCount())
@@ -0,0 +1,510 @@
+package com.rumal.product_service.service;
+
+import com.rumal.product_service.entity.ProductCatalogRead;
+import com.rumal.product_service.repo.ProductCatalogReadRepository;
+import com.rumal.product_service.repo.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rebuilds the catalog read model without readers ever seeing a partial catalog.
+ * <p>
+ * A full {@link #rebuild()} projects every product into an unindexed shadow table. The product key space is split
+ * into one UUID range per worker; each worker walks its range by keyset and writes JDBC batches. The live table's
+ * indexes are then replayed on the shadow, and the two tables are swapped by rename in a single transaction.
+ * Every worker holds a pooled connection on top of the one holding the rebuild lock, so the worker count is capped to
+ * leave {@code catalog.rebuild.reserved-connections} of the pool free for request traffic.
+ * <p>
+ * While the shadow loads, a trigger on the live table records the id of every row written to it, whatever the
+ * writer: product saves, variation flag refreshes, vendor state changes and view-count flushes alike. Those products
+ * are re-projected from the products table after the swap, and rows whose product has since been deleted are dropped.
+ * <p>
+ * {@link #requestRebuild()} runs a rebuild in the background once the caller's transaction commits, for mutations
+ * such as category changes that affect many rows. {@link #repair()} fixes only the rows that disagree with the
+ * products table, in place.
+ */
+@Service
+public class ProductCatalogReadModelRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalogReadModelRebuilder.class);
+
+    private static final String LIVE_TABLE = "product_catalog_read";
+    private static final String SHADOW_TABLE = "product_catalog_read_shadow";
+    private static final String RETIRED_TABLE = "product_catalog_read_retired";
+    private static final String CHANGES_TABLE = "product_catalog_read_rebuild_changes";
+    private static final String CHANGES_FUNCTION = "product_catalog_read_capture_change";
+    private static final String CHANGES_TRIGGER = "product_catalog_read_capture_changes";
+    private static final String SHADOW_SUFFIX = "_shadow";
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+    private static final long REBUILD_LOCK_KEY = 7_301_115_084_000_001L;
+    private static final long REQUESTED_REBUILD_RETRY_MILLIS = 30_000L;
+    private static final int DEFAULT_MAX_WORKERS = 8;
+    private static final UUID MIN_KEY = new UUID(0L, 0L);
+    private static final UUID MAX_KEY = new UUID(-1L, -1L);
+    private static final Pattern INDEX_DEFINITION = Pattern.compile("^(CREATE (?:UNIQUE )?INDEX )\\S+( ON )\\S+( .*)$");
+
+    private static final String INSERT_SQL = "INSERT INTO " + SHADOW_TABLE + " ("
+            + "id, parent_product_id, slug, name, short_description, description, brand_name, brand_name_lc, "
+            + "main_image, regular_price, discounted_price, selling_price, sku, main_category, main_category_slug, "
+            + "sub_category_tokens, sub_category_tokens_lc, category_tokens, category_tokens_lc, product_type, "
+            + "vendor_id, is_active, is_deleted, approval_status, has_active_variation_child, name_lc, "
+            + "short_description_lc, description_lc, search_text_lc, sku_lc, main_category_lc, view_count, "
+            + "sold_count, vendor_name, vendor_name_lc, created_at, updated_at"
+            + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogReadRepository productCatalogReadRepository;
+    private final ProductCatalogReadModelProjector productCatalogReadModelProjector;
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCacheVersionService productCacheVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService requestExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("catalog-rebuild-request").daemon(true).factory());
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean(false);
+
+    @Value("${catalog.rebuild.page-size:100}")
+    private int rebuildPageSize;
+
+    @Value("${catalog.rebuild.workers:0}")
+    private int rebuildWorkers;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Value("${catalog.rebuild.reserved-connections:4}")
+    private int reservedConnections;
+
+    public ProductCatalogReadModelRebuilder(
+            ProductRepository productRepository,
+            ProductCatalogReadRepository productCatalogReadRepository,
+            ProductCatalogReadModelProjector productCatalogReadModelProjector,
+            JdbcTemplate jdbcTemplate,
+            ProductCacheVersionService productCacheVersionService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.productRepository = productRepository;
+        this.productCatalogReadRepository = productCatalogReadRepository;
+        this.productCatalogReadModelProjector = productCatalogReadModelProjector;
+        this.jdbcTemplate = jdbcTemplate;
+        this.productCacheVersionService = productCacheVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Full rebuild through the shadow table. Databases other than PostgreSQL fall back to the in-place rebuild. Only
+     * one instance rebuilds at a time; others return immediately.
+     *
+     * @return {@code false} if another instance was already rebuilding
+     */
+    public boolean rebuild() {
+        if (!isPostgres()) {
+            productCatalogReadModelProjector.rebuildAll();
+            return true;
+        }
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                return false;
+            }
+            try {
+                rebuildIntoShadow();
+                return true;
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+            }
+        });
+        if (!Boolean.TRUE.equals(ran)) {
+            log.info("Catalog read model rebuild already running on another instance, skipping");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Schedules a full rebuild after the current transaction commits (immediately if there is none), so the rebuild
+     * reads the caller's changes and does not hold its transaction open. Requests arriving while one is queued are
+     * folded into it. If another instance is rebuilding, the request waits for it to finish and then rebuilds again,
+     * since that rebuild may have read the products before the caller's change.
+     */
+    public void requestRebuild() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queueRebuild();
+                }
+            });
+        } else {
+            queueRebuild();
+        }
+    }
+
+    private void queueRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            requestExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    while (!rebuild()) {
+                        Thread.sleep(REQUESTED_REBUILD_RETRY_MILLIS);
+                    }
+                    productCacheVersionService.bumpAllProductReadCaches();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException ex) {
+                    log.error("Requested catalog read model rebuild failed", ex);
+                }
+            });
+        } catch (RuntimeException ex) {
+            rebuildQueued.set(false);
+            log.warn("Catalog read model rebuild could not be scheduled", ex);
+        }
+    }
+
+    /**
+     * Removes rows whose product no longer exists and re-projects products that are missing, stale, or carry an
+     * outdated variation flag. Rows that already match are not touched.
+     */
+    public void repair() {
+        Integer removed = transactionTemplate.execute(status -> productCatalogReadRepository.deleteRowsWithoutProduct());
+        List<UUID> outOfSync = productCatalogReadRepository.findProductIdsOutOfSync();
+        int pageSize = pageSize();
+        int repaired = 0;
+        for (int from = 0; from < outOfSync.size(); from += pageSize) {
+            repaired += productCatalogReadModelProjector.upsertAllById(
+                    outOfSync.subList(from, Math.min(from + pageSize, outOfSync.size())));
+        }
+        log.info("Catalog read model repair complete: {} rows re-projected, {} orphan rows removed",
+                repaired, removed == null ? 0 : removed);
+    }
+
+    private void rebuildIntoShadow() {
+        long started = System.nanoTime();
+        int workers = workerCount();
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+        // Indexes are replayed after the load; everything else, CHECK constraints included, is copied now.
+        jdbcTemplate.execute("CREATE TABLE " + SHADOW_TABLE + " (LIKE " + LIVE_TABLE + " INCLUDING ALL EXCLUDING INDEXES)");
+        log.info("Starting shadow rebuild of the catalog read model with {} workers, page size {}", workers, pageSize());
+
+        int loaded;
+        int caughtUp;
+        try {
+            startCapturingChanges();
+            try {
+                loaded = loadShadow(workers, productRepository.findParentIdsWithActiveVariationChildren());
+            } catch (RuntimeException ex) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+                throw ex;
+            }
+
+            List<String> indexNames = replayIndexes();
+            jdbcTemplate.execute("ANALYZE " + SHADOW_TABLE);
+            swap(indexNames);
+            caughtUp = catchUp();
+        } finally {
+            stopCapturingChanges();
+        }
+        log.info("Catalog read model rebuilt: {} rows loaded, {} re-projected after swap, {} ms",
+                loaded, caughtUp, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private int loadShadow(int workers, Set<UUID> parentIdsWithChildren) {
+        List<UUID> bounds = partitionBounds(workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("catalog-rebuild-", 0).factory());
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                UUID after = bounds.get(i);
+                UUID upper = bounds.get(i + 1);
+                futures.add(executor.submit(() -> loadRange(after, upper, parentIdsWithChildren)));
+            }
+            int loaded = 0;
+            for (Future<Integer> future : futures) {
+                loaded += future.get();
+            }
+            return loaded;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog read model rebuild interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Catalog read model rebuild worker failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Projects the products with ids in {@code (after, upper]} into the shadow table, one keyset page at a time.
+     */
+    private int loadRange(UUID after, UUID upper, Set<UUID> parentIdsWithChildren) {
+        int pageSize = pageSize();
+        int loaded = 0;
+        UUID cursor = after;
+        while (true) {
+            List<UUID> ids = productRepository.findIdsInKeyRange(cursor, upper, pageSize);
+            if (ids.isEmpty()) {
+                return loaded;
+            }
+            List<ProductCatalogRead> rows = productCatalogReadModelProjector.projectRows(ids, parentIdsWithChildren);
+            insertShadowRows(rows);
+            loaded += rows.size();
+            if (ids.size() < pageSize) {
+                return loaded;
+            }
+            cursor = ids.getLast();
+        }
+    }
+
+    private void insertShadowRows(List<ProductCatalogRead> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> {
+            int i = 0;
+            statement.setObject(++i, row.getId(), Types.OTHER);
+            statement.setObject(++i, row.getParentProductId(), Types.OTHER);
+            statement.setString(++i, row.getSlug());
+            statement.setString(++i, row.getName());
+            statement.setString(++i, row.getShortDescription());
+            statement.setString(++i, row.getDescription());
+            statement.setString(++i, row.getBrandName());
+            statement.setString(++i, row.getBrandNameLc());
+            statement.setString(++i, row.getMainImage());
+            statement.setBigDecimal(++i, row.getRegularPrice());
+            statement.setBigDecimal(++i, row.getDiscountedPrice());
+            statement.setBigDecimal(++i, row.getSellingPrice());
+            statement.setString(++i, row.getSku());
+            statement.setString(++i, row.getMainCategory());
+            statement.setString(++i, row.getMainCategorySlug());
+            statement.setString(++i, row.getSubCategoryTokens());
+            statement.setString(++i, row.getSubCategoryTokensLc());
+            statement.setString(++i, row.getCategoryTokens());
+            statement.setString(++i, row.getCategoryTokensLc());
+            statement.setString(++i, row.getProductType() == null ? null : row.getProductType().name());
+            statement.setObject(++i, row.getVendorId(), Types.OTHER);
+            statement.setBoolean(++i, row.isActive());
+            statement.setBoolean(++i, row.isDeleted());
+            statement.setString(++i, row.getApprovalStatus() == null ? null : row.getApprovalStatus().name());
+            statement.setBoolean(++i, row.isHasActiveVariationChild());
+            statement.setString(++i, row.getNameLc());
+            statement.setString(++i, row.getShortDescriptionLc());
+            statement.setString(++i, row.getDescriptionLc());
+            statement.setString(++i, row.getSearchTextLc());
+            statement.setString(++i, row.getSkuLc());
+            statement.setString(++i, row.getMainCategoryLc());
+            statement.setLong(++i, row.getViewCount());
+            statement.setLong(++i, row.getSoldCount());
+            statement.setString(++i, row.getVendorName());
+            statement.setString(++i, row.getVendorNameLc());
+            statement.setTimestamp(++i, Timestamp.from(row.getCreatedAt()));
+            statement.setTimestamp(++i, Timestamp.from(row.getUpdatedAt()));
+        });
+    }
+
+    /**
+     * Recreates every index of the live table on the shadow under a suffixed name, re-attaching primary key and
+     * unique constraints. Building them after the load is much cheaper than maintaining them row by row.
+     *
+     * @return the live index names, so the shadow copies can take them over after the swap
+     */
+    private List<String> replayIndexes() {
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList("""
+                SELECT i.indexname, i.indexdef, c.contype
+                FROM pg_indexes i
+                LEFT JOIN pg_constraint c ON c.conname = i.indexname AND c.conrelid = ?::regclass
+                WHERE i.schemaname = current_schema() AND i.tablename = ?
+                """, LIVE_TABLE, LIVE_TABLE);
+
+        List<String> names = new ArrayList<>(indexes.size());
+        for (Map<String, Object> index : indexes) {
+            String name = (String) index.get("indexname");
+            String shadowName = shadowName(name);
+            Matcher definition = INDEX_DEFINITION.matcher((String) index.get("indexdef"));
+            if (!definition.matches()) {
+                log.warn("Skipping catalog read index {} with unexpected definition: {}", name, index.get("indexdef"));
+                continue;
+            }
+            jdbcTemplate.execute(definition.group(1) + shadowName + definition.group(2) + SHADOW_TABLE + definition.group(3));
+
+            Object constraintType = index.get("contype");
+            if (constraintType != null && "p".equals(constraintType.toString())) {
+                jdbcTemplate.execute("ALTER TABLE " + SHADOW_TABLE + " ADD CONSTRAINT " + shadowName + " PRIMARY KEY USING INDEX " + shadowName);
+            } else if (constraintType != null && "u".equals(constraintType.toString())) {
+                jdbcTemplate.execute("ALTER TABLE " + SHADOW_TABLE + " ADD CONSTRAINT " + shadowName + " UNIQUE USING INDEX " + shadowName);
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * Swaps the tables while holding an exclusive lock on the live one, so readers and projector writes wait for the
+     * commit and then see the complete new table. Renaming an index also renames the constraint it backs.
+     */
+    private void swap(List<String> indexNames) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + LIVE_TABLE + " IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute("ALTER TABLE " + LIVE_TABLE + " RENAME TO " + RETIRED_TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + SHADOW_TABLE + " RENAME TO " + LIVE_TABLE);
+            jdbcTemplate.execute("DROP TABLE " + RETIRED_TABLE);
+            for (String name : indexNames) {
+                jdbcTemplate.execute("ALTER INDEX " + shadowName(name) + " RENAME TO " + name);
+            }
+        });
+    }
+
+    /**
+     * Installs the trigger that records every row written to the live table until the swap. Creating it waits for
+     * in-flight writers, so any write that commits afterwards is either recorded or already visible to the load.
+     */
+    private void startCapturingChanges() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + CHANGES_TABLE + " (id uuid PRIMARY KEY)");
+        jdbcTemplate.execute("TRUNCATE " + CHANGES_TABLE);
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION " + CHANGES_FUNCTION + "() RETURNS trigger LANGUAGE plpgsql AS $$ "
+                + "BEGIN "
+                + "IF TG_OP = 'DELETE' THEN "
+                + "INSERT INTO " + CHANGES_TABLE + " (id) VALUES (OLD.id) ON CONFLICT DO NOTHING; "
+                + "ELSE "
+                + "INSERT INTO " + CHANGES_TABLE + " (id) VALUES (NEW.id) ON CONFLICT DO NOTHING; "
+                + "END IF; "
+                + "RETURN NULL; "
+                + "END $$");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + CHANGES_TRIGGER + " ON " + LIVE_TABLE);
+        jdbcTemplate.execute("CREATE TRIGGER " + CHANGES_TRIGGER + " AFTER INSERT OR UPDATE OR DELETE ON " + LIVE_TABLE
+                + " FOR EACH ROW EXECUTE FUNCTION " + CHANGES_FUNCTION + "()");
+    }
+
+    /**
+     * Removes the capture trigger (already gone with the retired table after a successful swap) and the change log.
+     */
+    private void stopCapturingChanges() {
+        try {
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + CHANGES_TRIGGER + " ON " + LIVE_TABLE);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + CHANGES_TABLE);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to remove catalog read model change capture: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Re-projects every product recorded while the shadow was loading, a keyset page at a time, and drops the rows of
+     * recorded products that no longer exist.
+     */
+    private int catchUp() {
+        int pageSize = pageSize();
+        int caughtUp = 0;
+        UUID cursor = MIN_KEY;
+        while (true) {
+            List<UUID> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM " + CHANGES_TABLE + " WHERE id > ? ORDER BY id LIMIT ?", UUID.class, cursor, pageSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            caughtUp += productCatalogReadModelProjector.upsertAllById(ids);
+            if (ids.size() < pageSize) {
+                break;
+            }
+            cursor = ids.getLast();
+        }
+        jdbcTemplate.update("DELETE FROM " + LIVE_TABLE + " r USING " + CHANGES_TABLE + " c "
+                + "WHERE r.id = c.id AND NOT EXISTS (SELECT 1 FROM products p WHERE p.id = r.id)");
+        return caughtUp;
+    }
+
+    /**
+     * Splits the UUID key space into {@code workers} contiguous ranges, as {@code workers + 1} bounds compared the way
+     * PostgreSQL orders {@code uuid} values (unsigned, byte by byte). Product ids are random, so the ranges hold
+     * roughly equal numbers of products.
+     */
+    static List<UUID> partitionBounds(int workers) {
+        List<UUID> bounds = new ArrayList<>(workers + 1);
+        bounds.add(MIN_KEY);
+        long step = Long.divideUnsigned(-1L, workers);
+        for (int i = 1; i < workers; i++) {
+            bounds.add(new UUID(step * i, 0L));
+        }
+        bounds.add(MAX_KEY);
+        return bounds;
+    }
+
+    private static String shadowName(String name) {
+        String base = name.length() + SHADOW_SUFFIX.length() > MAX_IDENTIFIER_LENGTH
+                ? name.substring(0, MAX_IDENTIFIER_LENGTH - SHADOW_SUFFIX.length())
+                : name;
+        return base + SHADOW_SUFFIX;
+    }
+
+    private boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, REBUILD_LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        String databaseProduct = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(databaseProduct);
+    }
+
+    private int workerCount() {
+        int workers = workerCount(rebuildWorkers, Runtime.getRuntime().availableProcessors(), connectionPoolSize,
+                reservedConnections);
+        if (rebuildWorkers > workers) {
+            log.warn("Catalog rebuild workers capped from {} to {} by a connection pool of {}",
+                    rebuildWorkers, workers, connectionPoolSize);
+        }
+        return workers;
+    }
+
+    /**
+     * Configured or processor-derived worker count, capped to the pool minus the lock connection and the reserve.
+     */
+    static int workerCount(int configured, int processors, int poolSize, int reserved) {
+        int wanted = configured > 0 ? configured : Math.min(processors, DEFAULT_MAX_WORKERS);
+        int available = poolSize - 1 - Math.max(0, reserved);
+        return Math.max(1, Math.min(wanted, available));
+    }
+
+    private int pageSize() {
+        return rebuildPageSize > 0 ? rebuildPageSize : 100;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requestExecutor.shutdownNow();
+    }
+}
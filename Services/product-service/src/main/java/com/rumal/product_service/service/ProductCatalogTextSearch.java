@@ -0,0 +1,56 @@
+package com.rumal.product_service.service;
+
+import com.rumal.product_service.entity.ProductCatalogRead;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Free-text matching over the catalog read model.
+ * <p>
+ * Name, short description, description and brand are folded into the single lower-cased {@code search_text_lc}
+ * column, so a search term becomes one {@code LIKE '%term%'} predicate instead of four. On PostgreSQL that column
+ * carries a {@code pg_trgm} GIN index which serves leading-wildcard patterns; on other databases the same predicate
+ * runs as a scan.
+ */
+final class ProductCatalogTextSearch {
+
+    private static final String FIELD_SEPARATOR = "\n";
+    private static final char ESCAPE = '\\';
+
+    private ProductCatalogTextSearch() {
+    }
+
+    static String searchText(String name, String shortDescription, String description, String brandName) {
+        StringJoiner joiner = new StringJoiner(FIELD_SEPARATOR);
+        for (String field : new String[]{name, shortDescription, description, brandName}) {
+            if (field != null && !field.isBlank()) {
+                joiner.add(field.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return joiner.toString();
+    }
+
+    static Specification<ProductCatalogRead> matches(String q) {
+        String pattern = containsPattern(q);
+        return (root, query, cb) -> cb.like(root.get("searchTextLc"), pattern, ESCAPE);
+    }
+
+    /**
+     * {@code %term%} with the term lower-cased and its own {@code %}, {@code _} and escape characters escaped, so
+     * user input matches literally.
+     */
+    static String containsPattern(String term) {
+        String normalized = term.trim().toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(normalized.length() + 2).append('%');
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
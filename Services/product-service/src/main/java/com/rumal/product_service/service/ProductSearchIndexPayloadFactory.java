@@ -14,8 +14,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -54,10 +59,92 @@ public class ProductSearchIndexPayloadFactory {
             }
         }
 
-        StockAvailabilitySummary stockSummary = requireStockSummary(productId);
-        boolean searchable = isSearchVisible(stockSummary);
+        return Optional.of(toPayload(row, requireStockSummary(productId)));
+    }
+
+    /**
+     * Batch form of {@link #build(UUID)}: one catalog query, one vendor-state lookup and one stock lookup for the
+     * whole set. Products that cannot be resolved right now are reported in {@link BatchPayloads#failures()} rather
+     * than failing the batch.
+     */
+    public BatchPayloads buildAll(Collection<UUID> productIds) {
+        Map<UUID, SearchProductIndexRequest> upserts = new LinkedHashMap<>();
+        Set<UUID> deletes = new LinkedHashSet<>();
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        if (productIds == null || productIds.isEmpty()) {
+            return new BatchPayloads(upserts, deletes, failures);
+        }
+
+        Set<UUID> requestedIds = new LinkedHashSet<>(productIds);
+        requestedIds.remove(null);
+        Map<UUID, ProductCatalogRead> rowsById = new HashMap<>();
+        for (ProductCatalogRead row : productCatalogReadRepository.findAllById(requestedIds)) {
+            rowsById.put(row.getId(), row);
+        }
+
+        List<ProductCatalogRead> candidates = new ArrayList<>();
+        for (UUID productId : requestedIds) {
+            ProductCatalogRead row = rowsById.get(productId);
+            if (row == null || row.isDeleted() || !row.isActive() || row.getApprovalStatus() != ApprovalStatus.APPROVED) {
+                deletes.add(productId);
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new BatchPayloads(upserts, deletes, failures);
+        }
+
+        Set<UUID> vendorIds = new LinkedHashSet<>();
+        for (ProductCatalogRead row : candidates) {
+            if (row.getVendorId() != null) {
+                vendorIds.add(row.getVendorId());
+            }
+        }
+        Map<UUID, VendorOperationalStateResponse> vendorStates = vendorIds.isEmpty()
+                ? Map.of()
+                : vendorOperationalStateClient.getStates(vendorIds, requireInternalAuth());
+
+        List<ProductCatalogRead> visible = new ArrayList<>();
+        for (ProductCatalogRead row : candidates) {
+            if (row.getVendorId() == null) {
+                visible.add(row);
+                continue;
+            }
+            VendorOperationalStateResponse vendorState = vendorStates.get(row.getVendorId());
+            if (vendorState == null || "UNKNOWN".equalsIgnoreCase(vendorState.status())) {
+                failures.put(row.getId(), "Vendor visibility state is unavailable for product " + row.getId());
+            } else if (!vendorState.storefrontVisible()) {
+                deletes.add(row.getId());
+            } else {
+                visible.add(row);
+            }
+        }
+        if (visible.isEmpty()) {
+            return new BatchPayloads(upserts, deletes, failures);
+        }
+
+        Map<UUID, StockAvailabilitySummary> stockByProduct = new HashMap<>();
+        for (StockAvailabilitySummary summary : inventoryClient.getBatchStockSummary(
+                visible.stream().map(ProductCatalogRead::getId).toList())) {
+            if (summary != null && summary.productId() != null) {
+                stockByProduct.put(summary.productId(), summary);
+            }
+        }
+        for (ProductCatalogRead row : visible) {
+            StockAvailabilitySummary stockSummary = stockByProduct.get(row.getId());
+            if (stockSummary == null) {
+                failures.put(row.getId(), "Inventory stock summary is unavailable for product " + row.getId());
+            } else {
+                upserts.put(row.getId(), toPayload(row, stockSummary));
+            }
+        }
+        return new BatchPayloads(upserts, deletes, failures);
+    }
 
-        return Optional.of(new SearchProductIndexRequest(
+    private SearchProductIndexRequest toPayload(ProductCatalogRead row, StockAvailabilitySummary stockSummary) {
+        boolean searchable = isSearchVisible(stockSummary);
+        return new SearchProductIndexRequest(
                 row.getId(),
                 row.getSlug(),
                 row.getName(),
@@ -82,7 +169,7 @@ public class ProductSearchIndexPayloadFactory {
                 List.of(),
                 row.getCreatedAt(),
                 row.getUpdatedAt()
-        ));
+        );
     }
 
     private StockAvailabilitySummary requireStockSummary(UUID productId) {
@@ -128,4 +215,11 @@ public class ProductSearchIndexPayloadFactory {
         }
         return internalAuthSharedSecret.trim();
     }
+
+    public record BatchPayloads(
+            Map<UUID, SearchProductIndexRequest> upserts,
+            Set<UUID> deletes,
+            Map<UUID, String> failures
+    ) {
+    }
 }
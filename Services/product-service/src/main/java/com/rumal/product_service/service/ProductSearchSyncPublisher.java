@@ -1,7 +1,8 @@
 package com.rumal.product_service.service;
 
 import com.rumal.product_service.client.SearchIndexClient;
-import com.rumal.product_service.dto.SearchProductIndexRequest;
+import com.rumal.product_service.dto.SearchBulkIndexRequest;
+import com.rumal.product_service.dto.SearchBulkIndexResponse;
 import com.rumal.product_service.entity.ProductSearchSyncOutboxEvent;
 import com.rumal.product_service.repo.ProductSearchSyncOutboxRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,8 +13,13 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -27,7 +33,7 @@ public class ProductSearchSyncPublisher {
     @Value("${product.search-sync.enabled:true}")
     private boolean enabled;
 
-    @Value("${product.search-sync.batch-size:50}")
+    @Value("${product.search-sync.batch-size:200}")
     private int batchSize;
 
     @Value("${product.search-sync.retry-base-delay-seconds:15}")
@@ -45,46 +51,87 @@ public class ProductSearchSyncPublisher {
             return;
         }
 
+        Instant dispatchedAt = Instant.now();
         List<ProductSearchSyncOutboxEvent> dueEvents = productSearchSyncOutboxRepository
                 .findByProcessedAtIsNullAndAvailableAtLessThanEqualOrderByAvailableAtAscCreatedAtAsc(
-                        Instant.now(),
+                        dispatchedAt,
                         PageRequest.of(0, Math.max(1, batchSize))
                 );
+        if (dueEvents.isEmpty()) {
+            return;
+        }
 
+        Map<UUID, List<ProductSearchSyncOutboxEvent>> eventsByProduct = new LinkedHashMap<>();
         for (ProductSearchSyncOutboxEvent event : dueEvents) {
-            process(event);
+            eventsByProduct.computeIfAbsent(event.getProductId(), ignored -> new ArrayList<>()).add(event);
         }
+        process(eventsByProduct, dispatchedAt);
     }
 
-    protected void process(ProductSearchSyncOutboxEvent event) {
+    /**
+     * Ships every product in the batch to search-service in one bulk request. Repeated events for a product collapse
+     * into a single document; products that fail to resolve or index are retried individually.
+     */
+    protected void process(Map<UUID, List<ProductSearchSyncOutboxEvent>> eventsByProduct, Instant dispatchedAt) {
+        long startedAt = System.nanoTime();
+        Map<UUID, String> failures = new HashMap<>();
         try {
-            Optional<SearchProductIndexRequest> payload = productSearchIndexPayloadFactory.build(event.getProductId());
-            if (payload.isPresent()) {
-                searchIndexClient.upsertProduct(payload.get());
-            } else {
-                searchIndexClient.deleteProduct(event.getProductId());
+            ProductSearchIndexPayloadFactory.BatchPayloads payloads = productSearchIndexPayloadFactory.buildAll(eventsByProduct.keySet());
+            failures.putAll(payloads.failures());
+            if (!payloads.upserts().isEmpty() || !payloads.deletes().isEmpty()) {
+                failures.putAll(shipBatch(payloads));
             }
-            markSucceeded(event);
         } catch (Exception ex) {
-            scheduleRetry(event, ex);
+            for (UUID productId : eventsByProduct.keySet()) {
+                failures.put(productId, ex.getMessage());
+            }
+        }
+
+        List<UUID> succeededEventIds = new ArrayList<>();
+        for (Map.Entry<UUID, List<ProductSearchSyncOutboxEvent>> entry : eventsByProduct.entrySet()) {
+            if (failures.containsKey(entry.getKey())) {
+                for (ProductSearchSyncOutboxEvent event : entry.getValue()) {
+                    scheduleRetry(event, failures.get(entry.getKey()));
+                }
+            } else {
+                entry.getValue().forEach(event -> succeededEventIds.add(event.getId()));
+            }
+        }
+        if (!succeededEventIds.isEmpty()) {
+            productSearchSyncOutboxRepository.markProcessed(succeededEventIds, dispatchedAt, Instant.now());
         }
+
+        int synced = eventsByProduct.size() - failures.size();
+        long elapsedMs = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        log.info("Product search sync shipped {} products ({} events, {} failed) in {}ms ({} products/sec)",
+                synced, eventsByProduct.values().stream().mapToInt(List::size).sum(), failures.size(), elapsedMs,
+                synced * 1000L / elapsedMs);
     }
 
-    private void markSucceeded(ProductSearchSyncOutboxEvent event) {
-        event.setProcessedAt(Instant.now());
-        event.setAvailableAt(Instant.now());
-        event.setLastError(null);
-        productSearchSyncOutboxRepository.save(event);
+    private Map<UUID, String> shipBatch(ProductSearchIndexPayloadFactory.BatchPayloads payloads) {
+        SearchBulkIndexRequest request = new SearchBulkIndexRequest(
+                List.copyOf(payloads.upserts().values()),
+                List.copyOf(payloads.deletes())
+        );
+        try {
+            SearchBulkIndexResponse response = searchIndexClient.bulkIndex(request);
+            return response.failures() == null ? Map.of() : response.failures();
+        } catch (Exception ex) {
+            Map<UUID, String> failures = new HashMap<>();
+            payloads.upserts().keySet().forEach(productId -> failures.put(productId, ex.getMessage()));
+            payloads.deletes().forEach(productId -> failures.put(productId, ex.getMessage()));
+            return failures;
+        }
     }
 
-    private void scheduleRetry(ProductSearchSyncOutboxEvent event, Exception ex) {
+    private void scheduleRetry(ProductSearchSyncOutboxEvent event, String error) {
         int nextAttempt = event.getAttemptCount() + 1;
         event.setAttemptCount(nextAttempt);
-        event.setLastError(truncate(ex.getMessage()));
+        event.setLastError(truncate(error));
         event.setAvailableAt(Instant.now().plusSeconds(resolveDelaySeconds(nextAttempt)));
         productSearchSyncOutboxRepository.save(event);
         log.warn("Product search sync retry scheduled for productId={} attempt={} error={}",
-                event.getProductId(), nextAttempt, truncate(ex.getMessage()));
+                event.getProductId(), nextAttempt, truncate(error));
     }
 
     private long resolveDelaySeconds(int attemptCount) {
@@ -49,6 +49,7 @@ public interface ProductService {
     BulkOperationResult bulkCategoryReassign(BulkCategoryReassignRequest request, Set<UUID> allowedVendorIds);
     List<ProductSummaryResponse> getByIds(List<UUID> ids);
     List<ProductResponse> getFullDetailsByIds(List<UUID> ids);
+    List<ProductResponse> getPublicDetailsByIds(List<UUID> ids);
     Page<ProductSummaryResponse> listUpdatedSince(Instant since, Pageable pageable);
     byte[] exportProductsCsv();
     CsvImportResult importProductsCsv(InputStream csvInputStream);
@@ -62,6 +62,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -86,6 +87,7 @@ public class ProductServiceImpl implements ProductService {
     private final VendorOperationalStateClient vendorOperationalStateClient;
     private final InventoryClient inventoryClient;
     private final ProductCacheVersionService productCacheVersionService;
+    private final ProductByIdBatchCache productByIdBatchCache;
     private final ProductContentSanitizer productContentSanitizer;
     private final ProductSearchSyncOutboxService productSearchSyncOutboxService;
     private final ProductInventorySyncOutboxService productInventorySyncOutboxService;
@@ -93,6 +95,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductMutationAuditOutboxRepository productMutationAuditOutboxRepository;
     private final ProductAuditRequestContextResolver productAuditRequestContextResolver;
     private final ProductAuditPayloadSanitizer productAuditPayloadSanitizer;
+    private final ProductViewCountBuffer productViewCountBuffer;
 
     @Lazy
     @Autowired
@@ -209,6 +212,30 @@ public class ProductServiceImpl implements ProductService {
         return products.stream().map(this::toResponse).toList();
     }
 
+    @Override
+    public List<ProductResponse> getPublicDetailsByIds(List<UUID> ids) {
+        List<UUID> requestedIds = ids == null ? List.of() : ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (requestedIds.isEmpty()) return List.of();
+
+        String version = productCacheVersionService.productByIdVersion();
+        Map<UUID, ProductResponse> resolved = new HashMap<>(productByIdBatchCache.getAll(version, requestedIds));
+        List<UUID> missingIds = requestedIds.stream()
+                .filter(id -> !resolved.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            List<ProductResponse> loaded = loadPublicResponses(missingIds);
+            productByIdBatchCache.putAll(version, loaded);
+            loaded.forEach(response -> resolved.put(response.id(), response));
+        }
+        return requestedIds.stream()
+                .map(resolved::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Override
     public Page<ProductSummaryResponse> listUpdatedSince(Instant since, Pageable pageable) {
         Specification<ProductCatalogRead> spec = (root, query, cb) -> cb.and(
@@ -482,10 +509,9 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 10)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void incrementViewCount(UUID productId) {
-        productRepository.incrementViewCount(productId);
-        productCatalogReadRepository.incrementViewCount(productId);
+        productViewCountBuffer.record(productId);
     }
 
     @Override
@@ -940,13 +966,7 @@ public class ProductServiceImpl implements ProductService {
         Specification<ProductCatalogRead> spec = (root, query, cb) -> cb.conjunction();
 
         if (StringUtils.hasText(q)) {
-            String normalized = "%" + q.trim().toLowerCase(Locale.ROOT) + "%";
-            spec = spec.and((root, query, cb) -> cb.or(
-                    cb.like(root.get("nameLc"), normalized),
-                    cb.like(root.get("shortDescriptionLc"), normalized),
-                    cb.like(root.get("descriptionLc"), normalized),
-                    cb.like(root.get("brandNameLc"), normalized)
-            ));
+            spec = spec.and(ProductCatalogTextSearch.matches(q));
         }
         if (StringUtils.hasText(sku)) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("skuLc"), sku.trim().toLowerCase(Locale.ROOT)));
@@ -993,8 +1013,8 @@ public class ProductServiceImpl implements ProductService {
         }
         // Gap 3: Vendor name search (ILIKE via lowercase)
         if (StringUtils.hasText(vendorName)) {
-            String normalizedVendorName = "%" + vendorName.trim().toLowerCase(Locale.ROOT) + "%";
-            spec = spec.and((root, query, cb) -> cb.like(root.get("vendorNameLc"), normalizedVendorName));
+            String normalizedVendorName = ProductCatalogTextSearch.containsPattern(vendorName);
+            spec = spec.and((root, query, cb) -> cb.like(root.get("vendorNameLc"), normalizedVendorName, '\\'));
         }
         // Gap 6: Date range filter on products
         if (createdAfter != null) {
@@ -1459,6 +1479,56 @@ public class ProductServiceImpl implements ProductService {
         return enrichWithStock(response);
     }
 
+    // Batch counterpart of toPublicResponse: hidden products are dropped instead of raising not-found.
+    private List<ProductResponse> loadPublicResponses(List<UUID> productIds) {
+        List<Product> products = productRepository.findAllByIdInWithDetails(productIds).stream()
+                .filter(product -> !product.isDeleted())
+                .toList();
+        if (products.isEmpty()) return List.of();
+
+        Set<UUID> parentIds = products.stream()
+                .filter(product -> product.getProductType() == ProductType.VARIATION && product.getParentProductId() != null)
+                .map(Product::getParentProductId)
+                .collect(java.util.stream.Collectors.toSet());
+        Map<UUID, Product> parentsById = parentIds.isEmpty()
+                ? Map.of()
+                : productRepository.findAllById(parentIds).stream()
+                .collect(java.util.stream.Collectors.toMap(Product::getId, product -> product, (a, b) -> a));
+
+        List<UUID> vendorIds = new ArrayList<>();
+        products.forEach(product -> vendorIds.add(product.getVendorId()));
+        parentsById.values().forEach(parent -> vendorIds.add(parent.getVendorId()));
+        Map<UUID, VendorOperationalStateResponse> vendorStates = resolveVendorStates(vendorIds);
+
+        List<ProductResponse> visible = products.stream()
+                .filter(product -> isPubliclyVisible(product, vendorStates))
+                .filter(product -> product.getProductType() != ProductType.VARIATION
+                        || product.getParentProductId() == null
+                        || isPubliclyVisible(parentsById.get(product.getParentProductId()), vendorStates))
+                .map(this::toResponse)
+                .toList();
+        if (visible.isEmpty()) return visible;
+
+        Map<UUID, StockAvailabilitySummary> stockMap = fetchBatchStockMap(visible.stream().map(ProductResponse::id).toList());
+        return visible.stream()
+                .map(response -> {
+                    StockAvailabilitySummary stock = stockMap.get(response.id());
+                    return stock != null ? response.withStock(stock.totalAvailable(), stock.stockStatus(), stock.backorderable()) : response;
+                })
+                .toList();
+    }
+
+    private boolean isPubliclyVisible(Product product, Map<UUID, VendorOperationalStateResponse> vendorStates) {
+        if (product == null || !product.isActive() || product.isDeleted() || product.getApprovalStatus() != ApprovalStatus.APPROVED) {
+            return false;
+        }
+        if (product.getVendorId() == null) {
+            return true;
+        }
+        VendorOperationalStateResponse state = vendorStates.get(product.getVendorId());
+        return state != null && state.storefrontVisible();
+    }
+
     private void assertPubliclyVisible(Product product, UUID requestedProductId) {
         if (!product.isActive() || product.isDeleted() || product.getApprovalStatus() != ApprovalStatus.APPROVED) {
             throw new ResourceNotFoundException("Product not found: " + requestedProductId);
@@ -0,0 +1,17 @@
+package com.rumal.product_service.service;
+
+import java.util.UUID;
+
+/**
+ * Collects product page views off the request path and writes them to {@code products} and the catalog read model
+ * as aggregated deltas, so a popular product costs one row update per flush instead of one per view.
+ */
+public interface ProductViewCountBuffer {
+
+    void record(UUID productId);
+
+    /**
+     * Writes everything buffered so far. Deltas that fail to write stay buffered for the next flush.
+     */
+    void flush();
+}
@@ -0,0 +1,88 @@
+package com.rumal.product_service.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies buffered view-count deltas. On PostgreSQL each chunk is a single {@code UPDATE ... FROM (VALUES ...)} per
+ * table; elsewhere it falls back to a JDBC batch of per-row updates. Neither touches {@code updated_at} or the
+ * optimistic-lock version, matching the bulk increment it replaces.
+ */
+@Service
+public class ProductViewCountWriter {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final List<String> TABLES = List.of("products", "product_catalog_read");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean postgres;
+
+    public ProductViewCountWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void apply(Map<UUID, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Same row order on every replica keeps concurrent flushes from locking rows in opposite orders.
+        List<Map.Entry<UUID, Long>> rows = new ArrayList<>(deltas.entrySet());
+        rows.sort(Map.Entry.comparingByKey());
+        boolean valuesJoin = isPostgres();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+                List<Map.Entry<UUID, Long>> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+                for (String table : TABLES) {
+                    if (valuesJoin) {
+                        updateFromValues(table, chunk);
+                    } else {
+                        updateBatch(table, chunk);
+                    }
+                }
+            }
+        });
+    }
+
+    private void updateFromValues(String table, List<Map.Entry<UUID, Long>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table)
+                .append(" t SET view_count = t.view_count + v.delta FROM (VALUES ");
+        Object[] args = new Object[chunk.size() * 2];
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?::uuid, ?::bigint)");
+            args[i * 2] = chunk.get(i).getKey();
+            args[i * 2 + 1] = chunk.get(i).getValue();
+        }
+        sql.append(") AS v(id, delta) WHERE t.id = v.id");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private void updateBatch(String table, List<Map.Entry<UUID, Long>> chunk) {
+        jdbcTemplate.batchUpdate("UPDATE " + table + " SET view_count = view_count + ? WHERE id = ?", chunk, chunk.size(),
+                (statement, row) -> {
+                    statement.setLong(1, row.getValue());
+                    statement.setObject(2, row.getKey());
+                });
+    }
+
+    private boolean isPostgres() {
+        Boolean cached = postgres;
+        if (cached == null) {
+            String databaseProduct = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            cached = "PostgreSQL".equalsIgnoreCase(databaseProduct);
+            postgres = cached;
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,96 @@
+package com.rumal.product_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared view buffer for multi-replica deployments. Every replica increments one Redis hash, so no replica holds
+ * views only in its own memory; one replica at a time, elected by a short-lived lock, moves the hash aside and writes
+ * it to the database.
+ * <p>
+ * The moved-aside hash is only deleted after the database commit, so a failed write is retried on the next flush.
+ * A replica dying between the commit and the delete can apply that batch twice. Views that arrive while Redis is
+ * unreachable are counted in memory and pushed to the hash on the next flush.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.view-count", name = "buffer", havingValue = "redis")
+public class RedisProductViewCountBuffer implements ProductViewCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisProductViewCountBuffer.class);
+
+    private static final String PENDING_KEY = "ps:view-count:pending";
+    private static final String FLUSHING_KEY = "ps:view-count:flushing";
+    private static final String LOCK_KEY = "ps:view-count:flush-lock";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductViewCountWriter productViewCountWriter;
+    private final InMemoryProductViewCountBuffer unsent;
+    private final Duration flushLockTtl;
+
+    public RedisProductViewCountBuffer(
+            StringRedisTemplate redisTemplate,
+            ProductViewCountWriter productViewCountWriter,
+            @Value("${product.view-count.flush-lock-ttl:60s}") Duration flushLockTtl
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.productViewCountWriter = productViewCountWriter;
+        this.unsent = new InMemoryProductViewCountBuffer(this::pushToRedis);
+        this.flushLockTtl = flushLockTtl;
+    }
+
+    @Override
+    public void record(UUID productId) {
+        try {
+            redisTemplate.opsForHash().increment(PENDING_KEY, productId.toString(), 1);
+        } catch (Exception ex) {
+            unsent.record(productId);
+        }
+    }
+
+    @Override
+    public void flush() {
+        unsent.flush();
+
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, flushLockTtl))) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(FLUSHING_KEY))) {
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(PENDING_KEY))) {
+                    return;
+                }
+                redisTemplate.rename(PENDING_KEY, FLUSHING_KEY);
+            }
+
+            Map<UUID, Long> deltas = new HashMap<>();
+            redisTemplate.<String, String>opsForHash().entries(FLUSHING_KEY).forEach((productId, delta) -> {
+                try {
+                    deltas.merge(UUID.fromString(productId), Long.parseLong(delta), Long::sum);
+                } catch (IllegalArgumentException ex) {
+                    log.warn("Dropping malformed view count entry {}={}", productId, delta);
+                }
+            });
+            productViewCountWriter.apply(deltas);
+            redisTemplate.delete(FLUSHING_KEY);
+        } finally {
+            if (token.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        }
+    }
+
+    private void pushToRedis(Map<UUID, Long> deltas) {
+        deltas.forEach((productId, delta) ->
+                redisTemplate.opsForHash().increment(PENDING_KEY, productId.toString(), delta));
+    }
+}
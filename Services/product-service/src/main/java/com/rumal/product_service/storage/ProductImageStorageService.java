@@ -1,5 +1,6 @@
 package com.rumal.product_service.storage;
 
+import com.rumal.shared.storage.StoredImage;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
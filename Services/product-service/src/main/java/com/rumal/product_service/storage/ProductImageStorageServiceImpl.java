@@ -2,20 +2,21 @@ package com.rumal.product_service.storage;
 
 import com.rumal.product_service.config.ObjectStorageProperties;
 import com.rumal.product_service.exception.ValidationException;
+import com.rumal.shared.storage.ImageDerivativePipeline;
+import com.rumal.shared.storage.ImageDerivatives;
+import com.rumal.shared.storage.ObjectImageCache;
+import com.rumal.shared.storage.StoredImage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
+import java.awt.Dimension;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -30,13 +31,14 @@ public class ProductImageStorageServiceImpl implements ProductImageStorageServic
 
     private static final long MAX_FILE_SIZE_BYTES = 1_048_576;
     private static final int MAX_DIMENSION = 1200;
-    private static final int THUMBNAIL_MAX_DIMENSION = 300;
     private static final int MAX_IMAGES_PER_REQUEST = 10;
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "webp");
     private static final Pattern KEY_PATTERN = Pattern.compile("^(products/)?[A-Za-z0-9-]+\\.(jpg|jpeg|png|webp)$");
 
     private final ObjectStorageProperties properties;
     private final ObjectProvider<S3Client> s3ClientProvider;
+    private final ObjectImageCache objectImageCache;
+    private final ImageDerivativePipeline imageDerivativePipeline;
 
     @Override
     public List<String> generateImageNames(List<String> fileNames) {
@@ -130,7 +132,6 @@ public class ProductImageStorageServiceImpl implements ProductImageStorageServic
                 : validateAndNormalizeProvidedKey(preferredKey, extension);
         try {
             String contentType = resolveContentType(file, extension);
-            byte[] originalBytes = file.getBytes();
 
             PutObjectRequest request = PutObjectRequest.builder()
                     .bucket(properties.bucket())
@@ -138,9 +139,10 @@ public class ProductImageStorageServiceImpl implements ProductImageStorageServic
                     .cacheControl("public, max-age=31536000, immutable")
                     .contentType(contentType)
                     .build();
-            s3Client.putObject(request, RequestBody.fromBytes(originalBytes));
-
-            generateAndUploadThumbnail(s3Client, file, key, extension, contentType);
+            try (InputStream input = file.getInputStream()) {
+                s3Client.putObject(request, RequestBody.fromInputStream(input, file.getSize()));
+            }
+            imageDerivativePipeline.submit(key);
 
             return key;
         } catch (IOException ex) {
@@ -148,50 +150,6 @@ public class ProductImageStorageServiceImpl implements ProductImageStorageServic
         }
     }
 
-    private void generateAndUploadThumbnail(S3Client s3Client, MultipartFile file, String originalKey, String extension, String contentType) {
-        try {
-            BufferedImage original = ImageIO.read(file.getInputStream());
-            if (original == null) {
-                return;
-            }
-            int w = original.getWidth();
-            int h = original.getHeight();
-            if (w <= THUMBNAIL_MAX_DIMENSION && h <= THUMBNAIL_MAX_DIMENSION) {
-                return;
-            }
-
-            double scale = Math.min((double) THUMBNAIL_MAX_DIMENSION / w, (double) THUMBNAIL_MAX_DIMENSION / h);
-            int newW = (int) (w * scale);
-            int newH = (int) (h * scale);
-
-            BufferedImage thumbnail = new BufferedImage(newW, newH, original.getType() == 0 ? BufferedImage.TYPE_INT_ARGB : original.getType());
-            Graphics2D g = thumbnail.createGraphics();
-            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g.drawImage(original, 0, 0, newW, newH, null);
-            g.dispose();
-
-            String format = "png".equals(extension) ? "png" : "jpg";
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(thumbnail, format, baos);
-
-            String thumbKey = buildThumbnailKey(originalKey);
-            PutObjectRequest thumbRequest = PutObjectRequest.builder()
-                    .bucket(properties.bucket())
-                    .key(thumbKey)
-                    .cacheControl("public, max-age=31536000, immutable")
-                    .contentType(contentType)
-                    .build();
-            s3Client.putObject(thumbRequest, RequestBody.fromBytes(baos.toByteArray()));
-        } catch (IOException ignored) {
-            // Thumbnail generation is best-effort; don't fail the upload
-        }
-    }
-
-    private String buildThumbnailKey(String originalKey) {
-        int dotIdx = originalKey.lastIndexOf('.');
-        return originalKey.substring(0, dotIdx) + "-thumb" + originalKey.substring(dotIdx);
-    }
-
     private String buildObjectKey(String extension) {
         return "products/" + UUID.randomUUID() + "." + extension;
     }
@@ -220,25 +178,20 @@ public class ProductImageStorageServiceImpl implements ProductImageStorageServic
 
     private StoredImage fetchImage(S3Client s3Client, String key) {
         try {
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(properties.bucket())
-                    .key(key)
-                    .build();
-            var responseBytes = s3Client.getObjectAsBytes(request);
-            String contentType = responseBytes.response().contentType();
-            return new StoredImage(responseBytes.asByteArray(), contentType != null ? contentType : "image/jpeg");
+            StoredImage derivative = imageDerivativePipeline.resolve(s3Client, key);
+            return derivative != null ? derivative : objectImageCache.get(s3Client, properties.bucket(), key);
         } catch (RuntimeException ignored) {
             return null;
         }
     }
 
     private void validateDimensions(MultipartFile file) {
-        try {
-            BufferedImage image = ImageIO.read(file.getInputStream());
-            if (image == null) {
+        try (InputStream input = file.getInputStream()) {
+            Dimension size = ImageDerivatives.readDimensions(input);
+            if (size == null) {
                 throw new ValidationException("Invalid image content");
             }
-            if (image.getWidth() > MAX_DIMENSION || image.getHeight() > MAX_DIMENSION) {
+            if (size.width > MAX_DIMENSION || size.height > MAX_DIMENSION) {
                 throw new ValidationException("Image dimensions must be at most 1200x1200");
             }
         } catch (IOException ex) {
@@ -1,4 +0,0 @@
-package com.rumal.product_service.storage;
-
-public record StoredImage(byte[] bytes, String contentType) {
-}
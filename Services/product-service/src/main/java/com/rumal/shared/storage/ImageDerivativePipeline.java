@@ -0,0 +1,300 @@
+package com.rumal.shared.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.awt.Dimension;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Produces resized copies of uploaded images off the request path.
+ * <p>
+ * Uploads only store the original and {@link #submit(String)} it; a bounded worker pool decodes it once per target
+ * width with source subsampling and stores each result under {@code derivatives/<original key>/<width>.<ext>}. Image
+ * keys are never reused for different content, so a derivative never changes once written and a request for one is
+ * served without touching the original. Clients ask for {@code <key>-w<width>.<ext>}, or {@code <key>-thumb.<ext>}
+ * for the smallest width; until the derivative exists they get the original with a short cache lifetime. A job
+ * dropped because the queue is full is submitted again by the next request for one of its derivatives.
+ * <p>
+ * Deleting an image must go through {@link #delete(S3Client, String)} as well, which removes the derivatives from
+ * object storage and the cache and stops a job still running for the original from writing more.
+ * <p>
+ * Originals in flight, deleted and failed to decode are remembered in bounded sets whose entries expire, so none grows
+ * with the catalogue and a stuck job does not hold back its original forever.
+ */
+public class ImageDerivativePipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativePipeline.class);
+
+    private static final Pattern DERIVATIVE_NAME = Pattern.compile("^(.+)-(thumb|w(\\d{2,4}))\\.(jpg|jpeg|png|webp)$");
+    private static final String DERIVATIVE_PREFIX = "derivatives/";
+    private static final Duration QUEUED_TTL = Duration.ofMinutes(10);
+    private static final Duration UNDECODABLE_TTL = Duration.ofHours(1);
+    private static final int UNDECODABLE_CAPACITY = 10_000;
+    private static final Duration DELETED_TTL = Duration.ofHours(1);
+    private static final int DELETED_CAPACITY = 10_000;
+
+    private final ObjectProvider<S3Client> s3ClientProvider;
+    private final String bucket;
+    private final ObjectImageCache objectImageCache;
+    private final List<Integer> widths;
+    private final ExecutorService executor;
+    private final ExpiringKeys queued;
+    private final ExpiringKeys undecodable = new ExpiringKeys(UNDECODABLE_CAPACITY, UNDECODABLE_TTL);
+    private final ExpiringKeys deleted = new ExpiringKeys(DELETED_CAPACITY, DELETED_TTL);
+
+    public ImageDerivativePipeline(
+            ObjectProvider<S3Client> s3ClientProvider,
+            String bucket,
+            ObjectImageCache objectImageCache,
+            List<Integer> widths,
+            int workers,
+            int queueCapacity
+    ) {
+        this(s3ClientProvider, bucket, objectImageCache, widths, workerPool(workers, queueCapacity),
+                Math.max(1, workers) + Math.max(1, queueCapacity));
+    }
+
+    ImageDerivativePipeline(
+            ObjectProvider<S3Client> s3ClientProvider,
+            String bucket,
+            ObjectImageCache objectImageCache,
+            List<Integer> widths,
+            ExecutorService executor,
+            int maxQueued
+    ) {
+        this.s3ClientProvider = s3ClientProvider;
+        this.bucket = bucket;
+        this.objectImageCache = objectImageCache;
+        this.widths = widths.stream().filter(width -> width > 0).distinct().sorted().toList();
+        this.executor = executor;
+        this.queued = new ExpiringKeys(maxQueued, QUEUED_TTL);
+    }
+
+    public void submit(String originalKey) {
+        if (widths.isEmpty() || undecodable.contains(originalKey) || deleted.contains(originalKey)
+                || !queued.add(originalKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(originalKey);
+                } catch (Exception ex) {
+                    log.warn("Failed to generate image derivatives for {}: {}", originalKey, ex.getMessage());
+                } finally {
+                    queued.remove(originalKey);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            queued.remove(originalKey);
+            log.debug("Image derivative queue is full, {} will be retried on its next request", originalKey);
+        }
+    }
+
+    /**
+     * The image for a derivative name, or {@code null} when {@code requestedKey} does not name a derivative of a
+     * configured width. Fails like {@link ObjectImageCache#get} when the original does not exist.
+     */
+    public StoredImage resolve(S3Client s3Client, String requestedKey) {
+        Matcher name = DERIVATIVE_NAME.matcher(requestedKey);
+        if (!name.matches() || widths.isEmpty()) {
+            return null;
+        }
+        int width = name.group(3) == null ? widths.getFirst() : Integer.parseInt(name.group(3));
+        if (!widths.contains(width)) {
+            return null;
+        }
+        String originalKey = name.group(1) + "." + name.group(4);
+        if (!queued.contains(originalKey) && !undecodable.contains(originalKey) && !deleted.contains(originalKey)) {
+            try {
+                return objectImageCache.get(s3Client, bucket, derivativeKey(originalKey, width));
+            } catch (RuntimeException notReady) {
+                submit(originalKey);
+            }
+        }
+        return objectImageCache.get(s3Client, bucket, originalKey).asFallback();
+    }
+
+    /**
+     * Removes every derivative of {@code originalKey} from object storage and evicts them from the cache. The caller
+     * deletes and evicts the original itself. Fails with the S3 client's exception when listing or deleting fails.
+     */
+    public void delete(S3Client s3Client, String originalKey) {
+        deleted.add(originalKey);
+        for (int width : widths) {
+            objectImageCache.evict(derivativeKey(originalKey, width));
+        }
+        String prefix = DERIVATIVE_PREFIX + originalKey + "/";
+        String continuationToken = null;
+        do {
+            ListObjectsV2Response page = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                    .bucket(bucket)
+                    .prefix(prefix)
+                    .continuationToken(continuationToken)
+                    .build());
+            List<ObjectIdentifier> objects = page.contents().stream()
+                    .map(object -> ObjectIdentifier.builder().key(object.key()).build())
+                    .toList();
+            if (!objects.isEmpty()) {
+                s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucket)
+                        .delete(Delete.builder().objects(objects).quiet(true).build())
+                        .build());
+                objects.forEach(object -> objectImageCache.evict(object.key()));
+            }
+            continuationToken = Boolean.TRUE.equals(page.isTruncated()) ? page.nextContinuationToken() : null;
+        } while (continuationToken != null);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void generate(String originalKey) throws IOException {
+        S3Client s3Client = s3ClientProvider.getIfAvailable();
+        if (s3Client == null) {
+            return;
+        }
+        try (StoredImage original = objectImageCache.get(s3Client, bucket, originalKey)) {
+            generate(s3Client, originalKey, original);
+        }
+    }
+
+    private void generate(S3Client s3Client, String originalKey, StoredImage original) throws IOException {
+        Dimension size = ImageDerivatives.readDimensions(original.file());
+        if (size == null) {
+            undecodable.add(originalKey);
+            return;
+        }
+
+        boolean png = isPng(originalKey);
+        for (int width : widths) {
+            String key = derivativeKey(originalKey, width);
+            if (deleted.contains(originalKey)) {
+                return;
+            }
+            if (exists(s3Client, key)) {
+                continue;
+            }
+            RequestBody body;
+            String contentType;
+            if (Math.max(size.width, size.height) <= width) {
+                body = RequestBody.fromFile(original.file());
+                contentType = original.contentType();
+            } else {
+                var scaled = ImageDerivatives.decodeScaled(original.file(), width, png);
+                if (scaled == null) {
+                    undecodable.add(originalKey);
+                    return;
+                }
+                body = RequestBody.fromBytes(ImageDerivatives.encode(scaled, png ? "png" : "jpg"));
+                contentType = png ? "image/png" : "image/jpeg";
+            }
+            s3Client.putObject(PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .cacheControl("public, max-age=31536000, immutable")
+                    .contentType(contentType)
+                    .build(), body);
+            if (deleted.contains(originalKey)) {
+                // Deleted while this derivative was being written, after its listing could have seen it.
+                delete(s3Client, originalKey);
+                return;
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor workerPool(int workers, int queueCapacity) {
+        int poolSize = Math.max(1, workers);
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("image-derivative-", 0).daemon(true).factory());
+    }
+
+    private boolean exists(S3Client s3Client, String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException ex) {
+            return false;
+        }
+    }
+
+    private static String derivativeKey(String originalKey, int width) {
+        return DERIVATIVE_PREFIX + originalKey + "/" + width + (isPng(originalKey) ? ".png" : ".jpg");
+    }
+
+    private static boolean isPng(String key) {
+        return key.toLowerCase(Locale.ROOT).endsWith(".png");
+    }
+
+    /**
+     * Keys that are forgotten {@code ttl} after being added, dropping the oldest once more than {@code capacity} are
+     * held.
+     */
+    private static final class ExpiringKeys {
+
+        private final int capacity;
+        private final long ttlNanos;
+        private final LinkedHashMap<String, Long> deadlines = new LinkedHashMap<>();
+
+        private ExpiringKeys(int capacity, Duration ttl) {
+            this.capacity = Math.max(1, capacity);
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        synchronized boolean contains(String key) {
+            Long deadline = deadlines.get(key);
+            if (deadline == null) {
+                return false;
+            }
+            if (deadline - System.nanoTime() > 0) {
+                return true;
+            }
+            deadlines.remove(key);
+            return false;
+        }
+
+        synchronized boolean add(String key) {
+            if (contains(key)) {
+                return false;
+            }
+            deadlines.put(key, System.nanoTime() + ttlNanos);
+            if (deadlines.size() > capacity) {
+                Iterator<String> eldest = deadlines.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            return true;
+        }
+
+        synchronized void remove(String key) {
+            deadlines.remove(key);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.rumal.shared.storage;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Image decoding helpers that avoid materialising full-resolution pixels: dimensions come from the header, and
+ * resizing decodes with source subsampling so a 12MP JPEG is read at roughly the target size.
+ */
+public final class ImageDerivatives {
+
+    private ImageDerivatives() {
+    }
+
+    /**
+     * Width and height from the image header, or {@code null} when no installed reader understands the format.
+     */
+    public static Dimension readDimensions(InputStream input) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            return readDimensions(stream);
+        }
+    }
+
+    public static Dimension readDimensions(Path file) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(file.toFile())) {
+            return readDimensions(stream);
+        }
+    }
+
+    /**
+     * Decodes {@code file} scaled to fit within {@code maxDimension} on its longer side, or {@code null} when the
+     * format is not readable. The decoder skips source pixels by the largest whole factor that still leaves at least
+     * {@code maxDimension} pixels, and the remaining downscale is a bilinear draw. Without {@code alpha} the result is
+     * opaque RGB on white, which the JPEG writer requires.
+     */
+    public static BufferedImage decodeScaled(Path file, int maxDimension, boolean alpha) throws IOException {
+        BufferedImage decoded;
+        try (ImageInputStream stream = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = reader(stream);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                int longSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longSide / maxDimension);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(decoded.getWidth(), decoded.getHeight()));
+        int width = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            if (!alpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(decoded, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    public static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No image writer for " + format);
+        }
+        return out.toByteArray();
+    }
+
+    private static Dimension readDimensions(ImageInputStream stream) throws IOException {
+        ImageReader reader = reader(stream);
+        if (reader == null) {
+            return null;
+        }
+        try {
+            return new Dimension(reader.getWidth(0), reader.getHeight(0));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static ImageReader reader(ImageInputStream stream) {
+        if (stream == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(stream, true, true);
+        return reader;
+    }
+}
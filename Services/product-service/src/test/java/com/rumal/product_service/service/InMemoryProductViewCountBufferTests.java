@@ -0,0 +1,105 @@
+package com.rumal.product_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryProductViewCountBufferTests {
+
+    @Test
+    void flushWritesOneAggregatedDeltaPerProduct() throws InterruptedException {
+        List<Map<UUID, Long>> flushed = new ArrayList<>();
+        InMemoryProductViewCountBuffer buffer = new InMemoryProductViewCountBuffer(flushed::add);
+        UUID popular = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> buffer.record(popular));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        buffer.record(other);
+
+        buffer.flush();
+        buffer.flush();
+
+        assertEquals(1, flushed.size());
+        assertEquals(Map.of(popular, 10_000L, other, 1L), flushed.getFirst());
+    }
+
+    @Test
+    void concurrentFlushesNeitherLoseNorDuplicateViews() throws InterruptedException {
+        Map<UUID, Long> totals = new ConcurrentHashMap<>();
+        InMemoryProductViewCountBuffer buffer = new InMemoryProductViewCountBuffer(
+                deltas -> deltas.forEach((productId, delta) -> totals.merge(productId, delta, Long::sum)));
+        List<UUID> products = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        AtomicBoolean recording = new AtomicBoolean(true);
+        Thread flusher = Thread.ofPlatform().start(() -> {
+            while (recording.get()) {
+                buffer.flush();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200_000; i++) {
+            UUID productId = products.get(i % products.size());
+            executor.execute(() -> buffer.record(productId));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        recording.set(false);
+        flusher.join();
+        buffer.flush();
+
+        assertEquals(200_000L, totals.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void idleProductsAreDroppedAndCountedAgainWhenViewed() {
+        List<Map<UUID, Long>> flushed = new ArrayList<>();
+        InMemoryProductViewCountBuffer buffer = new InMemoryProductViewCountBuffer(flushed::add);
+        UUID productId = UUID.randomUUID();
+
+        buffer.record(productId);
+        buffer.flush();
+        buffer.flush();
+        buffer.record(productId);
+        buffer.flush();
+
+        assertEquals(List.of(Map.of(productId, 1L), Map.of(productId, 1L)), flushed);
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForTheNextFlush() {
+        List<Map<UUID, Long>> flushed = new ArrayList<>();
+        boolean[] fail = {true};
+        InMemoryProductViewCountBuffer buffer = new InMemoryProductViewCountBuffer(deltas -> {
+            if (fail[0]) {
+                throw new IllegalStateException("database unavailable");
+            }
+            flushed.add(deltas);
+        });
+        UUID productId = UUID.randomUUID();
+
+        buffer.record(productId);
+        buffer.record(productId);
+        buffer.flush();
+        buffer.record(productId);
+        fail[0] = false;
+        buffer.flush();
+
+        assertEquals(List.of(Map.of(productId, 3L)), flushed);
+    }
+}
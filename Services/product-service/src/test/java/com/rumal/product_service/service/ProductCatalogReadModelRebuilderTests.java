@@ -0,0 +1,152 @@
+package com.rumal.product_service.service;
+
+import com.rumal.product_service.repo.ProductCatalogReadRepository;
+import com.rumal.product_service.repo.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductCatalogReadModelRebuilderTests {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductCatalogReadRepository productCatalogReadRepository = mock(ProductCatalogReadRepository.class);
+    private final ProductCatalogReadModelProjector projector = mock(ProductCatalogReadModelProjector.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ProductCacheVersionService productCacheVersionService = mock(ProductCacheVersionService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final ProductCatalogReadModelRebuilder rebuilder = new ProductCatalogReadModelRebuilder(
+            productRepository, productCatalogReadRepository, projector, jdbcTemplate, productCacheVersionService,
+            transactionManager);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(rebuilder, "rebuildWorkers", 1);
+        ReflectionTestUtils.setField(rebuilder, "rebuildPageSize", 2);
+
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(productRepository.findParentIdsWithActiveVariationChildren()).thenReturn(Set.of());
+        when(productRepository.findIdsInKeyRange(any(), any(), anyInt())).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq("product_catalog_read"), eq("product_catalog_read")))
+                .thenReturn(List.of(Map.of(
+                        "indexname", "product_catalog_read_pkey",
+                        "indexdef", "CREATE UNIQUE INDEX product_catalog_read_pkey ON public.product_catalog_read USING btree (id)",
+                        "contype", "p")));
+    }
+
+    @Test
+    void rebuildSwapsShadowInAndReprojectsRowsWrittenDuringTheLoad() {
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID third = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any()))
+                .thenReturn(List.of(first, second), List.of(third));
+
+        assertTrue(rebuilder.rebuild());
+
+        InOrder order = inOrder(jdbcTemplate, projector);
+        order.verify(jdbcTemplate).execute(
+                "CREATE TABLE product_catalog_read_shadow (LIKE product_catalog_read INCLUDING ALL EXCLUDING INDEXES)");
+        order.verify(jdbcTemplate).execute(
+                "CREATE TRIGGER product_catalog_read_capture_changes AFTER INSERT OR UPDATE OR DELETE ON product_catalog_read"
+                        + " FOR EACH ROW EXECUTE FUNCTION product_catalog_read_capture_change()");
+        order.verify(jdbcTemplate).execute(
+                "CREATE UNIQUE INDEX product_catalog_read_pkey_shadow ON product_catalog_read_shadow USING btree (id)");
+        order.verify(jdbcTemplate).execute("LOCK TABLE product_catalog_read IN ACCESS EXCLUSIVE MODE");
+        order.verify(jdbcTemplate).execute("ALTER TABLE product_catalog_read_shadow RENAME TO product_catalog_read");
+        order.verify(jdbcTemplate).execute("ALTER INDEX product_catalog_read_pkey_shadow RENAME TO product_catalog_read_pkey");
+        order.verify(projector).upsertAllById(List.of(first, second));
+        order.verify(projector).upsertAllById(List.of(third));
+        order.verify(jdbcTemplate).update(anyString());
+        order.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS product_catalog_read_rebuild_changes");
+
+        ArgumentCaptor<Object> cursors = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, atLeastOnce()).queryForList(anyString(), eq(UUID.class), cursors.capture(), any());
+        assertEquals(List.of(new UUID(0, 0), second), cursors.getAllValues());
+    }
+
+    @Test
+    void failedLoadDropsShadowAndChangeCapture() {
+        when(productRepository.findIdsInKeyRange(any(), any(), anyInt())).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, rebuilder::rebuild);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute(startsWith("CREATE TRIGGER product_catalog_read_capture_changes"));
+        order.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS product_catalog_read_shadow");
+        order.verify(jdbcTemplate).execute("DROP TRIGGER IF EXISTS product_catalog_read_capture_changes ON product_catalog_read");
+        order.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS product_catalog_read_rebuild_changes");
+        verify(jdbcTemplate, never()).execute("LOCK TABLE product_catalog_read IN ACCESS EXCLUSIVE MODE");
+    }
+
+    @Test
+    void partitionBoundsCoverTheWholeKeySpaceInAscendingOrder() {
+        List<UUID> bounds = ProductCatalogReadModelRebuilder.partitionBounds(4);
+
+        assertEquals(5, bounds.size());
+        assertEquals(UUID.fromString("00000000-0000-0000-0000-000000000000"), bounds.getFirst());
+        assertEquals(UUID.fromString("3fffffff-ffff-ffff-0000-000000000000"), bounds.get(1));
+        assertEquals(UUID.fromString("bfffffff-ffff-fffd-0000-000000000000"), bounds.get(3));
+        assertEquals(UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"), bounds.getLast());
+        for (int i = 1; i < bounds.size(); i++) {
+            assertTrue(bounds.get(i - 1).toString().compareTo(bounds.get(i).toString()) < 0);
+        }
+    }
+
+    @Test
+    void workerCountLeavesTheLockConnectionAndTheReserveFree() {
+        assertEquals(5, ProductCatalogReadModelRebuilder.workerCount(0, 16, 10, 4));
+        assertEquals(5, ProductCatalogReadModelRebuilder.workerCount(12, 16, 10, 4));
+        assertEquals(2, ProductCatalogReadModelRebuilder.workerCount(0, 2, 30, 4));
+        assertEquals(1, ProductCatalogReadModelRebuilder.workerCount(0, 16, 4, 4));
+    }
+
+    @Test
+    void singleWorkerGetsOneRange() {
+        List<UUID> bounds = ProductCatalogReadModelRebuilder.partitionBounds(1);
+
+        assertEquals(2, bounds.size());
+    }
+}
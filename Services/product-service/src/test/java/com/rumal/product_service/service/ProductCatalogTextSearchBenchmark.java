@@ -0,0 +1,135 @@
+package com.rumal.product_service.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Catalog list-with-query latency against a real PostgreSQL, before and after the trigram index. Not part of the
+ * regular test run; point it at a scratch database:
+ * <pre>
+ * mvn test -Dtest=ProductCatalogTextSearchBenchmark \
+ *     -Dcatalog.search.benchmark.jdbc-url=jdbc:postgresql://localhost:5432/bench \
+ *     -Dcatalog.search.benchmark.user=postgres -Dcatalog.search.benchmark.password=postgres
+ * </pre>
+ * It seeds {@value #ROWS} rows into a throw-away table shaped like {@code product_catalog_read.search_text_lc},
+ * then times the page query and the count query that {@code ProductServiceImpl.list} issues.
+ */
+@EnabledIfSystemProperty(named = "catalog.search.benchmark.jdbc-url", matches = ".+")
+class ProductCatalogTextSearchBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final int ITERATIONS = 20;
+    private static final String TABLE = "catalog_search_bench";
+    private static final String[] TERMS = {"waterproof", "leather", "espresso", "shoe"};
+
+    @Test
+    void listWithQueryLatencyBeforeAndAfterTrigramIndex() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                System.getProperty("catalog.search.benchmark.jdbc-url"),
+                System.getProperty("catalog.search.benchmark.user", "postgres"),
+                System.getProperty("catalog.search.benchmark.password", "postgres"))) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+                statement.execute("CREATE TABLE " + TABLE + " (id bigint PRIMARY KEY, search_text_lc varchar(4600) NOT NULL, created_at timestamptz NOT NULL)");
+                statement.execute("""
+                        INSERT INTO %s
+                        SELECT g,
+                               concat_ws(E'\\n',
+                                   (ARRAY['trail','city','studio','travel','classic','urban'])[1 + g %% 6] || ' '
+                                       || (ARRAY['shoe','jacket','lamp','kettle','backpack','watch','chair'])[1 + g %% 7] || ' ' || g,
+                                   'model ' || md5(g::text),
+                                   CASE WHEN g %% 97 = 0 THEN 'waterproof ' ELSE '' END
+                                       || CASE WHEN g %% 13 = 0 THEN 'genuine leather ' ELSE '' END
+                                       || CASE WHEN g %% 991 = 0 THEN 'espresso ' ELSE '' END
+                                       || repeat(md5((g * 7)::text) || ' ', 8),
+                                   (ARRAY['acme','northwind','contoso','fabrikam'])[1 + g %% 4]),
+                               now() - (g || ' seconds')::interval
+                        FROM generate_series(1, %d) AS g
+                        """.formatted(TABLE, ROWS));
+                statement.execute("ANALYZE " + TABLE);
+            }
+
+            double[][] before = measure(connection);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                statement.execute("CREATE INDEX " + TABLE + "_trgm ON " + TABLE + " USING gin (search_text_lc gin_trgm_ops)");
+                statement.execute("ANALYZE " + TABLE);
+            }
+
+            double[][] after = measure(connection);
+
+            System.out.printf("%-12s %14s %14s %14s %14s%n", "term", "page ms before", "page ms after", "count ms before", "count ms after");
+            for (int i = 0; i < TERMS.length; i++) {
+                System.out.printf("%-12s %14.2f %14.2f %14.2f %14.2f%n",
+                        TERMS[i], before[i][0], after[i][0], before[i][1], after[i][1]);
+            }
+            assertTrue(explainCount(connection, "waterproof").contains(TABLE + "_trgm"));
+        } finally {
+            try (Connection connection = DriverManager.getConnection(
+                    System.getProperty("catalog.search.benchmark.jdbc-url"),
+                    System.getProperty("catalog.search.benchmark.user", "postgres"),
+                    System.getProperty("catalog.search.benchmark.password", "postgres"));
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            }
+        }
+    }
+
+    /**
+     * Median page and count latency in milliseconds per term.
+     */
+    private double[][] measure(Connection connection) throws SQLException {
+        double[][] results = new double[TERMS.length][2];
+        for (int t = 0; t < TERMS.length; t++) {
+            String pattern = ProductCatalogTextSearch.containsPattern(TERMS[t]);
+            results[t][0] = median(connection, "SELECT id FROM " + TABLE + " WHERE search_text_lc LIKE ? ORDER BY created_at DESC LIMIT 20", pattern);
+            results[t][1] = median(connection, "SELECT count(*) FROM " + TABLE + " WHERE search_text_lc LIKE ?", pattern);
+        }
+        return results;
+    }
+
+    private double median(Connection connection, String sql, String pattern) throws SQLException {
+        double[] samples = new double[ITERATIONS];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, pattern);
+            for (int i = -2; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        // drain
+                    }
+                }
+                if (i >= 0) {
+                    samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+                }
+            }
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    private String explainCount(Connection connection, String term) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "EXPLAIN SELECT count(*) FROM " + TABLE + " WHERE search_text_lc LIKE ?")) {
+            statement.setString(1, ProductCatalogTextSearch.containsPattern(term));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
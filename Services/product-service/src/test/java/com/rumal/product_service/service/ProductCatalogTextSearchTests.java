@@ -0,0 +1,21 @@
+package com.rumal.product_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductCatalogTextSearchTests {
+
+    @Test
+    void searchTextJoinsLowerCasedFieldsAndSkipsBlanks() {
+        String text = ProductCatalogTextSearch.searchText(" Trail Shoe ", "Light", null, "ACME");
+
+        assertEquals("trail shoe\nlight\nacme", text);
+    }
+
+    @Test
+    void containsPatternEscapesWildcardsInUserInput() {
+        assertEquals("%50\\% off\\_now%", ProductCatalogTextSearch.containsPattern(" 50% OFF_now "));
+        assertEquals("%c:\\\\temp%", ProductCatalogTextSearch.containsPattern("C:\\temp"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.rumal.product_service.service;
+
+import com.rumal.product_service.client.SearchIndexClient;
+import com.rumal.product_service.dto.SearchBulkIndexRequest;
+import com.rumal.product_service.dto.SearchBulkIndexResponse;
+import com.rumal.product_service.dto.SearchProductIndexRequest;
+import com.rumal.product_service.entity.ProductSearchSyncOutboxEvent;
+import com.rumal.product_service.exception.ServiceUnavailableException;
+import com.rumal.product_service.repo.ProductSearchSyncOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductSearchSyncPublisherTests {
+
+    private final ProductSearchSyncOutboxRepository outboxRepository = mock(ProductSearchSyncOutboxRepository.class);
+    private final ProductSearchIndexPayloadFactory payloadFactory = mock(ProductSearchIndexPayloadFactory.class);
+    private final SearchIndexClient searchIndexClient = mock(SearchIndexClient.class);
+
+    private ProductSearchSyncPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ProductSearchSyncPublisher(outboxRepository, payloadFactory, searchIndexClient);
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        ReflectionTestUtils.setField(publisher, "batchSize", 200);
+        ReflectionTestUtils.setField(publisher, "retryBaseDelaySeconds", 15L);
+        ReflectionTestUtils.setField(publisher, "retryMaxDelaySeconds", 900L);
+    }
+
+    @Test
+    void publishPendingCollapsesEventsPerProductIntoOneBulkRequest() {
+        UUID upserted = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        ProductSearchSyncOutboxEvent first = event(upserted);
+        ProductSearchSyncOutboxEvent repeat = event(upserted);
+        ProductSearchSyncOutboxEvent removal = event(removed);
+        when(outboxRepository.findByProcessedAtIsNullAndAvailableAtLessThanEqualOrderByAvailableAtAscCreatedAtAsc(any(), any()))
+                .thenReturn(List.of(first, repeat, removal));
+        when(payloadFactory.buildAll(anyCollection())).thenReturn(new ProductSearchIndexPayloadFactory.BatchPayloads(
+                Map.of(upserted, payload(upserted)), Set.of(removed), Map.of()));
+        when(searchIndexClient.bulkIndex(any())).thenReturn(new SearchBulkIndexResponse(1, 1, Map.of()));
+
+        publisher.publishPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> requested = ArgumentCaptor.forClass(Collection.class);
+        verify(payloadFactory).buildAll(requested.capture());
+        assertEquals(2, requested.getValue().size());
+        ArgumentCaptor<SearchBulkIndexRequest> bulk = ArgumentCaptor.forClass(SearchBulkIndexRequest.class);
+        verify(searchIndexClient, times(1)).bulkIndex(bulk.capture());
+        assertEquals(1, bulk.getValue().upserts().size());
+        assertEquals(List.of(removed), bulk.getValue().deletes());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> processed = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).markProcessed(processed.capture(), any(), any());
+        assertTrue(processed.getValue().containsAll(List.of(first.getId(), repeat.getId(), removal.getId())));
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void publishPendingRetriesOnlyProductsThatFailed() {
+        UUID ok = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        UUID unresolved = UUID.randomUUID();
+        ProductSearchSyncOutboxEvent okEvent = event(ok);
+        ProductSearchSyncOutboxEvent rejectedEvent = event(rejected);
+        ProductSearchSyncOutboxEvent unresolvedEvent = event(unresolved);
+        when(outboxRepository.findByProcessedAtIsNullAndAvailableAtLessThanEqualOrderByAvailableAtAscCreatedAtAsc(any(), any()))
+                .thenReturn(List.of(okEvent, rejectedEvent, unresolvedEvent));
+        when(payloadFactory.buildAll(anyCollection())).thenReturn(new ProductSearchIndexPayloadFactory.BatchPayloads(
+                Map.of(ok, payload(ok), rejected, payload(rejected)), Set.of(),
+                Map.of(unresolved, "Inventory stock summary is unavailable")));
+        when(searchIndexClient.bulkIndex(any()))
+                .thenReturn(new SearchBulkIndexResponse(1, 0, Map.of(rejected, "mapper_parsing_exception")));
+
+        publisher.publishPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> processed = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).markProcessed(processed.capture(), any(), any());
+        assertEquals(List.of(okEvent.getId()), List.copyOf(processed.getValue()));
+        verify(outboxRepository).save(rejectedEvent);
+        verify(outboxRepository).save(unresolvedEvent);
+        assertEquals(1, rejectedEvent.getAttemptCount());
+        assertEquals("mapper_parsing_exception", rejectedEvent.getLastError());
+    }
+
+    @Test
+    void publishPendingRetriesWholeBatchWhenSearchServiceIsDown() {
+        UUID productId = UUID.randomUUID();
+        ProductSearchSyncOutboxEvent event = event(productId);
+        when(outboxRepository.findByProcessedAtIsNullAndAvailableAtLessThanEqualOrderByAvailableAtAscCreatedAtAsc(any(), any()))
+                .thenReturn(List.of(event));
+        when(payloadFactory.buildAll(anyCollection())).thenReturn(new ProductSearchIndexPayloadFactory.BatchPayloads(
+                Map.of(productId, payload(productId)), Set.of(), Map.of()));
+        when(searchIndexClient.bulkIndex(any()))
+                .thenThrow(new ServiceUnavailableException("Search service unavailable for bulk index"));
+
+        publisher.publishPending();
+
+        verify(outboxRepository, never()).markProcessed(anyCollection(), any(), any());
+        verify(outboxRepository).save(event);
+        assertTrue(event.getAvailableAt().isAfter(Instant.now()));
+    }
+
+    private static ProductSearchSyncOutboxEvent event(UUID productId) {
+        return ProductSearchSyncOutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .productId(productId)
+                .availableAt(Instant.now().minusSeconds(1))
+                .build();
+    }
+
+    private static SearchProductIndexRequest payload(UUID productId) {
+        return new SearchProductIndexRequest(productId, "slug", "Product", null, null, null, null, null, null, null,
+                null, Set.of(), Set.of(), "SINGLE", null, 0L, 0L, true, 1, "IN_STOCK", false, List.of(), null, null);
+    }
+}
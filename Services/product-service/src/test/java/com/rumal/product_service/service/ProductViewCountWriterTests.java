@@ -0,0 +1,99 @@
+package com.rumal.product_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProductViewCountWriterTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ProductViewCountWriter writer = new ProductViewCountWriter(jdbcTemplate, transactionManager);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void postgresAppliesEachTableInOneValuesJoinOrderedById() {
+        usingDatabase("PostgreSQL");
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        Map<UUID, Long> deltas = new LinkedHashMap<>();
+        deltas.put(high, 5L);
+        deltas.put(low, 2L);
+
+        writer.apply(deltas);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), args.capture());
+        assertEquals("UPDATE products t SET view_count = t.view_count + v.delta FROM (VALUES "
+                + "(?::uuid, ?::bigint), (?::uuid, ?::bigint)) AS v(id, delta) WHERE t.id = v.id", sql.getAllValues().get(0));
+        assertEquals("UPDATE product_catalog_read t SET view_count = t.view_count + v.delta FROM (VALUES "
+                + "(?::uuid, ?::bigint), (?::uuid, ?::bigint)) AS v(id, delta) WHERE t.id = v.id", sql.getAllValues().get(1));
+        assertArrayEquals(new Object[]{low, 2L, high, 5L}, args.getAllValues().get(0));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void largeBatchesAreSplitIntoBoundedStatements() {
+        usingDatabase("PostgreSQL");
+        Map<UUID, Long> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < 501; i++) {
+            deltas.put(UUID.randomUUID(), 1L);
+        }
+
+        writer.apply(deltas);
+
+        verify(jdbcTemplate, times(4)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void otherDatabasesFallBackToPerRowBatches() {
+        usingDatabase("H2");
+
+        writer.apply(Map.of(UUID.randomUUID(), 3L));
+
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE products SET view_count = view_count + ? WHERE id = ?"),
+                any(List.class), anyInt(), any());
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE product_catalog_read SET view_count = view_count + ? WHERE id = ?"),
+                any(List.class), anyInt(), any());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void emptyDeltasTouchNothing() {
+        writer.apply(Map.of());
+
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void usingDatabase(String product) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+    }
+}
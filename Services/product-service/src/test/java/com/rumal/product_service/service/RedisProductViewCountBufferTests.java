@@ -0,0 +1,126 @@
+package com.rumal.product_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class RedisProductViewCountBufferTests {
+
+    private static final String PENDING_KEY = "ps:view-count:pending";
+    private static final String FLUSHING_KEY = "ps:view-count:flushing";
+    private static final String LOCK_KEY = "ps:view-count:flush-lock";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    private final ProductViewCountWriter writer = mock(ProductViewCountWriter.class);
+
+    private final RedisProductViewCountBuffer buffer =
+            new RedisProductViewCountBuffer(redisTemplate, writer, Duration.ofSeconds(60));
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void recordIncrementsTheSharedHash() {
+        UUID productId = UUID.randomUUID();
+
+        buffer.record(productId);
+
+        verify(hashOperations).increment(PENDING_KEY, productId.toString(), 1);
+    }
+
+    @Test
+    void viewsRecordedWhileRedisIsDownArePushedOnTheNextFlush() {
+        UUID productId = UUID.randomUUID();
+        when(hashOperations.increment(PENDING_KEY, productId.toString(), 1L))
+                .thenThrow(new IllegalStateException("redis down"));
+        buffer.record(productId);
+        buffer.record(productId);
+
+        buffer.flush();
+
+        verify(hashOperations).increment(PENDING_KEY, productId.toString(), 2L);
+    }
+
+    @Test
+    void flushMovesPendingAsideAndDeletesItOnlyAfterTheWrite() {
+        UUID productId = UUID.randomUUID();
+        holdLock("token");
+        when(redisTemplate.hasKey(FLUSHING_KEY)).thenReturn(false);
+        when(redisTemplate.hasKey(PENDING_KEY)).thenReturn(true);
+        when(hashOperations.entries(FLUSHING_KEY)).thenReturn(Map.of(productId.toString(), "7", "not-a-uuid", "3"));
+
+        buffer.flush();
+
+        verify(redisTemplate).rename(PENDING_KEY, FLUSHING_KEY);
+        verify(writer).apply(Map.of(productId, 7L));
+        verify(redisTemplate).delete(FLUSHING_KEY);
+    }
+
+    @Test
+    void flushRetriesALeftoverBatchBeforeTakingNewViews() {
+        UUID productId = UUID.randomUUID();
+        holdLock("token");
+        when(redisTemplate.hasKey(FLUSHING_KEY)).thenReturn(true);
+        when(hashOperations.entries(FLUSHING_KEY)).thenReturn(Map.of(productId.toString(), "4"));
+
+        buffer.flush();
+
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+        verify(writer).apply(Map.of(productId, 4L));
+    }
+
+    @Test
+    void failedWriteKeepsTheBatchAndReleasesTheLock() {
+        UUID productId = UUID.randomUUID();
+        holdLock("token");
+        when(redisTemplate.hasKey(FLUSHING_KEY)).thenReturn(false);
+        when(redisTemplate.hasKey(PENDING_KEY)).thenReturn(true);
+        when(hashOperations.entries(FLUSHING_KEY)).thenReturn(Map.of(productId.toString(), "1"));
+        doThrow(new IllegalStateException("database unavailable")).when(writer).apply(any());
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+
+        verify(redisTemplate, never()).delete(FLUSHING_KEY);
+        verify(redisTemplate).delete(LOCK_KEY);
+    }
+
+    @Test
+    void flushSkipsWhenAnotherReplicaHoldsTheLock() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        buffer.flush();
+
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+        verifyNoInteractions(writer);
+    }
+
+    private void holdLock(String token) {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            when(valueOperations.get(LOCK_KEY)).thenReturn(invocation.getArgument(1));
+            return true;
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.rumal.shared.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Upload-path cost of a 12MP JPEG before and after the derivative pipeline. Not part of the regular test run:
+ * <pre>
+ * mvn test -Dtest=ImageDerivativeBenchmark -Dimage.derivatives.benchmark=true
+ * </pre>
+ * "Synchronous" is what an upload used to do inline: a full {@code ImageIO.read} for validation plus a full decode
+ * and rescale for the thumbnail. "Header only" is what an upload does now. "Subsampled" is the work the pipeline's
+ * worker does per target width, off the request path. Peak heap is the sum of heap pool peaks during each phase,
+ * so run it in a fresh JVM.
+ */
+@EnabledIfSystemProperty(named = "image.derivatives.benchmark", matches = "true")
+class ImageDerivativeBenchmark {
+
+    private static final int WIDTH = 4000;
+    private static final int HEIGHT = 3000;
+    private static final int ITERATIONS = 15;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void uploadLatencyAndPeakHeapFor12MpJpeg() throws IOException {
+        Path file = write12MpJpeg();
+
+        Result synchronous = measure(() -> {
+            ImageIO.read(file.toFile());
+            BufferedImage original = ImageIO.read(file.toFile());
+            BufferedImage thumbnail = new BufferedImage(300, 225, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = thumbnail.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(original, 0, 0, 300, 225, null);
+            g.dispose();
+            ImageDerivatives.encode(thumbnail, "jpg");
+        });
+        Result headerOnly = measure(() -> ImageDerivatives.readDimensions(file));
+        Result subsampled = measure(() -> ImageDerivatives.encode(ImageDerivatives.decodeScaled(file, 300, false), "jpg"));
+
+        System.out.printf("%-28s %10s %10s %14s%n", "path", "p50 ms", "p99 ms", "peak heap MB");
+        print("synchronous (before)", synchronous);
+        print("upload header only (after)", headerOnly);
+        print("worker subsampled 300px", subsampled);
+    }
+
+    private Path write12MpJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, WIDTH, HEIGHT, Color.BLUE));
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.dispose();
+        Path file = directory.resolve("12mp.jpg");
+        ImageIO.write(image, "jpg", file.toFile());
+        return file;
+    }
+
+    private Result measure(Task task) throws IOException {
+        for (int i = 0; i < 2; i++) {
+            task.run();
+        }
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        long baseline = heapPeak();
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        long peak = heapPeak();
+        Arrays.sort(samples);
+        return new Result(samples[ITERATIONS / 2], samples[ITERATIONS - 1], Math.max(0, peak - baseline) / (1024.0 * 1024.0));
+    }
+
+    private static long heapPeak() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("%-28s %10.1f %10.1f %14.1f%n", label, result.p50(), result.p99(), result.peakHeapMb());
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+
+    private record Result(double p50, double p99, double peakHeapMb) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.rumal.shared.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageDerivativePipelineTests {
+
+    @TempDir
+    Path directory;
+
+    private S3Client s3Client;
+    private ExecutorService executor;
+    private ImageDerivativePipeline pipeline;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        ObjectProvider<S3Client> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(s3Client);
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        executor = Executors.newSingleThreadExecutor();
+        ObjectImageCache cache = new ObjectImageCache(directory, DataSize.ofMegabytes(1));
+        pipeline = new ImageDerivativePipeline(provider, "bucket", cache, List.of(300, 800), executor, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void servesAnExistingDerivativeWithoutFetchingTheOriginal() {
+        stubObject("derivatives/products/a.png/300.png", "image/png", new byte[10]);
+
+        try (StoredImage image = pipeline.resolve(s3Client, "products/a-thumb.png")) {
+            assertFalse(image.provisional());
+            assertEquals(10, image.contentLength());
+        }
+
+        verify(s3Client, never()).getObject(argThat((GetObjectRequest request) -> "products/a.png".equals(request.key())));
+    }
+
+    @Test
+    void servesTheOriginalProvisionallyAndQueuesGenerationOnAMiss() throws Exception {
+        stubMissing("derivatives/products/a.jpg/300.jpg");
+        stubObject("products/a.jpg", "image/jpeg", jpeg(1000, 500));
+
+        try (StoredImage image = pipeline.resolve(s3Client, "products/a-w300.jpg")) {
+            assertTrue(image.provisional());
+            assertEquals("image/jpeg", image.contentType());
+        }
+        awaitWorkers();
+
+        verify(s3Client).putObject(
+                argThat((PutObjectRequest request) -> "derivatives/products/a.jpg/300.jpg".equals(request.key())),
+                any(RequestBody.class));
+        verify(s3Client).putObject(
+                argThat((PutObjectRequest request) -> "derivatives/products/a.jpg/800.jpg".equals(request.key())),
+                any(RequestBody.class));
+    }
+
+    @Test
+    void stopsLookingForDerivativesOfAnUndecodableOriginal() throws Exception {
+        stubMissing("derivatives/products/a.jpg/300.jpg");
+        stubObject("products/a.jpg", "image/jpeg", "not an image".getBytes());
+
+        pipeline.resolve(s3Client, "products/a-w300.jpg").close();
+        awaitWorkers();
+        try (StoredImage image = pipeline.resolve(s3Client, "products/a-w300.jpg")) {
+            assertTrue(image.provisional());
+        }
+
+        verify(s3Client, times(1)).getObject(
+                argThat((GetObjectRequest request) -> "derivatives/products/a.jpg/300.jpg".equals(request.key())));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void deletingAnOriginalRemovesItsDerivativesFromStorageAndTheCache() {
+        stubObject("derivatives/products/a.png/300.png", "image/png", new byte[10]);
+        pipeline.resolve(s3Client, "products/a-thumb.png").close();
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("derivatives/products/a.png/300.png").build(),
+                        S3Object.builder().key("derivatives/products/a.png/800.png").build())
+                .isTruncated(false)
+                .build());
+
+        pipeline.delete(s3Client, "products/a.png");
+        stubMissing("derivatives/products/a.png/300.png");
+        stubMissing("products/a.png");
+
+        verify(s3Client).listObjectsV2(argThat((ListObjectsV2Request request) ->
+                "derivatives/products/a.png/".equals(request.prefix())));
+        verify(s3Client).deleteObjects(argThat((DeleteObjectsRequest request) ->
+                request.delete().objects().stream().map(ObjectIdentifier::key).toList().equals(List.of(
+                        "derivatives/products/a.png/300.png", "derivatives/products/a.png/800.png"))));
+        assertThrows(NoSuchKeyException.class, () -> pipeline.resolve(s3Client, "products/a-thumb.png"));
+    }
+
+    @Test
+    void doesNotGenerateDerivativesOfADeletedOriginal() throws Exception {
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(ListObjectsV2Response.builder().isTruncated(false).build());
+
+        pipeline.delete(s3Client, "products/a.jpg");
+        pipeline.submit("products/a.jpg");
+        awaitWorkers();
+
+        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+        verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void ignoresKeysThatDoNotNameAConfiguredWidth() {
+        assertNull(pipeline.resolve(s3Client, "products/a.jpg"));
+        assertNull(pipeline.resolve(s3Client, "products/a-w500.jpg"));
+    }
+
+    private void awaitWorkers() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private void stubObject(String key, String contentType, byte[] content) {
+        when(s3Client.getObject(argThat((GetObjectRequest request) -> request != null && key.equals(request.key()))))
+                .thenAnswer(invocation -> new ResponseInputStream<>(
+                        GetObjectResponse.builder().contentType(contentType).contentLength((long) content.length).build(),
+                        AbortableInputStream.create(new ByteArrayInputStream(content))));
+    }
+
+    private void stubMissing(String key) {
+        when(s3Client.getObject(argThat((GetObjectRequest request) -> request != null && key.equals(request.key()))))
+                .thenThrow(NoSuchKeyException.builder().build());
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,64 @@
+package com.rumal.shared.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImageDerivativesTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readDimensionsUsesTheHeaderOnly() throws IOException {
+        Path file = writeImage(2400, 1200, "jpg");
+
+        Dimension size = ImageDerivatives.readDimensions(file);
+
+        assertEquals(new Dimension(2400, 1200), size);
+    }
+
+    @Test
+    void readDimensionsReturnsNullForNonImages() throws IOException {
+        assertNull(ImageDerivatives.readDimensions(new ByteArrayInputStream("not an image".getBytes())));
+    }
+
+    @Test
+    void decodeScaledFitsTheLongerSide() throws IOException {
+        Path file = writeImage(2400, 1200, "jpg");
+
+        BufferedImage scaled = ImageDerivatives.decodeScaled(file, 300, false);
+
+        assertEquals(300, scaled.getWidth());
+        assertEquals(150, scaled.getHeight());
+        assertEquals(BufferedImage.TYPE_INT_RGB, scaled.getType());
+    }
+
+    @Test
+    void decodeScaledKeepsSmallImagesAtTheirSize() throws IOException {
+        Path file = writeImage(200, 100, "png");
+
+        BufferedImage scaled = ImageDerivatives.decodeScaled(file, 300, true);
+
+        assertEquals(200, scaled.getWidth());
+        assertEquals(100, scaled.getHeight());
+        assertEquals(BufferedImage.TYPE_INT_ARGB, scaled.getType());
+    }
+
+    private Path writeImage(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Path file = Files.createTempFile(directory, "image", "." + format);
+        ImageIO.write(image, format, file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,151 @@
+package com.rumal.shared.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ObjectImageCacheTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void servesRepeatRequestsFromDiskWithAStableStrongETag() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        byte[] content = "png-bytes".getBytes();
+        stubObject(s3Client, "products/a.png", content);
+        ObjectImageCache cache = new ObjectImageCache(directory, DataSize.ofMegabytes(1));
+
+        StoredImage first = cache.get(s3Client, "bucket", "products/a.png");
+        StoredImage second = cache.get(s3Client, "bucket", "products/a.png");
+
+        verify(s3Client, times(1)).getObject(any(GetObjectRequest.class));
+        assertEquals(first.file(), second.file());
+        assertEquals(first.eTag(), second.eTag());
+        assertArrayEquals(content, Files.readAllBytes(first.file()));
+        assertEquals(content.length, first.contentLength());
+        assertEquals("image/png", first.contentType());
+        assertTrue(first.eTag().matches("\"[0-9a-f]{32}\""));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesOverBudget() {
+        S3Client s3Client = mock(S3Client.class);
+        stubObject(s3Client, "a.png", new byte[600]);
+        stubObject(s3Client, "b.png", new byte[300]);
+        stubObject(s3Client, "c.png", new byte[300]);
+        ObjectImageCache cache = new ObjectImageCache(directory, DataSize.ofBytes(1000));
+
+        StoredImage a = cache.get(s3Client, "bucket", "a.png");
+        a.close();
+        StoredImage b = cache.get(s3Client, "bucket", "b.png");
+        b.close();
+        cache.get(s3Client, "bucket", "b.png").close();
+        StoredImage c = cache.get(s3Client, "bucket", "c.png");
+
+        assertFalse(Files.exists(a.file()));
+        assertTrue(Files.exists(b.file()));
+        assertTrue(Files.exists(c.file()));
+        assertNotEquals(a.eTag(), b.eTag());
+    }
+
+    @Test
+    void evictRemovesTheCachedFile() {
+        S3Client s3Client = mock(S3Client.class);
+        stubObject(s3Client, "a.png", new byte[10]);
+        ObjectImageCache cache = new ObjectImageCache(directory, DataSize.ofMegabytes(1));
+
+        StoredImage image = cache.get(s3Client, "bucket", "a.png");
+        image.close();
+        cache.evict("a.png");
+
+        assertFalse(Files.exists(image.file()));
+    }
+
+    @Test
+    void keepsAnEvictedFileUntilEveryHandleOnItIsClosed() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        byte[] content = new byte[600];
+        stubObject(s3Client, "a.png", content);
+        stubObject(s3Client, "b.png", new byte[600]);
+        ObjectImageCache cache = new ObjectImageCache(directory, DataSize.ofBytes(1000));
+
+        StoredImage first = cache.get(s3Client, "bucket", "a.png");
+        StoredImage second = cache.get(s3Client, "bucket", "a.png");
+        cache.get(s3Client, "bucket", "b.png").close();
+
+        assertArrayEquals(content, Files.readAllBytes(first.file()));
+        first.close();
+        first.close();
+        assertTrue(Files.exists(second.file()));
+        second.close();
+        assertFalse(Files.exists(second.file()));
+
+        cache.get(s3Client, "bucket", "a.png").close();
+        verify(s3Client, times(2)).getObject(argThat((GetObjectRequest request) -> "a.png".equals(request.key())));
+    }
+
+    @Test
+    void evictingAPinnedEntryDefersTheDeleteToTheLastHandle() {
+        S3Client s3Client = mock(S3Client.class);
+        stubObject(s3Client, "a.png", new byte[10]);
+        ObjectImageCache cache = new ObjectImageCache(directory, DataSize.ofMegabytes(1));
+
+        StoredImage image = cache.get(s3Client, "bucket", "a.png");
+        cache.evict("a.png");
+
+        assertTrue(Files.exists(image.file()));
+        image.close();
+        assertFalse(Files.exists(image.file()));
+    }
+
+    @Test
+    void streamsObjectsLargerThanTheBudgetWithoutCachingThem() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        byte[] content = new byte[2000];
+        stubObject(s3Client, "large.png", content);
+        stubObject(s3Client, "small.png", new byte[100]);
+        ObjectImageCache cache = new ObjectImageCache(directory, DataSize.ofBytes(1000));
+
+        StoredImage small = cache.get(s3Client, "bucket", "small.png");
+        small.close();
+        StoredImage large = cache.get(s3Client, "bucket", "large.png");
+
+        assertArrayEquals(content, Files.readAllBytes(large.file()));
+        assertTrue(Files.exists(small.file()));
+        large.close();
+        assertFalse(Files.exists(large.file()));
+
+        cache.get(s3Client, "bucket", "large.png").close();
+        verify(s3Client, times(2)).getObject(argThat((GetObjectRequest request) -> "large.png".equals(request.key())));
+    }
+
+    private void stubObject(S3Client s3Client, String key, byte[] content) {
+        when(s3Client.getObject(argThat((GetObjectRequest request) -> request != null && key.equals(request.key()))))
+                .thenAnswer(invocation -> new ResponseInputStream<>(
+                        GetObjectResponse.builder().contentType("image/png").contentLength((long) content.length).build(),
+                        AbortableInputStream.create(new ByteArrayInputStream(content))));
+    }
+}
@@ -0,0 +1,23 @@
+package com.rumal.promotion_service.config;
+
+import com.rumal.promotion_service.service.PromotionRuleIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class PromotionRuleIndexRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer promotionRuleIndexListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            PromotionRuleIndex promotionRuleIndex
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(promotionRuleIndex, new ChannelTopic(promotionRuleIndex.channel()));
+        return container;
+    }
+}
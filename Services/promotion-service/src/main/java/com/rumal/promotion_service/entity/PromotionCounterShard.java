@@ -0,0 +1,73 @@
+package com.rumal.promotion_service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One slice of the remaining allowance of a budget or usage limit. A reservation takes its amount from a single
+ * shard with a conditional update, so reservations against the same limit only contend when they land on the
+ * same shard. The shards of a counter always add up to at most the limit minus what is already consumed.
+ */
+@Entity
+@Table(
+        name = "promotion_counter_shards",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_promotion_counter_shards_key_shard", columnNames = {"counter_key", "shard_index"})
+        },
+        indexes = {
+                @Index(name = "idx_promotion_counter_shards_type_owner", columnList = "counter_type, owner_id"),
+                @Index(name = "idx_promotion_counter_shards_type_reconciled", columnList = "counter_type, reconciled_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PromotionCounterShard {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "counter_key", nullable = false, length = 120)
+    private String counterKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_type", nullable = false, length = 40)
+    private PromotionCounterType counterType;
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Column(name = "customer_id")
+    private UUID customerId;
+
+    @Column(name = "shard_index", nullable = false)
+    private int shardIndex;
+
+    @Column(name = "limit_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal limitAmount;
+
+    @Column(name = "available_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal availableAmount;
+
+    @Column(name = "reconciled_at", nullable = false)
+    private Instant reconciledAt;
+}
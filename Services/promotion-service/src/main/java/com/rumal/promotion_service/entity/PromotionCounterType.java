@@ -0,0 +1,7 @@
+package com.rumal.promotion_service.entity;
+
+public enum PromotionCounterType {
+    PROMOTION_BUDGET,
+    COUPON_USES,
+    CUSTOMER_COUPON_USES
+}
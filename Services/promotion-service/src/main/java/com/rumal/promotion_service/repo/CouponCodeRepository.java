@@ -1,11 +1,9 @@
 package com.rumal.promotion_service.repo;
 
 import com.rumal.promotion_service.entity.CouponCode;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,10 +15,6 @@ public interface CouponCodeRepository extends JpaRepository<CouponCode, UUID> {
     @Query("select c from CouponCode c join fetch c.promotion where c.code = :code")
     Optional<CouponCode> findByCodeWithPromotion(@Param("code") String code);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select c from CouponCode c join fetch c.promotion where c.code = :code")
-    Optional<CouponCode> findByCodeWithPromotionForUpdate(@Param("code") String code);
-
     @Query(
             value = "select c from CouponCode c join fetch c.promotion p where p.id = :promotionId",
             countQuery = "select count(c) from CouponCode c where c.promotion.id = :promotionId"
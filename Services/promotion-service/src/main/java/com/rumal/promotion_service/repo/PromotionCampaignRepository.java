@@ -27,21 +27,15 @@ public interface PromotionCampaignRepository extends JpaRepository<PromotionCamp
             Pageable pageable
     );
 
-    @Query("""
-            SELECT p FROM PromotionCampaign p
-            WHERE p.lifecycleStatus = :status
-              AND p.approvalStatus IN :approvalStatuses
-              AND (p.scopeType = 'ORDER'
-                   OR (p.scopeType = 'VENDOR' AND p.vendorId IN :vendorIds)
-                   OR p.scopeType IN ('PRODUCT', 'CATEGORY'))
-            """)
-    Page<PromotionCampaign> findActiveByScope(
-            @Param("status") PromotionLifecycleStatus status,
-            @Param("approvalStatuses") Collection<PromotionApprovalStatus> approvalStatuses,
-            @Param("vendorIds") Collection<UUID> vendorIds,
-            Pageable pageable
+    List<PromotionCampaign> findByLifecycleStatusAndApprovalStatusIn(
+            PromotionLifecycleStatus lifecycleStatus,
+            Collection<PromotionApprovalStatus> approvalStatuses
     );
 
+    // Counters that move with every order; quotes read them live instead of from the rule index snapshot.
+    @Query("SELECT p.id, p.burnedBudgetAmount, p.flashSaleRedemptionCount FROM PromotionCampaign p WHERE p.id IN :ids")
+    List<Object[]> findRedemptionCountersByIdIn(@Param("ids") Collection<UUID> ids);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select p from PromotionCampaign p where p.id = :id")
     Optional<PromotionCampaign> findByIdForUpdate(@Param("id") UUID id);
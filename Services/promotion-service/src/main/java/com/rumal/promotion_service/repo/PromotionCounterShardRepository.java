@@ -0,0 +1,59 @@
+package com.rumal.promotion_service.repo;
+
+import com.rumal.promotion_service.entity.PromotionCounterShard;
+import com.rumal.promotion_service.entity.PromotionCounterType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PromotionCounterShardRepository extends JpaRepository<PromotionCounterShard, UUID> {
+
+    // Scalar rows so the hot path never holds managed shard entities that later bulk updates would leave stale.
+    @Query("select s.id, s.limitAmount from PromotionCounterShard s where s.counterKey = :counterKey order by s.shardIndex")
+    List<Object[]> findShardSlots(@Param("counterKey") String counterKey);
+
+    @Modifying
+    @Query("""
+            update PromotionCounterShard s
+            set s.availableAmount = s.availableAmount - :amount
+            where s.id = :id
+              and s.availableAmount >= :amount
+            """)
+    int tryConsume(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("update PromotionCounterShard s set s.availableAmount = s.availableAmount + :amount where s.id = :id")
+    int restore(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from PromotionCounterShard s where s.counterKey = :counterKey order by s.shardIndex")
+    List<PromotionCounterShard> findByCounterKeyForUpdate(@Param("counterKey") String counterKey);
+
+    @Query("select distinct s.counterType, s.ownerId from PromotionCounterShard s where s.counterType in :types")
+    List<Object[]> findOwnersByCounterTypeIn(@Param("types") Collection<PromotionCounterType> types);
+
+    // Per-customer counters are rebuilt from the reservation table on next use, so idle ones can go at any time.
+    @Modifying
+    @Query(value = """
+            DELETE FROM promotion_counter_shards
+            WHERE id IN (
+                SELECT id FROM promotion_counter_shards
+                WHERE counter_type = 'CUSTOMER_COUPON_USES' AND reconciled_at < :cutoff
+                LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteCustomerCountersReconciledBefore(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("delete from PromotionCounterShard s where s.counterKey = :counterKey")
+    int deleteByCounterKey(@Param("counterKey") String counterKey);
+}
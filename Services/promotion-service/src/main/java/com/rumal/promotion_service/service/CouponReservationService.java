@@ -35,6 +35,7 @@ public class CouponReservationService {
     private final CouponReservationRepository couponReservationRepository;
     private final PromotionCampaignRepository promotionCampaignRepository;
     private final PromotionQuoteService promotionQuoteService;
+    private final PromotionCounterService promotionCounterService;
 
     @Value("${coupon.reservation.default-ttl-seconds:900}")
     private int defaultReservationTtlSeconds;
@@ -42,7 +43,7 @@ public class CouponReservationService {
     @Value("${coupon.reservation.max-ttl-seconds:1800}")
     private int maxReservationTtlSeconds;
 
-    @Transactional(readOnly = false, isolation = Isolation.SERIALIZABLE, timeout = 20)
+    @Transactional(readOnly = false, isolation = Isolation.READ_COMMITTED, timeout = 20)
     public CouponReservationResponse reserve(CreateCouponReservationRequest request) {
         validateReservationRequest(request);
 
@@ -60,8 +61,8 @@ public class CouponReservationService {
 
         Instant now = Instant.now();
 
-        // Acquire pessimistic lock on coupon row before quote and validation
-        // to serialize concurrent reservation attempts for the same coupon code
+        // No row lock here: usage and budget limits are enforced by the sharded counters taken below,
+        // so concurrent reservations for the same coupon code do not serialize
         CouponValidationService.CouponEligibility eligibility = couponValidationService
                 .findEligibleCouponForReservation(request.couponCode(), request.customerId(), now)
                 .orElseThrow(() -> new ValidationException("Coupon code not found"));
@@ -86,7 +87,10 @@ public class CouponReservationService {
             throw new ValidationException("Coupon code is valid but produced no discount for the provided quote");
         }
 
-        assertBudgetCanReserve(couponPromotionId, couponDiscount, now);
+        // A duplicate requestKey fails the insert below and rolls these counter takes back with it
+        promotionCounterService.reserveCustomerCouponUse(couponCode, request.customerId(), now);
+        promotionCounterService.reserveCouponUse(couponCode, now);
+        promotionCounterService.reservePromotionBudget(couponCode.getPromotion(), couponDiscount, now);
 
         int ttlSeconds = resolveReservationTtlSeconds(couponCode);
         CouponReservation reservation = CouponReservation.builder()
@@ -156,6 +160,7 @@ public class CouponReservationService {
         if (reservation.getStatus() == CouponReservationStatus.COMMITTED) {
             decrementPromotionBurnedBudgetIfApplicable(reservation.getPromotionId(), reservation.getReservedDiscountAmount());
         }
+        promotionCounterService.restore(reservation);
         reservation.setStatus(CouponReservationStatus.RELEASED);
         reservation.setReleasedAt(Instant.now());
         reservation.setReleaseReason(request.reason() != null ? request.reason().trim() : null);
@@ -220,25 +225,6 @@ public class CouponReservationService {
         return (value == null ? BigDecimal.ZERO : value).setScale(2, RoundingMode.HALF_UP);
     }
 
-    private void assertBudgetCanReserve(UUID promotionId, BigDecimal requestedDiscount, Instant now) {
-        if (promotionId == null) {
-            return;
-        }
-        var promotion = promotionCampaignRepository.findByIdForUpdate(promotionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Promotion not found: " + promotionId));
-        if (promotion.getBudgetAmount() == null) {
-            return;
-        }
-
-        BigDecimal budget = normalizeMoney(promotion.getBudgetAmount());
-        BigDecimal burned = normalizeMoney(promotion.getBurnedBudgetAmount());
-        BigDecimal activeReserved = normalizeMoney(couponReservationRepository.sumActiveReservedDiscountByPromotionId(promotionId, now));
-        BigDecimal remaining = normalizeMoney(budget.subtract(burned).subtract(activeReserved));
-        if (remaining.compareTo(normalizeMoney(requestedDiscount)) < 0) {
-            throw new ValidationException("Campaign budget remaining is insufficient for this reservation");
-        }
-    }
-
     private void incrementPromotionBurnedBudgetIfApplicable(UUID promotionId, BigDecimal amount) {
         if (promotionId == null) {
             return;
@@ -34,12 +34,16 @@ public class CouponValidationService {
                 .map(coupon -> evaluateEligibility(coupon, customerId, now));
     }
 
+    /**
+     * Same checks as a quote, without locking the coupon row. The usage limits read here are a fast pre-check;
+     * {@link PromotionCounterService} enforces them when the reservation takes its counters.
+     */
     public Optional<CouponEligibility> findEligibleCouponForReservation(String rawCouponCode, UUID customerId, Instant now) {
         String normalized = normalizeCouponCode(rawCouponCode);
         if (normalized == null) {
             return Optional.empty();
         }
-        return couponCodeRepository.findByCodeWithPromotionForUpdate(normalized)
+        return couponCodeRepository.findByCodeWithPromotion(normalized)
                 .map(coupon -> evaluateEligibility(coupon, customerId, now));
     }
 
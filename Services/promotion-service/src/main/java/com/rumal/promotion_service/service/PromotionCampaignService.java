@@ -19,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -45,6 +46,7 @@ import java.util.UUID;
 public class PromotionCampaignService {
 
     private final PromotionCampaignRepository promotionCampaignRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Cacheable(cacheNames = "promotionAdminList",
             key = "'list-P' + #pageable.pageNumber + '-S' + #pageable.pageSize + '-SO' + #pageable.sort"
@@ -155,7 +157,7 @@ public class PromotionCampaignService {
                 campaign.setLifecycleStatus(PromotionLifecycleStatus.PAUSED);
             }
         }
-        return toResponse(promotionCampaignRepository.save(campaign));
+        return toResponse(saveRuleChange(campaign));
     }
 
     @Caching(evict = {
@@ -178,7 +180,7 @@ public class PromotionCampaignService {
         campaign.setSubmittedByUserSub(trimToNull(actorUserSub));
         campaign.setApprovalNote("Submitted for platform approval");
         campaign.setUpdatedByUserSub(trimToNull(actorUserSub));
-        return toResponse(promotionCampaignRepository.save(campaign));
+        return toResponse(saveRuleChange(campaign));
     }
 
     @Caching(evict = {
@@ -203,7 +205,7 @@ public class PromotionCampaignService {
         campaign.setRejectedByUserSub(null);
         campaign.setApprovalNote(trimToNull(request == null ? null : request.note()));
         campaign.setUpdatedByUserSub(trimToNull(actorUserSub));
-        return toResponse(promotionCampaignRepository.save(campaign));
+        return toResponse(saveRuleChange(campaign));
     }
 
     @Caching(evict = {
@@ -226,7 +228,7 @@ public class PromotionCampaignService {
         if (campaign.getLifecycleStatus() == PromotionLifecycleStatus.ACTIVE) {
             campaign.setLifecycleStatus(PromotionLifecycleStatus.PAUSED);
         }
-        return toResponse(promotionCampaignRepository.save(campaign));
+        return toResponse(saveRuleChange(campaign));
     }
 
     @Caching(evict = {
@@ -249,7 +251,7 @@ public class PromotionCampaignService {
         }
         campaign.setLifecycleStatus(PromotionLifecycleStatus.ACTIVE);
         campaign.setUpdatedByUserSub(trimToNull(actorUserSub));
-        return toResponse(promotionCampaignRepository.save(campaign));
+        return toResponse(saveRuleChange(campaign));
     }
 
     @Caching(evict = {
@@ -266,7 +268,7 @@ public class PromotionCampaignService {
         }
         campaign.setLifecycleStatus(PromotionLifecycleStatus.PAUSED);
         campaign.setUpdatedByUserSub(trimToNull(actorUserSub));
-        return toResponse(promotionCampaignRepository.save(campaign));
+        return toResponse(saveRuleChange(campaign));
     }
 
     @Caching(evict = {
@@ -280,7 +282,14 @@ public class PromotionCampaignService {
         PromotionCampaign campaign = getEntity(id);
         campaign.setLifecycleStatus(PromotionLifecycleStatus.ARCHIVED);
         campaign.setUpdatedByUserSub(trimToNull(actorUserSub));
-        return toResponse(promotionCampaignRepository.save(campaign));
+        return toResponse(saveRuleChange(campaign));
+    }
+
+    // Quotes read campaigns from PromotionRuleIndex, which reloads once this transaction commits.
+    private PromotionCampaign saveRuleChange(PromotionCampaign campaign) {
+        PromotionCampaign saved = promotionCampaignRepository.save(campaign);
+        eventPublisher.publishEvent(new PromotionRuleIndex.PromotionRulesChanged(saved.getId()));
+        return saved;
     }
 
     private PromotionCampaign getEntity(UUID id) {
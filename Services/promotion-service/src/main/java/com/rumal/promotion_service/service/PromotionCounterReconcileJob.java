@@ -0,0 +1,100 @@
+package com.rumal.promotion_service.service;
+
+import com.rumal.promotion_service.entity.PromotionCounterType;
+import com.rumal.promotion_service.repo.PromotionCounterShardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically rolls every promotion budget and coupon usage counter up from the source tables: returns allowance held
+ * by expired reservations and evens the shards out so reservations keep hitting the single-shard fast path.
+ * <p>
+ * Per-customer counters get one row per customer and coupon and are never rolled up; instead, rows not reconciled
+ * within the retention are deleted in batches, and the customer's next reservation seeds a fresh one.
+ */
+@Component
+public class PromotionCounterReconcileJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PromotionCounterReconcileJob.class);
+    private static final List<PromotionCounterType> RECONCILED_TYPES =
+            List.of(PromotionCounterType.PROMOTION_BUDGET, PromotionCounterType.COUPON_USES);
+
+    private final PromotionCounterShardRepository shardRepository;
+    private final PromotionCounterService promotionCounterService;
+    private final TransactionTemplate counterTransaction;
+    private final Duration customerCounterRetention;
+    private final int compactionBatchSize;
+
+    public PromotionCounterReconcileJob(
+            PromotionCounterShardRepository shardRepository,
+            PromotionCounterService promotionCounterService,
+            PlatformTransactionManager transactionManager,
+            @Value("${coupon.reservation.customer-counter-retention:24h}") Duration customerCounterRetention,
+            @Value("${coupon.reservation.customer-counter-compaction-batch-size:500}") int compactionBatchSize
+    ) {
+        this.shardRepository = shardRepository;
+        this.promotionCounterService = promotionCounterService;
+        this.counterTransaction = new TransactionTemplate(transactionManager);
+        this.counterTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.counterTransaction.setTimeout(10);
+        this.customerCounterRetention = customerCounterRetention;
+        this.compactionBatchSize = Math.max(1, compactionBatchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.reservation.counter-reconcile-interval-ms:60000}")
+    public void reconcileCounters() {
+        List<Object[]> owners;
+        try {
+            owners = shardRepository.findOwnersByCounterTypeIn(RECONCILED_TYPES);
+        } catch (Exception ex) {
+            log.error("Failed to list promotion counters for reconciliation", ex);
+            return;
+        }
+        int failed = 0;
+        for (Object[] owner : owners) {
+            PromotionCounterType type = (PromotionCounterType) owner[0];
+            UUID ownerId = (UUID) owner[1];
+            try {
+                // One short transaction per counter so shard locks are never held across counters.
+                counterTransaction.executeWithoutResult(status -> promotionCounterService.reconcile(type, ownerId, Instant.now()));
+            } catch (Exception ex) {
+                failed++;
+                log.warn("Failed to reconcile {} counter for {}", type, ownerId, ex);
+            }
+        }
+        if (failed > 0) {
+            log.error("Promotion counter reconciliation failed for {} of {} counters", failed, owners.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.reservation.customer-counter-compaction-interval-ms:3600000}")
+    public void compactCustomerCounters() {
+        Instant cutoff = Instant.now().minus(customerCounterRetention);
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = counterTransaction.execute(status ->
+                        shardRepository.deleteCustomerCountersReconciledBefore(cutoff, compactionBatchSize));
+                deleted += batch;
+            } while (batch >= compactionBatchSize);
+        } catch (Exception ex) {
+            log.error("Failed to compact per-customer coupon counters after deleting {}", deleted, ex);
+            return;
+        }
+        if (deleted > 0) {
+            log.info("Compacted {} per-customer coupon counters reconciled before {}", deleted, cutoff);
+        }
+    }
+}
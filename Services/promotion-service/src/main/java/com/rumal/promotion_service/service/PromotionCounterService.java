@@ -0,0 +1,301 @@
+package com.rumal.promotion_service.service;
+
+import com.rumal.promotion_service.entity.CouponCode;
+import com.rumal.promotion_service.entity.CouponReservation;
+import com.rumal.promotion_service.entity.PromotionCampaign;
+import com.rumal.promotion_service.entity.PromotionCounterShard;
+import com.rumal.promotion_service.entity.PromotionCounterType;
+import com.rumal.promotion_service.exception.ValidationException;
+import com.rumal.promotion_service.repo.CouponCodeRepository;
+import com.rumal.promotion_service.repo.CouponReservationRepository;
+import com.rumal.promotion_service.repo.PromotionCampaignRepository;
+import com.rumal.promotion_service.repo.PromotionCounterShardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Budget and usage limits for coupon reservations, kept as N counter shards per limit instead of a lock on the coupon
+ * or promotion row. A reservation takes its amount from one randomly chosen shard with a conditional update, so
+ * reservations for the same viral code run in parallel. Only when no single shard can cover the amount does it lock
+ * every shard of that limit, recompute the remaining allowance from the reservation and burn tables, and take the
+ * amount across shards; that keeps the ceiling hard.
+ * <p>
+ * Shards are seeded from the same tables on first use, with {@code INSERT ... ON CONFLICT DO NOTHING} in the
+ * reservation's own transaction: a concurrent first use of the same counter waits on the uncommitted rows and then
+ * inserts nothing, so a first-time customer never needs a second pooled connection. They are reseeded when the limit
+ * changes. Explicit releases hand their amount back straight away; allowance held by reservations that simply expire
+ * comes back when the counter is next reconciled, either on exhaustion or by {@link PromotionCounterReconcileJob}.
+ * Because a counter can always be rebuilt from the source tables, that job also drops idle per-customer counters.
+ */
+@Service
+public class PromotionCounterService {
+
+    private static final BigDecimal ONE_USE = BigDecimal.ONE.setScale(2, RoundingMode.UNNECESSARY);
+    private static final String SEED_SQL = """
+            INSERT INTO promotion_counter_shards
+                (id, counter_key, counter_type, owner_id, customer_id, shard_index, limit_amount, available_amount, reconciled_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final PromotionCounterShardRepository shardRepository;
+    private final PromotionCampaignRepository promotionCampaignRepository;
+    private final CouponCodeRepository couponCodeRepository;
+    private final CouponReservationRepository couponReservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int shardCount;
+
+    public PromotionCounterService(
+            PromotionCounterShardRepository shardRepository,
+            PromotionCampaignRepository promotionCampaignRepository,
+            CouponCodeRepository couponCodeRepository,
+            CouponReservationRepository couponReservationRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${coupon.reservation.counter-shards:8}") int shardCount
+    ) {
+        this.shardRepository = shardRepository;
+        this.promotionCampaignRepository = promotionCampaignRepository;
+        this.couponCodeRepository = couponCodeRepository;
+        this.couponReservationRepository = couponReservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardCount = Math.max(1, shardCount);
+    }
+
+    public void reservePromotionBudget(PromotionCampaign promotion, BigDecimal amount, Instant now) {
+        if (promotion == null || promotion.getBudgetAmount() == null) {
+            return;
+        }
+        acquire(CounterRef.promotionBudget(promotion.getId()), normalizeMoney(promotion.getBudgetAmount()),
+                normalizeMoney(amount), now, "Campaign budget remaining is insufficient for this reservation");
+    }
+
+    public void reserveCouponUse(CouponCode couponCode, Instant now) {
+        if (couponCode == null || couponCode.getMaxUses() == null || couponCode.getMaxUses() <= 0) {
+            return;
+        }
+        acquire(CounterRef.couponUses(couponCode.getId()), uses(couponCode.getMaxUses()),
+                ONE_USE, now, "Coupon usage limit reached");
+    }
+
+    public void reserveCustomerCouponUse(CouponCode couponCode, UUID customerId, Instant now) {
+        if (couponCode == null || couponCode.getMaxUsesPerCustomer() == null || couponCode.getMaxUsesPerCustomer() <= 0) {
+            return;
+        }
+        if (customerId == null) {
+            throw new ValidationException("customerId is required for this coupon");
+        }
+        acquire(CounterRef.customerCouponUses(couponCode.getId(), customerId), uses(couponCode.getMaxUsesPerCustomer()),
+                ONE_USE, now, "Per-customer coupon usage limit reached");
+    }
+
+    /**
+     * Hands a released reservation's budget and uses back. Must run in the transaction that marks it released.
+     */
+    public void restore(CouponReservation reservation) {
+        restore(CounterRef.promotionBudget(reservation.getPromotionId()), normalizeMoney(reservation.getReservedDiscountAmount()));
+        if (reservation.getCouponCode() != null) {
+            UUID couponCodeId = reservation.getCouponCode().getId();
+            restore(CounterRef.couponUses(couponCodeId), ONE_USE);
+            restore(CounterRef.customerCouponUses(couponCodeId, reservation.getCustomerId()), ONE_USE);
+        }
+    }
+
+    /**
+     * Recomputes a promotion budget or coupon usage counter from the source tables and spreads the remaining
+     * allowance evenly over its shards. Counters whose limit was removed are dropped. Runs in the caller's transaction.
+     */
+    public void reconcile(PromotionCounterType type, UUID ownerId, Instant now) {
+        CounterRef ref = switch (type) {
+            case PROMOTION_BUDGET -> CounterRef.promotionBudget(ownerId);
+            case COUPON_USES -> CounterRef.couponUses(ownerId);
+            case CUSTOMER_COUPON_USES -> throw new IllegalArgumentException("Per-customer counters reconcile on exhaustion");
+        };
+        BigDecimal limit = switch (type) {
+            case PROMOTION_BUDGET -> promotionCampaignRepository.findById(ownerId)
+                    .map(PromotionCampaign::getBudgetAmount)
+                    .map(this::normalizeMoney)
+                    .orElse(null);
+            default -> couponCodeRepository.findById(ownerId)
+                    .map(CouponCode::getMaxUses)
+                    .filter(maxUses -> maxUses > 0)
+                    .map(this::uses)
+                    .orElse(null);
+        };
+        if (limit == null) {
+            shardRepository.deleteByCounterKey(ref.key());
+            return;
+        }
+        redistribute(ref, shardRepository.findByCounterKeyForUpdate(ref.key()), limit, now);
+    }
+
+    private void acquire(CounterRef ref, BigDecimal limit, BigDecimal amount, Instant now, String exhaustedMessage) {
+        if (amount.signum() <= 0) {
+            return;
+        }
+        List<Object[]> slots = shardRepository.findShardSlots(ref.key());
+        if (slots.isEmpty()) {
+            seed(ref, limit, now);
+            slots = shardRepository.findShardSlots(ref.key());
+        }
+
+        boolean limitChanged = slots.stream().anyMatch(slot -> ((BigDecimal) slot[1]).compareTo(limit) != 0);
+        if (!limitChanged && !slots.isEmpty()) {
+            int start = ThreadLocalRandom.current().nextInt(slots.size());
+            for (int i = 0; i < slots.size(); i++) {
+                UUID shardId = (UUID) slots.get((start + i) % slots.size())[0];
+                if (shardRepository.tryConsume(shardId, amount) == 1) {
+                    return;
+                }
+            }
+        }
+
+        if (!consumeAcrossShards(ref, limit, amount, now, limitChanged)) {
+            throw new ValidationException(exhaustedMessage);
+        }
+    }
+
+    // Slow path: no single shard can cover the amount, or the limit moved under the shards.
+    private boolean consumeAcrossShards(CounterRef ref, BigDecimal limit, BigDecimal amount, Instant now, boolean reconcileFirst) {
+        List<PromotionCounterShard> shards = shardRepository.findByCounterKeyForUpdate(ref.key());
+        if (shards.isEmpty()) {
+            // compacted away since the slots were read
+            seed(ref, limit, now);
+            shards = shardRepository.findByCounterKeyForUpdate(ref.key());
+        }
+        if (reconcileFirst || total(shards).compareTo(amount) < 0) {
+            redistribute(ref, shards, limit, now);
+        }
+        if (total(shards).compareTo(amount) < 0) {
+            return false;
+        }
+        BigDecimal outstanding = amount;
+        for (PromotionCounterShard shard : shards) {
+            BigDecimal taken = shard.getAvailableAmount().min(outstanding);
+            shard.setAvailableAmount(shard.getAvailableAmount().subtract(taken));
+            outstanding = outstanding.subtract(taken);
+            if (outstanding.signum() == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    // Callers hold every shard of the counter locked, so in-flight reservations against it have committed.
+    private void redistribute(CounterRef ref, List<PromotionCounterShard> shards, BigDecimal limit, Instant now) {
+        BigDecimal remaining = limit.subtract(consumed(ref, now)).max(BigDecimal.ZERO);
+        List<BigDecimal> slices = split(remaining, shards.size(), ref.type());
+        for (int i = 0; i < shards.size(); i++) {
+            PromotionCounterShard shard = shards.get(i);
+            shard.setLimitAmount(limit);
+            shard.setAvailableAmount(slices.get(i));
+            shard.setReconciledAt(now);
+        }
+    }
+
+    private void seed(CounterRef ref, BigDecimal limit, Instant now) {
+        int shards = ref.type() == PromotionCounterType.CUSTOMER_COUPON_USES ? 1 : shardCount;
+        List<BigDecimal> slices = split(limit.subtract(consumed(ref, now)).max(BigDecimal.ZERO), shards, ref.type());
+        Timestamp reconciledAt = Timestamp.from(now);
+        List<Integer> shardIndexes = IntStream.range(0, shards).boxed().toList();
+        jdbcTemplate.batchUpdate(SEED_SQL, shardIndexes, shards, (statement, shardIndex) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setString(2, ref.key());
+            statement.setString(3, ref.type().name());
+            statement.setObject(4, ref.ownerId());
+            statement.setObject(5, ref.customerId(), Types.OTHER);
+            statement.setInt(6, shardIndex);
+            statement.setBigDecimal(7, limit);
+            statement.setBigDecimal(8, slices.get(shardIndex));
+            statement.setTimestamp(9, reconciledAt);
+        });
+    }
+
+    private void restore(CounterRef ref, BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            return;
+        }
+        List<Object[]> slots = shardRepository.findShardSlots(ref.key());
+        if (slots.isEmpty()) {
+            return;
+        }
+        UUID shardId = (UUID) slots.get(ThreadLocalRandom.current().nextInt(slots.size()))[0];
+        shardRepository.restore(shardId, amount);
+    }
+
+    private BigDecimal consumed(CounterRef ref, Instant now) {
+        return switch (ref.type()) {
+            case PROMOTION_BUDGET -> {
+                // Scalar read: the caller may hold a managed copy of the campaign loaded before later commits.
+                BigDecimal burned = promotionCampaignRepository.findRedemptionCountersByIdIn(List.of(ref.ownerId())).stream()
+                        .findFirst()
+                        .map(row -> (BigDecimal) row[1])
+                        .orElse(BigDecimal.ZERO);
+                BigDecimal reserved = couponReservationRepository.sumActiveReservedDiscountByPromotionId(ref.ownerId(), now);
+                yield normalizeMoney(normalizeMoney(burned).add(normalizeMoney(reserved)));
+            }
+            case COUPON_USES -> uses(couponReservationRepository.countActiveOrCommittedByCouponCodeId(ref.ownerId(), now));
+            case CUSTOMER_COUPON_USES -> uses(couponReservationRepository.countActiveOrCommittedByCouponCodeIdAndCustomerId(
+                    ref.ownerId(), ref.customerId(), now));
+        };
+    }
+
+    // Usage counters are split in whole uses so a single shard can always cover one reservation.
+    private static List<BigDecimal> split(BigDecimal total, int parts, PromotionCounterType type) {
+        if (parts <= 0) {
+            return List.of();
+        }
+        int scale = type == PromotionCounterType.PROMOTION_BUDGET ? 2 : 0;
+        long units = total.setScale(scale, RoundingMode.DOWN).unscaledValue().longValueExact();
+        long base = units / parts;
+        long remainder = units % parts;
+        List<BigDecimal> slices = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            slices.add(BigDecimal.valueOf(base + (i < remainder ? 1 : 0), scale).setScale(2, RoundingMode.UNNECESSARY));
+        }
+        return slices;
+    }
+
+    private static BigDecimal total(List<PromotionCounterShard> shards) {
+        return shards.stream()
+                .map(PromotionCounterShard::getAvailableAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal uses(long count) {
+        return BigDecimal.valueOf(count).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private BigDecimal normalizeMoney(BigDecimal value) {
+        return (value == null ? BigDecimal.ZERO : value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record CounterRef(PromotionCounterType type, UUID ownerId, UUID customerId) {
+        static CounterRef promotionBudget(UUID promotionId) {
+            return new CounterRef(PromotionCounterType.PROMOTION_BUDGET, promotionId, null);
+        }
+
+        static CounterRef couponUses(UUID couponCodeId) {
+            return new CounterRef(PromotionCounterType.COUPON_USES, couponCodeId, null);
+        }
+
+        static CounterRef customerCouponUses(UUID couponCodeId, UUID customerId) {
+            return new CounterRef(PromotionCounterType.CUSTOMER_COUPON_USES, couponCodeId, customerId);
+        }
+
+        String key() {
+            return customerId == null ? type + ":" + ownerId : type + ":" + ownerId + ":" + customerId;
+        }
+    }
+}
@@ -7,10 +7,8 @@ import com.rumal.promotion_service.dto.PromotionQuoteRequest;
 import com.rumal.promotion_service.dto.PromotionQuoteResponse;
 import com.rumal.promotion_service.dto.RejectedPromotionQuoteEntry;
 import com.rumal.promotion_service.entity.PromotionApplicationLevel;
-import com.rumal.promotion_service.entity.PromotionApprovalStatus;
 import com.rumal.promotion_service.entity.PromotionBenefitType;
 import com.rumal.promotion_service.entity.PromotionCampaign;
-import com.rumal.promotion_service.entity.PromotionLifecycleStatus;
 import com.rumal.promotion_service.entity.PromotionScopeType;
 import com.rumal.promotion_service.entity.PromotionSpendTier;
 import com.rumal.promotion_service.exception.ValidationException;
@@ -19,15 +17,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -43,7 +39,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PromotionQuoteService {
 
+    private static final Comparator<PromotionCandidate> CANDIDATE_ORDER = Comparator
+            .comparing((PromotionCandidate c) -> c.promotion().isExclusive()).reversed()
+            .thenComparing(c -> c.promotion().getPriority())
+            .thenComparing((PromotionCandidate c) -> !c.explicitCoupon())
+            .thenComparing(c -> c.promotion().getCreatedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(c -> c.promotion().getId(), Comparator.nullsLast(Comparator.naturalOrder()));
+
     private final PromotionCampaignRepository promotionCampaignRepository;
+    private final PromotionRuleIndex promotionRuleIndex;
     private final CouponValidationService couponValidationService;
     private final CustomerPromotionEligibilityService customerPromotionEligibilityService;
 
@@ -91,40 +95,37 @@ public class PromotionQuoteService {
         CustomerSegmentResolutionState customerSegmentResolutionState =
                 new CustomerSegmentResolutionState(request.customerId(), pricedAt);
 
-        // Extract vendor IDs from cart lines for scope-based pre-filtering
-        Set<UUID> cartVendorIds = request.lines().stream()
-                .map(PromotionQuoteLineRequest::vendorId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        if (cartVendorIds.isEmpty()) {
-            cartVendorIds = Set.of(UUID.fromString("00000000-0000-0000-0000-000000000000"));
-        }
-
-        Map<UUID, PromotionCandidate> candidatesById = new LinkedHashMap<>();
-        List<PromotionApprovalStatus> eligibleStatuses = List.of(PromotionApprovalStatus.NOT_REQUIRED, PromotionApprovalStatus.APPROVED);
-        int pageNum = 0;
-        Page<PromotionCampaign> promoPage;
-        do {
-            promoPage = promotionCampaignRepository.findActiveByScope(
-                    PromotionLifecycleStatus.ACTIVE, eligibleStatuses, cartVendorIds, PageRequest.of(pageNum, 200));
-            promoPage.getContent().stream()
-                    .filter(p -> withinWindow(p, pricedAt))
-                    .filter(p -> withinFlashSaleWindow(p, pricedAt))
-                    .forEach(p -> candidatesById.put(p.getId(), new PromotionCandidate(p, false, null)));
-            pageNum++;
-        } while (promoPage.hasNext());
-        if (couponPromotion != null && couponPromotion.getId() != null) {
-            candidatesById.put(couponPromotion.getId(), new PromotionCandidate(couponPromotion, true, request.couponCode().trim()));
+        // Collect the cart's scope keys so the rule index only hands back campaigns that can touch this cart
+        Set<UUID> cartVendorIds = new HashSet<>();
+        Set<UUID> cartProductIds = new HashSet<>();
+        Set<UUID> cartCategoryIds = new HashSet<>();
+        for (PromotionQuoteLineRequest line : request.lines()) {
+            if (line.vendorId() != null) {
+                cartVendorIds.add(line.vendorId());
+            }
+            if (line.productId() != null) {
+                cartProductIds.add(line.productId());
+            }
+            cartCategoryIds.addAll(line.categoryIdsOrEmpty());
         }
 
-        List<PromotionCandidate> candidates = candidatesById.values().stream()
-                .sorted(Comparator
-                        .comparing((PromotionCandidate c) -> c.promotion().isExclusive()).reversed()
-                        .thenComparing(c -> c.promotion().getPriority())
-                        .thenComparing((PromotionCandidate c) -> !c.explicitCoupon())
-                        .thenComparing(c -> c.promotion().getCreatedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
-                        .thenComparing(c -> c.promotion().getId(), Comparator.nullsLast(Comparator.naturalOrder())))
-                .toList();
+        List<PromotionCampaign> indexed = promotionRuleIndex.candidates(cartVendorIds, cartProductIds, cartCategoryIds, pricedAt);
+        List<PromotionCandidate> candidates = new ArrayList<>(indexed.size() + 1);
+        for (PromotionCampaign promotion : indexed) {
+            if (couponPromotion == null || !promotion.getId().equals(couponPromotion.getId())) {
+                candidates.add(new PromotionCandidate(promotion, false, null));
+            }
+        }
+        if (couponPromotion != null && couponPromotion.getId() != null) {
+            // Index results are already ranked, so the coupon's campaign is merged in rather than re-sorting the list
+            PromotionCandidate couponCandidate = new PromotionCandidate(couponPromotion, true, request.couponCode().trim());
+            int position = 0;
+            while (position < candidates.size() && CANDIDATE_ORDER.compare(candidates.get(position), couponCandidate) < 0) {
+                position++;
+            }
+            candidates.add(position, couponCandidate);
+        }
+        Map<UUID, RedemptionCounters> liveCounters = loadRedemptionCounters(candidates);
 
         boolean exclusiveApplied = false;
         boolean nonStackableApplied = false;
@@ -212,8 +213,9 @@ public class PromotionQuoteService {
                 continue;
             }
             // Flash sale redemption limit check
+            RedemptionCounters counters = liveCounters.getOrDefault(promotion.getId(), RedemptionCounters.of(promotion));
             if (promotion.isFlashSale() && promotion.getFlashSaleMaxRedemptions() != null
-                    && promotion.getFlashSaleRedemptionCount() >= promotion.getFlashSaleMaxRedemptions()) {
+                    && counters.flashSaleRedemptionCount() >= promotion.getFlashSaleMaxRedemptions()) {
                 rejected.add(new RejectedPromotionQuoteEntry(
                         promotion.getId(),
                         candidateDisplayName(candidate),
@@ -222,7 +224,7 @@ public class PromotionQuoteService {
                 continue;
             }
 
-            BigDecimal budgetRemaining = remainingBudgetForQuote(promotion);
+            BigDecimal budgetRemaining = remainingBudgetForQuote(promotion, counters);
             if (budgetRemaining != null && budgetRemaining.compareTo(BigDecimal.ZERO) <= 0) {
                 rejected.add(new RejectedPromotionQuoteEntry(
                         promotion.getId(),
@@ -734,13 +736,6 @@ public class PromotionQuoteService {
         return minMoney(normalized, normalizeMoney(cap));
     }
 
-    private boolean withinWindow(PromotionCampaign promotion, Instant now) {
-        if (promotion.getStartsAt() != null && promotion.getStartsAt().isAfter(now)) {
-            return false;
-        }
-        return promotion.getEndsAt() == null || !promotion.getEndsAt().isBefore(now);
-    }
-
     private SegmentEligibilityResult evaluateSegmentEligibility(
             PromotionCandidate candidate,
             String requestedCustomerSegment,
@@ -773,16 +768,6 @@ public class PromotionQuoteService {
         return SegmentEligibilityResult.denied(requiredSegmentFailureReason(requiredSegments));
     }
 
-    private boolean withinFlashSaleWindow(PromotionCampaign promotion, Instant now) {
-        if (!promotion.isFlashSale()) {
-            return true; // not a flash sale, no extra window check
-        }
-        if (promotion.getFlashSaleStartAt() != null && promotion.getFlashSaleStartAt().isAfter(now)) {
-            return false;
-        }
-        return promotion.getFlashSaleEndAt() == null || !promotion.getFlashSaleEndAt().isBefore(now);
-    }
-
     private BigDecimal normalizeMoney(BigDecimal value) {
         return (value == null ? BigDecimal.ZERO : value).setScale(2, RoundingMode.HALF_UP);
     }
@@ -803,18 +788,39 @@ public class PromotionQuoteService {
         return left.compareTo(right) <= 0 ? left : right;
     }
 
-    private BigDecimal remainingBudgetForQuote(PromotionCampaign promotion) {
+    private BigDecimal remainingBudgetForQuote(PromotionCampaign promotion, RedemptionCounters counters) {
         if (promotion == null || promotion.getBudgetAmount() == null) {
             return null;
         }
         BigDecimal budget = normalizeMoney(promotion.getBudgetAmount());
-        BigDecimal burned = normalizeMoney(promotion.getBurnedBudgetAmount());
+        BigDecimal burned = normalizeMoney(counters.burnedBudgetAmount());
         BigDecimal remaining = normalizeMoney(budget.subtract(burned));
         return remaining.compareTo(BigDecimal.ZERO) < 0
                 ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
                 : remaining;
     }
 
+    /**
+     * Budget burn and flash-sale redemption counts move with every order, so the rule index snapshot's copies are
+     * stale. Reads the live values in one query, only for the candidates that are actually capped.
+     */
+    private Map<UUID, RedemptionCounters> loadRedemptionCounters(List<PromotionCandidate> candidates) {
+        List<UUID> cappedIds = candidates.stream()
+                .filter(c -> !c.explicitCoupon())
+                .map(PromotionCandidate::promotion)
+                .filter(p -> p.getBudgetAmount() != null || (p.isFlashSale() && p.getFlashSaleMaxRedemptions() != null))
+                .map(PromotionCampaign::getId)
+                .toList();
+        if (cappedIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, RedemptionCounters> counters = new HashMap<>();
+        for (Object[] row : promotionCampaignRepository.findRedemptionCountersByIdIn(cappedIds)) {
+            counters.put((UUID) row[0], new RedemptionCounters((BigDecimal) row[1], ((Number) row[2]).intValue()));
+        }
+        return counters;
+    }
+
     private List<BigDecimal> snapshotLineDiscounts(List<LineState> lineStates) {
         if (lineStates == null || lineStates.isEmpty()) {
             return List.of();
@@ -941,6 +947,12 @@ public class PromotionQuoteService {
     ) {
     }
 
+    private record RedemptionCounters(BigDecimal burnedBudgetAmount, int flashSaleRedemptionCount) {
+        private static RedemptionCounters of(PromotionCampaign promotion) {
+            return new RedemptionCounters(promotion.getBurnedBudgetAmount(), promotion.getFlashSaleRedemptionCount());
+        }
+    }
+
     private record SegmentEligibilityResult(boolean eligible, String reason) {
         private static SegmentEligibilityResult allowed() {
             return new SegmentEligibilityResult(true, null);
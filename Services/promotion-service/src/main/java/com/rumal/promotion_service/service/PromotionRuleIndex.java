@@ -0,0 +1,393 @@
+package com.rumal.promotion_service.service;
+
+import com.rumal.promotion_service.entity.PromotionApprovalStatus;
+import com.rumal.promotion_service.entity.PromotionCampaign;
+import com.rumal.promotion_service.entity.PromotionLifecycleStatus;
+import com.rumal.promotion_service.repo.PromotionCampaignRepository;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process snapshot of the campaigns a quote can apply, so {@link PromotionQuoteService#quote} does not page through
+ * the campaign table on every cart view. Active, approved campaigns are loaded once per version and compiled into
+ * platform-wide, per-vendor, per-product and per-category buckets of indexes into one list pre-sorted by exclusivity
+ * and priority, so a lookup is a union of a few buckets walked in rank order.
+ * <p>
+ * A new version is loaded after every committed campaign mutation on any replica (local event plus Redis pub/sub),
+ * and on a slow poll as a safety net. Campaign windows are handled without the database: the compiled buckets only
+ * contain campaigns live at compile time and are recompiled from the loaded version when the next window boundary passes.
+ * Budget burn and flash-sale redemption counts change with every order, so the snapshot's values for those are stale
+ * by design and quotes read them live.
+ */
+@Service
+public class PromotionRuleIndex implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PromotionRuleIndex.class);
+    private static final List<PromotionApprovalStatus> ELIGIBLE_APPROVAL_STATUSES =
+            List.of(PromotionApprovalStatus.NOT_REQUIRED, PromotionApprovalStatus.APPROVED);
+
+    static final Comparator<PromotionCampaign> RANK_ORDER = Comparator
+            .comparing(PromotionCampaign::isExclusive).reversed()
+            .thenComparingInt(PromotionCampaign::getPriority)
+            .thenComparing(PromotionCampaign::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PromotionCampaign::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final PromotionCampaignRepository promotionCampaignRepository;
+    private final TransactionTemplate loadTransaction;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final Clock clock;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "promotion-rule-index-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
+    private final AtomicLong refreshRequests = new AtomicLong();
+    private final Object refreshLock = new Object();
+    private final Object compileLock = new Object();
+    private long loadedRequest = -1;
+    private volatile LoadedCampaigns loaded;
+    private volatile CompiledRules compiled;
+
+    @Autowired
+    public PromotionRuleIndex(
+            PromotionCampaignRepository promotionCampaignRepository,
+            PlatformTransactionManager transactionManager,
+            StringRedisTemplate redisTemplate,
+            @Value("${promotion.rule-index.redis-channel:promo:rule-index:v1}") String channel
+    ) {
+        this(promotionCampaignRepository, transactionManager, redisTemplate, channel, Clock.systemUTC());
+    }
+
+    PromotionRuleIndex(
+            PromotionCampaignRepository promotionCampaignRepository,
+            PlatformTransactionManager transactionManager,
+            StringRedisTemplate redisTemplate,
+            String channel,
+            Clock clock
+    ) {
+        this.promotionCampaignRepository = promotionCampaignRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.loadTransaction.setTimeout(30);
+        this.redisTemplate = redisTemplate;
+        this.channel = StringUtils.hasText(channel) ? channel : "promo:rule-index:v1";
+        this.clock = clock;
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    /**
+     * Returns the campaigns live at {@code at} that can touch a cart with the given vendors, products and categories,
+     * in rank order. Order-scoped campaigns are always included. Loads the snapshot synchronously only on first use.
+     */
+    public List<PromotionCampaign> candidates(
+            Collection<UUID> vendorIds,
+            Collection<UUID> productIds,
+            Collection<UUID> categoryIds,
+            Instant at
+    ) {
+        CompiledRules rules = current(at);
+        BitSet selected = new BitSet(rules.ranked().size());
+        mark(selected, rules.platformWide());
+        markAll(selected, rules.byVendor(), vendorIds);
+        markAll(selected, rules.byProduct(), productIds);
+        markAll(selected, rules.byCategory(), categoryIds);
+
+        List<PromotionCampaign> result = new ArrayList<>(selected.cardinality());
+        for (int rank = selected.nextSetBit(0); rank >= 0; rank = selected.nextSetBit(rank + 1)) {
+            result.add(rules.ranked().get(rank));
+        }
+        return result;
+    }
+
+    public long version() {
+        LoadedCampaigns snapshot = loaded;
+        return snapshot == null ? 0 : snapshot.version();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRulesChanged(PromotionRulesChanged event) {
+        requestRefresh();
+        try {
+            redisTemplate.convertAndSend(channel, instanceId);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to broadcast promotion rule change for {} (peers pick it up on their next poll)",
+                    event.promotionId(), ex);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String origin = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!instanceId.equals(origin)) {
+            requestRefresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${promotion.rule-index.poll-interval-ms:300000}",
+            initialDelayString = "${promotion.rule-index.poll-interval-ms:300000}")
+    public void poll() {
+        requestRefresh();
+    }
+
+    /**
+     * Reloads on a background thread. Requests arriving while a reload is queued are folded into it.
+     */
+    public void requestRefresh() {
+        refreshRequests.incrementAndGet();
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                refreshScheduled.set(false);
+                try {
+                    refresh();
+                } catch (RuntimeException ex) {
+                    log.error("Promotion rule index refresh failed; serving version {}", version(), ex);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshScheduled.set(false);
+            log.warn("Promotion rule index refresh could not be scheduled", ex);
+        }
+    }
+
+    /**
+     * Loads and compiles a new version unless one that started after the latest request already finished.
+     */
+    void refresh() {
+        long requested = refreshRequests.get();
+        synchronized (refreshLock) {
+            if (loaded != null && loadedRequest >= requested) {
+                return;
+            }
+            long covered = refreshRequests.get();
+            List<PromotionCampaign> campaigns = loadTransaction.execute(status -> loadActiveCampaigns());
+            LoadedCampaigns next = new LoadedCampaigns(version() + 1, campaigns == null ? List.of() : campaigns);
+            Instant now = clock.instant();
+            synchronized (compileLock) {
+                loaded = next;
+                compiled = compile(next, now);
+            }
+            loadedRequest = covered;
+            log.debug("Promotion rule index version {} loaded with {} campaigns, {} live",
+                    next.version(), next.campaigns().size(), compiled.ranked().size());
+        }
+    }
+
+    private CompiledRules current(Instant at) {
+        CompiledRules rules = compiled;
+        if (rules == null) {
+            refresh();
+            rules = compiled;
+        }
+        if (rules.nextBoundary() != null && !at.isBefore(rules.nextBoundary())) {
+            synchronized (compileLock) {
+                rules = compiled;
+                if (rules.nextBoundary() != null && !at.isBefore(rules.nextBoundary())) {
+                    rules = compile(loaded, at);
+                    compiled = rules;
+                }
+            }
+        }
+        return rules;
+    }
+
+    private List<PromotionCampaign> loadActiveCampaigns() {
+        List<PromotionCampaign> campaigns = promotionCampaignRepository.findByLifecycleStatusAndApprovalStatusIn(
+                PromotionLifecycleStatus.ACTIVE, ELIGIBLE_APPROVAL_STATUSES);
+        // The snapshot outlives this transaction, so every collection a quote reads must be loaded now.
+        for (PromotionCampaign campaign : campaigns) {
+            Hibernate.initialize(campaign.getSpendTiers());
+            Hibernate.initialize(campaign.getTargetProductIds());
+            Hibernate.initialize(campaign.getTargetCategoryIds());
+        }
+        return campaigns;
+    }
+
+    static CompiledRules compile(LoadedCampaigns source, Instant at) {
+        List<PromotionCampaign> live = new ArrayList<>();
+        Instant nextBoundary = null;
+        for (PromotionCampaign campaign : source.campaigns()) {
+            if (isLive(campaign, at)) {
+                live.add(campaign);
+            }
+            nextBoundary = earliest(nextBoundary, nextBoundary(campaign, at));
+        }
+        live.sort(RANK_ORDER);
+
+        List<Integer> platformWide = new ArrayList<>();
+        Map<UUID, List<Integer>> byVendor = new HashMap<>();
+        Map<UUID, List<Integer>> byProduct = new HashMap<>();
+        Map<UUID, List<Integer>> byCategory = new HashMap<>();
+        for (int rank = 0; rank < live.size(); rank++) {
+            PromotionCampaign campaign = live.get(rank);
+            switch (campaign.getScopeType()) {
+                case ORDER -> platformWide.add(rank);
+                case VENDOR -> {
+                    if (campaign.getVendorId() != null) {
+                        byVendor.computeIfAbsent(campaign.getVendorId(), ignored -> new ArrayList<>()).add(rank);
+                    }
+                }
+                case PRODUCT -> addToBuckets(byProduct, campaign.getTargetProductIds(), rank);
+                case CATEGORY -> addToBuckets(byCategory, campaign.getTargetCategoryIds(), rank);
+            }
+        }
+        return new CompiledRules(
+                source.version(),
+                List.copyOf(live),
+                toArray(platformWide),
+                freeze(byVendor),
+                freeze(byProduct),
+                freeze(byCategory),
+                nextBoundary
+        );
+    }
+
+    // Same inclusive bounds as the quote-time window checks.
+    private static boolean isLive(PromotionCampaign campaign, Instant at) {
+        if (campaign.getStartsAt() != null && campaign.getStartsAt().isAfter(at)) {
+            return false;
+        }
+        if (campaign.getEndsAt() != null && campaign.getEndsAt().isBefore(at)) {
+            return false;
+        }
+        if (!campaign.isFlashSale()) {
+            return true;
+        }
+        if (campaign.getFlashSaleStartAt() != null && campaign.getFlashSaleStartAt().isAfter(at)) {
+            return false;
+        }
+        return campaign.getFlashSaleEndAt() == null || !campaign.getFlashSaleEndAt().isBefore(at);
+    }
+
+    private static Instant nextBoundary(PromotionCampaign campaign, Instant at) {
+        Instant next = startBoundary(campaign.getStartsAt(), at);
+        next = earliest(next, endBoundary(campaign.getEndsAt(), at));
+        if (campaign.isFlashSale()) {
+            next = earliest(next, startBoundary(campaign.getFlashSaleStartAt(), at));
+            next = earliest(next, endBoundary(campaign.getFlashSaleEndAt(), at));
+        }
+        return next;
+    }
+
+    private static Instant startBoundary(Instant startsAt, Instant at) {
+        return startsAt != null && startsAt.isAfter(at) ? startsAt : null;
+    }
+
+    // An end time is inclusive, so the campaign drops out just after it.
+    private static Instant endBoundary(Instant endsAt, Instant at) {
+        return endsAt != null && !endsAt.isBefore(at) ? endsAt.plusNanos(1) : null;
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static void addToBuckets(Map<UUID, List<Integer>> buckets, Set<UUID> keys, int rank) {
+        if (keys == null) {
+            return;
+        }
+        for (UUID key : keys) {
+            buckets.computeIfAbsent(key, ignored -> new ArrayList<>()).add(rank);
+        }
+    }
+
+    private static Map<UUID, int[]> freeze(Map<UUID, List<Integer>> buckets) {
+        Map<UUID, int[]> frozen = new HashMap<>(Math.max(16, buckets.size() * 2));
+        buckets.forEach((key, ranks) -> frozen.put(key, toArray(ranks)));
+        return Map.copyOf(frozen);
+    }
+
+    private static int[] toArray(List<Integer> ranks) {
+        return ranks.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void markAll(BitSet selected, Map<UUID, int[]> buckets, Collection<UUID> keys) {
+        if (keys == null || buckets.isEmpty()) {
+            return;
+        }
+        for (UUID key : keys) {
+            if (key != null) {
+                mark(selected, buckets.get(key));
+            }
+        }
+    }
+
+    private static void mark(BitSet selected, int[] ranks) {
+        if (ranks == null) {
+            return;
+        }
+        for (int rank : ranks) {
+            selected.set(rank);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Published by campaign mutations; the index reloads once the publishing transaction commits.
+     */
+    public record PromotionRulesChanged(UUID promotionId) {
+    }
+
+    record LoadedCampaigns(long version, List<PromotionCampaign> campaigns) {
+    }
+
+    record CompiledRules(
+            long version,
+            List<PromotionCampaign> ranked,
+            int[] platformWide,
+            Map<UUID, int[]> byVendor,
+            Map<UUID, int[]> byProduct,
+            Map<UUID, int[]> byCategory,
+            Instant nextBoundary
+    ) {
+    }
+}
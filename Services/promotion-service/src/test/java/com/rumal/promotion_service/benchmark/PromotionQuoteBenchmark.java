@@ -0,0 +1,178 @@
+package com.rumal.promotion_service.benchmark;
+
+import com.rumal.promotion_service.dto.PromotionQuoteLineRequest;
+import com.rumal.promotion_service.dto.PromotionQuoteRequest;
+import com.rumal.promotion_service.dto.PromotionQuoteResponse;
+import com.rumal.promotion_service.entity.PromotionApplicationLevel;
+import com.rumal.promotion_service.entity.PromotionApprovalStatus;
+import com.rumal.promotion_service.entity.PromotionBenefitType;
+import com.rumal.promotion_service.entity.PromotionCampaign;
+import com.rumal.promotion_service.entity.PromotionFundingSource;
+import com.rumal.promotion_service.entity.PromotionLifecycleStatus;
+import com.rumal.promotion_service.entity.PromotionScopeType;
+import com.rumal.promotion_service.repo.PromotionCampaignRepository;
+import com.rumal.promotion_service.service.CouponValidationService;
+import com.rumal.promotion_service.service.CustomerPromotionEligibilityService;
+import com.rumal.promotion_service.service.PromotionQuoteService;
+import com.rumal.promotion_service.service.PromotionRuleIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures {@link PromotionQuoteService#quote} against a warm {@link PromotionRuleIndex} holding {@code campaigns}
+ * active campaigns spread over platform, vendor, product and category scopes. The repository is a mock, so the
+ * numbers cover candidate selection and discount evaluation, not database latency.
+ * <p>
+ * Run with {@code mvn test-compile} and then this class's {@code main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromotionQuoteBenchmark {
+
+    private static final int VENDORS = 50;
+    private static final int PRODUCTS = 2_000;
+    private static final int CATEGORIES = 100;
+
+    @Param({"1000"})
+    private int campaigns;
+
+    private PromotionQuoteService quoteService;
+    private PromotionQuoteRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Instant now = Instant.now();
+        List<UUID> vendorIds = ids(VENDORS);
+        List<UUID> productIds = ids(PRODUCTS);
+        List<UUID> categoryIds = ids(CATEGORIES);
+
+        List<PromotionCampaign> active = new ArrayList<>(campaigns);
+        for (int i = 0; i < campaigns; i++) {
+            PromotionCampaign campaign = campaign(i, now);
+            int bucket = i % 10;
+            if (bucket == 0) {
+                campaign.setScopeType(PromotionScopeType.ORDER);
+                campaign.setApplicationLevel(PromotionApplicationLevel.CART);
+            } else if (bucket <= 3) {
+                campaign.setScopeType(PromotionScopeType.VENDOR);
+                campaign.setVendorId(vendorIds.get(random.nextInt(VENDORS)));
+            } else if (bucket <= 7) {
+                campaign.setScopeType(PromotionScopeType.PRODUCT);
+                campaign.setTargetProductIds(Set.of(
+                        productIds.get(random.nextInt(PRODUCTS)),
+                        productIds.get(random.nextInt(PRODUCTS))
+                ));
+            } else {
+                campaign.setScopeType(PromotionScopeType.CATEGORY);
+                campaign.setTargetCategoryIds(Set.of(categoryIds.get(random.nextInt(CATEGORIES))));
+            }
+            if (i % 7 == 0) {
+                campaign.setBudgetAmount(new BigDecimal("1000000.00"));
+            }
+            active.add(campaign);
+        }
+
+        PromotionCampaignRepository repository = Mockito.mock(PromotionCampaignRepository.class);
+        when(repository.findByLifecycleStatusAndApprovalStatusIn(any(), any())).thenReturn(active);
+        PromotionRuleIndex ruleIndex = new PromotionRuleIndex(
+                repository,
+                Mockito.mock(PlatformTransactionManager.class),
+                Mockito.mock(StringRedisTemplate.class),
+                "promo:rule-index:benchmark"
+        );
+        quoteService = new PromotionQuoteService(
+                repository,
+                ruleIndex,
+                Mockito.mock(CouponValidationService.class),
+                Mockito.mock(CustomerPromotionEligibilityService.class)
+        );
+
+        List<PromotionQuoteLineRequest> lines = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lines.add(new PromotionQuoteLineRequest(
+                    productIds.get(random.nextInt(PRODUCTS)),
+                    vendorIds.get(random.nextInt(VENDORS)),
+                    Set.of(categoryIds.get(random.nextInt(CATEGORIES))),
+                    new BigDecimal("49.99"),
+                    1 + random.nextInt(3)
+            ));
+        }
+        request = new PromotionQuoteRequest(lines, new BigDecimal("5.00"), null, null, null, "US", now);
+        quoteService.quote(request);
+    }
+
+    @Benchmark
+    public PromotionQuoteResponse quote() {
+        return quoteService.quote(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PromotionQuoteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private static PromotionCampaign campaign(int i, Instant now) {
+        PromotionCampaign promotion = new PromotionCampaign();
+        promotion.setId(UUID.randomUUID());
+        promotion.setName("Benchmark campaign " + i);
+        promotion.setDescription("Benchmark campaign " + i);
+        promotion.setApplicationLevel(PromotionApplicationLevel.LINE_ITEM);
+        promotion.setBenefitType(PromotionBenefitType.PERCENTAGE_OFF);
+        promotion.setBenefitValue(new BigDecimal("5.00"));
+        promotion.setFundingSource(PromotionFundingSource.PLATFORM);
+        promotion.setStackable(true);
+        promotion.setExclusive(i % 97 == 0);
+        promotion.setAutoApply(true);
+        promotion.setPriority(i % 50);
+        promotion.setTargetProductIds(Set.of());
+        promotion.setTargetCategoryIds(Set.of());
+        promotion.setLifecycleStatus(PromotionLifecycleStatus.ACTIVE);
+        promotion.setApprovalStatus(PromotionApprovalStatus.APPROVED);
+        promotion.setStartsAt(now.minusSeconds(3600));
+        promotion.setEndsAt(now.plusSeconds(86_400));
+        promotion.setCreatedAt(now.minusSeconds(i));
+        return promotion;
+    }
+}
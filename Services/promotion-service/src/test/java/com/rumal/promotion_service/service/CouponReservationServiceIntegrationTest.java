@@ -19,18 +19,23 @@ import com.rumal.promotion_service.entity.PromotionFundingSource;
 import com.rumal.promotion_service.entity.PromotionLifecycleStatus;
 import com.rumal.promotion_service.entity.PromotionScopeType;
 import com.rumal.promotion_service.exception.ValidationException;
+import com.rumal.promotion_service.repo.CouponCodeRepository;
 import com.rumal.promotion_service.repo.CouponReservationRepository;
 import com.rumal.promotion_service.repo.PromotionCampaignRepository;
+import com.rumal.promotion_service.repo.PromotionCounterShardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
 import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
@@ -50,8 +55,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DataJpaTest(properties = {
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:coupon-reservations;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
 })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class CouponReservationServiceIntegrationTest {
 
     @MockitoBean
@@ -66,6 +73,15 @@ class CouponReservationServiceIntegrationTest {
     @Autowired
     private PromotionCampaignRepository promotionCampaignRepository;
 
+    @Autowired
+    private CouponCodeRepository couponCodeRepository;
+
+    @Autowired
+    private PromotionCounterShardRepository promotionCounterShardRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
     private CouponValidationService couponValidationService;
     private PromotionQuoteService promotionQuoteService;
     private CouponReservationService couponReservationService;
@@ -78,7 +94,15 @@ class CouponReservationServiceIntegrationTest {
                 couponValidationService,
                 couponReservationRepository,
                 promotionCampaignRepository,
-                promotionQuoteService
+                promotionQuoteService,
+                new PromotionCounterService(
+                        promotionCounterShardRepository,
+                        promotionCampaignRepository,
+                        couponCodeRepository,
+                        couponReservationRepository,
+                        new JdbcTemplate(dataSource),
+                        4
+                )
         );
         ReflectionTestUtils.setField(couponReservationService, "defaultReservationTtlSeconds", 900);
         ReflectionTestUtils.setField(couponReservationService, "maxReservationTtlSeconds", 1800);
@@ -246,6 +270,50 @@ class CouponReservationServiceIntegrationTest {
         assertEquals(1L, couponReservationRepository.count());
     }
 
+    @Test
+    void reserve_takesBudgetAcrossShardsUpToTheCeilingAndReleaseHandsItBack() {
+        PromotionCampaign promotion = persistPromotion("Sharded Budget Promotion", "25.00", "0.00");
+        CouponCode couponCode = persistCoupon(promotion, "SAVE10", 600);
+        PromotionQuoteResponse quote = quoteResponseForCoupon(promotion.getId(), "SAVE10", "100.00", "10.00", "90.00");
+        when(promotionQuoteService.quote(any())).thenReturn(quote);
+        when(couponValidationService.findEligibleCouponForReservation(eq("SAVE10"), any(), any(Instant.class)))
+                .thenReturn(Optional.of(CouponValidationService.CouponEligibility.eligible(couponCode)));
+
+        CouponReservationResponse first = couponReservationService.reserve(reservationRequest("SAVE10", UUID.randomUUID(), "shard-1"));
+        couponReservationService.reserve(reservationRequest("SAVE10", UUID.randomUUID(), "shard-2"));
+        ValidationException exhausted = assertThrows(
+                ValidationException.class,
+                () -> couponReservationService.reserve(reservationRequest("SAVE10", UUID.randomUUID(), "shard-3"))
+        );
+        assertTrue(exhausted.getMessage().contains("budget"));
+
+        couponReservationService.release(first.id(), new ReleaseCouponReservationRequest("checkout_failed"));
+        CouponReservationResponse afterRelease =
+                couponReservationService.reserve(reservationRequest("SAVE10", UUID.randomUUID(), "shard-4"));
+        assertEquals("RESERVED", afterRelease.status());
+    }
+
+    @Test
+    void reserve_enforcesCouponUsageLimitThroughCounters() {
+        PromotionCampaign promotion = persistPromotion("Limited Coupon Promotion");
+        CouponCode couponCode = persistCoupon(promotion, "ONCE", 600);
+        couponCode.setMaxUses(1);
+        couponCode = entityManager.merge(couponCode);
+        entityManager.flush();
+        PromotionQuoteResponse quote = quoteResponseForCoupon(promotion.getId(), "ONCE", "100.00", "10.00", "90.00");
+        when(promotionQuoteService.quote(any())).thenReturn(quote);
+        when(couponValidationService.findEligibleCouponForReservation(eq("ONCE"), any(), any(Instant.class)))
+                .thenReturn(Optional.of(CouponValidationService.CouponEligibility.eligible(couponCode)));
+
+        couponReservationService.reserve(reservationRequest("ONCE", UUID.randomUUID(), "once-1"));
+        ValidationException error = assertThrows(
+                ValidationException.class,
+                () -> couponReservationService.reserve(reservationRequest("ONCE", UUID.randomUUID(), "once-2"))
+        );
+
+        assertTrue(error.getMessage().contains("usage limit"));
+    }
+
     private PromotionCampaign persistPromotion(String name) {
         return persistPromotion(name, null, "0.00");
     }
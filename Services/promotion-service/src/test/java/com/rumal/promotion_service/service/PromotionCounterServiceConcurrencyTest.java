@@ -0,0 +1,271 @@
+package com.rumal.promotion_service.service;
+
+import com.rumal.promotion_service.dto.AppliedPromotionQuoteEntry;
+import com.rumal.promotion_service.dto.CreateCouponReservationRequest;
+import com.rumal.promotion_service.dto.PromotionQuoteLineRequest;
+import com.rumal.promotion_service.dto.PromotionQuoteRequest;
+import com.rumal.promotion_service.dto.PromotionQuoteResponse;
+import com.rumal.promotion_service.entity.CouponCode;
+import com.rumal.promotion_service.entity.PromotionApplicationLevel;
+import com.rumal.promotion_service.entity.PromotionApprovalStatus;
+import com.rumal.promotion_service.entity.PromotionBenefitType;
+import com.rumal.promotion_service.entity.PromotionCampaign;
+import com.rumal.promotion_service.entity.PromotionCounterShard;
+import com.rumal.promotion_service.entity.PromotionCounterType;
+import com.rumal.promotion_service.entity.PromotionFundingSource;
+import com.rumal.promotion_service.entity.PromotionLifecycleStatus;
+import com.rumal.promotion_service.entity.PromotionScopeType;
+import com.rumal.promotion_service.exception.ValidationException;
+import com.rumal.promotion_service.repo.CouponCodeRepository;
+import com.rumal.promotion_service.repo.CouponReservationRepository;
+import com.rumal.promotion_service.repo.PromotionCampaignRepository;
+import com.rumal.promotion_service.repo.PromotionCounterShardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs reservations from many threads against real transactions on a pool smaller than the number of buyers, so
+ * every first use of a counter races its seed and a reservation that needed a second connection would time out.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:promotion-counters;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PromotionCounterServiceConcurrencyTest {
+
+    private static final int BUYERS = 24;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PromotionCounterShardRepository shardRepository;
+
+    @Autowired
+    private PromotionCampaignRepository promotionCampaignRepository;
+
+    @Autowired
+    private CouponCodeRepository couponCodeRepository;
+
+    @Autowired
+    private CouponReservationRepository couponReservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final CouponValidationService couponValidationService = Mockito.mock(CouponValidationService.class);
+    private final PromotionQuoteService promotionQuoteService = Mockito.mock(PromotionQuoteService.class);
+    private PromotionCounterService counterService;
+    private CouponReservationService couponReservationService;
+    private TransactionTemplate reservationTransaction;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new PromotionCounterService(shardRepository, promotionCampaignRepository, couponCodeRepository,
+                couponReservationRepository, new JdbcTemplate(dataSource), 4);
+        couponReservationService = new CouponReservationService(couponValidationService, couponReservationRepository,
+                promotionCampaignRepository, promotionQuoteService, counterService);
+        ReflectionTestUtils.setField(couponReservationService, "defaultReservationTtlSeconds", 900);
+        ReflectionTestUtils.setField(couponReservationService, "maxReservationTtlSeconds", 1800);
+        reservationTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        couponReservationRepository.deleteAll();
+        shardRepository.deleteAll();
+        couponCodeRepository.deleteAll();
+        promotionCampaignRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentFirstReservationsNeverOversubscribeTheCouponLimit() throws Exception {
+        CouponCode couponCode = persistCoupon("VIRAL", 5, 1);
+        List<UUID> customers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            customers.add(UUID.randomUUID());
+        }
+
+        Outcome outcome = race(couponCode, customers);
+
+        assertTrue(outcome.errors().isEmpty(), () -> "unexpected failures: " + outcome.errors());
+        assertEquals(5, outcome.reserved());
+        assertEquals(BUYERS - 5, outcome.rejected());
+        assertEquals(5, couponReservationRepository.count());
+        assertEquals(0, available("COUPON_USES:" + couponCode.getId()).signum());
+    }
+
+    @Test
+    void concurrentReservationsBySameCustomerStopAtThePerCustomerLimit() throws Exception {
+        CouponCode couponCode = persistCoupon("TWICE", null, 2);
+        UUID customerId = UUID.randomUUID();
+        List<UUID> attempts = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            attempts.add(customerId);
+        }
+
+        Outcome outcome = race(couponCode, attempts);
+
+        assertTrue(outcome.errors().isEmpty(), () -> "unexpected failures: " + outcome.errors());
+        assertEquals(2, outcome.reserved());
+        assertEquals(2, couponReservationRepository.count());
+        assertEquals(1, shardRepository.findAll().size());
+    }
+
+    @Test
+    void compactionDropsIdleCustomerCountersAndTheNextReservationReseeds() {
+        CouponCode couponCode = persistCoupon("IDLE", 10, 3);
+        UUID customerId = UUID.randomUUID();
+        stubEligibility(couponCode);
+        reservationTransaction.executeWithoutResult(status ->
+                couponReservationService.reserve(reservationRequest(couponCode.getCode(), customerId)));
+
+        new PromotionCounterReconcileJob(shardRepository, counterService, transactionManager, Duration.ofSeconds(-5), 1)
+                .compactCustomerCounters();
+
+        List<PromotionCounterShard> left = shardRepository.findAll();
+        assertTrue(left.stream().noneMatch(shard -> shard.getCounterType() == PromotionCounterType.CUSTOMER_COUPON_USES));
+        assertEquals(4, left.size());
+
+        reservationTransaction.executeWithoutResult(status ->
+                couponReservationService.reserve(reservationRequest(couponCode.getCode(), customerId)));
+        assertEquals(new BigDecimal("1.00"), available("CUSTOMER_COUPON_USES:" + couponCode.getId() + ":" + customerId));
+    }
+
+    private Outcome race(CouponCode couponCode, List<UUID> customers) throws Exception {
+        stubEligibility(couponCode);
+        ExecutorService executor = Executors.newFixedThreadPool(customers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (UUID customerId : customers) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        start.await();
+                        reservationTransaction.executeWithoutResult(status ->
+                                couponReservationService.reserve(reservationRequest(couponCode.getCode(), customerId)));
+                        reserved.incrementAndGet();
+                    } catch (ValidationException ex) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable ex) {
+                        errors.add(ex);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Outcome(reserved.get(), rejected.get(), List.copyOf(errors));
+    }
+
+    private void stubEligibility(CouponCode couponCode) {
+        UUID promotionId = couponCode.getPromotion().getId();
+        when(couponValidationService.findEligibleCouponForReservation(eq(couponCode.getCode()), any(), any(Instant.class)))
+                .thenReturn(Optional.of(CouponValidationService.CouponEligibility.eligible(couponCode)));
+        when(promotionQuoteService.quote(any())).thenReturn(new PromotionQuoteResponse(
+                new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("10.00"), BigDecimal.ZERO, BigDecimal.ZERO,
+                new BigDecimal("10.00"), new BigDecimal("90.00"), List.of(),
+                List.of(new AppliedPromotionQuoteEntry(promotionId, couponCode.getCode(), PromotionApplicationLevel.CART,
+                        PromotionBenefitType.PERCENTAGE_OFF, 10, false, new BigDecimal("10.00"))),
+                List.of(), Instant.now()));
+    }
+
+    private BigDecimal available(String counterKey) {
+        return shardRepository.findAll().stream()
+                .filter(shard -> shard.getCounterKey().equals(counterKey))
+                .map(PromotionCounterShard::getAvailableAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private CouponCode persistCoupon(String code, Integer maxUses, Integer maxUsesPerCustomer) {
+        PromotionCampaign promotion = new PromotionCampaign();
+        promotion.setName(code + " promotion");
+        promotion.setDescription(code + " promotion");
+        promotion.setScopeType(PromotionScopeType.ORDER);
+        promotion.setApplicationLevel(PromotionApplicationLevel.CART);
+        promotion.setBenefitType(PromotionBenefitType.PERCENTAGE_OFF);
+        promotion.setBenefitValue(new BigDecimal("10.00"));
+        promotion.setBurnedBudgetAmount(BigDecimal.ZERO);
+        promotion.setFundingSource(PromotionFundingSource.PLATFORM);
+        promotion.setPriority(10);
+        promotion.setTargetProductIds(Set.of());
+        promotion.setTargetCategoryIds(Set.of());
+        promotion.setLifecycleStatus(PromotionLifecycleStatus.ACTIVE);
+        promotion.setApprovalStatus(PromotionApprovalStatus.APPROVED);
+        promotion.setStartsAt(Instant.now().minusSeconds(3600));
+        promotion.setEndsAt(Instant.now().plusSeconds(3600));
+        promotion = promotionCampaignRepository.save(promotion);
+
+        CouponCode couponCode = new CouponCode();
+        couponCode.setPromotion(promotion);
+        couponCode.setCode(code);
+        couponCode.setActive(true);
+        couponCode.setMaxUses(maxUses);
+        couponCode.setMaxUsesPerCustomer(maxUsesPerCustomer);
+        couponCode.setStartsAt(Instant.now().minusSeconds(3600));
+        couponCode.setEndsAt(Instant.now().plusSeconds(3600));
+        return couponCodeRepository.save(couponCode);
+    }
+
+    private static CreateCouponReservationRequest reservationRequest(String couponCode, UUID customerId) {
+        PromotionQuoteRequest quoteRequest = new PromotionQuoteRequest(
+                List.of(new PromotionQuoteLineRequest(UUID.randomUUID(), UUID.randomUUID(), Set.of(UUID.randomUUID()),
+                        new BigDecimal("100.00"), 1)),
+                BigDecimal.ZERO, customerId, null, couponCode, "US", Instant.now());
+        return new CreateCouponReservationRequest(couponCode, customerId, quoteRequest, UUID.randomUUID().toString());
+    }
+
+    private record Outcome(int reserved, int rejected, List<Throwable> errors) {}
+}
@@ -16,7 +16,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -38,6 +37,9 @@ class PromotionQuoteServiceCustomerSegmentTest {
     @Mock
     private PromotionCampaignRepository promotionCampaignRepository;
 
+    @Mock
+    private PromotionRuleIndex promotionRuleIndex;
+
     @Mock
     private CouponValidationService couponValidationService;
 
@@ -55,6 +57,7 @@ class PromotionQuoteServiceCustomerSegmentTest {
     void setUp() {
         service = new PromotionQuoteService(
                 promotionCampaignRepository,
+                promotionRuleIndex,
                 couponValidationService,
                 customerPromotionEligibilityService
         );
@@ -126,8 +129,7 @@ class PromotionQuoteServiceCustomerSegmentTest {
     }
 
     private void stubPromotions(PromotionCampaign promotion) {
-        when(promotionCampaignRepository.findActiveByScope(any(), any(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(promotion)));
+        when(promotionRuleIndex.candidates(any(), any(), any(), any())).thenReturn(List.of(promotion));
     }
 
     private PromotionCampaign newPromotion(String name) {
@@ -17,14 +17,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -38,6 +37,9 @@ class PromotionQuoteServiceTest {
     @Mock
     private PromotionCampaignRepository promotionCampaignRepository;
 
+    @Mock
+    private PromotionRuleIndex promotionRuleIndex;
+
     @Mock
     private CouponValidationService couponValidationService;
 
@@ -57,6 +59,7 @@ class PromotionQuoteServiceTest {
     void setUp() {
         service = new PromotionQuoteService(
                 promotionCampaignRepository,
+                promotionRuleIndex,
                 couponValidationService,
                 customerPromotionEligibilityService
         );
@@ -442,6 +445,32 @@ class PromotionQuoteServiceTest {
         assertTrue(quote.rejectedPromotions().getFirst().reason().contains("budget"));
     }
 
+    @Test
+    void quote_budgetCheckUsesLiveBurnInsteadOfIndexSnapshot() {
+        PromotionCampaign promo = basePromotion(
+                "Budgeted cart 10%",
+                PromotionApplicationLevel.CART,
+                PromotionScopeType.ORDER,
+                PromotionBenefitType.PERCENTAGE_OFF,
+                "10.00",
+                1,
+                true,
+                false
+        );
+        promo.setBudgetAmount(new BigDecimal("20.00"));
+        promo.setBurnedBudgetAmount(BigDecimal.ZERO.setScale(2));
+
+        stubActivePromotions(promo);
+        when(promotionCampaignRepository.findRedemptionCountersByIdIn(List.of(promo.getId())))
+                .thenReturn(List.<Object[]>of(new Object[]{promo.getId(), new BigDecimal("20.00"), 0}));
+
+        PromotionQuoteResponse quote = service.quote(singleLineOrderRequest("100.00", 1, "0.00"));
+
+        assertEquals(new BigDecimal("0.00"), quote.totalDiscount());
+        assertEquals(1, quote.rejectedPromotions().size());
+        assertTrue(quote.rejectedPromotions().getFirst().reason().contains("budget exhausted"));
+    }
+
     private PromotionQuoteRequest singleLineOrderRequest(String unitPrice, int quantity, String shippingAmount) {
         return new PromotionQuoteRequest(
                 List.of(new PromotionQuoteLineRequest(
@@ -499,14 +528,7 @@ class PromotionQuoteServiceTest {
     }
 
     private void stubActivePromotions(PromotionCampaign... promotions) {
-        List<PromotionCampaign> content = List.of(promotions);
-        when(promotionCampaignRepository.findActiveByScope(any(), any(), any(), any()))
-                .thenAnswer(invocation -> {
-                    PageRequest pageable = invocation.getArgument(3);
-                    if (pageable.getPageNumber() == 0) {
-                        return new PageImpl<>(content, pageable, content.size());
-                    }
-                    return new PageImpl<>(List.of(), pageable, content.size());
-                });
+        List<PromotionCampaign> ranked = Stream.of(promotions).sorted(PromotionRuleIndex.RANK_ORDER).toList();
+        when(promotionRuleIndex.candidates(any(), any(), any(), any())).thenReturn(ranked);
     }
 }
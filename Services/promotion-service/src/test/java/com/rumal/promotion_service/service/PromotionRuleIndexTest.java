@@ -0,0 +1,138 @@
+package com.rumal.promotion_service.service;
+
+import com.rumal.promotion_service.entity.PromotionApplicationLevel;
+import com.rumal.promotion_service.entity.PromotionApprovalStatus;
+import com.rumal.promotion_service.entity.PromotionBenefitType;
+import com.rumal.promotion_service.entity.PromotionCampaign;
+import com.rumal.promotion_service.entity.PromotionFundingSource;
+import com.rumal.promotion_service.entity.PromotionLifecycleStatus;
+import com.rumal.promotion_service.entity.PromotionScopeType;
+import com.rumal.promotion_service.repo.PromotionCampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PromotionRuleIndexTest {
+
+    @Mock
+    private PromotionCampaignRepository promotionCampaignRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private PromotionRuleIndex index;
+
+    private final Instant now = Instant.parse("2026-03-08T06:00:00Z");
+    private final UUID vendorId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private final UUID otherVendorId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private final UUID productId = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    private final UUID categoryId = UUID.fromString("44444444-4444-4444-4444-444444444444");
+
+    @BeforeEach
+    void setUp() {
+        index = new PromotionRuleIndex(promotionCampaignRepository, transactionManager, redisTemplate,
+                "promo:rule-index:test", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void candidates_returnsOnlyBucketsTouchingTheCartInRankOrder() {
+        PromotionCampaign platform = campaign("Platform", PromotionScopeType.ORDER, 5, false);
+        PromotionCampaign exclusiveVendor = campaign("Vendor exclusive", PromotionScopeType.VENDOR, 50, true);
+        exclusiveVendor.setVendorId(vendorId);
+        PromotionCampaign otherVendor = campaign("Other vendor", PromotionScopeType.VENDOR, 1, false);
+        otherVendor.setVendorId(otherVendorId);
+        PromotionCampaign product = campaign("Product", PromotionScopeType.PRODUCT, 1, false);
+        product.setTargetProductIds(Set.of(productId));
+        PromotionCampaign category = campaign("Category", PromotionScopeType.CATEGORY, 10, false);
+        category.setTargetCategoryIds(Set.of(categoryId, UUID.randomUUID()));
+        PromotionCampaign unrelatedProduct = campaign("Unrelated product", PromotionScopeType.PRODUCT, 1, false);
+        unrelatedProduct.setTargetProductIds(Set.of(UUID.randomUUID()));
+        stubLoad(platform, exclusiveVendor, otherVendor, product, category, unrelatedProduct);
+
+        List<PromotionCampaign> candidates = index.candidates(Set.of(vendorId), Set.of(productId), Set.of(categoryId), now);
+
+        assertEquals(List.of(exclusiveVendor, product, platform, category), candidates);
+    }
+
+    @Test
+    void candidates_recompilesAtWindowBoundariesWithoutReloading() {
+        PromotionCampaign running = campaign("Running", PromotionScopeType.ORDER, 1, false);
+        running.setEndsAt(now.plusSeconds(60));
+        PromotionCampaign upcoming = campaign("Upcoming", PromotionScopeType.ORDER, 2, false);
+        upcoming.setStartsAt(now.plusSeconds(30));
+        stubLoad(running, upcoming);
+
+        assertEquals(List.of(running), index.candidates(Set.of(), Set.of(), Set.of(), now));
+        assertEquals(List.of(running, upcoming), index.candidates(Set.of(), Set.of(), Set.of(), now.plusSeconds(30)));
+        assertEquals(List.of(running, upcoming), index.candidates(Set.of(), Set.of(), Set.of(), now.plusSeconds(60)));
+        assertEquals(List.of(upcoming), index.candidates(Set.of(), Set.of(), Set.of(), now.plusSeconds(61)));
+
+        verify(promotionCampaignRepository, times(1)).findByLifecycleStatusAndApprovalStatusIn(any(), any());
+    }
+
+    @Test
+    void refresh_reloadsOnlyAfterANewRequest() {
+        stubLoad(campaign("Platform", PromotionScopeType.ORDER, 1, false));
+
+        index.refresh();
+        index.refresh();
+        assertEquals(1, index.version());
+
+        index.onRulesChanged(new PromotionRuleIndex.PromotionRulesChanged(UUID.randomUUID()));
+        verify(redisTemplate).convertAndSend(eq("promo:rule-index:test"), any(String.class));
+        index.refresh();
+        assertEquals(2, index.version());
+    }
+
+    private void stubLoad(PromotionCampaign... campaigns) {
+        when(promotionCampaignRepository.findByLifecycleStatusAndApprovalStatusIn(
+                eq(PromotionLifecycleStatus.ACTIVE), any()))
+                .thenReturn(List.of(campaigns));
+    }
+
+    private PromotionCampaign campaign(String name, PromotionScopeType scopeType, int priority, boolean exclusive) {
+        PromotionCampaign promotion = new PromotionCampaign();
+        promotion.setId(UUID.randomUUID());
+        promotion.setName(name);
+        promotion.setDescription(name + " description");
+        promotion.setScopeType(scopeType);
+        promotion.setApplicationLevel(PromotionApplicationLevel.CART);
+        promotion.setBenefitType(PromotionBenefitType.PERCENTAGE_OFF);
+        promotion.setBenefitValue(new BigDecimal("10.00"));
+        promotion.setFundingSource(PromotionFundingSource.PLATFORM);
+        promotion.setStackable(true);
+        promotion.setExclusive(exclusive);
+        promotion.setAutoApply(true);
+        promotion.setPriority(priority);
+        promotion.setTargetProductIds(Set.of());
+        promotion.setTargetCategoryIds(Set.of());
+        promotion.setLifecycleStatus(PromotionLifecycleStatus.ACTIVE);
+        promotion.setApprovalStatus(PromotionApprovalStatus.APPROVED);
+        promotion.setStartsAt(now.minusSeconds(3600));
+        promotion.setCreatedAt(now.minusSeconds(3600));
+        return promotion;
+    }
+}
@@ -4,21 +4,19 @@ import com.rumal.review_service.dto.ReviewResponse;
 import com.rumal.review_service.dto.ReviewSummaryResponse;
 import com.rumal.review_service.service.ReviewImageStorageService;
 import com.rumal.review_service.service.ReviewService;
-import com.rumal.review_service.service.StoredImage;
+import com.rumal.shared.storage.StoredImage;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.http.CacheControl;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.HandlerMapping;
 
-import java.time.Duration;
 import java.util.UUID;
 
 @RestController
@@ -49,14 +47,11 @@ public class PublicReviewController {
     }
 
     @GetMapping("/images/**")
-    public ResponseEntity<byte[]> getImage(HttpServletRequest request) {
+    public ResponseEntity<Resource> getImage(HttpServletRequest request) {
         String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
         String bestPattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
         String key = new AntPathMatcher().extractPathWithinPattern(bestPattern, path);
         StoredImage image = reviewImageStorageService.getImage(key);
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
-                .contentType(MediaType.parseMediaType(image.contentType()))
-                .body(image.bytes());
+        return image.toResponse();
     }
 }
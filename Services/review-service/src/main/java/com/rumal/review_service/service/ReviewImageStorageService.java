@@ -1,5 +1,6 @@
 package com.rumal.review_service.service;
 
+import com.rumal.shared.storage.StoredImage;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 
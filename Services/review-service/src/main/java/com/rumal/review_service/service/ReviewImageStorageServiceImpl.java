@@ -2,6 +2,10 @@ package com.rumal.review_service.service;
 
 import com.rumal.review_service.config.ObjectStorageProperties;
 import com.rumal.review_service.exception.ValidationException;
+import com.rumal.shared.storage.ImageDerivativePipeline;
+import com.rumal.shared.storage.ImageDerivatives;
+import com.rumal.shared.storage.ObjectImageCache;
+import com.rumal.shared.storage.StoredImage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -10,15 +14,10 @@ import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.List;
 import java.util.Locale;
@@ -31,15 +30,23 @@ public class ReviewImageStorageServiceImpl implements ReviewImageStorageService
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "webp");
     private static final long MAX_FILE_SIZE = 1_048_576; // 1MB
     private static final int MAX_FILES = 5;
-    private static final int THUMBNAIL_MAX_DIM = 300;
     private static final Pattern KEY_PATTERN = Pattern.compile("^(reviews/)?[A-Za-z0-9-]+(-thumb)?\\.(jpg|jpeg|png|webp)$");
 
     private final ObjectProvider<S3Client> s3ClientProvider;
     private final ObjectStorageProperties properties;
-
-    public ReviewImageStorageServiceImpl(ObjectProvider<S3Client> s3ClientProvider, ObjectStorageProperties properties) {
+    private final ObjectImageCache objectImageCache;
+    private final ImageDerivativePipeline imageDerivativePipeline;
+
+    public ReviewImageStorageServiceImpl(
+            ObjectProvider<S3Client> s3ClientProvider,
+            ObjectStorageProperties properties,
+            ObjectImageCache objectImageCache,
+            ImageDerivativePipeline imageDerivativePipeline
+    ) {
         this.s3ClientProvider = s3ClientProvider;
         this.properties = properties;
+        this.objectImageCache = objectImageCache;
+        this.imageDerivativePipeline = imageDerivativePipeline;
     }
 
     @Override
@@ -66,12 +73,9 @@ public class ReviewImageStorageServiceImpl implements ReviewImageStorageService
             }
 
             try {
-                byte[] originalBytes = file.getBytes();
-
-                // Validate actual image content before uploading
-                try (ByteArrayInputStream probe = new ByteArrayInputStream(originalBytes)) {
-                    BufferedImage img = ImageIO.read(probe);
-                    if (img == null) {
+                // Validate actual image content before uploading; only the header is decoded
+                try (InputStream probe = file.getInputStream()) {
+                    if (ImageDerivatives.readDimensions(probe) == null) {
                         throw new ValidationException("File " + file.getOriginalFilename() + " is not a valid image");
                     }
                 }
@@ -79,28 +83,15 @@ public class ReviewImageStorageServiceImpl implements ReviewImageStorageService
                 String key = "reviews/" + UUID.randomUUID() + "." + ext;
                 String contentType = file.getContentType() != null ? file.getContentType() : "image/" + ext;
 
-                s3.putObject(PutObjectRequest.builder()
-                        .bucket(properties.bucket())
-                        .key(key)
-                        .cacheControl("public, max-age=31536000, immutable")
-                        .contentType(contentType)
-                        .build(), RequestBody.fromBytes(originalBytes));
-
-                // Generate and upload thumbnail
-                try {
-                    byte[] thumbBytes = generateThumbnail(originalBytes, ext);
-                    if (thumbBytes != null) {
-                        String thumbKey = key.replace("." + ext, "-thumb." + ext);
-                        s3.putObject(PutObjectRequest.builder()
-                                .bucket(properties.bucket())
-                                .key(thumbKey)
-                                .cacheControl("public, max-age=31536000, immutable")
-                                .contentType(contentType)
-                                .build(), RequestBody.fromBytes(thumbBytes));
-                    }
-                } catch (Exception thumbEx) {
-                    log.warn("Failed to generate thumbnail for {}", key, thumbEx);
+                try (InputStream input = file.getInputStream()) {
+                    s3.putObject(PutObjectRequest.builder()
+                            .bucket(properties.bucket())
+                            .key(key)
+                            .cacheControl("public, max-age=31536000, immutable")
+                            .contentType(contentType)
+                            .build(), RequestBody.fromInputStream(input, file.getSize()));
                 }
+                imageDerivativePipeline.submit(key);
 
                 keys.add(key);
             } catch (IOException e) {
@@ -120,6 +111,9 @@ public class ReviewImageStorageServiceImpl implements ReviewImageStorageService
                 String ext = getExtension(key);
                 String thumbKey = key.replace("." + ext, "-thumb." + ext);
                 s3.deleteObject(DeleteObjectRequest.builder().bucket(properties.bucket()).key(thumbKey).build());
+                objectImageCache.evict(key);
+                objectImageCache.evict(thumbKey);
+                imageDerivativePipeline.delete(s3, key);
             } catch (Exception ex) {
                 log.warn("Failed to delete image {}", key, ex);
             }
@@ -155,35 +149,13 @@ public class ReviewImageStorageServiceImpl implements ReviewImageStorageService
 
     private StoredImage fetchImage(S3Client s3, String key) {
         try {
-            var responseBytes = s3.getObjectAsBytes(GetObjectRequest.builder()
-                    .bucket(properties.bucket())
-                    .key(key)
-                    .build());
-            String contentType = responseBytes.response().contentType();
-            return new StoredImage(responseBytes.asByteArray(), contentType != null ? contentType : "image/jpeg");
+            StoredImage derivative = imageDerivativePipeline.resolve(s3, key);
+            return derivative != null ? derivative : objectImageCache.get(s3, properties.bucket(), key);
         } catch (RuntimeException ignored) {
             return null;
         }
     }
 
-    private byte[] generateThumbnail(byte[] originalBytes, String ext) throws IOException {
-        BufferedImage original = ImageIO.read(new ByteArrayInputStream(originalBytes));
-        if (original == null) return null;
-        int w = original.getWidth(), h = original.getHeight();
-        if (w <= THUMBNAIL_MAX_DIM && h <= THUMBNAIL_MAX_DIM) return null;
-        double scale = Math.min((double) THUMBNAIL_MAX_DIM / w, (double) THUMBNAIL_MAX_DIM / h);
-        int tw = (int) (w * scale), th = (int) (h * scale);
-        BufferedImage thumb = new BufferedImage(tw, th, original.getType() == 0 ? BufferedImage.TYPE_INT_ARGB : original.getType());
-        Graphics2D g = thumb.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(original, 0, 0, tw, th, null);
-        g.dispose();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        String format = ext.equals("jpg") ? "jpeg" : ext;
-        ImageIO.write(thumb, format, baos);
-        return baos.toByteArray();
-    }
-
     private String getExtension(String filename) {
         if (filename == null) return "";
         int dot = filename.lastIndexOf('.');
@@ -1,4 +0,0 @@
-package com.rumal.review_service.service;
-
-public record StoredImage(byte[] bytes, String contentType) {
-}
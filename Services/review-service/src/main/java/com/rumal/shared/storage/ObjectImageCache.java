@@ -0,0 +1,255 @@
+package com.rumal.shared.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Size-bounded, least-recently-used disk cache in front of object storage for image delivery.
+ * <p>
+ * A miss streams the object from S3 straight into a file while hashing it, so neither the download nor the response
+ * holds the image in heap. Concurrent misses for the same key share one download. Image keys are never reused for
+ * different content, so a cached file stays valid until it is evicted or the object is deleted through
+ * {@link #evict(String)}. The index lives in memory; files left over from a previous run are removed on startup.
+ * <p>
+ * Every {@link StoredImage} handed out pins its file: eviction only drops the entry from the index, and the file is
+ * deleted once the last handle on it is closed. An object larger than the whole budget is never indexed; its download
+ * is served to the requests that share it and deleted after them.
+ */
+public class ObjectImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ObjectImageCache.class);
+    private static final String DEFAULT_CONTENT_TYPE = "image/jpeg";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> downloads = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    public ObjectImageCache(Path directory, DataSize maxSize) {
+        this.directory = directory;
+        this.maxBytes = maxSize.toBytes();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory)) {
+                for (Path leftover : leftovers) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot prepare image cache directory " + directory, ex);
+        }
+    }
+
+    /**
+     * A handle on the cached copy of {@code key}, downloading it on a miss. Fails with the S3 client's exception when
+     * the object does not exist or cannot be read. The caller must close the handle, directly or through
+     * {@link StoredImage#toResponse()}.
+     */
+    public StoredImage get(S3Client s3Client, String bucket, String key) {
+        while (true) {
+            StoredImage cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            CompletableFuture<Entry> download = new CompletableFuture<>();
+            CompletableFuture<Entry> inFlight = downloads.putIfAbsent(key, download);
+            if (inFlight != null) {
+                StoredImage shared = acquire(inFlight.join());
+                if (shared != null) {
+                    return shared;
+                }
+                // The shared download was oversized and already served and deleted; fetch it again.
+                continue;
+            }
+            try {
+                Entry entry = download(s3Client, bucket, key);
+                StoredImage image = admit(key, entry);
+                download.complete(entry);
+                return image;
+            } catch (RuntimeException ex) {
+                download.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                downloads.remove(key, download);
+            }
+        }
+    }
+
+    public void evict(String key) {
+        Path deletable;
+        synchronized (this) {
+            Entry removed = entries.remove(key);
+            if (removed == null) {
+                return;
+            }
+            totalBytes -= removed.contentLength;
+            deletable = retire(removed);
+        }
+        deleteQuietly(deletable);
+    }
+
+    private synchronized StoredImage lookup(String key) {
+        Entry entry = entries.get(key);
+        return entry != null ? acquire(entry) : null;
+    }
+
+    /**
+     * A new handle on {@code entry}, or {@code null} once its file has been deleted.
+     */
+    private synchronized StoredImage acquire(Entry entry) {
+        if (entry.deleted) {
+            return null;
+        }
+        entry.readers++;
+        AtomicBoolean released = new AtomicBoolean();
+        return new StoredImage(entry.file, entry.contentLength, entry.contentType, entry.eTag, false, () -> {
+            if (released.compareAndSet(false, true)) {
+                release(entry);
+            }
+        });
+    }
+
+    private void release(Entry entry) {
+        Path deletable;
+        synchronized (this) {
+            entry.readers--;
+            deletable = entry.retired && entry.readers == 0 ? markDeleted(entry) : null;
+        }
+        deleteQuietly(deletable);
+    }
+
+    /**
+     * Marks an entry that has left the index; returns its file when no handle still pins it.
+     */
+    private Path retire(Entry entry) {
+        entry.retired = true;
+        return entry.readers == 0 ? markDeleted(entry) : null;
+    }
+
+    private static Path markDeleted(Entry entry) {
+        entry.deleted = true;
+        return entry.file;
+    }
+
+    private Entry download(S3Client s3Client, String bucket, String key) {
+        Path file = directory.resolve(UUID.randomUUID().toString());
+        MessageDigest digest = sha256();
+        GetObjectRequest request = GetObjectRequest.builder().bucket(bucket).key(key).build();
+        try (ResponseInputStream<GetObjectResponse> object = s3Client.getObject(request);
+             OutputStream out = Files.newOutputStream(file)) {
+            long length = new DigestInputStream(object, digest).transferTo(out);
+            String contentType = object.response().contentType();
+            String eTag = "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+            return new Entry(file, length, contentType != null ? contentType : DEFAULT_CONTENT_TYPE, eTag);
+        } catch (IOException ex) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Failed to download " + key, ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(file);
+            throw ex;
+        }
+    }
+
+    /**
+     * Indexes a fresh download, returning the downloader's handle on it, and evicts least-recently-used entries, never
+     * the new one, until the cache fits its budget. A download larger than the budget is handed out without being
+     * indexed. Files are deleted outside the lock.
+     */
+    private StoredImage admit(String key, Entry entry) {
+        List<Path> deletable = new ArrayList<>();
+        StoredImage image;
+        synchronized (this) {
+            image = acquire(entry);
+            if (entry.contentLength > maxBytes) {
+                entry.retired = true;
+                return image;
+            }
+            Entry replaced = entries.put(key, entry);
+            if (replaced != null) {
+                totalBytes -= replaced.contentLength;
+                deletable.add(retire(replaced));
+            }
+            totalBytes += entry.contentLength;
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> candidate = eldest.next();
+                if (candidate.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= candidate.getValue().contentLength;
+                deletable.add(retire(candidate.getValue()));
+                eldest.remove();
+            }
+        }
+        deletable.forEach(this::deleteQuietly);
+        return image;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Failed to delete cached image file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * A downloaded file and its bookkeeping; {@code readers}, {@code retired} and {@code deleted} are guarded by the
+     * cache.
+     */
+    private static final class Entry {
+
+        private final Path file;
+        private final long contentLength;
+        private final String contentType;
+        private final String eTag;
+        private int readers;
+        private boolean retired;
+        private boolean deleted;
+
+        private Entry(Path file, long contentLength, String contentType, String eTag) {
+            this.file = file;
+            this.contentLength = contentLength;
+            this.contentType = contentType;
+            this.eTag = eTag;
+        }
+    }
+}
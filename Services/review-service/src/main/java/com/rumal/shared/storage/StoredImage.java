@@ -0,0 +1,92 @@
+package com.rumal.shared.storage;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * A handle on an object held in the local {@link ObjectImageCache}. {@code eTag} is a strong, quoted validator derived
+ * from the content. A {@code provisional} image stands in for a derivative that is not ready yet, so clients must not
+ * keep it for long under the derivative's URL.
+ * <p>
+ * The handle pins {@code file} on disk: the cache may drop the entry meanwhile, but deletes the file only once every
+ * handle on it is closed. Closing is idempotent.
+ */
+public final class StoredImage implements AutoCloseable {
+
+    private final Path file;
+    private final long contentLength;
+    private final String contentType;
+    private final String eTag;
+    private final boolean provisional;
+    private final Runnable release;
+
+    StoredImage(Path file, long contentLength, String contentType, String eTag, boolean provisional, Runnable release) {
+        this.file = file;
+        this.contentLength = contentLength;
+        this.contentType = contentType;
+        this.eTag = eTag;
+        this.provisional = provisional;
+        this.release = release;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public long contentLength() {
+        return contentLength;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String eTag() {
+        return eTag;
+    }
+
+    public boolean provisional() {
+        return provisional;
+    }
+
+    /**
+     * The same file marked provisional. The returned handle takes over this one's pin; close only one of them.
+     */
+    public StoredImage asFallback() {
+        return new StoredImage(file, contentLength, contentType, eTag, true, release);
+    }
+
+    @Override
+    public void close() {
+        release.run();
+    }
+
+    /**
+     * A {@link Resource} body lets Spring MVC answer {@code If-None-Match} with 304 and {@code Range} with 206 from the
+     * file, copying through a fixed-size buffer rather than loading the image into memory. The body is written after
+     * the controller returns, so the handle is closed when the current request completes rather than here; outside a
+     * request the caller closes it.
+     */
+    public ResponseEntity<Resource> toResponse() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.registerDestructionCallback(
+                    StoredImage.class.getName() + "#" + file, this::close, RequestAttributes.SCOPE_REQUEST);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(provisional
+                        ? CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic()
+                        : CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .eTag(eTag)
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(new FileSystemResource(file));
+    }
+}
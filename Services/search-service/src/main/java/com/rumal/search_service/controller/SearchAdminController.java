@@ -1,6 +1,8 @@
 package com.rumal.search_service.controller;
 
 import com.rumal.search_service.client.dto.ProductIndexData;
+import com.rumal.search_service.dto.BulkIndexRequest;
+import com.rumal.search_service.dto.BulkIndexResponse;
 import com.rumal.search_service.dto.ReindexResponse;
 import com.rumal.search_service.security.InternalRequestVerifier;
 import com.rumal.search_service.service.ProductIndexService;
@@ -9,6 +11,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @RestController
@@ -16,6 +20,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SearchAdminController {
 
+    private static final int MAX_BULK_ITEMS = 1000;
+
     private final ProductIndexService productIndexService;
     private final InternalRequestVerifier internalRequestVerifier;
 
@@ -67,6 +73,26 @@ public class SearchAdminController {
         productIndexService.upsertProduct(normalized);
     }
 
+    @PostMapping("/index/bulk")
+    public BulkIndexResponse bulkIndex(
+            @RequestHeader("X-Internal-Auth") String internalAuth,
+            @RequestBody(required = false) BulkIndexRequest request
+    ) {
+        internalRequestVerifier.verify(internalAuth);
+        if (request == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk index payload is required");
+        }
+        List<ProductIndexData> upserts = request.upserts() == null ? List.of() : request.upserts();
+        List<UUID> deletes = request.deletes() == null ? List.of() : request.deletes();
+        if (upserts.size() + deletes.size() > MAX_BULK_ITEMS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk index payload exceeds " + MAX_BULK_ITEMS + " items");
+        }
+        if (upserts.stream().anyMatch(data -> data == null || data.id() == null) || deletes.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every bulk index item must include a product id");
+        }
+        return productIndexService.bulkIndex(upserts, deletes);
+    }
+
     @DeleteMapping("/index/{productId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeProduct(
@@ -9,7 +9,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 
-@Document(indexName = "#{@environment.getProperty('search.index.name', 'products')}")
+@Document(indexName = "#{@environment.getProperty('search.index.name', 'products')}", createIndex = false)
 @Setting(settingPath = "elasticsearch/settings.json")
 @Getter
 @Setter
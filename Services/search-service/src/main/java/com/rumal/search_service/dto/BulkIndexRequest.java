@@ -0,0 +1,11 @@
+package com.rumal.search_service.dto;
+
+import com.rumal.search_service.client.dto.ProductIndexData;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkIndexRequest(
+        List<ProductIndexData> upserts,
+        List<UUID> deletes
+) {}
@@ -0,0 +1,10 @@
+package com.rumal.search_service.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record BulkIndexResponse(
+        int indexed,
+        int deleted,
+        Map<UUID, String> failures
+) {}
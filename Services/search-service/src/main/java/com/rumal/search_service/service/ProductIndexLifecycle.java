@@ -0,0 +1,238 @@
+package com.rumal.search_service.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import com.rumal.search_service.document.ProductDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Owns the physical indices behind the product search alias. {@link ProductDocument} reads and writes go through
+ * the alias; a full reindex builds a fresh {@code <alias>_v<millis>} index with replicas and refresh disabled, then
+ * {@link #swapAlias(String) swaps} the alias onto it in one atomic {@code _aliases} call.
+ * <p>
+ * While a build is running its index name is published in Redis so that every replica mirrors live upserts and
+ * deletes into it. Each replica keeps a local copy of that name, refreshed every
+ * {@code search.index.building-refresh-ms}, so the write path does not pay a Redis round trip per document; writes
+ * missed in the gap before a replica notices a new build are picked up by the incremental sync after the swap.
+ * <p>
+ * The incremental sync only replays upserts, so deletes seen during a build are also recorded in a Redis set and
+ * applied again through the alias after the swap. That covers a mirrored delete that failed, and a product deleted
+ * after its catalog page was fetched but before the page was written.
+ */
+@Slf4j
+@Component
+public class ProductIndexLifecycle {
+
+    private static final String BUILDING_INDEX_KEY = "search:index:building";
+    private static final String PENDING_DELETES_KEY = "search:index:pending-deletes";
+    private static final Duration PENDING_DELETES_TTL = Duration.ofDays(1);
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int replicas;
+    private final String refreshInterval;
+    private volatile String buildingIndex;
+
+    public ProductIndexLifecycle(
+            ElasticsearchOperations elasticsearchOperations,
+            ElasticsearchClient elasticsearchClient,
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${search.index.replicas:0}") int replicas,
+            @Value("${search.index.refresh-interval:1s}") String refreshInterval
+    ) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.replicas = Math.max(0, replicas);
+        this.refreshInterval = refreshInterval;
+    }
+
+    public String aliasName() {
+        return elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class).getIndexName();
+    }
+
+    /**
+     * Makes sure searches have something to hit before the first reindex. A concrete index that still carries the
+     * alias name (from before aliases were used) is left alone; the first swap replaces it.
+     */
+    public void ensureAlias() throws IOException {
+        String alias = aliasName();
+        if (elasticsearchClient.indices().exists(request -> request.index(alias)).value()) {
+            return;
+        }
+        String index = createIndex(false);
+        elasticsearchClient.indices().updateAliases(request -> request
+                .actions(action -> action.add(add -> add.index(index).alias(alias))));
+        log.info("Created product index {} behind alias {}", index, alias);
+    }
+
+    /**
+     * Creates an empty versioned index tuned for bulk loading: no replicas and no periodic refresh.
+     */
+    public String createBuildIndex() {
+        return createIndex(true);
+    }
+
+    /**
+     * Restores replicas and refresh on a freshly built index and makes its documents visible.
+     */
+    public void finalizeBuildIndex(String index) throws IOException {
+        elasticsearchClient.indices().putSettings(request -> request
+                .index(index)
+                .settings(settings -> settings
+                        .numberOfReplicas(String.valueOf(replicas))
+                        .refreshInterval(time -> time.time(refreshInterval))));
+        elasticsearchClient.indices().refresh(request -> request.index(index));
+    }
+
+    /**
+     * Points the alias at {@code index} and detaches it from everything else in a single atomic request.
+     *
+     * @return the indices the alias pointed at before the swap
+     */
+    public List<String> swapAlias(String index) throws IOException {
+        String alias = aliasName();
+        List<String> previous = new ArrayList<>();
+        List<Action> actions = new ArrayList<>();
+        if (elasticsearchClient.indices().existsAlias(request -> request.name(alias)).value()) {
+            for (String current : elasticsearchClient.indices().getAlias(request -> request.name(alias)).aliases().keySet()) {
+                if (!current.equals(index)) {
+                    previous.add(current);
+                    actions.add(Action.of(action -> action.remove(remove -> remove.index(current).alias(alias))));
+                }
+            }
+        } else if (elasticsearchClient.indices().exists(request -> request.index(alias)).value()) {
+            actions.add(Action.of(action -> action.removeIndex(remove -> remove.index(alias))));
+        }
+        actions.add(Action.of(action -> action.add(add -> add.index(index).alias(alias))));
+        elasticsearchClient.indices().updateAliases(request -> request.actions(actions));
+        log.info("Alias {} now points at {} (was {})", alias, index, previous);
+        return previous;
+    }
+
+    /**
+     * Deletes versioned indices that are neither behind the alias nor being built, including leftovers from builds
+     * that crashed before they could clean up.
+     */
+    public void deleteRetiredIndices() throws IOException {
+        String alias = aliasName();
+        Set<String> versioned = elasticsearchClient.indices()
+                .get(request -> request.index(alias + "_v*").allowNoIndices(true))
+                .indices()
+                .keySet();
+        Set<String> live = elasticsearchClient.indices().existsAlias(request -> request.name(alias)).value()
+                ? elasticsearchClient.indices().getAlias(request -> request.name(alias)).aliases().keySet()
+                : Set.of();
+        String building = buildingIndex();
+        List<String> retired = versioned.stream()
+                .filter(index -> !live.contains(index) && !index.equals(building))
+                .toList();
+        if (!retired.isEmpty()) {
+            elasticsearchClient.indices().delete(request -> request.index(retired));
+            log.info("Deleted retired product indices {}", retired);
+        }
+    }
+
+    public void deleteIndex(String index) {
+        try {
+            elasticsearchClient.indices().delete(request -> request.index(index).ignoreUnavailable(true));
+        } catch (Exception e) {
+            log.warn("Failed to delete abandoned product index {}: {}", index, e.getMessage());
+        }
+    }
+
+    public void markBuilding(String index, Duration ttl) {
+        stringRedisTemplate.opsForValue().set(BUILDING_INDEX_KEY, index, ttl);
+        buildingIndex = index;
+    }
+
+    public void clearBuilding(String index) {
+        if (index.equals(buildingIndex)) {
+            buildingIndex = null;
+        }
+        try {
+            if (index.equals(stringRedisTemplate.opsForValue().get(BUILDING_INDEX_KEY))) {
+                stringRedisTemplate.delete(BUILDING_INDEX_KEY);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to clear building index marker: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Index currently being built by whichever replica holds the reindex lease, or {@code null}. Served from the
+     * local copy; see {@link #refreshBuildingIndex()}.
+     */
+    public String buildingIndex() {
+        return buildingIndex;
+    }
+
+    /**
+     * Re-reads the building index marker from Redis so this replica notices builds started or finished elsewhere.
+     * A failed read keeps the last known value rather than silently dropping mirrored writes.
+     */
+    @Scheduled(fixedDelayString = "${search.index.building-refresh-ms:5000}")
+    public void refreshBuildingIndex() {
+        try {
+            buildingIndex = stringRedisTemplate.opsForValue().get(BUILDING_INDEX_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to read building index marker: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remembers products deleted while a build is running, to be deleted again once the build is live.
+     */
+    public void recordPendingDeletes(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.opsForSet().add(PENDING_DELETES_KEY, productIds.toArray(String[]::new));
+        stringRedisTemplate.expire(PENDING_DELETES_KEY, PENDING_DELETES_TTL);
+    }
+
+    public Set<String> pendingDeletes() {
+        Set<String> pending = stringRedisTemplate.opsForSet().members(PENDING_DELETES_KEY);
+        return pending == null ? Set.of() : pending;
+    }
+
+    /**
+     * Forgets replayed deletes only, so deletes recorded while the replay ran are kept for the next one.
+     */
+    public void clearPendingDeletes(Collection<String> productIds) {
+        if (!productIds.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(PENDING_DELETES_KEY, productIds.toArray());
+        }
+    }
+
+    private String createIndex(boolean bulkLoading) {
+        IndexOperations productIndexOps = elasticsearchOperations.indexOps(ProductDocument.class);
+        Settings settings = productIndexOps.createSettings().flatten();
+        if (bulkLoading) {
+            settings.put("index.number_of_replicas", 0);
+            settings.put("index.refresh_interval", "-1");
+        } else {
+            settings.put("index.number_of_replicas", replicas);
+        }
+        String index = aliasName() + "_v" + System.currentTimeMillis();
+        elasticsearchOperations.indexOps(IndexCoordinates.of(index))
+                .create(settings, productIndexOps.createMapping());
+        return index;
+    }
+}
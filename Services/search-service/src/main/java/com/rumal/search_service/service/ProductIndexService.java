@@ -1,24 +1,49 @@
 package com.rumal.search_service.service;
 
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
 import com.rumal.search_service.client.ProductClient;
 import com.rumal.search_service.client.dto.ProductIndexData;
 import com.rumal.search_service.client.dto.ProductIndexPage;
 import com.rumal.search_service.document.ProductDocument;
+import com.rumal.search_service.dto.BulkIndexResponse;
 import com.rumal.search_service.dto.ReindexResponse;
+import com.rumal.search_service.exception.ServiceUnavailableException;
 import com.rumal.search_service.repository.ProductSearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -30,12 +55,23 @@ public class ProductIndexService {
     private final ProductClient productClient;
     private final ProductSearchRepository productSearchRepository;
     private final StringRedisTemplate stringRedisTemplate;
-
-    private final ReentrantLock indexLock = new ReentrantLock();
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ProductIndexLifecycle indexLifecycle;
+    private final SearchIndexLease indexLease;
 
     @Value("${search.sync.batch-size:100}")
     private int batchSize;
 
+    @Value("${search.sync.lease-ttl:5m}")
+    private Duration syncLeaseTtl;
+
+    @Value("${search.reindex.fetch-concurrency:4}")
+    private int fetchConcurrency;
+
+    @Value("${search.reindex.lease-ttl:30m}")
+    private Duration reindexLeaseTtl;
+
     @EventListener(ApplicationReadyEvent.class)
     public void onStartup() {
         if (getLastSyncTime() == null) {
@@ -49,70 +85,124 @@ public class ProductIndexService {
         fullReindex();
     }
 
+    /**
+     * Rebuilds the catalog into a fresh index and swaps the search alias onto it, so queries keep hitting the old
+     * index until the new one is complete. A failed build is discarded and the alias is left untouched.
+     */
     public ReindexResponse fullReindex() {
-        if (!indexLock.tryLock()) {
+        Optional<String> lease = indexLease.tryAcquire(reindexLeaseTtl);
+        if (lease.isEmpty()) {
             log.warn("Reindex already in progress, skipping");
             return new ReindexResponse(0, 0, "SKIPPED");
         }
+        String token = lease.get();
+        Instant reindexStart = Instant.now();
+        long start = System.currentTimeMillis();
+        String buildIndex = null;
+        AtomicLong totalIndexed = new AtomicLong();
         try {
-            log.info("Starting full product reindex");
-            Instant reindexStart = Instant.now();
-            long start = System.currentTimeMillis();
-            long totalIndexed = 0;
-            int page = 0;
-            boolean hasMore = true;
-            boolean hadErrors = false;
+            buildIndex = indexLifecycle.createBuildIndex();
+            indexLifecycle.markBuilding(buildIndex, reindexLeaseTtl);
+            log.info("Starting full product reindex into {}", buildIndex);
 
-            while (hasMore) {
-                try {
-                    ProductIndexPage batch = productClient.fetchCatalogPage(page, batchSize);
-                    if (batch == null || batch.content() == null || batch.content().isEmpty()) break;
+            loadCatalog(buildIndex, token, totalIndexed);
+            indexLifecycle.finalizeBuildIndex(buildIndex);
+            indexLifecycle.swapAlias(buildIndex);
+            replayPendingDeletes();
+            indexLifecycle.clearBuilding(buildIndex);
+            buildIndex = null;
 
-                    List<ProductDocument> documents = batch.content().stream()
-                            .map(this::toDocument)
-                            .toList();
-
-                    productSearchRepository.saveAll(documents);
-                    totalIndexed += documents.size();
-                    hasMore = !batch.last();
-                    page++;
+            try {
+                indexLifecycle.deleteRetiredIndices();
+            } catch (Exception e) {
+                log.warn("Failed to remove retired product indices: {}", e.getMessage());
+            }
+            // Anything that changed while pages were being copied is picked up by the next incremental sync.
+            updateLastSyncTime(reindexStart);
 
-                    if (page % 10 == 0) {
-                        log.info("Reindex progress: {} products indexed across {} pages", totalIndexed, page);
-                    }
-                } catch (Exception e) {
-                    log.error("Error during full reindex at page {}: {}", page, e.getMessage(), e);
-                    hadErrors = true;
-                    break;
-                }
+            long duration = System.currentTimeMillis() - start;
+            log.info("Full reindex COMPLETED: {} products in {}ms ({} products/sec)",
+                    totalIndexed.get(), duration, duration > 0 ? totalIndexed.get() * 1000 / duration : totalIndexed.get());
+            return new ReindexResponse(totalIndexed.get(), duration, "COMPLETED");
+        } catch (Exception e) {
+            long duration = System.currentTimeMillis() - start;
+            log.error("Full reindex FAILED after {} products in {}ms, keeping current index: {}",
+                    totalIndexed.get(), duration, e.getMessage(), e);
+            return new ReindexResponse(totalIndexed.get(), duration, "FAILED");
+        } finally {
+            if (buildIndex != null) {
+                indexLifecycle.clearBuilding(buildIndex);
+                indexLifecycle.deleteIndex(buildIndex);
             }
+            indexLease.release(token);
+        }
+    }
 
-            if (!hadErrors && totalIndexed > 0) {
+    /**
+     * Copies every catalog page into {@code buildIndex}. Page 0 is read first to learn the page count; the rest are
+     * fetched and written by up to {@code search.reindex.fetch-concurrency} workers. Any page failure aborts the load.
+     */
+    private void loadCatalog(String buildIndex, String leaseToken, AtomicLong totalIndexed) throws Exception {
+        IndexCoordinates coordinates = IndexCoordinates.of(buildIndex);
+        ProductIndexPage first = productClient.fetchCatalogPage(0, batchSize);
+        if (first == null || first.content() == null || first.content().isEmpty()) {
+            return;
+        }
+        totalIndexed.addAndGet(writePage(first, coordinates));
+        int totalPages = first.totalPages();
+        if (totalPages <= 1) {
+            return;
+        }
+
+        int workers = Math.max(1, Math.min(fetchConcurrency, totalPages - 1));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform()
+                .name("search-reindex-", 0)
+                .daemon(true)
+                .factory());
+        try {
+            CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+            for (int page = 1; page < totalPages; page++) {
+                int current = page;
+                completion.submit(() -> writePage(productClient.fetchCatalogPage(current, batchSize), coordinates));
+            }
+            long lastRenewal = System.currentTimeMillis();
+            for (int done = 1; done < totalPages; done++) {
                 try {
-                    long deleted = productSearchRepository.deleteByIndexedAtBefore(reindexStart);
-                    if (deleted > 0) {
-                        log.info("Removed {} stale products from search index", deleted);
+                    totalIndexed.addAndGet(completion.take().get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Catalog page failed: " + e.getCause().getMessage(), e.getCause());
+                }
+                if (System.currentTimeMillis() - lastRenewal > reindexLeaseTtl.toMillis() / 3) {
+                    if (!indexLease.renew(leaseToken, reindexLeaseTtl)) {
+                        throw new IllegalStateException("Lost search index lease");
                     }
-                } catch (Exception e) {
-                    log.warn("Failed to remove stale products: {}", e.getMessage());
+                    indexLifecycle.markBuilding(buildIndex, reindexLeaseTtl);
+                    lastRenewal = System.currentTimeMillis();
+                }
+                if ((done + 1) % 50 == 0) {
+                    log.info("Reindex progress: {} products indexed across {}/{} pages", totalIndexed.get(), done + 1, totalPages);
                 }
             }
-
-            long duration = System.currentTimeMillis() - start;
-            if (!hadErrors) {
-                updateLastSyncTime();
-            }
-            String status = hadErrors ? "PARTIAL_FAILURE" : "COMPLETED";
-            log.info("Full reindex {}: {} products in {}ms", status, totalIndexed, duration);
-            return new ReindexResponse(totalIndexed, duration, status);
         } finally {
-            indexLock.unlock();
+            executor.shutdownNow();
+        }
+    }
+
+    private int writePage(ProductIndexPage page, IndexCoordinates coordinates) {
+        if (page == null || page.content() == null || page.content().isEmpty()) {
+            return 0;
         }
+        List<ProductDocument> documents = page.content().stream()
+                .map(this::toDocument)
+                .toList();
+        elasticsearchOperations.save(documents, coordinates);
+        return documents.size();
     }
 
     @Scheduled(cron = "${search.sync.incremental-sync-cron:0 */5 * * * *}")
     public void incrementalSync() {
-        if (!indexLock.tryLock()) {
+        Optional<String> lease = indexLease.tryAcquire(syncLeaseTtl);
+        if (lease.isEmpty()) {
             log.debug("Index operation already in progress, skipping incremental sync");
             return;
         }
@@ -125,13 +215,28 @@ public class ProductIndexService {
                 return;
             }
 
+            if (indexLifecycle.buildingIndex() == null) {
+                // Deletes a previous swap could not replay; upserts below never remove them.
+                replayPendingDeletes();
+            }
+
             log.debug("Starting incremental sync for products updated since {}", since);
+            Instant syncStart = Instant.now();
             int page = 0;
             long totalSynced = 0;
             boolean hasMore = true;
             boolean hadErrors = false;
+            long lastRenewal = System.currentTimeMillis();
 
             while (hasMore) {
+                if (System.currentTimeMillis() - lastRenewal > syncLeaseTtl.toMillis() / 3) {
+                    if (!indexLease.renew(lease.get(), syncLeaseTtl)) {
+                        log.warn("Lost search index lease during incremental sync at page {}", page);
+                        hadErrors = true;
+                        break;
+                    }
+                    lastRenewal = System.currentTimeMillis();
+                }
                 try {
                     ProductIndexPage batch = productClient.fetchUpdatedSince(since, page, batchSize);
                     if (batch == null || batch.content() == null || batch.content().isEmpty()) break;
@@ -155,10 +260,10 @@ public class ProductIndexService {
                 log.info("Incremental sync completed: {} products updated", totalSynced);
             }
             if (!hadErrors) {
-                updateLastSyncTime();
+                updateLastSyncTime(syncStart);
             }
         } finally {
-            indexLock.unlock();
+            indexLease.release(lease.get());
         }
         if (needsFullReindex) {
             fullReindex();
@@ -169,16 +274,132 @@ public class ProductIndexService {
         if (data == null || data.id() == null) {
             throw new IllegalArgumentException("Product index payload must include an id");
         }
-        productSearchRepository.save(toDocument(data));
+        ProductDocument document = toDocument(data);
+        productSearchRepository.save(document);
+        String building = indexLifecycle.buildingIndex();
+        if (building != null) {
+            try {
+                elasticsearchOperations.save(document, IndexCoordinates.of(building));
+            } catch (Exception e) {
+                log.warn("Failed to mirror product {} into building index {}: {}", data.id(), building, e.getMessage());
+            }
+        }
         log.info("Upserted product {} in search index", data.id());
     }
 
+    /**
+     * Applies upserts and deletes in a single Elasticsearch {@code _bulk} request. Per-document failures are returned
+     * keyed by product id so the caller can retry just those products.
+     */
+    public BulkIndexResponse bulkIndex(List<ProductIndexData> upserts, List<UUID> deletes) {
+        List<ProductIndexData> safeUpserts = upserts == null ? List.of() : upserts;
+        List<UUID> safeDeletes = deletes == null ? List.of() : deletes;
+        if (safeUpserts.isEmpty() && safeDeletes.isEmpty()) {
+            return new BulkIndexResponse(0, 0, Map.of());
+        }
+
+        String indexName = indexLifecycle.aliasName();
+        List<String> deleteIds = safeDeletes.stream().map(UUID::toString).toList();
+        ElasticsearchConverter converter = elasticsearchOperations.getElasticsearchConverter();
+        Map<String, Document> sources = new LinkedHashMap<>();
+        for (ProductIndexData data : safeUpserts) {
+            sources.put(data.id().toString(), converter.mapObject(toDocument(data)));
+        }
+
+        BulkResponse response;
+        try {
+            response = elasticsearchClient.bulk(bulkRequest(indexName, sources, deleteIds));
+        } catch (IOException | ElasticsearchException e) {
+            throw new ServiceUnavailableException("Elasticsearch bulk request failed", e);
+        }
+        String building = indexLifecycle.buildingIndex();
+        if (building != null) {
+            recordPendingDeletes(deleteIds);
+            try {
+                elasticsearchClient.bulk(bulkRequest(building, sources, deleteIds));
+            } catch (Exception e) {
+                log.warn("Failed to mirror bulk index into building index {}: {}", building, e.getMessage());
+            }
+        }
+
+        int indexed = 0;
+        int deleted = 0;
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        for (BulkResponseItem item : response.items()) {
+            if (item.error() != null) {
+                failures.put(UUID.fromString(item.id()), item.error().reason());
+            } else if (item.operationType() == OperationType.Delete) {
+                deleted++;
+            } else {
+                indexed++;
+            }
+        }
+        if (!failures.isEmpty()) {
+            log.warn("Bulk index completed with {} failed documents out of {}", failures.size(), response.items().size());
+        }
+        return new BulkIndexResponse(indexed, deleted, failures);
+    }
+
+    private BulkRequest bulkRequest(String indexName, Map<String, Document> sources, Collection<String> deletes) {
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        sources.forEach((id, source) ->
+                bulk.operations(op -> op.index(index -> index.index(indexName).id(id).document(source))));
+        for (String productId : deletes) {
+            bulk.operations(op -> op.delete(delete -> delete.index(indexName).id(productId)));
+        }
+        return bulk.build();
+    }
+
+    /**
+     * Records deletes made while a build is running before they are mirrored, so one whose mirror fails, or that
+     * lands before its catalog page is written, is still applied once the build is live.
+     */
+    private void recordPendingDeletes(List<String> productIds) {
+        try {
+            indexLifecycle.recordPendingDeletes(productIds);
+        } catch (Exception e) {
+            log.warn("Failed to record {} deletes for replay after the index swap: {}", productIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes again, through the alias, every product deleted while the last build was running. Products that fail
+     * stay recorded and are retried by the next incremental sync. A product written again after its delete is
+     * restored by that sync too, since it re-reads everything updated after the build started.
+     */
+    private void replayPendingDeletes() {
+        try {
+            Set<String> pending = indexLifecycle.pendingDeletes();
+            if (pending.isEmpty()) {
+                return;
+            }
+            BulkResponse response = elasticsearchClient.bulk(bulkRequest(indexLifecycle.aliasName(), Map.of(), pending));
+            List<String> replayed = response.items().stream()
+                    .filter(item -> item.error() == null)
+                    .map(BulkResponseItem::id)
+                    .toList();
+            indexLifecycle.clearPendingDeletes(replayed);
+            log.info("Replayed {} of {} deletes recorded during the index build", replayed.size(), pending.size());
+        } catch (Exception e) {
+            log.warn("Failed to replay deletes recorded during the index build: {}", e.getMessage());
+        }
+    }
+
     public ReindexResponse triggerFullReindex() {
         return fullReindex();
     }
 
     public void deleteProduct(String productId) {
         productSearchRepository.deleteById(productId);
+        String building = indexLifecycle.buildingIndex();
+        if (building != null) {
+            recordPendingDeletes(List.of(productId));
+            try {
+                elasticsearchOperations.delete(productId, IndexCoordinates.of(building));
+            } catch (Exception e) {
+                log.warn("Failed to mirror delete of product {} into building index {}: {}", productId, building, e.getMessage());
+            }
+        }
         log.info("Removed product {} from search index", productId);
     }
 
@@ -243,9 +464,9 @@ public class ProductIndexService {
         }
     }
 
-    private void updateLastSyncTime() {
+    private void updateLastSyncTime(Instant syncedAt) {
         try {
-            stringRedisTemplate.opsForValue().set(LAST_SYNC_KEY, Instant.now().toString());
+            stringRedisTemplate.opsForValue().set(LAST_SYNC_KEY, syncedAt.toString());
         } catch (Exception e) {
             log.warn("Failed to update last sync time: {}", e.getMessage());
         }
@@ -0,0 +1,68 @@
+package com.rumal.search_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis lease that keeps index maintenance (full reindex and incremental sync) to one search-service replica at a
+ * time. The holder is identified by a random token so an expired holder can never renew or release a lease that has
+ * since been taken by another replica.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexLease {
+
+    private static final String LEASE_KEY = "search:index:lease";
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+              return redis.call('pexpire', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+              return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public Optional<String> tryAcquire(Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(LEASE_KEY, token, ttl);
+            return Boolean.TRUE.equals(acquired) ? Optional.of(token) : Optional.empty();
+        } catch (Exception e) {
+            log.warn("Failed to acquire search index lease: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public boolean renew(String token, Duration ttl) {
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(LEASE_KEY), token, String.valueOf(ttl.toMillis()));
+            return renewed != null && renewed > 0;
+        } catch (Exception e) {
+            log.warn("Failed to renew search index lease: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY), token);
+        } catch (Exception e) {
+            log.warn("Failed to release search index lease: {}", e.getMessage());
+        }
+    }
+}
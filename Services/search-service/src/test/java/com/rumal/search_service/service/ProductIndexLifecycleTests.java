@@ -0,0 +1,140 @@
+package com.rumal.search_service.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.DeleteIndexRequest;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.GetAliasResponse;
+import co.elastic.clients.elasticsearch.indices.GetIndexResponse;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import co.elastic.clients.elasticsearch.indices.UpdateAliasesRequest;
+import co.elastic.clients.elasticsearch.indices.get_alias.IndexAliases;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import co.elastic.clients.util.ObjectBuilder;
+import com.rumal.search_service.document.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class ProductIndexLifecycleTests {
+
+    private final ElasticsearchOperations elasticsearchOperations = mock(ElasticsearchOperations.class);
+    private final ElasticsearchClient elasticsearchClient = mock(ElasticsearchClient.class);
+    private final ElasticsearchIndicesClient indicesClient = mock(ElasticsearchIndicesClient.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private final ProductIndexLifecycle lifecycle = new ProductIndexLifecycle(
+            elasticsearchOperations, elasticsearchClient, stringRedisTemplate, 1, "1s");
+
+    @BeforeEach
+    void setUp() {
+        when(elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class)).thenReturn(IndexCoordinates.of("products"));
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void swapAliasMovesAliasFromPreviousIndexInOneRequest() throws IOException {
+        when(indicesClient.existsAlias(any(Function.class))).thenReturn(new BooleanResponse(true));
+        when(indicesClient.getAlias(any(Function.class))).thenReturn(aliasResponse("products_v1"));
+
+        List<String> previous = lifecycle.swapAlias("products_v2");
+
+        assertEquals(List.of("products_v1"), previous);
+        List<Action> actions = capturedAliasActions();
+        assertEquals(2, actions.size());
+        assertEquals("products_v1", actions.get(0).remove().index());
+        assertEquals("products", actions.get(0).remove().alias());
+        assertEquals("products_v2", actions.get(1).add().index());
+        assertEquals("products", actions.get(1).add().alias());
+    }
+
+    @Test
+    void swapAliasReplacesLegacyConcreteIndexNamedLikeTheAlias() throws IOException {
+        when(indicesClient.existsAlias(any(Function.class))).thenReturn(new BooleanResponse(false));
+        when(indicesClient.exists(any(Function.class))).thenReturn(new BooleanResponse(true));
+
+        List<String> previous = lifecycle.swapAlias("products_v2");
+
+        assertEquals(List.of(), previous);
+        List<Action> actions = capturedAliasActions();
+        assertEquals(List.of("products"), List.of(actions.get(0).removeIndex().index()));
+        assertEquals("products_v2", actions.get(1).add().index());
+    }
+
+    @Test
+    void deleteRetiredIndicesKeepsLiveAndBuildingIndices() throws IOException {
+        when(indicesClient.get(any(Function.class))).thenReturn(GetIndexResponse.of(response -> response
+                .indices("products_v1", IndexState.of(state -> state))
+                .indices("products_v2", IndexState.of(state -> state))
+                .indices("products_v3", IndexState.of(state -> state))));
+        when(indicesClient.existsAlias(any(Function.class))).thenReturn(new BooleanResponse(true));
+        when(indicesClient.getAlias(any(Function.class))).thenReturn(aliasResponse("products_v2"));
+        lifecycle.markBuilding("products_v3", Duration.ofMinutes(30));
+
+        lifecycle.deleteRetiredIndices();
+
+        ArgumentCaptor<Function<DeleteIndexRequest.Builder, ObjectBuilder<DeleteIndexRequest>>> captor =
+                ArgumentCaptor.forClass(Function.class);
+        verify(indicesClient).delete(captor.capture());
+        assertEquals(List.of("products_v1"), captor.getValue().apply(new DeleteIndexRequest.Builder()).build().index());
+    }
+
+    @Test
+    void buildingIndexIsServedLocallyAndRefreshedFromRedis() {
+        lifecycle.markBuilding("products_v2", Duration.ofMinutes(30));
+
+        assertEquals("products_v2", lifecycle.buildingIndex());
+        verify(valueOperations, never()).get("search:index:building");
+
+        when(valueOperations.get("search:index:building")).thenReturn("products_v2");
+        lifecycle.clearBuilding("products_v2");
+        assertNull(lifecycle.buildingIndex());
+        verify(stringRedisTemplate).delete("search:index:building");
+
+        when(valueOperations.get("search:index:building")).thenReturn("products_v3");
+        lifecycle.refreshBuildingIndex();
+        assertEquals("products_v3", lifecycle.buildingIndex());
+    }
+
+    @Test
+    void refreshKeepsLastKnownBuildingIndexWhenRedisFails() {
+        lifecycle.markBuilding("products_v2", Duration.ofMinutes(30));
+        when(valueOperations.get("search:index:building")).thenThrow(new IllegalStateException("redis down"));
+
+        lifecycle.refreshBuildingIndex();
+
+        assertEquals("products_v2", lifecycle.buildingIndex());
+    }
+
+    private GetAliasResponse aliasResponse(String index) {
+        return GetAliasResponse.of(response -> response
+                .aliases(index, IndexAliases.of(aliases -> aliases.aliases("products", definition -> definition))));
+    }
+
+    private List<Action> capturedAliasActions() throws IOException {
+        ArgumentCaptor<Function<UpdateAliasesRequest.Builder, ObjectBuilder<UpdateAliasesRequest>>> captor =
+                ArgumentCaptor.forClass(Function.class);
+        verify(indicesClient).updateAliases(captor.capture());
+        return captor.getValue().apply(new UpdateAliasesRequest.Builder()).build().actions();
+    }
+}
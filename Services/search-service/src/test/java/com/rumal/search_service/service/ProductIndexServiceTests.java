@@ -0,0 +1,210 @@
+package com.rumal.search_service.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import com.rumal.search_service.client.ProductClient;
+import com.rumal.search_service.client.dto.ProductIndexData;
+import com.rumal.search_service.client.dto.ProductIndexPage;
+import com.rumal.search_service.document.ProductDocument;
+import com.rumal.search_service.repository.ProductSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class ProductIndexServiceTests {
+
+    private final ProductClient productClient = mock(ProductClient.class);
+    private final ProductSearchRepository productSearchRepository = mock(ProductSearchRepository.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final ElasticsearchOperations elasticsearchOperations = mock(ElasticsearchOperations.class);
+    private final ElasticsearchClient elasticsearchClient = mock(ElasticsearchClient.class);
+    private final ProductIndexLifecycle indexLifecycle = mock(ProductIndexLifecycle.class);
+    private final SearchIndexLease indexLease = mock(SearchIndexLease.class);
+
+    private final ProductIndexService indexService = new ProductIndexService(productClient, productSearchRepository,
+            stringRedisTemplate, elasticsearchOperations, elasticsearchClient, indexLifecycle, indexLease);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(indexService, "batchSize", 2);
+        ReflectionTestUtils.setField(indexService, "syncLeaseTtl", Duration.ofMinutes(5));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(indexLifecycle.aliasName()).thenReturn("products");
+    }
+
+    @Test
+    void upsertMirrorsIntoBuildingIndex() {
+        ProductIndexData data = product();
+        when(indexLifecycle.buildingIndex()).thenReturn("products_v2");
+
+        indexService.upsertProduct(data);
+
+        verify(productSearchRepository).save(argThat(document -> document.getId().equals(data.id().toString())));
+        verify(elasticsearchOperations).save(
+                argThat((ProductDocument document) -> document.getId().equals(data.id().toString())),
+                argThat((IndexCoordinates coordinates) -> coordinates.getIndexName().equals("products_v2")));
+    }
+
+    @Test
+    void upsertWritesOnlyThroughAliasWhenNothingIsBuilding() {
+        indexService.upsertProduct(product());
+
+        verify(productSearchRepository).save(any(ProductDocument.class));
+        verify(elasticsearchOperations, never()).save(any(ProductDocument.class), any(IndexCoordinates.class));
+    }
+
+    @Test
+    void deleteMirrorsIntoBuildingIndex() {
+        when(indexLifecycle.buildingIndex()).thenReturn("products_v2");
+
+        indexService.deleteProduct("p-1");
+
+        verify(productSearchRepository).deleteById("p-1");
+        verify(elasticsearchOperations).delete(eq("p-1"),
+                argThat((IndexCoordinates coordinates) -> coordinates.getIndexName().equals("products_v2")));
+    }
+
+    @Test
+    void deleteDuringBuildIsRecordedEvenWhenItsMirrorFails() {
+        when(indexLifecycle.buildingIndex()).thenReturn("products_v2");
+        when(elasticsearchOperations.delete(eq("p-1"), any(IndexCoordinates.class)))
+                .thenThrow(new IllegalStateException("building index unavailable"));
+
+        indexService.deleteProduct("p-1");
+
+        verify(indexLifecycle).recordPendingDeletes(List.of("p-1"));
+    }
+
+    @Test
+    void fullReindexReplaysRecordedDeletesThroughAliasAfterSwap() throws Exception {
+        ReflectionTestUtils.setField(indexService, "reindexLeaseTtl", Duration.ofMinutes(30));
+        when(indexLease.tryAcquire(any())).thenReturn(Optional.of("token"));
+        when(indexLifecycle.createBuildIndex()).thenReturn("products_v2");
+        when(productClient.fetchCatalogPage(0, 2)).thenReturn(new ProductIndexPage(List.of(product()), 0, 1, 1, true));
+        when(indexLifecycle.pendingDeletes()).thenReturn(Set.of("p-1", "p-2"));
+        when(elasticsearchClient.bulk(any(BulkRequest.class))).thenReturn(BulkResponse.of(response -> response
+                .errors(true)
+                .took(1)
+                .items(List.of(
+                        BulkResponseItem.of(item -> item.operationType(OperationType.Delete)
+                                .index("products_v2").id("p-1").status(200)),
+                        BulkResponseItem.of(item -> item.operationType(OperationType.Delete)
+                                .index("products_v2").id("p-2").status(503)
+                                .error(error -> error.type("unavailable_shards_exception").reason("shard down")))))));
+
+        indexService.fullReindex();
+
+        InOrder order = inOrder(indexLifecycle, elasticsearchClient);
+        order.verify(indexLifecycle).swapAlias("products_v2");
+        ArgumentCaptor<BulkRequest> replay = ArgumentCaptor.forClass(BulkRequest.class);
+        order.verify(elasticsearchClient).bulk(replay.capture());
+        order.verify(indexLifecycle).clearPendingDeletes(List.of("p-1"));
+        order.verify(indexLifecycle).clearBuilding("products_v2");
+        assertEquals(2, replay.getValue().operations().size());
+        assertEquals("products", replay.getValue().operations().get(0).delete().index());
+    }
+
+    @Test
+    void bulkIndexSendsSameOperationsToAliasAndBuildingIndex() throws IOException {
+        ElasticsearchConverter converter = mock(ElasticsearchConverter.class);
+        when(elasticsearchOperations.getElasticsearchConverter()).thenReturn(converter);
+        when(converter.mapObject(any())).thenReturn(Document.create());
+        when(elasticsearchClient.bulk(any(BulkRequest.class)))
+                .thenReturn(BulkResponse.of(response -> response.errors(false).took(1).items(List.of())));
+        when(indexLifecycle.buildingIndex()).thenReturn("products_v2");
+        UUID deleted = UUID.randomUUID();
+
+        indexService.bulkIndex(List.of(product()), List.of(deleted));
+
+        ArgumentCaptor<BulkRequest> captor = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(elasticsearchClient, times(2)).bulk(captor.capture());
+        BulkRequest live = captor.getAllValues().get(0);
+        BulkRequest building = captor.getAllValues().get(1);
+        assertEquals("products", live.operations().get(0).index().index());
+        assertEquals("products", live.operations().get(1).delete().index());
+        assertEquals("products_v2", building.operations().get(0).index().index());
+        assertEquals("products_v2", building.operations().get(1).delete().index());
+        assertEquals(deleted.toString(), building.operations().get(1).delete().id());
+    }
+
+    @Test
+    void incrementalSyncRenewsLeaseWhileRunning() {
+        ReflectionTestUtils.setField(indexService, "syncLeaseTtl", Duration.ofMillis(30));
+        when(indexLease.tryAcquire(any())).thenReturn(Optional.of("token"));
+        when(indexLease.renew(eq("token"), any())).thenReturn(true);
+        when(valueOperations.get("search:last-sync")).thenReturn(Instant.parse("2026-01-01T00:00:00Z").toString());
+        when(productClient.fetchUpdatedSince(any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(15);
+            int page = invocation.getArgument(1);
+            return new ProductIndexPage(List.of(product()), page, 4, 4, page == 3);
+        });
+
+        indexService.incrementalSync();
+
+        verify(productSearchRepository, times(4)).saveAll(any());
+        verify(indexLease, atLeastOnce()).renew("token", Duration.ofMillis(30));
+        verify(valueOperations).set(eq("search:last-sync"), anyString());
+        verify(indexLease).release("token");
+    }
+
+    @Test
+    void incrementalSyncStopsWithoutAdvancingWhenLeaseIsLost() {
+        ReflectionTestUtils.setField(indexService, "syncLeaseTtl", Duration.ofMillis(30));
+        when(indexLease.tryAcquire(any())).thenReturn(Optional.of("token"));
+        when(indexLease.renew(eq("token"), any())).thenReturn(false);
+        when(valueOperations.get("search:last-sync")).thenReturn(Instant.parse("2026-01-01T00:00:00Z").toString());
+        when(productClient.fetchUpdatedSince(any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(15);
+            int page = invocation.getArgument(1);
+            return new ProductIndexPage(List.of(product()), page, 4, 4, page == 3);
+        });
+
+        indexService.incrementalSync();
+
+        verify(productClient, atLeastOnce()).fetchUpdatedSince(any(), anyInt(), anyInt());
+        verify(valueOperations, never()).set(eq("search:last-sync"), anyString());
+        verify(indexLease).release("token");
+    }
+
+    private ProductIndexData product() {
+        return new ProductIndexData(UUID.randomUUID(), "slug", "Name", "Short", "Brand", null,
+                BigDecimal.TEN, null, BigDecimal.TEN, "SKU-1", "Main", Set.of(), Set.of("Main"), "SIMPLE",
+                UUID.randomUUID(), 0, 0, true, 5, "IN_STOCK", false, List.of(), Instant.now(), Instant.now());
+    }
+}
@@ -0,0 +1,82 @@
+package com.rumal.search_service.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class SearchIndexLeaseTests {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final SearchIndexLease lease = new SearchIndexLease(stringRedisTemplate);
+
+    @Test
+    void tryAcquireReturnsTokenOnlyWhenKeyWasAbsent() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("search:index:lease"), anyString(), eq(Duration.ofMinutes(5))))
+                .thenReturn(true, false);
+
+        Optional<String> first = lease.tryAcquire(Duration.ofMinutes(5));
+        Optional<String> second = lease.tryAcquire(Duration.ofMinutes(5));
+
+        assertTrue(first.isPresent());
+        assertFalse(second.isPresent());
+    }
+
+    @Test
+    void tryAcquireTreatsRedisFailureAsHeldElsewhere() {
+        when(stringRedisTemplate.opsForValue()).thenThrow(new IllegalStateException("redis down"));
+
+        assertTrue(lease.tryAcquire(Duration.ofMinutes(5)).isEmpty());
+    }
+
+    @Test
+    void renewExtendsTtlOnlyForTheCurrentHolder() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of("search:index:lease")), eq("mine"), eq("300000")))
+                .thenReturn(1L);
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of("search:index:lease")), eq("stale"), eq("300000")))
+                .thenReturn(0L);
+
+        assertTrue(lease.renew("mine", Duration.ofMinutes(5)));
+        assertFalse(lease.renew("stale", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void renewReportsLossWhenRedisFails() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), any(List.class), any(Object[].class)))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        assertFalse(lease.renew("mine", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void releaseRunsCompareAndDeleteWithToken() {
+        lease.release("mine");
+
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("search:index:lease")), eq("mine"));
+    }
+
+    @Test
+    void releaseSwallowsRedisFailure() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), any(List.class), any(Object[].class)))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        assertDoesNotThrow(() -> lease.release("mine"));
+    }
+}
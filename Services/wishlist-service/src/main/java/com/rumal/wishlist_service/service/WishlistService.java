@@ -2,6 +2,7 @@ package com.rumal.wishlist_service.service;
 
 import com.rumal.wishlist_service.client.CartClient;
 import com.rumal.wishlist_service.client.ProductClient;
+import com.rumal.wishlist_service.client.ProductDetailsBatchLoader;
 import com.rumal.wishlist_service.dto.AddWishlistItemRequest;
 import com.rumal.wishlist_service.dto.CreateWishlistCollectionRequest;
 import com.rumal.wishlist_service.dto.ProductDetails;
@@ -52,6 +53,7 @@ public class WishlistService {
     private final WishlistItemRepository wishlistItemRepository;
     private final WishlistCollectionRepository wishlistCollectionRepository;
     private final ProductClient productClient;
+    private final ProductDetailsBatchLoader productDetailsBatchLoader;
     private final CartClient cartClient;
     private final TransactionTemplate transactionTemplate;
 
@@ -73,8 +75,9 @@ public class WishlistService {
     @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED, timeout = 10)
     public Page<WishlistItemResponse> getByKeycloakId(String keycloakId, Pageable pageable) {
         String normalizedKeycloakId = normalizeKeycloakId(keycloakId);
-        return wishlistItemRepository.findByKeycloakId(normalizedKeycloakId, pageable)
-                .map(item -> toItemResponse(item, resolveProduct(item)));
+        Page<WishlistItem> page = wishlistItemRepository.findByKeycloakId(normalizedKeycloakId, pageable);
+        Map<UUID, ProductDetails> productMap = resolveProductMap(page.getContent());
+        return page.map(item -> toItemResponse(item, productMap.get(item.getProductId())));
     }
 
     @Caching(evict = {
@@ -461,15 +464,10 @@ public class WishlistService {
     }
 
     private Map<UUID, ProductDetails> resolveProductMap(List<WishlistItem> items) {
-        Map<UUID, ProductDetails> productMap = new HashMap<>();
-        for (WishlistItem item : items) {
-            UUID productId = item.getProductId();
-            if (productId == null || productMap.containsKey(productId)) {
-                continue;
-            }
-            productMap.put(productId, resolveProduct(item));
+        if (items == null || items.isEmpty()) {
+            return new HashMap<>();
         }
-        return productMap;
+        return productDetailsBatchLoader.loadAll(items.stream().map(WishlistItem::getProductId).toList());
     }
 
     private ProductDetails resolveProduct(WishlistItem item) {
@@ -45,10 +45,21 @@ export default function AdminDashboardPage() {
 
   const api = session.apiClient;
 
-  useAnalyticsLiveStream({
+  useAnalyticsLiveStream<DashboardData>({
     enabled: session.status === "ready" && !!api && !!session.canViewAdmin,
     url: `/api/gateway/analytics/admin/live/dashboard`,
-    onRefresh: () => {
+    onRefresh: (event) => {
+      if (event.dashboard) {
+        queryClient.setQueryData(["admin-dashboard"], event.dashboard);
+        // Only the detail views the server evicted; the rest would refetch unchanged cached results.
+        for (const metric of event.staleMetrics ?? []) {
+          const queryKey = metric === "revenue-trend"
+            ? ["admin-dashboard", metric, periodDays]
+            : ["admin-dashboard", metric];
+          void queryClient.invalidateQueries({ queryKey, exact: true });
+        }
+        return;
+      }
       void queryClient.invalidateQueries({ queryKey: ["admin-dashboard"] });
     },
   });
@@ -2,17 +2,20 @@
 
 import { useEffect, useRef } from "react";
 
-type AnalyticsLiveRefreshEvent = {
+export type AnalyticsLiveRefreshEvent<T = unknown> = {
   scope: string;
   vendorId?: string | null;
   trigger: string;
   occurredAt: string;
+  coalescedEvents: number;
+  dashboard?: T | null;
+  staleMetrics?: string[] | null;
 };
 
-type UseAnalyticsLiveStreamOptions = {
+type UseAnalyticsLiveStreamOptions<T> = {
   enabled: boolean;
   url: string;
-  onRefresh: (event: AnalyticsLiveRefreshEvent) => void;
+  onRefresh: (event: AnalyticsLiveRefreshEvent<T>) => void;
   minRefreshIntervalMs?: number;
 };
 
@@ -69,12 +72,12 @@ function parseBuffer(buffer: string): { events: ParsedSseEvent[]; remainder: str
   return { events, remainder };
 }
 
-export function useAnalyticsLiveStream({
+export function useAnalyticsLiveStream<T = unknown>({
   enabled,
   url,
   onRefresh,
   minRefreshIntervalMs = DEFAULT_MIN_REFRESH_INTERVAL_MS,
-}: UseAnalyticsLiveStreamOptions): void {
+}: UseAnalyticsLiveStreamOptions<T>): void {
   const onRefreshRef = useRef(onRefresh);
   const lastRefreshAtRef = useRef(0);
 
@@ -112,14 +115,15 @@ export function useAnalyticsLiveStream({
     };
 
     const handleEvent = (event: ParsedSseEvent) => {
-      if (event.event !== "dashboard-refresh") {
+      if (event.event !== "dashboard-update") {
         return;
       }
 
       try {
-        const parsed = JSON.parse(event.data) as AnalyticsLiveRefreshEvent;
+        const parsed = JSON.parse(event.data) as AnalyticsLiveRefreshEvent<T>;
         const now = Date.now();
-        if (now - lastRefreshAtRef.current < minRefreshIntervalMs) {
+        // Updates that carry a dashboard are already coalesced server-side; dropping one would leave stale data.
+        if (!parsed.dashboard && now - lastRefreshAtRef.current < minRefreshIntervalMs) {
           return;
         }
         lastRefreshAtRef.current = now;